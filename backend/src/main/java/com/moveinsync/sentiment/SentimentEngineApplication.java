@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,12 +20,14 @@ import java.util.Arrays;
  * - Kafka message processing
  * - Redis caching
  * - Async/threaded operations
+ * - Scheduled background jobs
  * - CORS for frontend communication
  */
 @SpringBootApplication
 @EnableKafka
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class SentimentEngineApplication {
 
     /**
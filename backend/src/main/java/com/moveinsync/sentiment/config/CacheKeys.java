@@ -196,6 +196,23 @@ public class CacheKeys {
         return "alert:driver:" + driverId + ":has:active";
     }
 
+    /**
+     * Every driver's active alert flag: alert:driver:*:has:active
+     */
+    public static final String DRIVER_HAS_ACTIVE_ALERT_PATTERN = "alert:driver:*:has:active";
+
+    /**
+     * Driver alert cooldown, expiring with it: alert:driver:{driverId}:cooldown
+     */
+    public static String driverAlertCooldown(Long driverId) {
+        return "alert:driver:" + driverId + ":cooldown";
+    }
+
+    /**
+     * Set once the per-driver alert flags have been built from the alerts table: alert:index:ready
+     */
+    public static final String ALERT_INDEX_READY = "alert:index:ready";
+
     // ========== Sentiment Analysis Cache Keys ==========
 
     /**
@@ -322,6 +339,13 @@ public class CacheKeys {
         return "lock:feedback:" + feedbackId;
     }
 
+    // ========== Pub/Sub Channels ==========
+
+    /**
+     * Published after system_config changes; payload is the publishing node's ID
+     */
+    public static final String CONFIG_CHANGED_CHANNEL = "config:changed";
+
     // ========== Helper Methods ==========
 
     /**
@@ -1,24 +1,47 @@
 package com.moveinsync.sentiment.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.sql.DataSource;
+
 /**
  * Database Configuration Class
- * 
+ *
  * Responsibilities:
  * 1. Enable JPA repositories
  * 2. Enable transaction management
  * 3. Setup entity scanning
- * 
- * Note: DataSource and HikariCP are auto-configured by Spring Boot
- * from application.properties settings:
- * - spring.datasource.url
- * - spring.datasource.username
- * - spring.datasource.password
- * - spring.datasource.hikari.*
- * 
+ * 4. Route read-only transactions to the read replica when one is configured
+ *
+ * Repositories are created without Spring Data's default transactions: those declare every
+ * finder read-only, which would send any repository call made outside a transaction to the
+ * replica. Only an explicit @Transactional(readOnly = true) reads the replica, and repository
+ * writes must run in a transaction.
+ *
+ * DataSources:
+ * - primaryDataSource: HikariCP pool "primary" from spring.datasource.* / spring.datasource.hikari.*
+ * - replicaDataSource: HikariCP pool "replica" from app.datasource.replica.* (only if a URL is set)
+ * - dataSource (primary bean used by JPA and JdbcTemplate): lazy proxy over ReplicaRoutingDataSource
+ * - Flyway migrates through primaryDataSource directly (db/migration, applied before JPA validates the schema)
+ *
+ * Pool metrics are published per pool (hikaricp.* tagged pool=primary/replica), together with
+ * sentiment.datasource.connections.routed and the replica lag gauges.
+ *
  * Connection Pool Benefits:
  * - Reuses database connections instead of creating new ones
  * - Reduces latency by 50-70%
@@ -27,8 +50,69 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  */
 @Configuration
 @EnableTransactionManagement
-@EnableJpaRepositories(basePackages = "com.moveinsync.sentiment.repository")
+@EnableJpaRepositories(basePackages = "com.moveinsync.sentiment.repository", enableDefaultTransactions = false)
 public class DatabaseConfig {
-    // Spring Boot auto-configures DataSource and TransactionManager
-    // from application.properties - no manual bean needed
+
+    /**
+     * Primary (read-write) connection pool
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    /**
+     * Read replica connection pool (credentials default to the primary's)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.url")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.url")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, maxLagSeconds, meterRegistry);
+        monitor.check();
+        return monitor;
+    }
+
+    /**
+     * DataSource used by JPA, JdbcTemplate and transactions
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicaDataSource.getIfAvailable(),
+                replicaLagMonitor.getIfAvailable(),
+                meterRegistry));
+    }
 }
@@ -0,0 +1,111 @@
+package com.moveinsync.sentiment.config;
+
+import com.moveinsync.sentiment.model.event.DriverStatsUpdatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams Configuration
+ *
+ * Only active when app.stats.processing-mode=STREAMS. Configures:
+ * 1. The Kafka Streams instance running DriverStatsTopology (exactly-once, RocksDB state)
+ * 2. A batch listener factory for DriverStatsSink, which writes driver.stats.updated to driver_stats
+ *
+ * Instances sharing the application ID split the feedback.processed partitions between them.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "app.stats.processing-mode", havingValue = "STREAMS")
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${app.stats.streams.application-id:sentiment-driver-stats}")
+    private String applicationId;
+
+    @Value("${app.stats.streams.threads:2}")
+    private int streamThreads;
+
+    @Value("${app.stats.streams.state-dir:/tmp/kafka-streams}")
+    private String stateDir;
+
+    @Value("${app.stats.streams.sink-group-id:sentiment-driver-stats-sink}")
+    private String sinkGroupId;
+
+    /**
+     * Kafka Streams Configuration
+     *
+     * - exactly_once_v2: store updates, changelog writes and output events commit together
+     * - store cache disabled: every feedback emits its own stats event (alert transitions included)
+     */
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, streamThreads);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG, 0);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    /**
+     * Consumer Factory for driver.stats.updated events
+     */
+    @Bean
+    public ConsumerFactory<String, DriverStatsUpdatedEvent> driverStatsConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, sinkGroupId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        // Only read committed stats; the topology writes transactionally
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, DriverStatsUpdatedEvent.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * Batch listener for DriverStatsSink; offsets are committed after each batch is written
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, DriverStatsUpdatedEvent> driverStatsBatchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, DriverStatsUpdatedEvent> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(driverStatsConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(2);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
+
+        return factory;
+    }
+}
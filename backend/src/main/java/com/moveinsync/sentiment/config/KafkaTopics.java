@@ -18,6 +18,7 @@ import java.util.Map;
  * 2. feedback.processed - Feedback after sentiment analysis
  * 3. driver.stats.updated - Driver sentiment statistics updates
  * 4. alert.triggered - Low sentiment alerts
+ * 5. driver.stats.changelog - Latest stats per driver (compacted), for node bootstrap
  * 
  * Each topic is configured with:
  * - Partitions: For parallel processing
@@ -37,6 +38,7 @@ public class KafkaTopics {
     public static final String FEEDBACK_PROCESSED = "feedback.processed";
     public static final String DRIVER_STATS_UPDATED = "driver.stats.updated";
     public static final String ALERT_TRIGGERED = "alert.triggered";
+    public static final String DRIVER_STATS_CHANGELOG = "driver.stats.changelog";
 
     /**
      * Kafka Admin Bean
@@ -124,4 +126,28 @@ public class KafkaTopics {
                 "cleanup.policy", "delete"
             ));
     }
+
+    /**
+     * Topic: driver.stats.changelog
+     * 
+     * Purpose: Latest stats of every driver, keyed by driver ID
+     * Partitions: 3
+     * Replication: 1 (dev), 3 (prod)
+     * 
+     * Log-compacted rather than time-limited: compaction keeps at least the newest record
+     * per driver forever, so replaying the topic rebuilds the whole fleet's stats.
+     * 
+     * Flow: DriverScoreTable (local writes) → DriverStatsChangelog → Kafka → new/restarted nodes
+     */
+    @Bean
+    public NewTopic driverStatsChangelogTopic() {
+        return new NewTopic(DRIVER_STATS_CHANGELOG, 3, (short) 1)
+            .configs(Map.of(
+                "cleanup.policy", "compact",
+                "compression.type", "snappy",
+                "segment.ms", "3600000",              // roll hourly so old segments become compactable
+                "min.cleanable.dirty.ratio", "0.1",   // compact early; the topic is read end to end
+                "delete.retention.ms", "86400000"     // 1 day
+            ));
+    }
 }
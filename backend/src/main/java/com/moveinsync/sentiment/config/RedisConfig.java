@@ -17,6 +17,7 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -44,6 +45,7 @@ public class RedisConfig implements CachingConfigurer {
     public static final String CACHE_DRIVER_ALERTS_LIST = "driverAlertsList";
     public static final String CACHE_SENTIMENT_ANALYSIS = "sentimentAnalysis";
     public static final String CACHE_STATISTICS = "statistics";
+    public static final String CACHE_FEEDBACK_STATS = "feedbackStats";
 
     /**
      * Configure Redis cache manager with different TTLs for different caches
@@ -84,6 +86,9 @@ public class RedisConfig implements CachingConfigurer {
         
         // Statistics cache - 1 hour TTL
         cacheConfigurations.put(CACHE_STATISTICS, defaultConfig.entryTtl(Duration.ofHours(1)));
+        
+        // Per-driver feedback statistics - 15 minutes TTL (evicted per driver on every feedback change)
+        cacheConfigurations.put(CACHE_FEEDBACK_STATS, defaultConfig.entryTtl(Duration.ofMinutes(15)));
 
         return RedisCacheManager.builder(redisConnectionFactory())
             .cacheDefaults(defaultConfig)
@@ -114,6 +119,16 @@ public class RedisConfig implements CachingConfigurer {
         return template;
     }
 
+    /**
+     * Container for pub/sub subscriptions (e.g. cross-node config change notifications)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
     /**
      * JSON serializer for Redis with proper type handling
      */
@@ -124,11 +139,12 @@ public class RedisConfig implements CachingConfigurer {
         objectMapper.registerModule(new JavaTimeModule());
         
         // Enable polymorphic type handling for proper deserialization
+        // EVERYTHING (not NON_FINAL) so cached records, which are final, keep their type id
         objectMapper.activateDefaultTyping(
             BasicPolymorphicTypeValidator.builder()
                 .allowIfBaseType(Object.class)
                 .build(),
-            ObjectMapper.DefaultTyping.NON_FINAL,
+            ObjectMapper.DefaultTyping.EVERYTHING,
             JsonTypeInfo.As.PROPERTY
         );
         
@@ -0,0 +1,85 @@
+package com.moveinsync.sentiment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures replication lag on the read replica.
+ *
+ * The replica is available while the last check succeeded and its replay lag is within the
+ * threshold; otherwise read-only connections fall back to the primary. A standby that has
+ * replayed everything it received reports zero lag even when the primary is idle. A server that
+ * is not in recovery is not replicating from the primary (a plain second instance, or a standby
+ * that was promoted), so its data may differ and it is kept out of rotation.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+        "SELECT CAST(CASE " +
+        "WHEN NOT pg_is_in_recovery() THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) " +
+        "END AS double precision)";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private volatile boolean available;
+    private volatile double lagSeconds = -1;
+    private boolean warnedNotStandby;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("sentiment.datasource.replica.lag.seconds", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica at the last check (-1 if unreachable or not a standby)")
+                .register(meterRegistry);
+        Gauge.builder("sentiment.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("Whether read-only connections are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            if (lag == null) {
+                lagSeconds = -1;
+                available = false;
+                if (wasAvailable || !warnedNotStandby) {
+                    log.warn("Read replica is not in recovery (not a standby), routing reads to primary");
+                    warnedNotStandby = true;
+                }
+                return;
+            }
+            lagSeconds = lag;
+            available = lagSeconds <= maxLagSeconds;
+        } catch (Exception e) {
+            lagSeconds = -1;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Read replica check failed, routing reads to primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasAvailable != available) {
+            log.info("Read replica {} (lag {}s, threshold {}s)",
+                    available ? "back in rotation" : "lagging, routing reads to primary", lagSeconds, maxLagSeconds);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.moveinsync.sentiment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes each physical connection to the primary or the read replica pool.
+ *
+ * A connection goes to the replica when it is taken inside a read-only transaction
+ * ({@code @Transactional(readOnly = true)}) and the replica is within the lag threshold.
+ * Everything else, including repository calls made outside a transaction (repositories have
+ * no default transactions, see DatabaseConfig) and read-only methods joining a read-write
+ * transaction, uses the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched after the
+ * transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final boolean hasReplica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryWrites;
+    private final Counter primaryReads;
+    private final Counter primaryFallbacks;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.hasReplica = replica != null;
+        this.lagMonitor = lagMonitor;
+        this.primaryWrites = routeCounter(meterRegistry, PRIMARY, "read-write");
+        this.primaryReads = routeCounter(meterRegistry, PRIMARY, "read-only");
+        this.primaryFallbacks = routeCounter(meterRegistry, PRIMARY, "replica-unavailable");
+        this.replicaReads = routeCounter(meterRegistry, REPLICA, "read-only");
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("sentiment.datasource.connections.routed")
+                .description("Connections handed out by the routing DataSource")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            return PRIMARY;
+        }
+        if (!hasReplica) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        if (lagMonitor == null || !lagMonitor.isAvailable()) {
+            primaryFallbacks.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return REPLICA;
+    }
+}
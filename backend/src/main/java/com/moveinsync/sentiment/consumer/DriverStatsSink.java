@@ -0,0 +1,113 @@
+package com.moveinsync.sentiment.consumer;
+
+import com.moveinsync.sentiment.config.KafkaTopics;
+import com.moveinsync.sentiment.model.event.DriverStatsUpdatedEvent;
+import com.moveinsync.sentiment.service.DriverScoreTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Kafka consumer writing streamed driver stats to driver_stats
+ *
+ * In STREAMS processing mode DriverStatsTopology computes the stats; this sink keeps
+ * driver_stats (and through it DriverScoreTable and the /stats endpoints) up to date with
+ * one batched upsert per poll instead of a read-modify-write per feedback.
+ *
+ * Topic: driver.stats.updated
+ * Group: app.stats.streams.sink-group-id
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.stats.processing-mode", havingValue = "STREAMS")
+public class DriverStatsSink {
+
+    // Older events (e.g. redelivered after a rebalance) never overwrite newer stats
+    private static final String UPSERT_STATS =
+            "INSERT INTO driver_stats (driver_id, ema_score, previous_ema_score, total_feedback_count, " +
+            "positive_feedback_count, negative_feedback_count, neutral_feedback_count, very_positive_count, " +
+            "very_negative_count, average_rating, total_ratings_count, alert_status, last_alert_severity, " +
+            "consecutive_negative_feedback, last_feedback_at, alert_triggered_at, alert_count, ema_alpha, " +
+            "created_at, last_updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?, ?, ?, ?, ?, 0.2, ?, ?) " +
+            "ON CONFLICT (driver_id) DO UPDATE SET " +
+            "ema_score = EXCLUDED.ema_score, previous_ema_score = EXCLUDED.previous_ema_score, " +
+            "total_feedback_count = EXCLUDED.total_feedback_count, " +
+            "positive_feedback_count = EXCLUDED.positive_feedback_count, " +
+            "negative_feedback_count = EXCLUDED.negative_feedback_count, " +
+            "neutral_feedback_count = EXCLUDED.neutral_feedback_count, " +
+            "average_rating = EXCLUDED.average_rating, " +
+            // Events from before ratings were counted carry no count; keep the stored one
+            "total_ratings_count = COALESCE(EXCLUDED.total_ratings_count, driver_stats.total_ratings_count), " +
+            "alert_status = EXCLUDED.alert_status, " +
+            "last_alert_severity = EXCLUDED.last_alert_severity, " +
+            "consecutive_negative_feedback = EXCLUDED.consecutive_negative_feedback, " +
+            "last_feedback_at = EXCLUDED.last_feedback_at, " +
+            // The stream does not track feedback IDs; drop the list when negatives changed
+            "recent_negative_feedback_ids = CASE WHEN EXCLUDED.negative_feedback_count = driver_stats.negative_feedback_count " +
+            "THEN driver_stats.recent_negative_feedback_ids END, " +
+            "alert_triggered_at = COALESCE(EXCLUDED.alert_triggered_at, driver_stats.alert_triggered_at), " +
+            "alert_count = driver_stats.alert_count + EXCLUDED.alert_count, " +
+            "last_updated_at = EXCLUDED.last_updated_at " +
+            "WHERE driver_stats.last_feedback_at IS NULL OR EXCLUDED.last_feedback_at IS NULL " +
+            "OR driver_stats.last_feedback_at <= EXCLUDED.last_feedback_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DriverScoreTable driverScoreTable;
+
+    public DriverStatsSink(JdbcTemplate jdbcTemplate, DriverScoreTable driverScoreTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.driverScoreTable = driverScoreTable;
+    }
+
+    /**
+     * Upsert a batch of stats updates, in order, and refresh the score table
+     *
+     * @param events Batch of driver.stats.updated events (null for undeserializable records)
+     */
+    @KafkaListener(
+        topics = KafkaTopics.DRIVER_STATS_UPDATED,
+        containerFactory = "driverStatsBatchListenerContainerFactory"
+    )
+    public void consumeDriverStats(List<DriverStatsUpdatedEvent> events) {
+        List<DriverStatsUpdatedEvent> batch = events.stream()
+                .filter(Objects::nonNull)
+                .filter(event -> event.getDriverId() != null)
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_STATS, batch, batch.size(), (statement, event) -> {
+            boolean triggered = Boolean.TRUE.equals(event.getAlertTriggered());
+            statement.setLong(1, event.getDriverId());
+            statement.setDouble(2, event.getEmaScore());
+            statement.setObject(3, event.getPreviousEmaScore());
+            statement.setInt(4, event.getTotalFeedbackCount());
+            statement.setInt(5, event.getPositiveFeedbackCount());
+            statement.setInt(6, event.getNegativeFeedbackCount());
+            statement.setInt(7, event.getNeutralFeedbackCount());
+            statement.setObject(8, event.getAverageRating());
+            statement.setObject(9, event.getTotalRatingsCount());
+            statement.setString(10, event.getAlertStatus());
+            statement.setString(11, event.getAlertSeverity());
+            statement.setInt(12, event.getConsecutiveNegativeFeedback());
+            statement.setTimestamp(13, event.getLastFeedbackAt() != null ? Timestamp.valueOf(event.getLastFeedbackAt()) : null);
+            statement.setTimestamp(14, triggered ? now : null);
+            statement.setInt(15, triggered ? 1 : 0);
+            statement.setTimestamp(16, now);
+            statement.setTimestamp(17, now);
+        });
+        driverScoreTable.syncLocalWrites();
+
+        log.debug("Wrote streamed driver stats: events={}", batch.size());
+    }
+}
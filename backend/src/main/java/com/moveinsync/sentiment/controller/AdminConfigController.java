@@ -3,11 +3,13 @@ package com.moveinsync.sentiment.controller;
 import com.moveinsync.sentiment.dto.AdminConfigurationRequest;
 import com.moveinsync.sentiment.dto.AdminConfigurationResponse;
 import com.moveinsync.sentiment.dto.ApiResponse;
+import com.moveinsync.sentiment.service.AlertStatusReevaluationService;
 import com.moveinsync.sentiment.service.SystemConfigService;
 import com.moveinsync.sentiment.service.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -20,6 +22,10 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints:
  * - GET    /api/admin/config    - Get current system configuration
  * - PUT    /api/admin/config    - Save system configuration
+ * - POST   /api/admin/config/reevaluate-alerts - Re-apply alert thresholds to every driver
+ * - GET    /api/admin/config/alert-rules       - Get the alert rules in effect
+ * - PUT    /api/admin/config/alert-rules       - Replace the alert rules (plain text) and re-apply them
+ * - POST   /api/admin/config/alert-rules/timing - Time the alert rules against the whole fleet
  */
 @Slf4j
 @RestController
@@ -30,11 +36,16 @@ public class AdminConfigController {
 
     private final SystemConfigService systemConfigService;
     private final UserService userService;
+    private final AlertStatusReevaluationService alertStatusReevaluationService;
 
     @Autowired
-    public AdminConfigController(SystemConfigService systemConfigService, UserService userService) {
+    public AdminConfigController(
+            SystemConfigService systemConfigService,
+            UserService userService,
+            AlertStatusReevaluationService alertStatusReevaluationService) {
         this.systemConfigService = systemConfigService;
         this.userService = userService;
+        this.alertStatusReevaluationService = alertStatusReevaluationService;
     }
 
     /**
@@ -90,14 +101,21 @@ public class AdminConfigController {
             }
 
             // Get current user ID
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUserEmail = authentication.getName();
-            Long currentUserId = userService.findByEmail(currentUserEmail)
-                    .map(user -> user.getId())
-                    .orElse(null);
+            Long currentUserId = currentUserId();
 
             // Save configuration
+            SystemConfigService.Snapshot previous = systemConfigService.snapshot();
             AdminConfigurationResponse savedConfig = systemConfigService.saveAdminConfiguration(request, currentUserId);
+
+            // Existing drivers only move to the new thresholds through a re-evaluation
+            if (previous.criticalThreshold() != savedConfig.getCriticalThreshold()
+                    || previous.warningThreshold() != savedConfig.getWarningThreshold()) {
+                try {
+                    alertStatusReevaluationService.reevaluate();
+                } catch (Exception e) {
+                    log.error("Failed to re-evaluate alert statuses after a threshold change", e);
+                }
+            }
             
             return ResponseEntity.ok(ApiResponse.success("Configuration saved successfully", savedConfig));
             
@@ -107,4 +125,63 @@ public class AdminConfigController {
                     .body(ApiResponse.error("Failed to save system configuration"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-apply the current alert thresholds to every driver
+     *
+     * POST /api/admin/config/reevaluate-alerts
+     */
+    @PostMapping("/config/reevaluate-alerts")
+    public ResponseEntity<ApiResponse<AlertStatusReevaluationService.Result>> reevaluateAlerts() {
+        log.info("Re-evaluating driver alert statuses");
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Alert statuses re-evaluated", alertStatusReevaluationService.reevaluate()));
+    }
+
+    /**
+     * Get the alert rules in effect
+     *
+     * GET /api/admin/config/alert-rules
+     */
+    @GetMapping("/config/alert-rules")
+    public ResponseEntity<ApiResponse<SystemConfigService.AlertRules>> getAlertRules() {
+        return ResponseEntity.ok(ApiResponse.success(systemConfigService.getAlertRules()));
+    }
+
+    /**
+     * Replace the alert rules; they take effect on every node without a redeploy, and
+     * existing drivers are re-evaluated against them
+     *
+     * PUT /api/admin/config/alert-rules
+     */
+    @PutMapping(value = "/config/alert-rules", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<ApiResponse<AlertStatusReevaluationService.Result>> saveAlertRules(@RequestBody String source) {
+        log.info("Saving alert rules");
+
+        // Invalid rules are rejected with the offending line (400)
+        systemConfigService.saveAlertRules(source, currentUserId());
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Alert rules saved", alertStatusReevaluationService.reevaluate()));
+    }
+
+    /**
+     * Time the alert rules against every driver
+     *
+     * POST /api/admin/config/alert-rules/timing
+     */
+    @PostMapping("/config/alert-rules/timing")
+    public ResponseEntity<ApiResponse<AlertStatusReevaluationService.RuleTiming>> timeAlertRules() {
+        log.info("Timing alert rules");
+
+        return ResponseEntity.ok(ApiResponse.success(alertStatusReevaluationService.timeRules()));
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findByEmail(authentication.getName())
+                .map(user -> user.getId())
+                .orElse(null);
+    }
+}
@@ -2,6 +2,7 @@ package com.moveinsync.sentiment.controller;
 
 import com.moveinsync.sentiment.dto.*;
 import com.moveinsync.sentiment.model.Alert;
+import com.moveinsync.sentiment.repository.projection.AlertView;
 import com.moveinsync.sentiment.service.AlertService;
 import com.moveinsync.sentiment.util.EntityMapper;
 import jakarta.validation.Valid;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
  * - POST   /api/alerts                         - Create alert
  * - GET    /api/alerts/{id}                    - Get alert by ID
  * - GET    /api/alerts/driver/{driverId}       - Get alerts for driver
+ * - GET    /api/alerts/driver/{driverId}/cursor - Get alerts for driver (keyset cursor)
  * - GET    /api/alerts/active                  - Get active alerts
  * - GET    /api/alerts/pending                 - Get pending alerts
  * - GET    /api/alerts/by-severity/{severity}  - Get alerts by severity
@@ -73,7 +75,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getAlertsForDriver(@PathVariable Long driverId) {
         log.debug("Getting alerts for driver: {}", driverId);
         
-        List<Alert> alerts = alertService.getAlertsByDriver(driverId);
+        List<AlertView> alerts = alertService.getAlertsByDriver(driverId);
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -81,6 +83,23 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponse.success(responseList));
     }
 
+    /**
+     * Get alerts for driver using keyset pagination (no total count)
+     * 
+     * GET /api/alerts/driver/{driverId}/cursor?cursor=...&size=20
+     */
+    @GetMapping("/driver/{driverId}/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AlertResponse>>> getAlertsForDriverCursor(
+            @PathVariable Long driverId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting keyset page of alerts for driver: {}, size: {}", driverId, size);
+        
+        CursorPage<AlertView> alertPage = alertService.getAlertsByDriver(driverId, cursor, size);
+        
+        return ResponseEntity.ok(ApiResponse.success(alertPage.map(entityMapper::toAlertResponse)));
+    }
+
     /**
      * Get alerts for currently authenticated driver
      * 
@@ -92,7 +111,7 @@ public class AlertController {
         log.debug("Getting alerts for authenticated driver");
         
         // For now, return active alerts (can be enhanced to filter by driver ID from JWT)
-        List<Alert> alerts = alertService.getActiveAlerts();
+        List<AlertView> alerts = alertService.getActiveAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -109,7 +128,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getActiveAlertsForDriver(@PathVariable Long driverId) {
         log.debug("Getting active alerts for driver: {}", driverId);
         
-        List<Alert> alerts = alertService.getActiveAlertsByDriver(driverId);
+        List<AlertView> alerts = alertService.getActiveAlertsByDriver(driverId);
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -126,7 +145,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getActiveAlerts() {
         log.debug("Getting all active alerts");
         
-        List<Alert> alerts = alertService.getActiveAlerts();
+        List<AlertView> alerts = alertService.getActiveAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -143,7 +162,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getPendingAlerts() {
         log.debug("Getting unacknowledged alerts");
         
-        List<Alert> alerts = alertService.getUnacknowledgedAlerts();
+        List<AlertView> alerts = alertService.getUnacknowledgedAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -160,7 +179,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getUnassignedAlerts() {
         log.debug("Getting unassigned alerts");
         
-        List<Alert> alerts = alertService.getUnassignedAlerts();
+        List<AlertView> alerts = alertService.getUnassignedAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -177,7 +196,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getOverdueAlerts() {
         log.debug("Getting overdue alerts");
         
-        List<Alert> alerts = alertService.getOverdueAlerts();
+        List<AlertView> alerts = alertService.getOverdueAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -194,7 +213,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getHighPriorityAlerts() {
         log.debug("Getting high priority alerts");
         
-        List<Alert> alerts = alertService.getHighPriorityAlerts();
+        List<AlertView> alerts = alertService.getHighPriorityAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -211,7 +230,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getCriticalAlerts() {
         log.debug("Getting critical alerts");
         
-        List<Alert> alerts = alertService.getCriticalAlerts();
+        List<AlertView> alerts = alertService.getCriticalAlerts();
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -228,7 +247,7 @@ public class AlertController {
     public ResponseEntity<ApiResponse<List<AlertResponse>>> getAlertsByManager(@PathVariable Long managerId) {
         log.debug("Getting alerts for manager: {}", managerId);
         
-        List<Alert> alerts = alertService.getAlertsByManager(managerId);
+        List<AlertView> alerts = alertService.getAlertsByManager(managerId);
         List<AlertResponse> responseList = alerts.stream()
                 .map(entityMapper::toAlertResponse)
                 .collect(Collectors.toList());
@@ -20,6 +20,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -42,6 +43,7 @@ public class AuthController {
      * POST /api/auth/login
      */
     @PostMapping("/login")
+    @Transactional
     public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
 
@@ -97,6 +99,7 @@ public class AuthController {
      * POST /api/auth/register
      */
     @PostMapping("/register")
+    @Transactional
     public ResponseEntity<ApiResponse<AuthResponse.UserInfo>> register(
             @Valid @RequestBody RegisterRequest request) {
         
@@ -0,0 +1,65 @@
+package com.moveinsync.sentiment.controller;
+
+import com.moveinsync.sentiment.dto.ApiResponse;
+import com.moveinsync.sentiment.service.DriverStatsChangelog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the compacted driver stats changelog
+ *
+ * Endpoints:
+ * - GET    /api/admin/stats-changelog             - Publishing counters and how this node bootstrapped
+ * - POST   /api/admin/stats-changelog/publish     - Send every driver in the score table to the changelog
+ * - POST   /api/admin/stats-changelog/benchmark   - Time a score table warm-up from driver_stats vs the changelog
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/stats-changelog")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class DriverStatsChangelogController {
+
+    private final DriverStatsChangelog driverStatsChangelog;
+
+    public DriverStatsChangelogController(DriverStatsChangelog driverStatsChangelog) {
+        this.driverStatsChangelog = driverStatsChangelog;
+    }
+
+    /**
+     * Get the changelog status
+     *
+     * GET /api/admin/stats-changelog
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DriverStatsChangelog.Status>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(driverStatsChangelog.status()));
+    }
+
+    /**
+     * Publish the whole score table
+     *
+     * POST /api/admin/stats-changelog/publish
+     */
+    @PostMapping("/publish")
+    public ResponseEntity<ApiResponse<Integer>> publish() {
+        log.info("Publishing the score table to the driver stats changelog");
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Score table published", driverStatsChangelog.publishAll()));
+    }
+
+    /**
+     * Benchmark score table warm-up
+     *
+     * POST /api/admin/stats-changelog/benchmark
+     */
+    @PostMapping("/benchmark")
+    public ResponseEntity<ApiResponse<DriverStatsChangelog.Benchmark>> benchmark() {
+        log.info("Benchmarking score table warm-up");
+
+        return ResponseEntity.ok(ApiResponse.success(driverStatsChangelog.benchmark()));
+    }
+}
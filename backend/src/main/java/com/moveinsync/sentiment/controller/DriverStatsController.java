@@ -3,12 +3,18 @@ package com.moveinsync.sentiment.controller;
 import com.moveinsync.sentiment.dto.ApiResponse;
 import com.moveinsync.sentiment.dto.DriverStatsResponse;
 import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.service.DriverLeaderboard;
+import com.moveinsync.sentiment.service.DriverScoreTable;
 import com.moveinsync.sentiment.service.DriverStatsService;
+import com.moveinsync.sentiment.service.FeedbackRollupService;
+import com.moveinsync.sentiment.service.FleetEmaDistribution;
 import com.moveinsync.sentiment.util.EntityMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,7 +29,18 @@ import java.util.stream.Collectors;
  * - GET    /api/stats/critical                 - Get drivers with critical alerts
  * - GET    /api/stats/improving                - Get drivers with improving sentiment
  * - GET    /api/stats/declining                - Get drivers with declining sentiment
+ * - GET    /api/stats/bottom                   - Get the lowest-scoring drivers
  * - GET    /api/stats/overview                 - Get system overview
+ * - GET    /api/stats/score-table              - Get memory footprint of the in-memory score table
+ * - GET    /api/stats/leaderboard/top          - Get the highest-ranked drivers
+ * - GET    /api/stats/leaderboard/bottom       - Get the lowest-ranked drivers
+ * - GET    /api/stats/leaderboard/driver/{driverId} - Get a driver's rank and percentile
+ * - GET    /api/stats/leaderboard/percentile   - Get the EMA score at a fleet percentile
+ * - GET    /api/stats/distribution             - Get fleet EMA percentiles and histogram
+ * - GET    /api/stats/distribution/history     - Get hourly EMA distribution checkpoints
+ * - GET    /api/stats/driver/{driverId}/trend  - Get daily sentiment trend for driver
+ * - GET    /api/stats/trend                    - Get fleet-wide daily sentiment trend
+ * - POST   /api/stats/trend/backfill           - Rebuild the daily rollup from history
  */
 @Slf4j
 @RestController
@@ -32,10 +49,24 @@ import java.util.stream.Collectors;
 public class DriverStatsController {
 
     private final DriverStatsService driverStatsService;
+    private final DriverScoreTable driverScoreTable;
+    private final DriverLeaderboard driverLeaderboard;
+    private final FleetEmaDistribution fleetEmaDistribution;
+    private final FeedbackRollupService feedbackRollupService;
     private final EntityMapper entityMapper;
 
-    public DriverStatsController(DriverStatsService driverStatsService, EntityMapper entityMapper) {
+    public DriverStatsController(
+            DriverStatsService driverStatsService,
+            DriverScoreTable driverScoreTable,
+            DriverLeaderboard driverLeaderboard,
+            FleetEmaDistribution fleetEmaDistribution,
+            FeedbackRollupService feedbackRollupService,
+            EntityMapper entityMapper) {
         this.driverStatsService = driverStatsService;
+        this.driverScoreTable = driverScoreTable;
+        this.driverLeaderboard = driverLeaderboard;
+        this.fleetEmaDistribution = fleetEmaDistribution;
+        this.feedbackRollupService = feedbackRollupService;
         this.entityMapper = entityMapper;
     }
 
@@ -78,7 +109,7 @@ public class DriverStatsController {
     public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getAllDriverStats() {
         log.debug("Getting all driver statistics");
         
-        List<DriverStats> statsList = driverStatsService.getAllDriverStats();
+        List<DriverScoreTable.Score> statsList = driverStatsService.getAllDriverStats();
         List<DriverStatsResponse> responseList = statsList.stream()
                 .map(entityMapper::toDriverStatsResponse)
                 .collect(Collectors.toList());
@@ -95,7 +126,7 @@ public class DriverStatsController {
     public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getDriversNeedingAttention() {
         log.debug("Getting drivers needing attention");
         
-        List<DriverStats> statsList = driverStatsService.getDriversNeedingAttention();
+        List<DriverScoreTable.Score> statsList = driverStatsService.getDriversNeedingAttention();
         List<DriverStatsResponse> responseList = statsList.stream()
                 .map(entityMapper::toDriverStatsResponse)
                 .collect(Collectors.toList());
@@ -112,7 +143,7 @@ public class DriverStatsController {
     public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getCriticalDrivers() {
         log.debug("Getting drivers with critical alerts");
         
-        List<DriverStats> statsList = driverStatsService.getDriversWithCriticalAlerts();
+        List<DriverScoreTable.Score> statsList = driverStatsService.getDriversWithCriticalAlerts();
         List<DriverStatsResponse> responseList = statsList.stream()
                 .map(entityMapper::toDriverStatsResponse)
                 .collect(Collectors.toList());
@@ -129,7 +160,7 @@ public class DriverStatsController {
     public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getImprovingDrivers() {
         log.debug("Getting drivers with improving sentiment");
         
-        List<DriverStats> statsList = driverStatsService.getDriversWithImprovingSentiment();
+        List<DriverScoreTable.Score> statsList = driverStatsService.getDriversWithImprovingSentiment();
         List<DriverStatsResponse> responseList = statsList.stream()
                 .map(entityMapper::toDriverStatsResponse)
                 .collect(Collectors.toList());
@@ -146,7 +177,25 @@ public class DriverStatsController {
     public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getDecliningDrivers() {
         log.debug("Getting drivers with declining sentiment");
         
-        List<DriverStats> statsList = driverStatsService.getDriversWithDecliningSentiment();
+        List<DriverScoreTable.Score> statsList = driverStatsService.getDriversWithDecliningSentiment();
+        List<DriverStatsResponse> responseList = statsList.stream()
+                .map(entityMapper::toDriverStatsResponse)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(ApiResponse.success(responseList));
+    }
+
+    /**
+     * Get the lowest-scoring drivers
+     * 
+     * GET /api/stats/bottom?limit=10
+     */
+    @GetMapping("/bottom")
+    public ResponseEntity<ApiResponse<List<DriverStatsResponse>>> getBottomDrivers(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Getting bottom {} drivers", limit);
+        
+        List<DriverScoreTable.Score> statsList = driverStatsService.getBottomPerformingDrivers(limit);
         List<DriverStatsResponse> responseList = statsList.stream()
                 .map(entityMapper::toDriverStatsResponse)
                 .collect(Collectors.toList());
@@ -160,36 +209,134 @@ public class DriverStatsController {
      * GET /api/stats/overview
      */
     @GetMapping("/overview")
-    public ResponseEntity<ApiResponse<SystemOverview>> getSystemOverview() {
+    public ResponseEntity<ApiResponse<DriverStatsService.SystemOverview>> getSystemOverview() {
         log.debug("Getting system overview");
         
-        List<DriverStats> allStats = driverStatsService.getAllDriverStats();
-        long totalDrivers = allStats.size();
-        long normalCount = allStats.stream().filter(s -> s.getAlertStatus() == DriverStats.AlertStatus.NORMAL).count();
-        long warningCount = allStats.stream().filter(s -> s.getAlertStatus() == DriverStats.AlertStatus.WARNING).count();
-        long criticalCount = allStats.stream().filter(s -> s.getAlertStatus() == DriverStats.AlertStatus.CRITICAL).count();
-        
-        SystemOverview overview = new SystemOverview(
-                totalDrivers,
-                normalCount,
-                warningCount,
-                criticalCount,
-                driverStatsService.getDriversWithImprovingSentiment().size(),
-                driverStatsService.getDriversWithDecliningSentiment().size()
-        );
+        DriverStatsService.SystemOverview overview = driverStatsService.getSystemOverview();
         
         return ResponseEntity.ok(ApiResponse.success(overview));
     }
 
     /**
-     * System Overview DTO
+     * Get memory held by the in-memory score table, projected to 100k drivers
+     * 
+     * GET /api/stats/score-table
+     */
+    @GetMapping("/score-table")
+    public ResponseEntity<ApiResponse<DriverScoreTable.MemoryStats>> getScoreTableMemory() {
+        return ResponseEntity.ok(ApiResponse.success(driverScoreTable.memory()));
+    }
+
+    /**
+     * Get the highest-ranked drivers by EMA score
+     * 
+     * GET /api/stats/leaderboard/top?limit=10
+     */
+    @GetMapping("/leaderboard/top")
+    public ResponseEntity<ApiResponse<List<DriverLeaderboard.Entry>>> getLeaderboardTop(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(driverLeaderboard.top(limit)));
+    }
+
+    /**
+     * Get the lowest-ranked drivers by EMA score
+     * 
+     * GET /api/stats/leaderboard/bottom?limit=10
+     */
+    @GetMapping("/leaderboard/bottom")
+    public ResponseEntity<ApiResponse<List<DriverLeaderboard.Entry>>> getLeaderboardBottom(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(driverLeaderboard.bottom(limit)));
+    }
+
+    /**
+     * Get a driver's rank and percentile
+     * 
+     * GET /api/stats/leaderboard/driver/{driverId}
+     */
+    @GetMapping("/leaderboard/driver/{driverId}")
+    public ResponseEntity<ApiResponse<DriverLeaderboard.Entry>> getDriverStanding(@PathVariable Long driverId) {
+        DriverLeaderboard.Entry standing = driverLeaderboard.standing(driverId);
+        if (standing == null) {
+            throw new IllegalArgumentException("Driver not ranked: " + driverId);
+        }
+        return ResponseEntity.ok(ApiResponse.success(standing));
+    }
+
+    /**
+     * Get the EMA score at a fleet percentile (0 = lowest, 100 = highest)
+     * 
+     * GET /api/stats/leaderboard/percentile?p=10
+     */
+    @GetMapping("/leaderboard/percentile")
+    public ResponseEntity<ApiResponse<DriverLeaderboard.PercentileScore>> getEmaAtPercentile(
+            @RequestParam("p") double percentile) {
+        return ResponseEntity.ok(ApiResponse.success(driverLeaderboard.emaAtPercentile(percentile)));
+    }
+
+    /**
+     * Get fleet EMA percentiles, category counts and histogram
+     * 
+     * GET /api/stats/distribution
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<ApiResponse<FleetEmaDistribution.Distribution>> getEmaDistribution() {
+        return ResponseEntity.ok(ApiResponse.success(fleetEmaDistribution.distribution()));
+    }
+
+    /**
+     * Get hourly EMA distribution checkpoints
+     * 
+     * GET /api/stats/distribution/history?hours=168
+     */
+    @GetMapping("/distribution/history")
+    public ResponseEntity<ApiResponse<FleetEmaDistribution.History>> getEmaDistributionHistory(
+            @RequestParam(defaultValue = "168") int hours) {
+        return ResponseEntity.ok(ApiResponse.success(
+                fleetEmaDistribution.history(LocalDateTime.now().minusHours(hours))));
+    }
+
+    /**
+     * Get daily sentiment trend for driver, read from the daily rollup
+     * 
+     * GET /api/stats/driver/{driverId}/trend?days=90
      */
-    public record SystemOverview(
-            long totalDrivers,
-            long normalCount,
-            long warningCount,
-            long criticalCount,
-            long improvingCount,
-            long decliningCount
-    ) {}
+    @GetMapping("/driver/{driverId}/trend")
+    public ResponseEntity<ApiResponse<List<FeedbackRollupService.DailyTrend>>> getDriverTrend(
+            @PathVariable Long driverId,
+            @RequestParam(defaultValue = "90") int days) {
+        log.debug("Getting {}-day trend for driver: {}", days, driverId);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackRollupService.getDriverTrend(driverId, days)));
+    }
+
+    /**
+     * Get fleet-wide daily sentiment trend, read from the daily rollup
+     * 
+     * GET /api/stats/trend?days=30
+     */
+    @GetMapping("/trend")
+    public ResponseEntity<ApiResponse<List<FeedbackRollupService.DailyTrend>>> getFleetTrend(
+            @RequestParam(defaultValue = "30") int days) {
+        log.debug("Getting {}-day fleet trend", days);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackRollupService.getFleetTrend(days)));
+    }
+
+    /**
+     * Rebuild the daily rollup from raw feedback for a date range
+     * 
+     * POST /api/stats/trend/backfill?from=2025-01-01&to=2025-12-31
+     */
+    @PostMapping("/trend/backfill")
+    public ResponseEntity<ApiResponse<FeedbackRollupService.BackfillResult>> backfillTrend(
+            @RequestParam LocalDate from,
+            @RequestParam(required = false) LocalDate to) {
+        log.info("Backfilling daily rollup from {} to {}", from, to);
+        
+        FeedbackRollupService.BackfillResult result =
+                feedbackRollupService.backfill(from, to != null ? to : LocalDate.now());
+        
+        return ResponseEntity.ok(ApiResponse.success("Rollup backfill complete", result));
+    }
 }
@@ -0,0 +1,51 @@
+package com.moveinsync.sentiment.controller;
+
+import com.moveinsync.sentiment.dto.ApiResponse;
+import com.moveinsync.sentiment.service.FeedbackArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the feedback cold archive
+ *
+ * Endpoints:
+ * - GET    /api/admin/archive       - Get archive size and segment statistics
+ * - POST   /api/admin/archive/run   - Archive old feedback now
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/archive")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class FeedbackArchiveController {
+
+    private final FeedbackArchiveService feedbackArchiveService;
+
+    public FeedbackArchiveController(FeedbackArchiveService feedbackArchiveService) {
+        this.feedbackArchiveService = feedbackArchiveService;
+    }
+
+    /**
+     * Get archive size and segment statistics
+     *
+     * GET /api/admin/archive
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<FeedbackArchiveService.ArchiveStats>> getArchiveStats() {
+        return ResponseEntity.ok(ApiResponse.success(feedbackArchiveService.stats()));
+    }
+
+    /**
+     * Archive feedback older than the configured age now
+     *
+     * POST /api/admin/archive/run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ApiResponse<FeedbackArchiveService.ArchiveResult>> runArchive() {
+        log.info("Running feedback archival");
+
+        return ResponseEntity.ok(ApiResponse.success("Feedback archival complete", feedbackArchiveService.archive()));
+    }
+}
@@ -2,7 +2,10 @@ package com.moveinsync.sentiment.controller;
 
 import com.moveinsync.sentiment.dto.*;
 import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.FeedbackSearchRepository;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
 import com.moveinsync.sentiment.service.FeedbackService;
+import com.moveinsync.sentiment.service.KeywordIndex;
 import com.moveinsync.sentiment.security.UserDetailsServiceImpl;
 import com.moveinsync.sentiment.util.EntityMapper;
 import jakarta.validation.Valid;
@@ -28,9 +31,16 @@ import java.util.stream.Collectors;
  * - POST   /api/feedback/{id}/process     - Process feedback with sentiment analysis
  * - GET    /api/feedback/{id}             - Get feedback by ID
  * - GET    /api/feedback/driver/{driverId} - Get feedback for driver (paginated)
+ * - GET    /api/feedback/driver/{driverId}/cursor - Get feedback for driver (keyset cursor)
+ * - GET    /api/feedback/user/{userId}/cursor - Get feedback by user (keyset cursor)
  * - GET    /api/feedback/requiring-attention - Get feedback requiring attention
+ * - GET    /api/feedback/requiring-attention/cursor - Get feedback requiring attention (keyset cursor)
  * - POST   /api/feedback/{id}/review      - Mark feedback as reviewed
  * - GET    /api/feedback/stats/driver/{driverId} - Get feedback statistics for driver
+ * - GET    /api/feedback/search          - Full-text search (ranked, keyset cursor)
+ * - GET    /api/feedback/keywords/top     - Top keywords fleet-wide
+ * - GET    /api/feedback/keywords/driver/{driverId} - Top keywords for driver
+ * - GET    /api/feedback/keywords/{keyword}/drivers - Drivers receiving a keyword most often
  */
 @Slf4j
 @RestController
@@ -115,12 +125,29 @@ public class FeedbackController {
                 sort[0]
         ));
         
-        Page<Feedback> feedbackPage = feedbackService.getFeedbackByDriver(driverId, pageable);
+        Page<FeedbackView> feedbackPage = feedbackService.getFeedbackByDriver(driverId, pageable);
         Page<FeedbackResponse> responsePage = feedbackPage.map(entityMapper::toFeedbackResponse);
         
         return ResponseEntity.ok(ApiResponse.success(responsePage));
     }
 
+    /**
+     * Get feedback for driver using keyset pagination (no total count)
+     * 
+     * GET /api/feedback/driver/{driverId}/cursor?cursor=...&size=20
+     */
+    @GetMapping("/driver/{driverId}/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<FeedbackResponse>>> getFeedbackByDriverCursor(
+            @PathVariable Long driverId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting keyset page of feedback for driver: {}, size: {}", driverId, size);
+        
+        CursorPage<FeedbackView> feedbackPage = feedbackService.getFeedbackByDriver(driverId, cursor, size);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackPage.map(entityMapper::toFeedbackResponse)));
+    }
+
     /**
      * Get recent feedback for driver
      * 
@@ -132,7 +159,7 @@ public class FeedbackController {
             @RequestParam(defaultValue = "10") int limit) {
         log.debug("Getting recent feedback for driver: {}, limit: {}", driverId, limit);
         
-        List<Feedback> feedbackList = feedbackService.getRecentFeedback(driverId, limit);
+        List<FeedbackView> feedbackList = feedbackService.getRecentFeedback(driverId, limit);
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
@@ -150,7 +177,7 @@ public class FeedbackController {
             @PathVariable Long driverId) {
         log.debug("Getting negative feedback for driver: {}", driverId);
         
-        List<Feedback> feedbackList = feedbackService.getNegativeFeedback(driverId);
+        List<FeedbackView> feedbackList = feedbackService.getNegativeFeedback(driverId);
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
@@ -168,7 +195,7 @@ public class FeedbackController {
             @PathVariable Long driverId) {
         log.debug("Getting positive feedback for driver: {}", driverId);
         
-        List<Feedback> feedbackList = feedbackService.getPositiveFeedback(driverId);
+        List<FeedbackView> feedbackList = feedbackService.getPositiveFeedback(driverId);
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
@@ -188,28 +215,41 @@ public class FeedbackController {
         log.debug("Getting feedback requiring attention: page={}, size={}", page, size);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Feedback> feedbackPage = feedbackService.getFeedbackRequiringAttention(pageable);
+        Page<FeedbackView> feedbackPage = feedbackService.getFeedbackRequiringAttention(pageable);
         Page<FeedbackResponse> responsePage = feedbackPage.map(entityMapper::toFeedbackResponse);
         
         return ResponseEntity.ok(ApiResponse.success(responsePage));
     }
 
     /**
-     * Get recent feedback (across all drivers)
+     * Get feedback requiring attention using keyset pagination (no total count)
      * 
-     * GET /api/feedback/recent?limit=10
+     * GET /api/feedback/requiring-attention/cursor?cursor=...&size=20
+     */
+    @GetMapping("/requiring-attention/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<FeedbackResponse>>> getFeedbackRequiringAttentionCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting keyset page of feedback requiring attention: size={}", size);
+        
+        CursorPage<FeedbackView> feedbackPage = feedbackService.getFeedbackRequiringAttention(cursor, size);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackPage.map(entityMapper::toFeedbackResponse)));
+    }
+
+    /**
+     * Get recently processed feedback (across all drivers), served from the in-memory buffer
+     * 
+     * GET /api/feedback/recent?limit=10&label=NEGATIVE&requiresAttention=true
      */
     @GetMapping("/recent")
     public ResponseEntity<ApiResponse<List<FeedbackResponse>>> getRecentFeedbackAll(
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Feedback.SentimentLabel label,
+            @RequestParam(required = false) Boolean requiresAttention) {
         log.debug("Getting recent feedback for all drivers, limit: {}", limit);
         
-        // Use feedbackRepository to get all feedback and sort/limit
-        List<Feedback> feedbackList = feedbackService.getFeedbackRequiringAttention()
-                .stream()
-                .sorted((f1, f2) -> f2.getCreatedAt().compareTo(f1.getCreatedAt()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<FeedbackView> feedbackList = feedbackService.getRecentFeedback(limit, label, requiresAttention);
         
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
@@ -218,6 +258,50 @@ public class FeedbackController {
         return ResponseEntity.ok(ApiResponse.success(responseList));
     }
 
+    /**
+     * Get the most frequent feedback keywords fleet-wide over the last N days
+     * 
+     * GET /api/feedback/keywords/top?days=7&limit=20
+     */
+    @GetMapping("/keywords/top")
+    public ResponseEntity<ApiResponse<List<KeywordIndex.KeywordCount>>> getTopKeywords(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Getting top keywords fleet-wide, days: {}", days);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackService.getTopKeywords(days, null, limit)));
+    }
+
+    /**
+     * Get the most frequent feedback keywords for a driver over the last N days
+     * 
+     * GET /api/feedback/keywords/driver/{driverId}?days=30&limit=20
+     */
+    @GetMapping("/keywords/driver/{driverId}")
+    public ResponseEntity<ApiResponse<List<KeywordIndex.KeywordCount>>> getDriverKeywords(
+            @PathVariable Long driverId,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Getting top keywords for driver: {}, days: {}", driverId, days);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackService.getTopKeywords(days, driverId, limit)));
+    }
+
+    /**
+     * Get the drivers who received a keyword most often over the last N days
+     * 
+     * GET /api/feedback/keywords/rude/drivers?days=7&limit=10
+     */
+    @GetMapping("/keywords/{keyword}/drivers")
+    public ResponseEntity<ApiResponse<List<KeywordIndex.DriverKeywordCount>>> getDriversForKeyword(
+            @PathVariable String keyword,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Getting top drivers for keyword: {}, days: {}", keyword, days);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackService.getTopDriversForKeyword(keyword, days, limit)));
+    }
+
     /**
      * Get feedback submitted by a specific user
      * 
@@ -236,12 +320,29 @@ public class FeedbackController {
                 sort[0]
         ));
         
-        Page<Feedback> feedbackPage = feedbackService.getFeedbackByUser(userId, pageable);
+        Page<FeedbackView> feedbackPage = feedbackService.getFeedbackByUser(userId, pageable);
         Page<FeedbackResponse> responsePage = feedbackPage.map(entityMapper::toFeedbackResponse);
         
         return ResponseEntity.ok(ApiResponse.success(responsePage));
     }
 
+    /**
+     * Get feedback submitted by a user using keyset pagination (no total count)
+     * 
+     * GET /api/feedback/user/{userId}/cursor?cursor=...&size=20
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<FeedbackResponse>>> getFeedbackByUserCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting keyset page of feedback submitted by user: userId={}, size={}", userId, size);
+        
+        CursorPage<FeedbackView> feedbackPage = feedbackService.getFeedbackByUser(userId, cursor, size);
+        
+        return ResponseEntity.ok(ApiResponse.success(feedbackPage.map(entityMapper::toFeedbackResponse)));
+    }
+
     /**
      * Get feedback submitted by current authenticated user
      * 
@@ -265,7 +366,7 @@ public class FeedbackController {
                 sort[0]
         ));
         
-        Page<Feedback> feedbackPage = feedbackService.getFeedbackByUser(currentUserId, pageable);
+        Page<FeedbackView> feedbackPage = feedbackService.getFeedbackByUser(currentUserId, pageable);
         Page<FeedbackResponse> responsePage = feedbackPage.map(entityMapper::toFeedbackResponse);
         
         return ResponseEntity.ok(ApiResponse.success(responsePage));
@@ -280,7 +381,7 @@ public class FeedbackController {
     public ResponseEntity<ApiResponse<List<FeedbackResponse>>> getUnprocessedFeedback() {
         log.debug("Getting unprocessed feedback");
         
-        List<Feedback> feedbackList = feedbackService.getUnprocessedFeedback();
+        List<FeedbackView> feedbackList = feedbackService.getUnprocessedFeedback();
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
@@ -321,21 +422,25 @@ public class FeedbackController {
     }
 
     /**
-     * Search feedback by text
+     * Full-text search over feedback, ranked by relevance
      * 
-     * GET /api/feedback/search?q=keyword
+     * GET /api/feedback/search?q=late driver&driverId=1&startDate=2025-01-01T00:00:00&endDate=2025-12-31T23:59:59&label=NEGATIVE&cursor=...&size=20
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<FeedbackResponse>>> searchFeedback(
-            @RequestParam String q) {
+    public ResponseEntity<ApiResponse<CursorPage<FeedbackResponse>>> searchFeedback(
+            @RequestParam String q,
+            @RequestParam(required = false) Long driverId,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(required = false) Feedback.SentimentLabel label,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.debug("Searching feedback with query: {}", q);
         
-        List<Feedback> feedbackList = feedbackService.searchFeedback(q);
-        List<FeedbackResponse> responseList = feedbackList.stream()
-                .map(entityMapper::toFeedbackResponse)
-                .collect(Collectors.toList());
+        CursorPage<FeedbackView> results = feedbackService.searchFeedback(
+                new FeedbackSearchRepository.Criteria(q, driverId, startDate, endDate, label), cursor, size);
         
-        return ResponseEntity.ok(ApiResponse.success(responseList));
+        return ResponseEntity.ok(ApiResponse.success(results.map(entityMapper::toFeedbackResponse)));
     }
 
     /**
@@ -350,7 +455,7 @@ public class FeedbackController {
             @RequestParam LocalDateTime endDate) {
         log.debug("Getting feedback for driver: {} in date range: {} to {}", driverId, startDate, endDate);
         
-        List<Feedback> feedbackList = feedbackService.getFeedbackInDateRange(driverId, startDate, endDate);
+        List<FeedbackView> feedbackList = feedbackService.getFeedbackInDateRange(driverId, startDate, endDate);
         List<FeedbackResponse> responseList = feedbackList.stream()
                 .map(entityMapper::toFeedbackResponse)
                 .collect(Collectors.toList());
@@ -0,0 +1,70 @@
+package com.moveinsync.sentiment.controller;
+
+import com.moveinsync.sentiment.dto.ApiResponse;
+import com.moveinsync.sentiment.service.FeedbackPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller for feedback table partition maintenance
+ *
+ * Endpoints:
+ * - GET    /api/admin/partitions            - List monthly feedback partitions
+ * - POST   /api/admin/partitions/maintain   - Create upcoming partitions and apply retention
+ * - GET    /api/admin/partitions/explain    - Show which partitions the date-range queries scan
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/partitions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class FeedbackPartitionController {
+
+    private final FeedbackPartitionService feedbackPartitionService;
+
+    public FeedbackPartitionController(FeedbackPartitionService feedbackPartitionService) {
+        this.feedbackPartitionService = feedbackPartitionService;
+    }
+
+    /**
+     * List monthly feedback partitions
+     *
+     * GET /api/admin/partitions
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<FeedbackPartitionService.PartitionInfo>>> listPartitions() {
+        return ResponseEntity.ok(ApiResponse.success(feedbackPartitionService.listPartitions()));
+    }
+
+    /**
+     * Create upcoming partitions and apply retention now
+     *
+     * POST /api/admin/partitions/maintain
+     */
+    @PostMapping("/maintain")
+    public ResponseEntity<ApiResponse<FeedbackPartitionService.MaintenanceResult>> maintain() {
+        log.info("Running feedback partition maintenance");
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Partition maintenance complete", feedbackPartitionService.maintain()));
+    }
+
+    /**
+     * Show the plans of the date-range feedback queries and the partitions they scan
+     *
+     * GET /api/admin/partitions/explain?driverId=1&startDate=2025-01-01T00:00:00&endDate=2025-01-31T23:59:59
+     */
+    @GetMapping("/explain")
+    public ResponseEntity<ApiResponse<List<FeedbackPartitionService.PruningCheck>>> explainPruning(
+            @RequestParam(defaultValue = "1") Long driverId,
+            @RequestParam LocalDateTime startDate,
+            @RequestParam LocalDateTime endDate) {
+        return ResponseEntity.ok(ApiResponse.success(
+                feedbackPartitionService.explainPruning(driverId, startDate, endDate)));
+    }
+}
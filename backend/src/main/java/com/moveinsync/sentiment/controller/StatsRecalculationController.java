@@ -0,0 +1,81 @@
+package com.moveinsync.sentiment.controller;
+
+import com.moveinsync.sentiment.dto.ApiResponse;
+import com.moveinsync.sentiment.service.FleetRecalculationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for fleet-wide driver stats recalculation jobs
+ *
+ * Endpoints:
+ * - GET    /api/admin/stats-recalculation          - Latest job with progress and throughput
+ * - POST   /api/admin/stats-recalculation/run      - Start a new job over the last N days of feedback
+ * - POST   /api/admin/stats-recalculation/resume   - Resume the latest unfinished job from its checkpoint
+ * - POST   /api/admin/stats-recalculation/stop     - Stop the running job after its in-flight chunks
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/stats-recalculation")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class StatsRecalculationController {
+
+    private final FleetRecalculationService fleetRecalculationService;
+
+    public StatsRecalculationController(FleetRecalculationService fleetRecalculationService) {
+        this.fleetRecalculationService = fleetRecalculationService;
+    }
+
+    /**
+     * Get the latest job
+     *
+     * GET /api/admin/stats-recalculation
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<FleetRecalculationService.JobStatus>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(fleetRecalculationService.status()));
+    }
+
+    /**
+     * Start a new job
+     *
+     * POST /api/admin/stats-recalculation/run?windowDays=365
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ApiResponse<FleetRecalculationService.JobStatus>> run(
+            @RequestParam(defaultValue = "365") int windowDays) {
+        log.info("Starting fleet stats recalculation: windowDays={}", windowDays);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Stats recalculation started", fleetRecalculationService.start(windowDays)));
+    }
+
+    /**
+     * Resume the latest unfinished job
+     *
+     * POST /api/admin/stats-recalculation/resume
+     */
+    @PostMapping("/resume")
+    public ResponseEntity<ApiResponse<FleetRecalculationService.JobStatus>> resume() {
+        log.info("Resuming fleet stats recalculation");
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Stats recalculation resumed", fleetRecalculationService.resume()));
+    }
+
+    /**
+     * Stop the running job
+     *
+     * POST /api/admin/stats-recalculation/stop
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponse<FleetRecalculationService.JobStatus>> stop() {
+        log.info("Stopping fleet stats recalculation");
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Stats recalculation stopping", fleetRecalculationService.stop()));
+    }
+}
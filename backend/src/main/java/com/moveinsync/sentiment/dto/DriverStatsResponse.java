@@ -17,6 +17,7 @@ public class DriverStatsResponse {
     private Long id;
     private Long driverId;
     private Double emaScore;
+    private Double currentEmaScore;   // emaScore decayed to now
     private Double previousEmaScore;
     private Integer totalFeedbackCount;
     private Integer positiveFeedbackCount;
@@ -29,4 +30,12 @@ public class DriverStatsResponse {
     private String sentimentTrend;
     private Double positiveFeedbackPercentage;
     private Double negativeFeedbackPercentage;
+
+    // Rolling windows (hour granularity), served from memory
+    private Long last7DaysFeedbackCount;
+    private Long last7DaysNegativeCount;
+    private Double last7DaysAverageScore;
+    private Long last30DaysFeedbackCount;
+    private Long last30DaysNegativeCount;
+    private Double last30DaysAverageScore;
 }
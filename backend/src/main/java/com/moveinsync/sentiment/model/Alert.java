@@ -24,7 +24,8 @@ import java.util.Map;
     @Index(name = "idx_alert_status", columnList = "status"),
     @Index(name = "idx_alert_created", columnList = "created_at"),
     @Index(name = "idx_alert_resolved", columnList = "resolved_at"),
-    @Index(name = "idx_alert_cooldown", columnList = "cooldown_expires_at")
+    @Index(name = "idx_alert_cooldown", columnList = "cooldown_expires_at"),
+    @Index(name = "idx_alerts_driver_created_id", columnList = "driver_id, created_at DESC, id DESC")
 })
 @Data
 @Builder
@@ -29,6 +29,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class DriverStats {
 
+    /**
+     * Negative feedback IDs kept in recentNegativeFeedbackIds
+     */
+    public static final int RECENT_NEGATIVE_LIMIT = 5;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -102,6 +107,10 @@ public class DriverStats {
     @Column(name = "last_negative_feedback_at")
     private LocalDateTime lastNegativeFeedbackAt;
 
+    // Comma-separated IDs of the latest negative feedback, newest first; null until tracked
+    @Column(name = "recent_negative_feedback_ids", length = 255)
+    private String recentNegativeFeedbackIds;
+
     @Column(name = "last_feedback_at")
     private LocalDateTime lastFeedbackAt;
 
@@ -202,6 +211,27 @@ public class DriverStats {
         }
     }
 
+    /**
+     * Add a negative feedback to the front of the recent negative feedback IDs,
+     * dropping the oldest beyond RECENT_NEGATIVE_LIMIT
+     */
+    public void recordNegativeFeedback(Long feedbackId) {
+        StringBuilder ids = new StringBuilder(String.valueOf(feedbackId));
+        int kept = 1;
+        if (this.recentNegativeFeedbackIds != null && !this.recentNegativeFeedbackIds.isEmpty()) {
+            for (String id : this.recentNegativeFeedbackIds.split(",")) {
+                if (kept == RECENT_NEGATIVE_LIMIT) {
+                    break;
+                }
+                if (!id.equals(String.valueOf(feedbackId))) {
+                    ids.append(',').append(id);
+                    kept++;
+                }
+            }
+        }
+        this.recentNegativeFeedbackIds = ids.toString();
+    }
+
     /**
      * Trigger alert
      */
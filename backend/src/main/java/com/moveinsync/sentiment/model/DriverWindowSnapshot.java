@@ -0,0 +1,31 @@
+package com.moveinsync.sentiment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted snapshot of a driver's hourly sliding-window buckets
+ */
+@Entity
+@Table(name = "driver_window_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverWindowSnapshot {
+
+    @Id
+    @Column(name = "driver_id")
+    private Long driverId;
+
+    @Column(name = "buckets", nullable = false)
+    private byte[] buckets;
+
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+}
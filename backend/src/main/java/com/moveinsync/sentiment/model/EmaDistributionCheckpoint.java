@@ -0,0 +1,40 @@
+package com.moveinsync.sentiment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly checkpoint of the fleet EMA score histogram
+ */
+@Entity
+@Table(name = "ema_distribution_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmaDistributionCheckpoint {
+
+    @Id
+    @Column(name = "captured_at")
+    private LocalDateTime capturedAt;
+
+    @Column(name = "drivers", nullable = false)
+    private Long drivers;
+
+    @Column(name = "p10")
+    private Double p10;
+
+    @Column(name = "p50")
+    private Double p50;
+
+    @Column(name = "p90")
+    private Double p90;
+
+    @Column(name = "buckets", nullable = false)
+    private byte[] buckets;
+}
@@ -16,6 +16,9 @@ import java.util.Map;
 
 /**
  * Feedback entity representing employee/trip/app/marshal feedback submissions
+ *
+ * The table is range-partitioned by month on created_at (V9); its primary key is (id, created_at),
+ * so nothing can hold a foreign key to feedback(id) and lookups by id probe each partition's key index.
  */
 @Entity
 @Table(name = "feedback", indexes = {
@@ -26,7 +29,11 @@ import java.util.Map;
     @Index(name = "idx_feedback_status", columnList = "status"),
     @Index(name = "idx_feedback_sentiment", columnList = "sentiment_label"),
     @Index(name = "idx_feedback_created", columnList = "created_at"),
-    @Index(name = "idx_feedback_attention", columnList = "requires_attention")
+    @Index(name = "idx_feedback_attention", columnList = "requires_attention"),
+    @Index(name = "idx_feedback_driver_created_id", columnList = "driver_id, created_at DESC, id DESC"),
+    @Index(name = "idx_feedback_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_feedback_driver_label_created_id", columnList = "driver_id, sentiment_label, created_at DESC, id DESC")
+    // idx_feedback_attention_created_id is partial (WHERE requires_attention) and only created by V5
 })
 @Data
 @Builder
@@ -77,7 +84,8 @@ public class Feedback {
     private Double confidence;
 
     @ElementCollection
-    @CollectionTable(name = "feedback_keywords", joinColumns = @JoinColumn(name = "feedback_id"))
+    @CollectionTable(name = "feedback_keywords", joinColumns = @JoinColumn(name = "feedback_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @Column(name = "keyword")
     @Builder.Default
     private List<String> keywords = List.of();
@@ -0,0 +1,69 @@
+package com.moveinsync.sentiment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily feedback rollup per driver and sentiment label.
+ *
+ * Written only through the native upsert and backfill queries in
+ * FeedbackDailyRollupRepository; mapped so the schema is known to JPA.
+ */
+@Entity
+@Table(name = "feedback_daily_rollup", indexes = {
+    @Index(name = "idx_feedback_rollup_day", columnList = "day")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackDailyRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "feedback_count", nullable = false)
+    private Long feedbackCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private Double scoreSum;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "attention_count", nullable = false)
+    private Long attentionCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Composite key: driver, day and sentiment label
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "driver_id", nullable = false)
+        private Long driverId;
+
+        @Column(name = "day", nullable = false)
+        private LocalDate day;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "sentiment_label", nullable = false, length = 20)
+        private Feedback.SentimentLabel sentimentLabel;
+    }
+}
@@ -0,0 +1,71 @@
+package com.moveinsync.sentiment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a fleet-wide driver_stats recalculation job.
+ *
+ * Checkpoints and status changes are conditional bulk updates in
+ * StatsRecalculationJobRepository, so concurrent nodes never overwrite each other's claim.
+ * A partial unique index (uq_stats_recalculation_jobs_running, V14) admits one RUNNING job,
+ * and new jobs are inserted conditionally against it.
+ */
+@Entity
+@Table(name = "stats_recalculation_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsRecalculationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "resume_after_driver_id", nullable = false)
+    @Builder.Default
+    private Long resumeAfterDriverId = 0L;
+
+    @Column(name = "drivers_done", nullable = false)
+    @Builder.Default
+    private Long driversDone = 0L;
+
+    @Column(name = "feedback_rows", nullable = false)
+    @Builder.Default
+    private Long feedbackRows = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    /**
+     * Job lifecycle
+     */
+    public enum Status {
+        RUNNING,      // Claimed by a node (abandoned if not checkpointed for a while)
+        STOPPED,      // Stopped on request; resumable
+        FAILED,       // A chunk failed; resumable
+        COMPLETED     // Every driver in the window was rewritten
+    }
+}
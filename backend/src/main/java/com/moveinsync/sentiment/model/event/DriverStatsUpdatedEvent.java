@@ -29,7 +29,7 @@ public class DriverStatsUpdatedEvent {
     /**
      * Driver whose stats were updated
      */
-    private UUID driverId;
+    private Long driverId;
 
     /**
      * Statistics
@@ -74,7 +74,7 @@ public class DriverStatsUpdatedEvent {
     /**
      * Latest feedback that triggered this update
      */
-    private UUID latestFeedbackId;
+    private Long latestFeedbackId;
     private Double latestSentimentScore;
     private Integer latestRating;
 
@@ -87,6 +87,26 @@ public class DriverStatsUpdatedEvent {
      */
     private Boolean alertTriggered;
 
+    /**
+     * Alert status after this update: NORMAL, WARNING, CRITICAL
+     */
+    private String alertStatus;
+
+    /**
+     * Trailing run of negative feedback
+     */
+    private Integer consecutiveNegativeFeedback;
+
+    /**
+     * Average rating across rated feedback
+     */
+    private Double averageRating;
+
+    /**
+     * Number of rated feedback behind averageRating
+     */
+    private Integer totalRatingsCount;
+
     /**
      * Alert severity: LOW, MEDIUM, HIGH, CRITICAL
      * null if no alert
@@ -145,7 +165,7 @@ public class DriverStatsUpdatedEvent {
      * Factory method
      */
     public static DriverStatsUpdatedEvent create(
-            UUID driverId,
+            Long driverId,
             Double emaScore,
             Double previousEmaScore,
             Integer totalFeedbackCount,
@@ -153,7 +173,7 @@ public class DriverStatsUpdatedEvent {
             Integer negativeFeedbackCount,
             Integer neutralFeedbackCount,
             Double averageSentimentScore,
-            UUID latestFeedbackId,
+            Long latestFeedbackId,
             Double latestSentimentScore,
             Integer latestRating,
             LocalDateTime lastFeedbackAt) {
@@ -32,24 +32,24 @@ public class FeedbackEvent {
     /**
      * Unique identifier for this feedback
      */
-    private UUID feedbackId;
+    private Long feedbackId;
 
     /**
      * ID of the driver being reviewed (for DRIVER feedback)
      * Null for TRIP, APP, MARSHAL feedback
      */
-    private UUID driverId;
+    private Long driverId;
 
     /**
      * ID of the trip (for TRIP feedback)
      * Null for DRIVER, APP, MARSHAL feedback
      */
-    private UUID tripId;
+    private Long tripId;
 
     /**
      * User who submitted the feedback
      */
-    private UUID userId;
+    private Long userId;
 
     /**
      * Type of feedback: DRIVER, TRIP, APP, MARSHAL
@@ -101,10 +101,10 @@ public class FeedbackEvent {
      * Factory method to create event with tracking info
      */
     public static FeedbackEvent createEvent(
-            UUID feedbackId,
-            UUID driverId,
-            UUID tripId,
-            UUID userId,
+            Long feedbackId,
+            Long driverId,
+            Long tripId,
+            Long userId,
             String feedbackType,
             String feedbackText,
             Integer rating,
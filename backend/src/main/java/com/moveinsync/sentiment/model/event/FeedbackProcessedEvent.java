@@ -29,22 +29,22 @@ public class FeedbackProcessedEvent {
     /**
      * Original feedback ID
      */
-    private UUID feedbackId;
+    private Long feedbackId;
 
     /**
      * Driver ID (null if not driver feedback)
      */
-    private UUID driverId;
+    private Long driverId;
 
     /**
      * Trip ID (null if not trip feedback)
      */
-    private UUID tripId;
+    private Long tripId;
 
     /**
      * User who submitted feedback
      */
-    private UUID userId;
+    private Long userId;
 
     /**
      * Type of feedback: DRIVER, TRIP, APP, MARSHAL
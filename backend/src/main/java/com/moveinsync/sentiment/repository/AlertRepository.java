@@ -1,6 +1,7 @@
 package com.moveinsync.sentiment.repository;
 
 import com.moveinsync.sentiment.model.Alert;
+import com.moveinsync.sentiment.repository.projection.AlertView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -102,6 +103,24 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     @Query("SELECT a FROM Alert a WHERE a.driverId = :driverId AND (a.cooldownExpiresAt IS NULL OR a.cooldownExpiresAt <= :now)")
     List<Alert> findDriverAlertsNotInCooldown(@Param("driverId") Long driverId, @Param("now") LocalDateTime now);
 
+    /**
+     * Check if driver has an alert whose cooldown has not expired
+     */
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Alert a WHERE a.driverId = :driverId AND a.cooldownExpiresAt > :now")
+    boolean isDriverInCooldown(@Param("driverId") Long driverId, @Param("now") LocalDateTime now);
+
+    /**
+     * Latest cooldown expiry per driver, for drivers still in cooldown
+     */
+    @Query("SELECT a.driverId, MAX(a.cooldownExpiresAt) FROM Alert a WHERE a.cooldownExpiresAt > :now GROUP BY a.driverId")
+    List<Object[]> findCooldownExpiryByDriver(@Param("now") LocalDateTime now);
+
+    /**
+     * Drivers with at least one active alert
+     */
+    @Query("SELECT DISTINCT a.driverId FROM Alert a WHERE a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS')")
+    List<Long> findDriverIdsWithActiveAlerts();
+
     /**
      * Check if driver has active alert
      */
@@ -196,4 +215,73 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
      * Find alerts by recommended action
      */
     List<Alert> findByRecommendedAction(Alert.RecommendedAction action);
+
+    // ==================== LIST PROJECTIONS ====================
+
+    /**
+     * Find alert views for a specific driver
+     */
+    @Query(AlertView.SELECT + "WHERE a.driverId = :driverId")
+    List<AlertView> findViewsByDriverId(@Param("driverId") Long driverId);
+
+    /**
+     * Find active alert views
+     */
+    @Query(AlertView.SELECT + "WHERE a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS')")
+    List<AlertView> findActiveViews();
+
+    /**
+     * Find active alert views for driver
+     */
+    @Query(AlertView.SELECT + "WHERE a.driverId = :driverId AND a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS')")
+    List<AlertView> findActiveViewsByDriverId(@Param("driverId") Long driverId);
+
+    /**
+     * Find critical alert views
+     */
+    @Query(AlertView.SELECT + "WHERE a.severity = 'CRITICAL' AND a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS')")
+    List<AlertView> findCriticalViews();
+
+    /**
+     * Find high priority alert views
+     */
+    @Query(AlertView.SELECT + "WHERE a.severity IN ('CRITICAL', 'HIGH') AND a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS')")
+    List<AlertView> findHighPriorityViews();
+
+    /**
+     * Find unacknowledged alert views
+     */
+    @Query(AlertView.SELECT + "WHERE a.status = 'ACTIVE' AND a.acknowledgedAt IS NULL")
+    List<AlertView> findUnacknowledgedViews();
+
+    /**
+     * Find alert views assigned to manager
+     */
+    @Query(AlertView.SELECT + "WHERE a.assignedTo = :managerId")
+    List<AlertView> findViewsByAssignedTo(@Param("managerId") Long managerId);
+
+    /**
+     * Find unassigned alert views
+     */
+    @Query(AlertView.SELECT + "WHERE a.assignedTo IS NULL AND a.status IN ('ACTIVE', 'ACKNOWLEDGED')")
+    List<AlertView> findUnassignedViews();
+
+    /**
+     * Find overdue alert views (active for more than 24 hours)
+     */
+    @Query(AlertView.SELECT + "WHERE a.status IN ('ACTIVE', 'ACKNOWLEDGED', 'IN_PROGRESS') AND a.createdAt < :threshold")
+    List<AlertView> findOverdueViews(@Param("threshold") LocalDateTime threshold);
+
+    /**
+     * Find a keyset page of alert views for a driver on (created_at, id), newest first
+     */
+    @Query(AlertView.SELECT + "WHERE a.driverId = :driverId " +
+           "AND a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertView> findViewsByDriverIdBefore(
+        @Param("driverId") Long driverId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
 }
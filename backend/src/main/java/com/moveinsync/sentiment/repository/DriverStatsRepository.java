@@ -1,14 +1,17 @@
 package com.moveinsync.sentiment.repository;
 
 import com.moveinsync.sentiment.model.DriverStats;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for DriverStats entity
@@ -21,6 +24,11 @@ public interface DriverStatsRepository extends JpaRepository<DriverStats, Long>
      */
     Optional<DriverStats> findByDriverId(Long driverId);
 
+    /**
+     * Find stats for several drivers
+     */
+    List<DriverStats> findByDriverIdIn(Collection<Long> driverIds);
+
     /**
      * Check if stats exist for driver
      */
@@ -62,16 +70,16 @@ public interface DriverStatsRepository extends JpaRepository<DriverStats, Long>
     List<DriverStats> findDriversNeedingAttention();
 
     /**
-     * Find top performing drivers by EMA score
+     * Find top performing drivers by EMA score (limit with PageRequest.of(0, n))
      */
     @Query("SELECT ds FROM DriverStats ds ORDER BY ds.emaScore DESC")
-    List<DriverStats> findTopPerformingDrivers(@Param("limit") int limit);
+    List<DriverStats> findTopPerformingDrivers(Pageable pageable);
 
     /**
-     * Find bottom performing drivers by EMA score
+     * Find bottom performing drivers by EMA score (limit with PageRequest.of(0, n))
      */
     @Query("SELECT ds FROM DriverStats ds ORDER BY ds.emaScore ASC")
-    List<DriverStats> findBottomPerformingDrivers(@Param("limit") int limit);
+    List<DriverStats> findBottomPerformingDrivers(Pageable pageable);
 
     /**
      * Find drivers with consecutive negative feedback
@@ -172,4 +180,38 @@ public interface DriverStatsRepository extends JpaRepository<DriverStats, Long>
      */
     @Query("SELECT ds FROM DriverStats ds WHERE ds.alertCount >= :count")
     List<DriverStats> findDriversWithAlertCountAbove(@Param("count") Integer count);
+
+    /**
+     * Columns loaded into DriverScoreTable, in Score.fromRow order
+     */
+    String SCORE_COLUMNS = "ds.id, ds.driverId, ds.emaScore, ds.previousEmaScore, ds.totalFeedbackCount, " +
+            "ds.positiveFeedbackCount, ds.negativeFeedbackCount, ds.neutralFeedbackCount, ds.averageRating, " +
+            "ds.alertStatus, ds.lastAlertSeverity, ds.consecutiveNegativeFeedback, ds.lastUpdatedAt, ds.lastFeedbackAt";
+
+    /**
+     * Stream score columns of every driver (no entities)
+     */
+    @Query("SELECT " + SCORE_COLUMNS + " FROM DriverStats ds")
+    Stream<Object[]> streamScoreRows();
+
+    /**
+     * Stream score columns of drivers updated at or after a time
+     */
+    @Query("SELECT " + SCORE_COLUMNS + " FROM DriverStats ds WHERE ds.lastUpdatedAt >= :since")
+    Stream<Object[]> streamScoreRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Fleet totals per alert status: [alertStatus, drivers, improving, declining, feedback, emaSum]
+     */
+    @Query("""
+        SELECT ds.alertStatus,
+               COUNT(ds),
+               SUM(CASE WHEN ds.previousEmaScore IS NOT NULL AND ds.emaScore > ds.previousEmaScore THEN 1 ELSE 0 END),
+               SUM(CASE WHEN ds.previousEmaScore IS NOT NULL AND ds.emaScore < ds.previousEmaScore THEN 1 ELSE 0 END),
+               COALESCE(SUM(ds.totalFeedbackCount), 0),
+               COALESCE(SUM(ds.emaScore), 0.0)
+        FROM DriverStats ds
+        GROUP BY ds.alertStatus
+    """)
+    List<Object[]> getFleetTotalsByAlertStatus();
 }
@@ -0,0 +1,31 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.DriverWindowSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for driver sliding-window snapshots
+ */
+@Repository
+public interface DriverWindowSnapshotRepository extends JpaRepository<DriverWindowSnapshot, Long> {
+
+    /**
+     * Write a snapshot unless the stored one is as recent (another node may have written it)
+     * @return 1 if written, 0 if the stored snapshot was kept
+     */
+    @Modifying
+    @Query(value = "INSERT INTO driver_window_snapshots (driver_id, buckets, captured_at) " +
+                   "VALUES (:driverId, :buckets, :capturedAt) " +
+                   "ON CONFLICT (driver_id) DO UPDATE SET buckets = EXCLUDED.buckets, captured_at = EXCLUDED.captured_at " +
+                   "WHERE driver_window_snapshots.captured_at < EXCLUDED.captured_at",
+           nativeQuery = true)
+    int saveIfNewer(@Param("driverId") Long driverId,
+                    @Param("buckets") byte[] buckets,
+                    @Param("capturedAt") LocalDateTime capturedAt);
+}
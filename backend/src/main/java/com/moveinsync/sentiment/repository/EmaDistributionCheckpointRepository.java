@@ -0,0 +1,20 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.EmaDistributionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for fleet EMA histogram checkpoints
+ */
+@Repository
+public interface EmaDistributionCheckpointRepository extends JpaRepository<EmaDistributionCheckpoint, LocalDateTime> {
+
+    /**
+     * Find checkpoints taken at or after a time, oldest first
+     */
+    List<EmaDistributionCheckpoint> findByCapturedAtGreaterThanEqualOrderByCapturedAtAsc(LocalDateTime since);
+}
@@ -0,0 +1,19 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.FeedbackArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the cold-archive segment manifest
+ */
+@Repository
+public interface FeedbackArchiveSegmentRepository extends JpaRepository<FeedbackArchiveSegment, String> {
+
+    /**
+     * Every listed segment, oldest first (file names start with the write time)
+     */
+    List<FeedbackArchiveSegment> findAllByOrderByFileNameAsc();
+}
@@ -0,0 +1,100 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.FeedbackDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the daily feedback rollup
+ */
+@Repository
+public interface FeedbackDailyRollupRepository extends JpaRepository<FeedbackDailyRollup, FeedbackDailyRollup.Key> {
+
+    /**
+     * Per-day columns returned by the trend queries:
+     * day, total, positive, neutral, negative, score sum, rating sum, rating count, attention count
+     */
+    String TREND_SELECT =
+        "SELECT r.day, CAST(SUM(r.feedback_count) AS bigint), " +
+        "CAST(COALESCE(SUM(r.feedback_count) FILTER (WHERE r.sentiment_label IN ('POSITIVE', 'VERY_POSITIVE')), 0) AS bigint), " +
+        "CAST(COALESCE(SUM(r.feedback_count) FILTER (WHERE r.sentiment_label = 'NEUTRAL'), 0) AS bigint), " +
+        "CAST(COALESCE(SUM(r.feedback_count) FILTER (WHERE r.sentiment_label IN ('NEGATIVE', 'VERY_NEGATIVE')), 0) AS bigint), " +
+        "CAST(SUM(r.score_sum) AS double precision), CAST(SUM(r.rating_sum) AS bigint), " +
+        "CAST(SUM(r.rating_count) AS bigint), CAST(SUM(r.attention_count) AS bigint) " +
+        "FROM feedback_daily_rollup r ";
+
+    /**
+     * Add (or with negative deltas, remove) feedback contributions to one rollup row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO feedback_daily_rollup " +
+                   "(driver_id, day, sentiment_label, feedback_count, score_sum, rating_sum, rating_count, attention_count, updated_at) " +
+                   "VALUES (:driverId, :day, :label, :count, :scoreSum, :ratingSum, :ratingCount, :attentionCount, now()) " +
+                   "ON CONFLICT (driver_id, day, sentiment_label) DO UPDATE SET " +
+                   "feedback_count = feedback_daily_rollup.feedback_count + EXCLUDED.feedback_count, " +
+                   "score_sum = feedback_daily_rollup.score_sum + EXCLUDED.score_sum, " +
+                   "rating_sum = feedback_daily_rollup.rating_sum + EXCLUDED.rating_sum, " +
+                   "rating_count = feedback_daily_rollup.rating_count + EXCLUDED.rating_count, " +
+                   "attention_count = feedback_daily_rollup.attention_count + EXCLUDED.attention_count, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int upsert(@Param("driverId") Long driverId,
+               @Param("day") LocalDate day,
+               @Param("label") String label,
+               @Param("count") long count,
+               @Param("scoreSum") double scoreSum,
+               @Param("ratingSum") long ratingSum,
+               @Param("ratingCount") long ratingCount,
+               @Param("attentionCount") long attentionCount);
+
+    /**
+     * Block live upserts until the current backfill chunk commits
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE feedback_daily_rollup IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForBackfill();
+
+    /**
+     * Delete rollup rows for a day range [from, to)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM feedback_daily_rollup WHERE day >= :from AND day < :to", nativeQuery = true)
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Rebuild rollup rows from processed feedback created in [from, to)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO feedback_daily_rollup " +
+                   "(driver_id, day, sentiment_label, feedback_count, score_sum, rating_sum, rating_count, attention_count, updated_at) " +
+                   "SELECT f.driver_id, CAST(f.created_at AS date), f.sentiment_label, COUNT(*), " +
+                   "COALESCE(SUM(f.sentiment_score), 0), COALESCE(SUM(f.rating), 0), COUNT(f.rating), " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label IN ('NEGATIVE', 'VERY_NEGATIVE') OR f.confidence < 0.5), now() " +
+                   "FROM feedback f " +
+                   "WHERE f.created_at >= :from AND f.created_at < :to " +
+                   "AND f.sentiment_label IS NOT NULL AND f.processed_at IS NOT NULL " +
+                   "AND f.status NOT IN ('SUBMITTED', 'PROCESSING') " +
+                   "GROUP BY f.driver_id, CAST(f.created_at AS date), f.sentiment_label",
+           nativeQuery = true)
+    int rebuildDays(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Daily trend for one driver since a day (inclusive)
+     */
+    @Query(value = TREND_SELECT + "WHERE r.driver_id = :driverId AND r.day >= :from GROUP BY r.day ORDER BY r.day",
+           nativeQuery = true)
+    List<Object[]> findDriverTrend(@Param("driverId") Long driverId, @Param("from") LocalDate from);
+
+    /**
+     * Fleet-wide daily trend since a day (inclusive)
+     */
+    @Query(value = TREND_SELECT + "WHERE r.day >= :from GROUP BY r.day ORDER BY r.day", nativeQuery = true)
+    List<Object[]> findFleetTrend(@Param("from") LocalDate from);
+}
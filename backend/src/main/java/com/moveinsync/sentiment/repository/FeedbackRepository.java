@@ -1,22 +1,45 @@
 package com.moveinsync.sentiment.repository;
 
+import com.moveinsync.sentiment.model.DriverStats;
 import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.projection.FeedbackAggregateRow;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository for Feedback entity
+ *
+ * Full-text search lives in the {@link FeedbackSearchRepository} fragment.
  */
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, FeedbackSearchRepository {
+
+    /**
+     * Keyset predicate and ordering for cursor pagination on (created_at, id), newest first.
+     * The leading createdAt <= bound keeps the seek an index range scan.
+     */
+    String KEYSET_BEFORE = "AND f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+                           "ORDER BY f.createdAt DESC, f.id DESC";
 
     /**
      * Find all feedback for a specific driver
@@ -74,6 +97,31 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query("SELECT f FROM Feedback f WHERE f.driverId = :driverId AND f.sentimentLabel IN ('NEGATIVE', 'VERY_NEGATIVE')")
     List<Feedback> findNegativeFeedbackByDriverId(@Param("driverId") Long driverId);
 
+    /**
+     * IDs of a driver's latest negative feedback, newest first. Each label reads at most
+     * :limit entries of idx_feedback_driver_label_created_id, so the cost does not grow
+     * with the driver's history.
+     */
+    @Query(value = "SELECT id FROM (" +
+                   "(SELECT id, created_at FROM feedback WHERE driver_id = :driverId AND sentiment_label = 'NEGATIVE' " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit) " +
+                   "UNION ALL " +
+                   "(SELECT id, created_at FROM feedback WHERE driver_id = :driverId AND sentiment_label = 'VERY_NEGATIVE' " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit)" +
+                   ") recent ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findRecentNegativeFeedbackIds(@Param("driverId") Long driverId, @Param("limit") int limit);
+
+    /**
+     * The latest DriverStats.RECENT_NEGATIVE_LIMIT negative feedback IDs of a driver,
+     * newest first, in the format of DriverStats.recentNegativeFeedbackIds
+     */
+    default String findRecentNegativeFeedbackIdList(Long driverId) {
+        return findRecentNegativeFeedbackIds(driverId, DriverStats.RECENT_NEGATIVE_LIMIT).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
     /**
      * Find positive feedback for a driver
      */
@@ -140,12 +188,6 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      */
     List<Feedback> findByCreatedAtAfter(LocalDateTime date);
 
-    /**
-     * Search feedback by text (case-insensitive)
-     */
-    @Query("SELECT f FROM Feedback f WHERE LOWER(f.feedbackText) LIKE LOWER(CONCAT('%', :searchText, '%'))")
-    List<Feedback> searchByFeedbackText(@Param("searchText") String searchText);
-
     /**
      * Find feedback by driver and type
      */
@@ -166,6 +208,23 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query("SELECT f.sentimentLabel, COUNT(f) FROM Feedback f WHERE f.driverId = :driverId GROUP BY f.sentimentLabel")
     List<Object[]> getSentimentDistributionByDriverId(@Param("driverId") Long driverId);
 
+    /**
+     * Counts by status and sentiment label plus averages for a driver, in one pass over idx_feedback_driver
+     */
+    @Query(value = "SELECT COUNT(*) AS \"totalCount\", " +
+                   "COUNT(*) FILTER (WHERE f.status = 'PROCESSED') AS \"processedCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label = 'VERY_POSITIVE') AS \"veryPositiveCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label = 'POSITIVE') AS \"positiveCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label = 'NEUTRAL') AS \"neutralCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label = 'NEGATIVE') AS \"negativeCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label = 'VERY_NEGATIVE') AS \"veryNegativeCount\", " +
+                   "COUNT(*) FILTER (WHERE f.sentiment_label IS NULL) AS \"unlabeledCount\", " +
+                   "CAST(AVG(f.sentiment_score) AS double precision) AS \"averageSentiment\", " +
+                   "CAST(AVG(f.rating) AS double precision) AS \"averageRating\" " +
+                   "FROM feedback f WHERE f.driver_id = :driverId GROUP BY f.driver_id",
+           nativeQuery = true)
+    Optional<FeedbackAggregateRow> aggregateByDriverId(@Param("driverId") Long driverId);
+
     /**
      * Find feedback needing review (processed but not reviewed)
      */
@@ -176,4 +235,216 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * Get most recent feedback for driver
      */
     Optional<Feedback> findFirstByDriverIdOrderByCreatedAtDesc(Long driverId);
+
+    // ==================== LIST PROJECTIONS ====================
+
+    /**
+     * Find feedback views for a driver with pagination
+     */
+    @Query(value = FeedbackView.SELECT + "WHERE f.driverId = :driverId",
+           countQuery = "SELECT COUNT(f) FROM Feedback f WHERE f.driverId = :driverId")
+    Page<FeedbackView> findViewsByDriverId(@Param("driverId") Long driverId, Pageable pageable);
+
+    /**
+     * Find recent feedback views for driver
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.driverId = :driverId ORDER BY f.createdAt DESC")
+    List<FeedbackView> findRecentViewsByDriverId(@Param("driverId") Long driverId, Pageable pageable);
+
+    /**
+     * Find negative feedback views for a driver
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.driverId = :driverId AND f.sentimentLabel IN ('NEGATIVE', 'VERY_NEGATIVE')")
+    List<FeedbackView> findNegativeViewsByDriverId(@Param("driverId") Long driverId);
+
+    /**
+     * Find positive feedback views for a driver
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.driverId = :driverId AND f.sentimentLabel IN ('POSITIVE', 'VERY_POSITIVE')")
+    List<FeedbackView> findPositiveViewsByDriverId(@Param("driverId") Long driverId);
+
+    /**
+     * Find feedback views for driver in date range
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.driverId = :driverId AND f.createdAt BETWEEN :startDate AND :endDate")
+    List<FeedbackView> findViewsByDriverIdAndDateRange(
+        @Param("driverId") Long driverId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Find feedback views requiring attention with pagination
+     */
+    @Query(value = FeedbackView.SELECT + "WHERE f.requiresAttention = true",
+           countQuery = "SELECT COUNT(f) FROM Feedback f WHERE f.requiresAttention = true")
+    Page<FeedbackView> findViewsRequiringAttention(Pageable pageable);
+
+    /**
+     * Find feedback views by user ID with pagination
+     */
+    @Query(value = FeedbackView.SELECT + "WHERE f.userId = :userId",
+           countQuery = "SELECT COUNT(f) FROM Feedback f WHERE f.userId = :userId")
+    Page<FeedbackView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Find unprocessed feedback views
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.status = 'SUBMITTED' OR f.status = 'PROCESSING'")
+    List<FeedbackView> findUnprocessedViews();
+
+    /**
+     * Find a keyset page of feedback views for a driver
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.driverId = :driverId " + KEYSET_BEFORE)
+    List<FeedbackView> findViewsByDriverIdBefore(
+        @Param("driverId") Long driverId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Find a keyset page of feedback views submitted by a user
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.userId = :userId " + KEYSET_BEFORE)
+    List<FeedbackView> findViewsByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Find a keyset page of feedback views requiring attention
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.requiresAttention = true " + KEYSET_BEFORE)
+    List<FeedbackView> findViewsRequiringAttentionBefore(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Fetch keywords for a page of feedback in one query
+     *
+     * @return List of [feedbackId, keyword] pairs
+     */
+    @Query("SELECT f.id, k FROM Feedback f JOIN f.keywords k WHERE f.id IN :ids")
+    List<Object[]> findKeywordsByFeedbackIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Attach keywords to feedback views using one batched query
+     *
+     * @param views Views without keywords
+     * @return Views with keywords, in the original order
+     */
+    default List<FeedbackView> withKeywords(List<FeedbackView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+
+        Map<Long, List<String>> keywordsById = new HashMap<>();
+        List<Long> ids = views.stream().map(FeedbackView::id).toList();
+        for (Object[] row : findKeywordsByFeedbackIds(ids)) {
+            keywordsById.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<FeedbackView> result = new ArrayList<>(views.size());
+        for (FeedbackView view : views) {
+            result.add(view.withKeywords(keywordsById.getOrDefault(view.id(), List.of())));
+        }
+        return result;
+    }
+
+    /**
+     * Find the most recently processed feedback views (rebuilds the recent-feedback buffer)
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.processedAt IS NOT NULL ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackView> findRecentlyProcessedViews(Pageable pageable);
+
+    /**
+     * Get the creation time of the oldest feedback (start of the rollup backfill)
+     */
+    @Query("SELECT MIN(f.createdAt) FROM Feedback f")
+    Optional<LocalDateTime> findEarliestCreatedAt();
+
+    /**
+     * Hourly (driver ID, epoch hour, count, negative count, score sum) buckets of processed feedback
+     * created since a point in time (restores the sliding-window metrics)
+     */
+    @Query(value = "SELECT f.driver_id, CAST(EXTRACT(EPOCH FROM date_trunc('hour', f.created_at)) / 3600 AS bigint), " +
+                   "COUNT(*), COUNT(*) FILTER (WHERE f.sentiment_label IN ('NEGATIVE', 'VERY_NEGATIVE')), " +
+                   "COALESCE(SUM(f.sentiment_score), 0) " +
+                   "FROM feedback f " +
+                   "WHERE f.created_at >= :since AND f.sentiment_label IS NOT NULL AND f.processed_at IS NOT NULL " +
+                   "AND f.status NOT IN ('SUBMITTED', 'PROCESSING') " +
+                   "GROUP BY 1, 2",
+           nativeQuery = true)
+    List<Object[]> findHourlyBucketsSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Hourly (driver ID, epoch day, epoch hour, count, negative count, score sum) buckets of processed
+     * feedback on every driver day from fromDay whose feedback_daily_rollup rows changed since a point
+     * in time; a changed day with no feedback left has one row with a null hour. Processing, reprocessing
+     * and deletes all touch the rollup, so this catches the sliding-window metrics up with other nodes.
+     */
+    @Query(value = "SELECT c.driver_id, CAST(EXTRACT(EPOCH FROM c.day) / 86400 AS bigint), b.hour, " +
+                   "b.feedback_count, b.negative_count, b.score_sum " +
+                   "FROM (SELECT DISTINCT driver_id, day FROM feedback_daily_rollup " +
+                   "      WHERE updated_at >= :since AND day >= :fromDay) c " +
+                   "LEFT JOIN LATERAL (" +
+                   "  SELECT CAST(EXTRACT(EPOCH FROM date_trunc('hour', f.created_at)) / 3600 AS bigint) AS hour, " +
+                   "    COUNT(*) AS feedback_count, " +
+                   "    COUNT(*) FILTER (WHERE f.sentiment_label IN ('NEGATIVE', 'VERY_NEGATIVE')) AS negative_count, " +
+                   "    COALESCE(SUM(f.sentiment_score), 0) AS score_sum " +
+                   "  FROM feedback f " +
+                   "  WHERE f.driver_id = c.driver_id AND f.created_at >= c.day AND f.created_at < c.day + 1 " +
+                   "  AND f.sentiment_label IS NOT NULL AND f.processed_at IS NOT NULL " +
+                   "  AND f.status NOT IN ('SUBMITTED', 'PROCESSING') " +
+                   "  GROUP BY 1) b ON true",
+           nativeQuery = true)
+    List<Object[]> findHourlyBucketsOfDaysChangedSince(@Param("since") LocalDateTime since,
+                                                       @Param("fromDay") LocalDate fromDay);
+
+    /**
+     * (feedback ID, driver ID, epoch day, keyword) rows of every driver day from fromDay whose
+     * feedback_daily_rollup rows changed since a point in time (catches the keyword index up with other nodes)
+     */
+    @Query(value = "SELECT f.id, f.driver_id, CAST(EXTRACT(EPOCH FROM c.day) / 86400 AS bigint), k.keyword " +
+                   "FROM (SELECT DISTINCT driver_id, day FROM feedback_daily_rollup " +
+                   "      WHERE updated_at >= :since AND day >= :fromDay) c " +
+                   "JOIN feedback f ON f.driver_id = c.driver_id AND f.created_at >= c.day AND f.created_at < c.day + 1 " +
+                   "JOIN feedback_keywords k ON k.feedback_id = f.id",
+           nativeQuery = true)
+    List<Object[]> findKeywordPostingsOfDaysChangedSince(@Param("since") LocalDateTime since,
+                                                         @Param("fromDay") LocalDate fromDay);
+
+    /**
+     * Stream (feedback ID, driver ID, created at, keyword) rows since a point in time (rebuilds the keyword index)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT f.id, f.driverId, f.createdAt, k FROM Feedback f JOIN f.keywords k " +
+           "WHERE f.createdAt >= :since ORDER BY f.id")
+    Stream<Object[]> streamKeywordPostings(@Param("since") LocalDateTime since);
+
+    /**
+     * Oldest feedback views created before a cutoff (the next batch to archive)
+     */
+    @Query(FeedbackView.SELECT + "WHERE f.createdAt < :cutoff ORDER BY f.createdAt, f.id")
+    List<FeedbackView> findViewsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Delete the keywords of archived feedback (feedback_keywords has no cascading foreign key)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM feedback_keywords WHERE feedback_id IN (:ids)", nativeQuery = true)
+    int deleteKeywordsByFeedbackIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete archived feedback; the created_at bound limits the delete to the partitions being archived
+     */
+    @Modifying
+    @Query(value = "DELETE FROM feedback WHERE id IN (:ids) AND created_at < :cutoff", nativeQuery = true)
+    int deleteArchived(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,40 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.projection.FeedbackSearchHit;
+import com.moveinsync.sentiment.util.SearchCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Full-text search over feedback text (fragment of FeedbackRepository).
+ *
+ * Backed by the search_vector GIN index and the feedback_text trigram index (V6 migration).
+ * The SQL is assembled per call so only the filters actually supplied reach the planner.
+ */
+public interface FeedbackSearchRepository {
+
+    /**
+     * Search filters; every field except the query text is optional
+     *
+     * @param query Web-search style query ("late driver", "rude -polite", quoted phrases)
+     * @param driverId Restrict to one driver
+     * @param from Earliest created_at (inclusive)
+     * @param to Latest created_at (inclusive)
+     * @param label Restrict to one sentiment label
+     */
+    record Criteria(String query, Long driverId, LocalDateTime from, LocalDateTime to,
+                    Feedback.SentimentLabel label) {
+    }
+
+    /**
+     * Find feedback matching the criteria, ordered by relevance then ID (both descending)
+     *
+     * @param criteria Search filters
+     * @param after Last hit of the previous page, or null for the first page
+     * @param limit Maximum number of hits
+     * @return Ranked hits, without keywords attached
+     */
+    List<FeedbackSearchHit> search(Criteria criteria, SearchCursor after, int limit);
+}
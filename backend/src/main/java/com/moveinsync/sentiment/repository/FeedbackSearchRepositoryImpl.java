@@ -0,0 +1,124 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.projection.FeedbackSearchHit;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import com.moveinsync.sentiment.util.SearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native PostgreSQL implementation of {@link FeedbackSearchRepository}.
+ *
+ * A row matches when its search_vector matches websearch_to_tsquery (whole words, stemmed)
+ * or its text contains the query as a substring (partial words, via the trigram index).
+ * Rank = ts_rank_cd + word_similarity, so stemmed hits and close partial hits both score.
+ */
+public class FeedbackSearchRepositoryImpl implements FeedbackSearchRepository {
+
+    private static final String SELECT_HITS =
+        "SELECT f.id, f.driver_id, f.trip_id, f.user_id, f.feedback_type, f.feedback_text, f.rating, " +
+        "f.source, f.sentiment_score, f.sentiment_label, f.confidence, f.requires_attention, " +
+        "f.status, f.created_at, f.processed_at, " +
+        "CAST(ts_rank_cd(f.search_vector, q.query) + word_similarity(:term, f.feedback_text) " +
+        "AS double precision) AS rank " +
+        "FROM feedback f CROSS JOIN websearch_to_tsquery('english', :term) AS q(query) " +
+        "WHERE (f.search_vector @@ q.query OR f.feedback_text ILIKE :pattern) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FeedbackSearchHit> search(Criteria criteria, SearchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM (").append(SELECT_HITS);
+        Map<String, Object> params = new HashMap<>();
+        params.put("term", criteria.query());
+        params.put("pattern", "%" + escapeLike(criteria.query()) + "%");
+
+        if (criteria.driverId() != null) {
+            sql.append("AND f.driver_id = :driverId ");
+            params.put("driverId", criteria.driverId());
+        }
+        if (criteria.from() != null) {
+            sql.append("AND f.created_at >= :fromDate ");
+            params.put("fromDate", criteria.from());
+        }
+        if (criteria.to() != null) {
+            sql.append("AND f.created_at <= :toDate ");
+            params.put("toDate", criteria.to());
+        }
+        if (criteria.label() != null) {
+            sql.append("AND f.sentiment_label = :label ");
+            params.put("label", criteria.label().name());
+        }
+        sql.append(") hits ");
+
+        if (after != null) {
+            sql.append("WHERE hits.rank < :rank OR (hits.rank = :rank AND hits.id < :id) ");
+            params.put("rank", after.rank());
+            params.put("id", after.id());
+        }
+        sql.append("ORDER BY hits.rank DESC, hits.id DESC LIMIT :limit");
+        params.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<FeedbackSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new FeedbackSearchHit(toView(row), ((Number) row[15]).doubleValue()));
+        }
+        return hits;
+    }
+
+    private static FeedbackView toView(Object[] row) {
+        return new FeedbackView(
+                toLong(row[0]),
+                toLong(row[1]),
+                toLong(row[2]),
+                toLong(row[3]),
+                row[4] != null ? Feedback.FeedbackType.valueOf((String) row[4]) : null,
+                (String) row[5],
+                row[6] != null ? ((Number) row[6]).intValue() : null,
+                row[7] != null ? Feedback.FeedbackSource.valueOf((String) row[7]) : null,
+                toDouble(row[8]),
+                row[9] != null ? Feedback.SentimentLabel.valueOf((String) row[9]) : null,
+                toDouble(row[10]),
+                (Boolean) row[11],
+                row[12] != null ? Feedback.FeedbackStatus.valueOf((String) row[12]) : null,
+                toDateTime(row[13]),
+                toDateTime(row[14]));
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static Double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : null;
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
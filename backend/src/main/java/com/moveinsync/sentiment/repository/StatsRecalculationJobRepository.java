@@ -0,0 +1,93 @@
+package com.moveinsync.sentiment.repository;
+
+import com.moveinsync.sentiment.model.StatsRecalculationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for fleet stats recalculation jobs
+ */
+@Repository
+public interface StatsRecalculationJobRepository extends JpaRepository<StatsRecalculationJob, Long> {
+
+    /**
+     * Most recently started job
+     */
+    Optional<StatsRecalculationJob> findFirstByOrderByIdDesc();
+
+    /**
+     * Most recent job with a status
+     */
+    Optional<StatsRecalculationJob> findFirstByStatusOrderByIdDesc(StatsRecalculationJob.Status status);
+
+    /**
+     * Insert a RUNNING job unless one is already running (uq_stats_recalculation_jobs_running)
+     * @return 1 if inserted, 0 if another job is running
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stats_recalculation_jobs " +
+                   "(status, window_start, resume_after_driver_id, drivers_done, feedback_rows, started_at, updated_at) " +
+                   "VALUES ('RUNNING', :windowStart, 0, 0, 0, :now, :now) " +
+                   "ON CONFLICT (status) WHERE status = 'RUNNING' DO NOTHING",
+           nativeQuery = true)
+    int insertRunning(@Param("windowStart") LocalDateTime windowStart, @Param("now") LocalDateTime now);
+
+    /**
+     * Fail running jobs that were not checkpointed after abandonedBefore, so a new job can start
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatsRecalculationJob j SET j.status = :failed, j.updatedAt = :now, j.error = 'Abandoned' " +
+           "WHERE j.status = :running AND j.updatedAt < :abandonedBefore")
+    int failAbandoned(@Param("running") StatsRecalculationJob.Status running,
+                      @Param("failed") StatsRecalculationJob.Status failed,
+                      @Param("now") LocalDateTime now,
+                      @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    /**
+     * Claim a job for this node unless it is running and was checkpointed after abandonedBefore
+     * (clears the persistence context so the claimed row is re-read)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE StatsRecalculationJob j SET j.status = :running, j.updatedAt = :now, j.error = NULL " +
+           "WHERE j.id = :id AND (j.status <> :running OR j.updatedAt < :abandonedBefore)")
+    int claim(@Param("id") Long id,
+              @Param("running") StatsRecalculationJob.Status running,
+              @Param("now") LocalDateTime now,
+              @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    /**
+     * Record that every driver up to resumeAfterDriverId is committed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatsRecalculationJob j SET j.updatedAt = :now, j.resumeAfterDriverId = :resumeAfterDriverId, " +
+           "j.driversDone = :driversDone, j.feedbackRows = :feedbackRows WHERE j.id = :id")
+    int checkpoint(@Param("id") Long id,
+                   @Param("now") LocalDateTime now,
+                   @Param("resumeAfterDriverId") Long resumeAfterDriverId,
+                   @Param("driversDone") Long driversDone,
+                   @Param("feedbackRows") Long feedbackRows);
+
+    /**
+     * Record the end of a run (finishedAt is null unless the job completed)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StatsRecalculationJob j SET j.status = :status, j.updatedAt = :now, " +
+           "j.finishedAt = :finishedAt, j.error = :error WHERE j.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") StatsRecalculationJob.Status status,
+               @Param("now") LocalDateTime now,
+               @Param("finishedAt") LocalDateTime finishedAt,
+               @Param("error") String error);
+}
@@ -2,8 +2,11 @@ package com.moveinsync.sentiment.repository;
 
 import com.moveinsync.sentiment.model.SystemConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,4 +44,19 @@ public interface SystemConfigRepository extends JpaRepository<SystemConfig, Stri
      * @param configKey the configuration key
      */
     void deleteByConfigKey(String configKey);
+
+    /**
+     * Insert a configuration value unless the key is already set
+     * @return 1 if inserted, 0 if the key existed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO system_config (config_key, config_value, data_type, description, updated_at) " +
+                   "VALUES (:configKey, :configValue, :dataType, :description, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (config_key) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("configKey") String configKey,
+                       @Param("configValue") String configValue,
+                       @Param("dataType") String dataType,
+                       @Param("description") String description);
 }
\ No newline at end of file
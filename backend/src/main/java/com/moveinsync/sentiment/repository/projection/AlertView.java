@@ -0,0 +1,39 @@
+package com.moveinsync.sentiment.repository.projection;
+
+import com.moveinsync.sentiment.model.Alert;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the alert columns needed by list endpoints.
+ *
+ * Skips the metadata JSON, alert message and audit columns that AlertResponse never exposes.
+ */
+public record AlertView(
+    Long id,
+    Long driverId,
+    Alert.AlertType alertType,
+    Alert.AlertSeverity severity,
+    Double currentEmaScore,
+    Double previousEmaScore,
+    Double scoreDrop,
+    Alert.RecommendedAction recommendedAction,
+    Alert.AlertStatus status,
+    Long assignedTo,
+    LocalDateTime createdAt,
+    LocalDateTime acknowledgedAt,
+    LocalDateTime resolvedAt,
+    String resolutionNotes,
+    Boolean notificationSent,
+    String relatedFeedbackIds
+) {
+
+    /**
+     * JPQL select list matching the canonical constructor
+     */
+    public static final String SELECT =
+        "SELECT new com.moveinsync.sentiment.repository.projection.AlertView(" +
+        "a.id, a.driverId, a.alertType, a.severity, a.currentEmaScore, a.previousEmaScore, " +
+        "a.scoreDrop, a.recommendedAction, a.status, a.assignedTo, a.createdAt, a.acknowledgedAt, " +
+        "a.resolvedAt, a.resolutionNotes, a.notificationSent, a.relatedFeedbackIds) FROM Alert a ";
+}
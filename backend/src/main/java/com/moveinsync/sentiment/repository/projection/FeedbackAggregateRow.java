@@ -0,0 +1,29 @@
+package com.moveinsync.sentiment.repository.projection;
+
+/**
+ * Per-driver feedback counts and averages computed in one aggregate pass.
+ *
+ * Interface projection over the aliased columns of FeedbackRepository.aggregateByDriverId.
+ */
+public interface FeedbackAggregateRow {
+
+    Long getTotalCount();
+
+    Long getProcessedCount();
+
+    Long getVeryPositiveCount();
+
+    Long getPositiveCount();
+
+    Long getNeutralCount();
+
+    Long getNegativeCount();
+
+    Long getVeryNegativeCount();
+
+    Long getUnlabeledCount();
+
+    Double getAverageSentiment();
+
+    Double getAverageRating();
+}
@@ -0,0 +1,7 @@
+package com.moveinsync.sentiment.repository.projection;
+
+/**
+ * Full-text search result: the feedback summary and its relevance rank (higher is better)
+ */
+public record FeedbackSearchHit(FeedbackView view, double rank) {
+}
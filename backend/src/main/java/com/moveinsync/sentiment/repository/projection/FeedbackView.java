@@ -0,0 +1,76 @@
+package com.moveinsync.sentiment.repository.projection;
+
+import com.moveinsync.sentiment.model.Feedback;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of the feedback columns needed by list endpoints.
+ *
+ * Selected with a JPQL constructor expression, so no entity is materialized:
+ * the metadata JSON is never parsed and the keywords collection is not lazily
+ * loaded per row. Keywords are attached afterwards from one batched query per page.
+ */
+public record FeedbackView(
+    Long id,
+    Long driverId,
+    Long tripId,
+    Long userId,
+    Feedback.FeedbackType feedbackType,
+    String feedbackText,
+    Integer rating,
+    Feedback.FeedbackSource source,
+    Double sentimentScore,
+    Feedback.SentimentLabel sentimentLabel,
+    Double confidence,
+    Boolean requiresAttention,
+    Feedback.FeedbackStatus status,
+    LocalDateTime createdAt,
+    LocalDateTime processedAt,
+    List<String> keywords
+) {
+
+    /**
+     * Constructor used by the JPQL constructor expression (keywords attached later)
+     */
+    public FeedbackView(Long id, Long driverId, Long tripId, Long userId,
+                        Feedback.FeedbackType feedbackType, String feedbackText, Integer rating,
+                        Feedback.FeedbackSource source, Double sentimentScore,
+                        Feedback.SentimentLabel sentimentLabel, Double confidence,
+                        Boolean requiresAttention, Feedback.FeedbackStatus status,
+                        LocalDateTime createdAt, LocalDateTime processedAt) {
+        this(id, driverId, tripId, userId, feedbackType, feedbackText, rating, source, sentimentScore,
+             sentimentLabel, confidence, requiresAttention, status, createdAt, processedAt, List.of());
+    }
+
+    /**
+     * JPQL select list matching the constructor above
+     */
+    public static final String SELECT =
+        "SELECT new com.moveinsync.sentiment.repository.projection.FeedbackView(" +
+        "f.id, f.driverId, f.tripId, f.userId, f.feedbackType, f.feedbackText, f.rating, " +
+        "f.source, f.sentimentScore, f.sentimentLabel, f.confidence, f.requiresAttention, " +
+        "f.status, f.createdAt, f.processedAt) FROM Feedback f ";
+
+    /**
+     * Build a view from a loaded entity (used on the write path, where the entity is already in hand)
+     */
+    public static FeedbackView from(Feedback feedback) {
+        return new FeedbackView(feedback.getId(), feedback.getDriverId(), feedback.getTripId(), feedback.getUserId(),
+                feedback.getFeedbackType(), feedback.getFeedbackText(), feedback.getRating(), feedback.getSource(),
+                feedback.getSentimentScore(), feedback.getSentimentLabel(), feedback.getConfidence(),
+                feedback.getRequiresAttention(), feedback.getStatus(), feedback.getCreatedAt(),
+                feedback.getProcessedAt(),
+                feedback.getKeywords() != null ? List.copyOf(feedback.getKeywords()) : List.of());
+    }
+
+    /**
+     * Copy of this view with the given keywords
+     */
+    public FeedbackView withKeywords(List<String> keywords) {
+        return new FeedbackView(id, driverId, tripId, userId, feedbackType, feedbackText, rating, source,
+                sentimentScore, sentimentLabel, confidence, requiresAttention, status, createdAt, processedAt,
+                keywords);
+    }
+}
@@ -0,0 +1,282 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.config.CacheKeys;
+import com.moveinsync.sentiment.repository.AlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alert Index
+ *
+ * Per-driver alert state in Redis, shared by every node, so createAlert's pre-checks are
+ * key lookups instead of alert queries:
+ * - alert:driver:{id}:has:active - present while the driver has an ACTIVE, ACKNOWLEDGED or
+ *   IN_PROGRESS alert; set when an alert is created, removed when the last one is closed
+ * - alert:driver:{id}:cooldown - present until the driver's cooldown expires (Redis TTL)
+ *
+ * The cooldown key is claimed with SET NX before an alert is created, so two nodes cannot
+ * both alert for the same driver; the claim is dropped if the transaction rolls back.
+ *
+ * The flags are rebuilt from the alerts table on startup when alert:index:ready is missing
+ * (e.g. after a Redis flush) and reconciled on a schedule. Until the marker is set, or
+ * whenever Redis fails, callers fall back to the database checks. Rebuilds read the primary
+ * (a lagging replica would miss new alerts) and never trust the snapshot alone: an active flag
+ * it did not cover is re-checked before and after it is deleted, so an alert created mid-rebuild
+ * keeps its flag, and a flag it did cover is only written if missing and then re-checked, so
+ * an alert closed mid-rebuild does not get its flag back.
+ */
+@Slf4j
+@Component
+public class AlertIndex implements ApplicationRunner {
+
+    private static final String ACTIVE = "1";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AlertRepository alertRepository;
+
+    public AlertIndex(StringRedisTemplate stringRedisTemplate, AlertRepository alertRepository) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.alertRepository = alertRepository;
+    }
+
+    /**
+     * Build the flags if no node has built them yet
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(CacheKeys.ALERT_INDEX_READY))) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to build alert index, alert checks will use the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Check a driver and, if it may be alerted, claim its cooldown until the given time.
+     * A claim is released if the current transaction rolls back.
+     */
+    public Claim tryClaim(Long driverId, LocalDateTime cooldownExpiresAt) {
+        try {
+            List<String> flags = stringRedisTemplate.opsForValue().multiGet(
+                    List.of(CacheKeys.ALERT_INDEX_READY, CacheKeys.driverHasActiveAlert(driverId)));
+            if (flags == null || flags.get(0) == null) {
+                return Claim.UNAVAILABLE;
+            }
+            if (flags.get(1) != null) {
+                return Claim.ACTIVE_ALERT;
+            }
+            Duration ttl = Duration.between(LocalDateTime.now(), cooldownExpiresAt);
+            Boolean claimed = stringRedisTemplate.opsForValue().setIfAbsent(
+                    CacheKeys.driverAlertCooldown(driverId), String.valueOf(toMillis(cooldownExpiresAt)), ttl);
+            if (!Boolean.TRUE.equals(claimed)) {
+                return Claim.IN_COOLDOWN;
+            }
+            releaseOnRollback(driverId);
+            return Claim.CLAIMED;
+        } catch (Exception e) {
+            log.warn("Alert index lookup failed, using the database: driverId={}: {}", driverId, e.getMessage());
+            return Claim.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Record a new alert once the current transaction commits
+     */
+    public void alertCreatedAfterCommit(Long driverId, LocalDateTime cooldownExpiresAt) {
+        afterCommit(() -> {
+            stringRedisTemplate.opsForValue().set(CacheKeys.driverHasActiveAlert(driverId), ACTIVE);
+            stringRedisTemplate.opsForValue().set(CacheKeys.driverAlertCooldown(driverId),
+                    String.valueOf(toMillis(cooldownExpiresAt)), Duration.between(LocalDateTime.now(), cooldownExpiresAt));
+        });
+    }
+
+    /**
+     * Record that a driver's alert was closed once the current transaction commits
+     *
+     * @param stillActive Whether the driver has other open alerts
+     */
+    public void alertClosedAfterCommit(Long driverId, boolean stillActive) {
+        if (!stillActive) {
+            afterCommit(() -> stringRedisTemplate.delete(CacheKeys.driverHasActiveAlert(driverId)));
+        }
+    }
+
+    /**
+     * Rebuild the flags from the alerts table and remove flags with no open alert behind them
+     */
+    @Scheduled(fixedDelayString = "${app.alert.index.reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.alert.index.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Alert index reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> active = new HashSet<>(alertRepository.findDriverIdsWithActiveAlerts());
+        Map<Long, LocalDateTime> cooldowns = new HashMap<>();
+        for (Object[] row : alertRepository.findCooldownExpiryByDriver(now)) {
+            cooldowns.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        int removed = 0;
+        try (Cursor<String> keys = stringRedisTemplate.scan(ScanOptions.scanOptions()
+                .match(CacheKeys.DRIVER_HAS_ACTIVE_ALERT_PATTERN)
+                .count(1000)
+                .build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Long driverId = driverIdOf(key);
+                if (!active.contains(driverId) && removeStaleFlag(key, driverId)) {
+                    removed++;
+                }
+            }
+        }
+        int added = 0;
+        for (Long driverId : active) {
+            if (addMissingFlag(driverId)) {
+                added++;
+            }
+        }
+        for (Map.Entry<Long, LocalDateTime> cooldown : cooldowns.entrySet()) {
+            Duration ttl = Duration.between(LocalDateTime.now(), cooldown.getValue());
+            if (!ttl.isNegative() && !ttl.isZero()) {
+                stringRedisTemplate.opsForValue().set(CacheKeys.driverAlertCooldown(cooldown.getKey()),
+                        String.valueOf(toMillis(cooldown.getValue())), ttl);
+            }
+        }
+        stringRedisTemplate.opsForValue().set(CacheKeys.ALERT_INDEX_READY, now.toString());
+
+        log.info("Alert index rebuilt in {} ms: activeDrivers={}, cooldownDrivers={}, flagsAdded={}, staleFlagsRemoved={}",
+                System.currentTimeMillis() - start, active.size(), cooldowns.size(), added, removed);
+    }
+
+    /**
+     * Delete an active flag the rebuild snapshot did not cover, unless the driver has an open
+     * alert on the primary. Checking again after the delete restores the flag of an alert that
+     * committed in between (its own after-commit write may have preceded the delete).
+     */
+    private boolean removeStaleFlag(String key, Long driverId) {
+        if (driverId != null && hasActiveAlert(driverId)) {
+            return false;
+        }
+        stringRedisTemplate.delete(key);
+        if (driverId != null && hasActiveAlert(driverId)) {
+            stringRedisTemplate.opsForValue().set(key, ACTIVE);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Write the active flag of a driver the rebuild snapshot covered, if it is missing, and keep
+     * it only if the driver still has an open alert (one closed since the snapshot may already
+     * have run its own delete)
+     */
+    private boolean addMissingFlag(Long driverId) {
+        String key = CacheKeys.driverHasActiveAlert(driverId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, ACTIVE))) {
+            return false;
+        }
+        return !removeStaleFlag(key, driverId);
+    }
+
+    private boolean hasActiveAlert(Long driverId) {
+        return alertRepository.hasActiveAlert(driverId);
+    }
+
+    private void releaseOnRollback(Long driverId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    write(() -> stringRedisTemplate.delete(CacheKeys.driverAlertCooldown(driverId)));
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(update);
+            }
+        });
+    }
+
+    /**
+     * Apply an update; if it fails the index can no longer be trusted, so drop the ready
+     * marker and let the database answer until the next rebuild
+     */
+    private void write(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.warn("Alert index update failed, falling back to the database until rebuilt: {}", e.getMessage());
+            try {
+                stringRedisTemplate.delete(CacheKeys.ALERT_INDEX_READY);
+            } catch (Exception ignored) {
+                // Redis is unreachable, so lookups fall back anyway
+            }
+        }
+    }
+
+    private static Long driverIdOf(String activeKey) {
+        // alert:driver:{driverId}:has:active
+        String[] parts = activeKey.split(":");
+        try {
+            return Long.valueOf(parts[2]);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Outcome of {@link #tryClaim}
+     */
+    public enum Claim {
+        /** The driver may be alerted; its cooldown is now claimed */
+        CLAIMED,
+        /** The driver already has an open alert */
+        ACTIVE_ALERT,
+        /** The driver is in cooldown */
+        IN_COOLDOWN,
+        /** The index cannot answer; check the database */
+        UNAVAILABLE
+    }
+}
@@ -0,0 +1,917 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.Alert;
+import com.moveinsync.sentiment.model.DriverStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Alert Rule Program
+ *
+ * The alert rules, held as text in system_config (key alert.rules) and compiled when the
+ * configuration snapshot loads. One rule per line, in four sections; the first matching
+ * rule of a section decides its outcome:
+ *
+ *   status:  ema <= criticalThreshold -> CRITICAL CRITICAL      (alert status and severity)
+ *   trigger: status == WARNING AND previousStatus == NORMAL -> true   (counts as a triggered alert)
+ *   type:    consecutiveNegative >= 3 -> CONSECUTIVE_NEGATIVE_FEEDBACK
+ *   action:  status == CRITICAL -> INVESTIGATE_FURTHER
+ *
+ * Conditions use the {@link Variable}s, numbers, true/false, enum names, arithmetic,
+ * comparisons, AND/OR/NOT and parentheses; lines starting with # are comments. Each section
+ * ends with a 'true -> ...' rule; a section left out of the text keeps its
+ * {@link #DEFAULT_SOURCE} rules.
+ *
+ * Each section compiles to a flat postfix program (int codes plus a constant pool) run
+ * against a per-thread {@link Facts}, so evaluation allocates nothing. Comparisons with a
+ * missing value (previousEma of a new driver, or a division by zero) are false, as in SQL;
+ * the status and trigger sections also compile to SQL CASE expressions for
+ * AlertStatusReevaluationService.
+ */
+public final class AlertRuleProgram {
+
+    public static final String CONFIG_KEY = "alert.rules";
+
+    public static final String DEFAULT_SOURCE = String.join("\n",
+            "status:  ema <= criticalThreshold -> CRITICAL CRITICAL",
+            "status:  ema <= warningThreshold OR consecutiveNegative >= 3 -> WARNING HIGH",
+            "status:  ema < 0 -> WARNING MEDIUM",
+            "status:  true -> NORMAL LOW",
+            "trigger: previousStatus == NONE -> false",
+            "trigger: status == CRITICAL AND previousStatus != CRITICAL -> true",
+            "trigger: status == WARNING AND previousStatus == NORMAL -> true",
+            "trigger: true -> false",
+            "type:    consecutiveNegative >= 3 -> CONSECUTIVE_NEGATIVE_FEEDBACK",
+            "type:    storedEma < previousEma - 0.3 -> SUDDEN_SCORE_DROP",
+            "type:    true -> LOW_SENTIMENT_SCORE",
+            "action:  status == CRITICAL -> INVESTIGATE_FURTHER",
+            "action:  consecutiveNegative >= 5 -> SCHEDULE_TRAINING",
+            "action:  consecutiveNegative >= 3 -> REVIEW_DRIVER_PROFILE",
+            "action:  true -> MONITOR_CLOSELY");
+
+    public static final AlertRuleProgram DEFAULT = compile(DEFAULT_SOURCE);
+
+    private static final int MAX_STACK = 32;
+    private static final double NONE = -1.0;
+    private static final ThreadLocal<Facts> FACTS = ThreadLocal.withInitial(Facts::new);
+
+    // Opcodes; CONST, LOAD and JUMP_IF_FALSE take one operand, RETURN takes the outcome index
+    private static final int CONST = 0;
+    private static final int LOAD = 1;
+    private static final int NEG = 2;
+    private static final int ADD = 3;
+    private static final int SUB = 4;
+    private static final int MUL = 5;
+    private static final int DIV = 6;
+    private static final int LT = 7;
+    private static final int LE = 8;
+    private static final int GT = 9;
+    private static final int GE = 10;
+    private static final int EQ = 11;
+    private static final int NE = 12;
+    private static final int AND = 13;
+    private static final int OR = 14;
+    private static final int NOT = 15;
+    private static final int JUMP_IF_FALSE = 16;
+    private static final int RETURN = 17;
+
+    private final String source;
+    private final Map<Section, Compiled> sections;
+    private final Compiled[] programs;
+    private final DriverStatsService.AlertLevel[] levels;
+    private final boolean[] triggers;
+    private final Alert.AlertType[] types;
+    private final Alert.RecommendedAction[] actions;
+
+    private AlertRuleProgram(String source, Map<Section, Compiled> sections) {
+        this.source = source;
+        this.sections = sections;
+        this.programs = sections.values().toArray(new Compiled[0]);
+        this.levels = sections.get(Section.STATUS).outcomes().stream()
+                .map(AlertRuleProgram::parseLevel)
+                .toArray(DriverStatsService.AlertLevel[]::new);
+        this.triggers = new boolean[sections.get(Section.TRIGGER).outcomes().size()];
+        for (int i = 0; i < triggers.length; i++) {
+            triggers[i] = Boolean.parseBoolean(sections.get(Section.TRIGGER).outcomes().get(i));
+        }
+        this.types = sections.get(Section.TYPE).outcomes().stream()
+                .map(Alert.AlertType::valueOf)
+                .toArray(Alert.AlertType[]::new);
+        this.actions = sections.get(Section.ACTION).outcomes().stream()
+                .map(Alert.RecommendedAction::valueOf)
+                .toArray(Alert.RecommendedAction[]::new);
+    }
+
+    /**
+     * Compile rule text
+     *
+     * @throws IllegalArgumentException naming the offending line
+     */
+    public static AlertRuleProgram compile(String source) {
+        Map<Section, List<Rule>> rules = new EnumMap<>(Section.class);
+        String[] lines = source.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                Rule rule = parseRule(line);
+                rules.computeIfAbsent(rule.section(), section -> new ArrayList<>()).add(rule);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Alert rules line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        Map<Section, Compiled> sections = new EnumMap<>(Section.class);
+        for (Section section : Section.values()) {
+            List<Rule> sectionRules = rules.get(section);
+            if (sectionRules != null) {
+                Node last = sectionRules.get(sectionRules.size() - 1).condition();
+                if (!(last instanceof Constant constant && constant.type() == Type.BOOLEAN && constant.value() != 0.0)) {
+                    throw new IllegalArgumentException("Alert rules: the last " + section.label
+                            + " rule must be 'true -> ...' so every driver gets an outcome");
+                }
+                sections.put(section, Compiled.of(sectionRules));
+            } else if (DEFAULT != null) {
+                sections.put(section, DEFAULT.sections.get(section));
+            } else {
+                throw new IllegalArgumentException("Alert rules have no " + section.label + " section");
+            }
+        }
+        return new AlertRuleProgram(source, sections);
+    }
+
+    /**
+     * Facts for the calling thread, reset and holding the thresholds of a configuration
+     * snapshot; valid until the thread asks for facts again
+     */
+    public static Facts facts(SystemConfigService.Snapshot config) {
+        return FACTS.get().reset(config);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public int ruleCount() {
+        return sections.values().stream().mapToInt(compiled -> compiled.outcomes().size()).sum();
+    }
+
+    /**
+     * Alert status and severity; also sets the status and severity facts for the other sections
+     */
+    DriverStatsService.AlertLevel level(Facts facts) {
+        DriverStatsService.AlertLevel level = levels[run(Section.STATUS, facts)];
+        facts.slots[Variable.STATUS.ordinal()] = ordinal(level.status());
+        facts.slots[Variable.SEVERITY.ordinal()] = ordinal(level.severity());
+        return level;
+    }
+
+    /**
+     * Whether moving from previousStatus to status counts as a triggered alert
+     */
+    boolean trigger(Facts facts) {
+        return triggers[run(Section.TRIGGER, facts)];
+    }
+
+    Alert.AlertType alertType(Facts facts) {
+        return types[run(Section.TYPE, facts)];
+    }
+
+    Alert.RecommendedAction action(Facts facts) {
+        return actions[run(Section.ACTION, facts)];
+    }
+
+    /**
+     * SQL CASE for the alert status, with each variable mapped to a column expression
+     */
+    String statusSql(Function<Variable, String> columns) {
+        return caseSql(Section.STATUS, columns, outcome -> "'" + outcome.split(" ")[0] + "'");
+    }
+
+    /**
+     * SQL CASE for the alert severity, with each variable mapped to a column expression
+     */
+    String severitySql(Function<Variable, String> columns) {
+        return caseSql(Section.STATUS, columns, outcome -> "'" + outcome.split(" ")[1] + "'");
+    }
+
+    /**
+     * SQL CASE for the trigger section, with each variable mapped to a column expression
+     */
+    String triggerSql(Function<Variable, String> columns) {
+        return caseSql(Section.TRIGGER, columns, outcome -> outcome.toUpperCase(Locale.ROOT));
+    }
+
+    private String caseSql(Section section, Function<Variable, String> columns, Function<String, String> outcome) {
+        Compiled compiled = sections.get(section);
+        StringBuilder sql = new StringBuilder("CASE");
+        for (int i = 0; i < compiled.conditions().size() - 1; i++) {
+            sql.append(" WHEN ").append(toSql(compiled.conditions().get(i), columns))
+               .append(" THEN ").append(outcome.apply(compiled.outcomes().get(i)));
+        }
+        return sql.append(" ELSE ").append(outcome.apply(compiled.outcomes().get(compiled.outcomes().size() - 1)))
+                  .append(" END").toString();
+    }
+
+    private int run(Section section, Facts facts) {
+        Compiled compiled = programs[section.ordinal()];
+        int[] code = compiled.code();
+        double[] constants = compiled.constants();
+        double[] slots = facts.slots;
+        double[] stack = facts.stack;
+        int sp = 0;
+        int pc = 0;
+        while (true) {
+            switch (code[pc++]) {
+                case CONST -> stack[sp++] = constants[code[pc++]];
+                case LOAD -> stack[sp++] = slots[code[pc++]];
+                case NEG -> stack[sp - 1] = -stack[sp - 1];
+                case ADD -> { sp--; stack[sp - 1] += stack[sp]; }
+                case SUB -> { sp--; stack[sp - 1] -= stack[sp]; }
+                case MUL -> { sp--; stack[sp - 1] *= stack[sp]; }
+                case DIV -> {
+                    sp--;
+                    // Missing rather than infinite, like NULLIF(divisor, 0) in the SQL
+                    stack[sp - 1] = stack[sp] == 0.0 ? Double.NaN : stack[sp - 1] / stack[sp];
+                }
+                case LT -> { sp--; stack[sp - 1] = truth(stack[sp - 1] < stack[sp]); }
+                case LE -> { sp--; stack[sp - 1] = truth(stack[sp - 1] <= stack[sp]); }
+                case GT -> { sp--; stack[sp - 1] = truth(stack[sp - 1] > stack[sp]); }
+                case GE -> { sp--; stack[sp - 1] = truth(stack[sp - 1] >= stack[sp]); }
+                case EQ -> { sp--; stack[sp - 1] = truth(stack[sp - 1] == stack[sp]); }
+                case NE -> {
+                    sp--;
+                    double left = stack[sp - 1];
+                    double right = stack[sp];
+                    // NaN compares false either way, like NULL in SQL
+                    stack[sp - 1] = truth(left != right && left == left && right == right);
+                }
+                case AND -> { sp--; stack[sp - 1] = truth(stack[sp - 1] != 0.0 && stack[sp] != 0.0); }
+                case OR -> { sp--; stack[sp - 1] = truth(stack[sp - 1] != 0.0 || stack[sp] != 0.0); }
+                case NOT -> stack[sp - 1] = truth(stack[sp - 1] == 0.0);
+                case JUMP_IF_FALSE -> {
+                    int target = code[pc++];
+                    if (stack[--sp] == 0.0) {
+                        pc = target;
+                    }
+                }
+                case RETURN -> {
+                    return code[pc];
+                }
+                default -> throw new IllegalStateException("Bad alert rule opcode at " + (pc - 1));
+            }
+        }
+    }
+
+    private static double truth(boolean value) {
+        return value ? 1.0 : 0.0;
+    }
+
+    private static double ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : NONE;
+    }
+
+    private static DriverStatsService.AlertLevel parseLevel(String outcome) {
+        String[] parts = outcome.split(" ");
+        return new DriverStatsService.AlertLevel(
+                DriverStats.AlertStatus.valueOf(parts[0]), DriverStats.AlertSeverity.valueOf(parts[1]));
+    }
+
+    // ==================== Parsing ====================
+
+    private static Rule parseRule(String line) {
+        int colon = line.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("expected '<section>: <condition> -> <outcome>'");
+        }
+        Section section = Section.of(line.substring(0, colon).strip());
+        String body = line.substring(colon + 1);
+        int arrow = body.lastIndexOf("->");
+        int arrowLength = 2;
+        if (arrow < 0) {
+            arrow = body.lastIndexOf('\u2192');
+            arrowLength = 1;
+        }
+        if (arrow < 0) {
+            throw new IllegalArgumentException("missing '->' before the outcome");
+        }
+        Node condition = new Parser(body.substring(0, arrow), section).parse();
+        if (condition.type() != Type.BOOLEAN) {
+            throw new IllegalArgumentException("condition is not true/false");
+        }
+        return new Rule(section, condition, section.outcome(body.substring(arrow + arrowLength)));
+    }
+
+    /**
+     * Recursive descent over: or := and (OR and)*, and := not (AND not)*, not := NOT not | cmp,
+     * cmp := sum (op sum)?, sum := product ((+|-) product)*, product := unary ((*|/) unary)*,
+     * unary := - unary | atom
+     */
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private final Section section;
+        private int position;
+
+        Parser(String text, Section section) {
+            this.tokens = tokenize(text);
+            this.section = section;
+        }
+
+        Node parse() {
+            if (tokens.isEmpty()) {
+                throw new IllegalArgumentException("empty condition");
+            }
+            Node node = or();
+            if (position < tokens.size()) {
+                throw new IllegalArgumentException("unexpected '" + tokens.get(position) + "'");
+            }
+            return node;
+        }
+
+        private Node or() {
+            Node node = and();
+            while (accept("OR")) {
+                node = logical(OR, node, and());
+            }
+            return node;
+        }
+
+        private Node and() {
+            Node node = not();
+            while (accept("AND")) {
+                node = logical(AND, node, not());
+            }
+            return node;
+        }
+
+        private Node not() {
+            if (accept("NOT")) {
+                Node operand = not();
+                requireType(operand, Type.BOOLEAN, "NOT");
+                return new Unary(NOT, operand, Type.BOOLEAN);
+            }
+            return comparison();
+        }
+
+        private Node comparison() {
+            Node left = sum();
+            String token = peek();
+            int op = switch (token == null ? "" : token) {
+                case "<" -> LT;
+                case "<=" -> LE;
+                case ">" -> GT;
+                case ">=" -> GE;
+                case "==", "=" -> EQ;
+                case "!=", "<>" -> NE;
+                default -> -1;
+            };
+            if (op < 0) {
+                return left;
+            }
+            position++;
+            Node right = sum();
+            if (left instanceof Literal literal) {
+                left = literal.resolve(right.type());
+            }
+            if (right instanceof Literal literal) {
+                right = literal.resolve(left.type());
+            }
+            if (left.type() != right.type()) {
+                throw new IllegalArgumentException("cannot compare " + left.type() + " with " + right.type());
+            }
+            if (left.type() != Type.NUMBER && op != EQ && op != NE) {
+                throw new IllegalArgumentException(left.type() + " values only support == and !=");
+            }
+            return new Binary(op, left, right, Type.BOOLEAN);
+        }
+
+        private Node sum() {
+            Node node = product();
+            while (true) {
+                if (accept("+")) {
+                    node = arithmetic(ADD, node, product());
+                } else if (accept("-")) {
+                    node = arithmetic(SUB, node, product());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node product() {
+            Node node = unary();
+            while (true) {
+                if (accept("*")) {
+                    node = arithmetic(MUL, node, unary());
+                } else if (accept("/")) {
+                    node = arithmetic(DIV, node, unary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node unary() {
+            if (accept("-")) {
+                Node operand = unary();
+                requireType(operand, Type.NUMBER, "-");
+                return operand instanceof Constant constant && constant.type() == Type.NUMBER
+                        ? new Constant(-constant.value(), Type.NUMBER, null)
+                        : new Unary(NEG, operand, Type.NUMBER);
+            }
+            return atom();
+        }
+
+        private Node atom() {
+            String token = next();
+            if (token.equals("(")) {
+                Node node = or();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("missing ')'");
+                }
+                return node;
+            }
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+                try {
+                    return new Constant(Double.parseDouble(token), Type.NUMBER, null);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("bad number '" + token + "'");
+                }
+            }
+            if (token.equalsIgnoreCase("true") || token.equalsIgnoreCase("false")) {
+                return new Constant(truth(Boolean.parseBoolean(token)), Type.BOOLEAN, null);
+            }
+            Variable variable = Variable.byName(token);
+            if (variable != null) {
+                if (!variable.allowedIn(section)) {
+                    throw new IllegalArgumentException(variable.label + " is not known in the " + section.label + " section");
+                }
+                return new Load(variable);
+            }
+            if (Character.isLetter(token.charAt(0))) {
+                return new Literal(token);
+            }
+            throw new IllegalArgumentException("unexpected '" + token + "'");
+        }
+
+        private Node logical(int op, Node left, Node right) {
+            requireType(left, Type.BOOLEAN, op == AND ? "AND" : "OR");
+            requireType(right, Type.BOOLEAN, op == AND ? "AND" : "OR");
+            return new Binary(op, left, right, Type.BOOLEAN);
+        }
+
+        private Node arithmetic(int op, Node left, Node right) {
+            requireType(left, Type.NUMBER, "arithmetic");
+            requireType(right, Type.NUMBER, "arithmetic");
+            return new Binary(op, left, right, Type.NUMBER);
+        }
+
+        private static void requireType(Node node, Type type, String operator) {
+            if (node instanceof Literal literal) {
+                throw new IllegalArgumentException("unknown name '" + literal.name() + "'");
+            }
+            if (node.type() != type) {
+                throw new IllegalArgumentException(operator + " needs " + type + " operands");
+            }
+        }
+
+        private String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private String next() {
+            if (position >= tokens.size()) {
+                throw new IllegalArgumentException("condition ends unexpectedly");
+            }
+            return tokens.get(position++);
+        }
+
+        private boolean accept(String token) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private static List<String> tokenize(String text) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (Character.isLetterOrDigit(c) || c == '_' || c == '.') {
+                    int start = i;
+                    while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i))
+                            || text.charAt(i) == '_' || text.charAt(i) == '.')) {
+                        i++;
+                    }
+                    tokens.add(text.substring(start, i));
+                } else if (i + 1 < text.length() && List.of("<=", ">=", "==", "!=", "<>").contains(text.substring(i, i + 2))) {
+                    tokens.add(text.substring(i, i + 2));
+                    i += 2;
+                } else if ("<>=+-*/()".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    throw new IllegalArgumentException("unexpected character '" + c + "'");
+                }
+            }
+            return tokens;
+        }
+    }
+
+    // ==================== Code generation ====================
+
+    private static final class Emitter {
+
+        private int[] code = new int[64];
+        private int length;
+        private final List<Double> constants = new ArrayList<>();
+        private int depth;
+        private int maxDepth;
+
+        void emit(Node node) {
+            if (node instanceof Constant constant) {
+                int index = constants.indexOf(constant.value());
+                if (index < 0) {
+                    index = constants.size();
+                    constants.add(constant.value());
+                }
+                add(CONST, index);
+                push(1);
+            } else if (node instanceof Load load) {
+                add(LOAD, load.variable().ordinal());
+                push(1);
+            } else if (node instanceof Unary unary) {
+                emit(unary.operand());
+                add(unary.op());
+            } else if (node instanceof Binary binary) {
+                emit(binary.left());
+                emit(binary.right());
+                add(binary.op());
+                push(-1);
+            } else {
+                throw new IllegalArgumentException("unknown name '" + ((Literal) node).name() + "'");
+            }
+        }
+
+        /**
+         * Conditional jump whose target is patched once known; returns the operand position
+         */
+        int jumpIfFalse() {
+            add(JUMP_IF_FALSE, -1);
+            push(-1);
+            return length - 1;
+        }
+
+        void patch(int operand) {
+            code[operand] = length;
+        }
+
+        void add(int... words) {
+            if (length + words.length > code.length) {
+                code = Arrays.copyOf(code, Math.max(code.length * 2, length + words.length));
+            }
+            for (int word : words) {
+                code[length++] = word;
+            }
+        }
+
+        private void push(int delta) {
+            depth += delta;
+            maxDepth = Math.max(maxDepth, depth);
+            if (maxDepth > MAX_STACK) {
+                throw new IllegalArgumentException("condition nests more than " + MAX_STACK + " levels deep");
+            }
+        }
+
+        int[] code() {
+            return Arrays.copyOf(code, length);
+        }
+
+        double[] constants() {
+            return constants.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+    }
+
+    /**
+     * One section: for each rule, its condition then JUMP_IF_FALSE to the next rule and
+     * RETURN of its outcome index; the last rule is the catch-all, a bare RETURN
+     */
+    private record Compiled(int[] code, double[] constants, List<Node> conditions, List<String> outcomes) {
+
+        static Compiled of(List<Rule> rules) {
+            Emitter emitter = new Emitter();
+            int last = rules.size() - 1;
+            for (int i = 0; i < last; i++) {
+                emitter.emit(rules.get(i).condition());
+                int next = emitter.jumpIfFalse();
+                emitter.add(RETURN, i);
+                emitter.patch(next);
+            }
+            emitter.add(RETURN, last);
+            return new Compiled(emitter.code(), emitter.constants(),
+                    rules.stream().map(Rule::condition).toList(),
+                    rules.stream().map(Rule::outcome).toList());
+        }
+    }
+
+    private static String toSql(Node node, Function<Variable, String> columns) {
+        if (node instanceof Constant constant) {
+            if (constant.sql() != null) {
+                return constant.sql();
+            }
+            if (constant.type() == Type.BOOLEAN) {
+                return constant.value() != 0.0 ? "TRUE" : "FALSE";
+            }
+            return constant.value() < 0 ? "(" + constant.value() + ")" : String.valueOf(constant.value());
+        }
+        if (node instanceof Load load) {
+            return columns.apply(load.variable());
+        }
+        if (node instanceof Unary unary) {
+            return unary.op() == NOT
+                    ? "(NOT " + toSql(unary.operand(), columns) + ")"
+                    : "(-" + toSql(unary.operand(), columns) + ")";
+        }
+        if (!(node instanceof Binary binary)) {
+            throw new IllegalStateException("Unresolved name " + ((Literal) node).name());
+        }
+        String left = toSql(binary.left(), columns);
+        String right = toSql(binary.right(), columns);
+        return switch (binary.op()) {
+            case ADD -> "(" + left + " + " + right + ")";
+            case SUB -> "(" + left + " - " + right + ")";
+            case MUL -> "(" + left + " * " + right + ")";
+            case DIV -> "(" + left + " / NULLIF(" + right + ", 0))";
+            case AND -> "(" + left + " AND " + right + ")";
+            case OR -> "(" + left + " OR " + right + ")";
+            // A NULL comparison is false, matching NaN in the program
+            case LT -> "COALESCE(" + left + " < " + right + ", FALSE)";
+            case LE -> "COALESCE(" + left + " <= " + right + ", FALSE)";
+            case GT -> "COALESCE(" + left + " > " + right + ", FALSE)";
+            case GE -> "COALESCE(" + left + " >= " + right + ", FALSE)";
+            case EQ -> "COALESCE(" + left + " = " + right + ", FALSE)";
+            case NE -> "COALESCE(" + left + " <> " + right + ", FALSE)";
+            default -> throw new IllegalStateException("Bad alert rule operator " + binary.op());
+        };
+    }
+
+    // ==================== Model ====================
+
+    /**
+     * Rule sections, each with the outcome its rules produce
+     */
+    enum Section {
+        STATUS("status"),
+        TRIGGER("trigger"),
+        TYPE("type"),
+        ACTION("action");
+
+        private final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+
+        static Section of(String label) {
+            for (Section section : values()) {
+                if (section.label.equalsIgnoreCase(label)) {
+                    return section;
+                }
+            }
+            throw new IllegalArgumentException("unknown section '" + label + "', expected status, trigger, type or action");
+        }
+
+        /**
+         * Validate and normalise an outcome
+         */
+        String outcome(String text) {
+            String[] parts = text.strip().replace(',', ' ').toUpperCase(Locale.ROOT).split("\\s+");
+            try {
+                return switch (this) {
+                    case STATUS -> {
+                        if (parts.length != 2) {
+                            throw new IllegalArgumentException("a status rule needs '<status> <severity>'");
+                        }
+                        yield DriverStats.AlertStatus.valueOf(parts[0]).name() + " "
+                                + DriverStats.AlertSeverity.valueOf(parts[1]).name();
+                    }
+                    case TRIGGER -> {
+                        if (parts.length != 1 || !(parts[0].equals("TRUE") || parts[0].equals("FALSE"))) {
+                            throw new IllegalArgumentException("a trigger rule needs true or false");
+                        }
+                        yield parts[0].toLowerCase(Locale.ROOT);
+                    }
+                    case TYPE -> Alert.AlertType.valueOf(single(parts)).name();
+                    case ACTION -> Alert.RecommendedAction.valueOf(single(parts)).name();
+                };
+            } catch (IllegalArgumentException e) {
+                throw e.getMessage() != null && e.getMessage().startsWith("No enum constant")
+                        ? new IllegalArgumentException("unknown outcome '" + text.strip() + "'")
+                        : e;
+            }
+        }
+
+        private String single(String[] parts) {
+            if (parts.length != 1) {
+                throw new IllegalArgumentException("a " + label + " rule needs one outcome");
+            }
+            return parts[0];
+        }
+    }
+
+    /**
+     * Values a rule can refer to; the ordinal is the slot in {@link Facts}
+     */
+    enum Variable {
+        EMA("ema", Type.NUMBER),
+        STORED_EMA("storedEma", Type.NUMBER),
+        PREVIOUS_EMA("previousEma", Type.NUMBER),
+        CONSECUTIVE_NEGATIVE("consecutiveNegative", Type.NUMBER),
+        TOTAL_FEEDBACK("totalFeedback", Type.NUMBER),
+        NEGATIVE_FEEDBACK("negativeFeedback", Type.NUMBER),
+        AVERAGE_RATING("averageRating", Type.NUMBER),
+        CRITICAL_THRESHOLD("criticalThreshold", Type.NUMBER),
+        WARNING_THRESHOLD("warningThreshold", Type.NUMBER),
+        STATUS("status", Type.STATUS),
+        SEVERITY("severity", Type.SEVERITY),
+        PREVIOUS_STATUS("previousStatus", Type.STATUS);
+
+        private final String label;
+        private final Type type;
+
+        Variable(String label, Type type) {
+            this.label = label;
+            this.type = type;
+        }
+
+        boolean allowedIn(Section section) {
+            // The status section is what decides them
+            return section != Section.STATUS || (this != STATUS && this != SEVERITY);
+        }
+
+        static Variable byName(String name) {
+            for (Variable variable : values()) {
+                if (variable.label.equalsIgnoreCase(name)) {
+                    return variable;
+                }
+            }
+            return null;
+        }
+    }
+
+    private enum Type {
+        NUMBER, BOOLEAN, STATUS, SEVERITY
+    }
+
+    private sealed interface Node permits Constant, Load, Unary, Binary, Literal {
+        Type type();
+    }
+
+    private record Constant(double value, Type type, String sql) implements Node {}
+
+    private record Load(Variable variable) implements Node {
+        @Override
+        public Type type() {
+            return variable.type;
+        }
+    }
+
+    private record Unary(int op, Node operand, Type type) implements Node {}
+
+    private record Binary(int op, Node left, Node right, Type type) implements Node {}
+
+    /**
+     * A bare name, resolved against the type of the value it is compared with
+     */
+    private record Literal(String name) implements Node {
+        @Override
+        public Type type() {
+            return null;
+        }
+
+        Constant resolve(Type type) {
+            String upper = name.toUpperCase(Locale.ROOT);
+            if (upper.equals("NONE") && type == Type.STATUS) {
+                return new Constant(NONE, type, "'NONE'");
+            }
+            try {
+                if (type == Type.STATUS) {
+                    return new Constant(DriverStats.AlertStatus.valueOf(upper).ordinal(), type, "'" + upper + "'");
+                }
+                if (type == Type.SEVERITY) {
+                    return new Constant(DriverStats.AlertSeverity.valueOf(upper).ordinal(), type, "'" + upper + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("'" + name + "' is not a " + type.name().toLowerCase(Locale.ROOT));
+            }
+            throw new IllegalArgumentException("unknown name '" + name + "'");
+        }
+    }
+
+    private record Rule(Section section, Node condition, String outcome) {}
+
+    /**
+     * Values the rules are evaluated against. Held per thread by {@link #facts} and reused,
+     * so filling and evaluating allocates nothing; unset numbers are missing (NaN) and
+     * unset statuses are NONE.
+     */
+    public static final class Facts {
+
+        private final double[] slots = new double[Variable.values().length];
+        private final double[] stack = new double[MAX_STACK];
+
+        private Facts reset(SystemConfigService.Snapshot config) {
+            Arrays.fill(slots, Double.NaN);
+            slots[Variable.STATUS.ordinal()] = NONE;
+            slots[Variable.SEVERITY.ordinal()] = NONE;
+            slots[Variable.PREVIOUS_STATUS.ordinal()] = NONE;
+            slots[Variable.CRITICAL_THRESHOLD.ordinal()] = config.criticalThreshold();
+            slots[Variable.WARNING_THRESHOLD.ordinal()] = config.warningThreshold();
+            return this;
+        }
+
+        /**
+         * Stored counters of a driver; the decayed EMA is set separately with {@link #ema}
+         */
+        public Facts stats(DriverStats stats) {
+            return storedEma(stats.getEmaScore() != null ? stats.getEmaScore() : 0.0)
+                    .previousEma(stats.getPreviousEmaScore())
+                    .consecutiveNegative(intValue(stats.getConsecutiveNegativeFeedback()))
+                    .totalFeedback(intValue(stats.getTotalFeedbackCount()))
+                    .negativeFeedback(intValue(stats.getNegativeFeedbackCount()))
+                    .averageRating(stats.getAverageRating());
+        }
+
+        /**
+         * Stored counters of a score table entry; the decayed EMA is set separately with {@link #ema}
+         */
+        public Facts score(DriverScoreTable.Score score) {
+            return storedEma(score.emaScore())
+                    .previousEma(score.previousEmaScore())
+                    .consecutiveNegative(score.consecutiveNegativeFeedback())
+                    .totalFeedback(score.totalFeedbackCount())
+                    .negativeFeedback(score.negativeFeedbackCount())
+                    .averageRating(score.averageRating());
+        }
+
+        public Facts ema(double value) {
+            return set(Variable.EMA, value);
+        }
+
+        public Facts storedEma(double value) {
+            return set(Variable.STORED_EMA, value);
+        }
+
+        public Facts previousEma(Double value) {
+            return set(Variable.PREVIOUS_EMA, value != null ? value : Double.NaN);
+        }
+
+        public Facts consecutiveNegative(int value) {
+            return set(Variable.CONSECUTIVE_NEGATIVE, value);
+        }
+
+        public Facts totalFeedback(int value) {
+            return set(Variable.TOTAL_FEEDBACK, value);
+        }
+
+        public Facts negativeFeedback(int value) {
+            return set(Variable.NEGATIVE_FEEDBACK, value);
+        }
+
+        public Facts averageRating(Double value) {
+            return set(Variable.AVERAGE_RATING, value != null ? value : Double.NaN);
+        }
+
+        public Facts status(DriverStats.AlertStatus status, DriverStats.AlertSeverity severity) {
+            slots[Variable.STATUS.ordinal()] = ordinal(status);
+            slots[Variable.SEVERITY.ordinal()] = ordinal(severity);
+            return this;
+        }
+
+        public Facts previousStatus(DriverStats.AlertStatus status) {
+            return set(Variable.PREVIOUS_STATUS, ordinal(status));
+        }
+
+        private Facts set(Variable variable, double value) {
+            slots[variable.ordinal()] = value;
+            return this;
+        }
+
+        private static int intValue(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
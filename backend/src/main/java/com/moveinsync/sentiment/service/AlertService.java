@@ -1,11 +1,12 @@
 package com.moveinsync.sentiment.service;
 
+import com.moveinsync.sentiment.dto.CursorPage;
 import com.moveinsync.sentiment.model.Alert;
 import com.moveinsync.sentiment.model.DriverStats;
-import com.moveinsync.sentiment.model.Feedback;
-import com.moveinsync.sentiment.model.event.AlertTriggeredEvent;
 import com.moveinsync.sentiment.repository.AlertRepository;
 import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.repository.projection.AlertView;
+import com.moveinsync.sentiment.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -17,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Alert Service
@@ -39,14 +39,23 @@ public class AlertService {
     private final AlertRepository alertRepository;
     private final FeedbackRepository feedbackRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final SystemConfigService systemConfigService;
+    private final AlertIndex alertIndex;
+    private final EmaDecay emaDecay;
 
     public AlertService(
             AlertRepository alertRepository,
             FeedbackRepository feedbackRepository,
-            KafkaProducerService kafkaProducerService) {
+            KafkaProducerService kafkaProducerService,
+            SystemConfigService systemConfigService,
+            AlertIndex alertIndex,
+            EmaDecay emaDecay) {
         this.alertRepository = alertRepository;
         this.feedbackRepository = feedbackRepository;
         this.kafkaProducerService = kafkaProducerService;
+        this.systemConfigService = systemConfigService;
+        this.alertIndex = alertIndex;
+        this.emaDecay = emaDecay;
     }
 
     /**
@@ -62,14 +71,18 @@ public class AlertService {
         log.info("Creating alert for driver: driverId={}, emaScore={}, alertStatus={}", 
                 driverId, stats.getEmaScore(), stats.getAlertStatus());
         
-        // Check if driver is in cooldown period
-        if (isInCooldown(driverId)) {
+        LocalDateTime cooldownExpiresAt = LocalDateTime.now().plusHours(COOLDOWN_HOURS);
+        
+        // Check for an open alert or cooldown, claiming the cooldown if neither applies
+        AlertIndex.Claim claim = alertIndex.tryClaim(driverId, cooldownExpiresAt);
+        if (claim == AlertIndex.Claim.UNAVAILABLE) {
+            claim = checkDatabase(driverId);
+        }
+        if (claim == AlertIndex.Claim.IN_COOLDOWN) {
             log.info("Driver in cooldown period, skipping alert creation: driverId={}", driverId);
             return null;
         }
-        
-        // Check if active alert already exists
-        if (alertRepository.hasActiveAlert(driverId)) {
+        if (claim == AlertIndex.Claim.ACTIVE_ALERT) {
             log.info("Active alert already exists for driver: driverId={}", driverId);
             return null;
         }
@@ -79,7 +92,7 @@ public class AlertService {
         Alert.AlertSeverity severity = convertAlertSeverity(stats.getLastAlertSeverity());
         
         // Get recent negative feedback IDs for context
-        String relatedFeedbackIds = getRecentNegativeFeedbackIds(driverId);
+        String relatedFeedbackIds = getRecentNegativeFeedbackIds(driverId, stats);
         
         // Calculate score drop if previous EMA exists
         Double scoreDrop = null;
@@ -103,28 +116,10 @@ public class AlertService {
         alert.setRelatedFeedbackIds(relatedFeedbackIds);
         alert.setRecommendedAction(recommendedAction);
         alert.setNotificationSent(false);
-        alert.setCooldownExpiresAt(LocalDateTime.now().plusHours(COOLDOWN_HOURS));
+        alert.setCooldownExpiresAt(cooldownExpiresAt);
         
         Alert savedAlert = alertRepository.save(alert);
-        
-        // TODO: Publish alert triggered event to Kafka
-        // Note: Event models need to be updated to use Long instead of UUID
-        /*
-        AlertTriggeredEvent event = AlertTriggeredEvent.builder()
-                .alertId(savedAlert.getId())
-                .driverId(driverId)
-                .alertType(alertType.name())
-                .severity(severity.name())
-                .currentEmaScore(stats.getEmaScore())
-                .previousEmaScore(stats.getPreviousEmaScore())
-                .scoreDrop(scoreDrop)
-                .consecutiveNegativeFeedback(stats.getConsecutiveNegativeFeedback())
-                .recommendedAction(recommendedAction.name())
-                .timestamp(savedAlert.getCreatedAt())
-                .build();
-        
-        kafkaProducerService.publishAlertTriggered(event);
-        */
+        alertIndex.alertCreatedAfterCommit(driverId, cooldownExpiresAt);
         
         log.info("Alert created successfully: alertId={}, driverId={}, severity={}, type={}", 
                 savedAlert.getId(), driverId, severity, alertType);
@@ -133,36 +128,39 @@ public class AlertService {
     }
 
     /**
-     * Check if driver is in cooldown period
+     * Check cooldown and open alerts in the database, for when the alert index cannot answer
      * 
      * @param driverId Driver ID
-     * @return true if in cooldown
+     * @return IN_COOLDOWN, ACTIVE_ALERT, or CLAIMED if the driver may be alerted
+     */
+    private AlertIndex.Claim checkDatabase(Long driverId) {
+        if (alertRepository.isDriverInCooldown(driverId, LocalDateTime.now())) {
+            return AlertIndex.Claim.IN_COOLDOWN;
+        }
+        if (alertRepository.hasActiveAlert(driverId)) {
+            return AlertIndex.Claim.ACTIVE_ALERT;
+        }
+        return AlertIndex.Claim.CLAIMED;
+    }
+
+    /**
+     * Update the driver's active alert flag after an alert left the active statuses
+     * 
+     * @param alert Alert that was closed or escalated (already saved)
      */
-    private boolean isInCooldown(Long driverId) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Alert> cooldownAlerts = alertRepository.findDriverAlertsNotInCooldown(driverId, now);
-        return cooldownAlerts.isEmpty() && 
-               !alertRepository.findAlertsInCooldown(now).stream()
-                       .filter(a -> a.getDriverId().equals(driverId))
-                       .toList()
-                       .isEmpty();
+    private void recordClosed(Alert alert) {
+        alertIndex.alertClosedAfterCommit(alert.getDriverId(), alertRepository.hasActiveAlert(alert.getDriverId()));
     }
 
     /**
-     * Determine alert type based on stats
+     * Determine alert type with the configured alert rules
      * 
      * @param stats Driver stats
      * @return Alert type
      */
     private Alert.AlertType determineAlertType(DriverStats stats) {
-        if (stats.getConsecutiveNegativeFeedback() >= 3) {
-            return Alert.AlertType.CONSECUTIVE_NEGATIVE_FEEDBACK;
-        } else if (stats.getPreviousEmaScore() != null && 
-                   stats.getEmaScore() < stats.getPreviousEmaScore() - 0.3) {
-            return Alert.AlertType.SUDDEN_SCORE_DROP;
-        } else {
-            return Alert.AlertType.LOW_SENTIMENT_SCORE;
-        }
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        return config.alertRules().alertType(ruleFacts(config, stats));
     }
 
     /**
@@ -192,45 +190,44 @@ public class AlertService {
      */
     private double getThresholdForSeverity(Alert.AlertSeverity severity) {
         return switch (severity) {
-            case CRITICAL -> -0.6;
-            case HIGH -> -0.3;
+            case CRITICAL -> systemConfigService.snapshot().criticalThreshold();
+            case HIGH -> systemConfigService.snapshot().warningThreshold();
             case MEDIUM -> 0.0;
             case LOW -> 0.3;
         };
     }
 
     /**
-     * Determine recommended action based on stats
+     * Determine recommended action with the configured alert rules
      * 
      * @param stats Driver stats
      * @return Recommended action
      */
     private Alert.RecommendedAction determineRecommendedAction(DriverStats stats) {
-        if (stats.getAlertStatus() == DriverStats.AlertStatus.CRITICAL) {
-            return Alert.RecommendedAction.INVESTIGATE_FURTHER;
-        } else if (stats.getConsecutiveNegativeFeedback() >= 5) {
-            return Alert.RecommendedAction.SCHEDULE_TRAINING;
-        } else if (stats.getConsecutiveNegativeFeedback() >= 3) {
-            return Alert.RecommendedAction.REVIEW_DRIVER_PROFILE;
-        } else {
-            return Alert.RecommendedAction.MONITOR_CLOSELY;
-        }
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        return config.alertRules().action(ruleFacts(config, stats));
+    }
+
+    private AlertRuleProgram.Facts ruleFacts(SystemConfigService.Snapshot config, DriverStats stats) {
+        return AlertRuleProgram.facts(config)
+                .stats(stats)
+                .ema(emaDecay.current(stats.getEmaScore(), stats.getLastFeedbackAt()))
+                .status(stats.getAlertStatus(), stats.getLastAlertSeverity());
     }
 
     /**
-     * Get recent negative feedback IDs for driver
+     * Get recent negative feedback IDs for driver, from the IDs tracked on its stats
+     * or, for drivers not tracked yet, a bounded indexed query
      * 
      * @param driverId Driver ID
+     * @param stats Driver stats
      * @return Comma-separated feedback IDs
      */
-    private String getRecentNegativeFeedbackIds(Long driverId) {
-        List<Feedback> negativeFeedback = feedbackRepository.findNegativeFeedbackByDriverId(driverId);
-        
-        return negativeFeedback.stream()
-                .sorted((f1, f2) -> f2.getCreatedAt().compareTo(f1.getCreatedAt()))
-                .limit(5)
-                .map(f -> f.getId().toString())
-                .collect(Collectors.joining(","));
+    private String getRecentNegativeFeedbackIds(Long driverId, DriverStats stats) {
+        if (stats.getRecentNegativeFeedbackIds() != null) {
+            return stats.getRecentNegativeFeedbackIds();
+        }
+        return feedbackRepository.findRecentNegativeFeedbackIdList(driverId);
     }
 
     /**
@@ -341,6 +338,7 @@ public class AlertService {
         alert.setResolutionNotes(resolutionNotes);
         
         Alert savedAlert = alertRepository.save(alert);
+        recordClosed(savedAlert);
         log.info("Alert resolved: alertId={}", alertId);
         
         return savedAlert;
@@ -368,6 +366,7 @@ public class AlertService {
         alert.setResolutionNotes(dismissalReason);
         
         Alert savedAlert = alertRepository.save(alert);
+        recordClosed(savedAlert);
         log.info("Alert dismissed: alertId={}", alertId);
         
         return savedAlert;
@@ -393,6 +392,7 @@ public class AlertService {
         alert.setResolutionNotes(escalationNotes);
         
         Alert savedAlert = alertRepository.save(alert);
+        recordClosed(savedAlert);
         log.info("Alert escalated: alertId={}", alertId);
         
         return savedAlert;
@@ -417,9 +417,9 @@ public class AlertService {
      * @return List of alerts
      */
     @Cacheable(value = "alertsByDriver", key = "#driverId")
-    public List<Alert> getAlertsByDriver(Long driverId) {
+    public List<AlertView> getAlertsByDriver(Long driverId) {
         log.debug("Getting alerts for driver: {}", driverId);
-        return alertRepository.findByDriverId(driverId);
+        return alertRepository.findViewsByDriverId(driverId);
     }
 
     /**
@@ -429,20 +429,46 @@ public class AlertService {
      * @param pageable Pagination parameters
      * @return Page of alerts
      */
+    @Transactional(readOnly = true)
     public Page<Alert> getAlertsByDriver(Long driverId, Pageable pageable) {
         log.debug("Getting paginated alerts for driver: {}, page={}", driverId, pageable.getPageNumber());
         return alertRepository.findByDriverId(driverId, pageable);
     }
 
+    /**
+     * Get a keyset page of alerts for driver, newest first
+     * 
+     * @param driverId Driver ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of alerts with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AlertView> getAlertsByDriver(Long driverId, String cursor, int size) {
+        log.debug("Getting keyset page of alerts for driver: {}, size={}", driverId, size);
+        
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<AlertView> rows = alertRepository.findViewsByDriverIdBefore(
+                driverId, position.createdAt(), position.id(), Pageable.ofSize(KeysetCursor.validatePageSize(size) + 1));
+        
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        
+        AlertView last = rows.get(size - 1);
+        return CursorPage.of(rows.subList(0, size), new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
     /**
      * Get active alerts for driver
      * 
      * @param driverId Driver ID
      * @return List of active alerts
      */
-    public List<Alert> getActiveAlertsByDriver(Long driverId) {
+    @Transactional(readOnly = true)
+    public List<AlertView> getActiveAlertsByDriver(Long driverId) {
         log.debug("Getting active alerts for driver: {}", driverId);
-        return alertRepository.findActiveAlertsByDriverId(driverId);
+        return alertRepository.findActiveViewsByDriverId(driverId);
     }
 
     /**
@@ -450,9 +476,10 @@ public class AlertService {
      * 
      * @return List of active alerts
      */
-    public List<Alert> getActiveAlerts() {
+    @Cacheable(value = "alerts", key = "'active'")
+    public List<AlertView> getActiveAlerts() {
         log.debug("Getting all active alerts");
-        return alertRepository.findActiveAlerts();
+        return alertRepository.findActiveViews();
     }
 
     /**
@@ -461,6 +488,7 @@ public class AlertService {
      * @param pageable Pagination parameters
      * @return Page of active alerts
      */
+    @Transactional(readOnly = true)
     public Page<Alert> getActiveAlerts(Pageable pageable) {
         log.debug("Getting paginated active alerts");
         return alertRepository.findActiveAlerts(pageable);
@@ -471,9 +499,10 @@ public class AlertService {
      * 
      * @return List of critical alerts
      */
-    public List<Alert> getCriticalAlerts() {
+    @Transactional(readOnly = true)
+    public List<AlertView> getCriticalAlerts() {
         log.debug("Getting critical alerts");
-        return alertRepository.findCriticalAlerts();
+        return alertRepository.findCriticalViews();
     }
 
     /**
@@ -481,9 +510,10 @@ public class AlertService {
      * 
      * @return List of high priority alerts
      */
-    public List<Alert> getHighPriorityAlerts() {
+    @Transactional(readOnly = true)
+    public List<AlertView> getHighPriorityAlerts() {
         log.debug("Getting high priority alerts");
-        return alertRepository.findHighPriorityAlerts();
+        return alertRepository.findHighPriorityViews();
     }
 
     /**
@@ -491,9 +521,10 @@ public class AlertService {
      * 
      * @return List of unacknowledged alerts
      */
-    public List<Alert> getUnacknowledgedAlerts() {
+    @Transactional(readOnly = true)
+    public List<AlertView> getUnacknowledgedAlerts() {
         log.debug("Getting unacknowledged alerts");
-        return alertRepository.findUnacknowledgedAlerts();
+        return alertRepository.findUnacknowledgedViews();
     }
 
     /**
@@ -502,9 +533,10 @@ public class AlertService {
      * @param managerId Manager user ID
      * @return List of assigned alerts
      */
-    public List<Alert> getAlertsByManager(Long managerId) {
+    @Transactional(readOnly = true)
+    public List<AlertView> getAlertsByManager(Long managerId) {
         log.debug("Getting alerts for manager: {}", managerId);
-        return alertRepository.findByAssignedTo(managerId);
+        return alertRepository.findViewsByAssignedTo(managerId);
     }
 
     /**
@@ -512,9 +544,10 @@ public class AlertService {
      * 
      * @return List of unassigned alerts
      */
-    public List<Alert> getUnassignedAlerts() {
+    @Transactional(readOnly = true)
+    public List<AlertView> getUnassignedAlerts() {
         log.debug("Getting unassigned alerts");
-        return alertRepository.findUnassignedAlerts();
+        return alertRepository.findUnassignedViews();
     }
 
     /**
@@ -522,10 +555,11 @@ public class AlertService {
      * 
      * @return List of overdue alerts
      */
-    public List<Alert> getOverdueAlerts() {
+    @Transactional(readOnly = true)
+    public List<AlertView> getOverdueAlerts() {
         log.debug("Getting overdue alerts");
         LocalDateTime threshold = LocalDateTime.now().minusHours(24);
-        return alertRepository.findOverdueAlerts(threshold);
+        return alertRepository.findOverdueViews(threshold);
     }
 
     /**
@@ -533,6 +567,7 @@ public class AlertService {
      * 
      * @return Alert statistics
      */
+    @Transactional(readOnly = true)
     public AlertStatistics getAlertStatistics() {
         log.debug("Getting alert statistics");
         
@@ -0,0 +1,242 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Alert Status Re-evaluation Service
+ *
+ * Re-applies the alert rules to every driver with one set-based UPDATE over driver_stats,
+ * for when the EMA thresholds or the alert rules in system_config change. The CASE
+ * expressions are compiled from the status section of the configured {@link AlertRuleProgram}
+ * over the decayed EMA, and only rows whose status or severity changes are written.
+ * UNDER_REVIEW and RESOLVED drivers are left to their reviewers.
+ *
+ * Escalations (per the trigger section) are counted as triggered alerts the same way a
+ * feedback update counts them, and are handed to AlertService in batches.
+ */
+@Slf4j
+@Service
+public class AlertStatusReevaluationService {
+
+    private static final int ALERT_BATCH_SIZE = 500;
+
+    private static final String DECAYED_EMA =
+            "CASE WHEN last_feedback_at IS NOT NULL AND last_feedback_at < :now " +
+            "THEN ema_score * power(2.0, -EXTRACT(EPOCH FROM (:now - last_feedback_at)) * 1000.0 / :halfLifeMillis) " +
+            "ELSE ema_score END";
+
+    // FOR UPDATE reads the latest version of each row, so a concurrent feedback update is
+    // re-evaluated rather than overwritten with a status computed from an older EMA
+    private static final String REEVALUATE_TEMPLATE =
+            "WITH evaluated AS (" +
+            "  SELECT * FROM (" +
+            "    SELECT scored.*, alert_status AS previous_status, last_alert_severity AS previous_severity," +
+            "      %1$s AS status," +
+            "      %2$s AS severity" +
+            "    FROM (SELECT id, alert_status, last_alert_severity, ema_score, previous_ema_score," +
+            "            consecutive_negative_feedback, total_feedback_count, negative_feedback_count, average_rating," +
+            "            %3$s AS ema" +
+            "          FROM driver_stats WHERE alert_status IS NULL OR alert_status NOT IN ('UNDER_REVIEW', 'RESOLVED')) scored" +
+            "  ) levels" +
+            "  WHERE status IS DISTINCT FROM previous_status OR severity IS DISTINCT FROM previous_severity" +
+            "  FOR UPDATE" +
+            ") " +
+            "UPDATE driver_stats ds SET alert_status = e.status, last_alert_severity = e.severity, last_updated_at = :now," +
+            "  alert_triggered_at = CASE WHEN %4$s THEN :now ELSE ds.alert_triggered_at END," +
+            "  alert_count = CASE WHEN %4$s THEN ds.alert_count + 1 ELSE ds.alert_count END " +
+            "FROM evaluated e WHERE ds.id = e.id " +
+            "RETURNING ds.driver_id, e.previous_status, e.status, e.severity, %4$s AS escalated";
+
+    // Rule timing repeats the fleet until at least this many evaluations have run
+    private static final int MIN_TIMED_EVALUATIONS = 1_000_000;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DriverStatsRepository driverStatsRepository;
+    private final DriverScoreTable driverScoreTable;
+    private final SystemConfigService systemConfigService;
+    private final AlertService alertService;
+    private final EmaDecay emaDecay;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate loadTransaction;
+
+    public AlertStatusReevaluationService(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            DriverStatsRepository driverStatsRepository,
+            DriverScoreTable driverScoreTable,
+            SystemConfigService systemConfigService,
+            AlertService alertService,
+            EmaDecay emaDecay,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.driverStatsRepository = driverStatsRepository;
+        this.driverScoreTable = driverScoreTable;
+        this.systemConfigService = systemConfigService;
+        this.alertService = alertService;
+        this.emaDecay = emaDecay;
+        this.cacheManager = cacheManager;
+        // Read-write, so escalated drivers are loaded from the primary the UPDATE just committed to
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Re-evaluate every driver's alert status against the current thresholds
+     */
+    public Result reevaluate() {
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        long started = System.currentTimeMillis();
+
+        AlertRuleProgram rules = config.alertRules();
+        String sql = String.format(REEVALUATE_TEMPLATE,
+                rules.statusSql(variable -> column(variable, "")),
+                rules.severitySql(variable -> column(variable, "")),
+                emaDecay.isEnabled() ? DECAYED_EMA : "ema_score",
+                rules.triggerSql(variable -> column(variable, "e.")));
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("halfLifeMillis", emaDecay.halfLifeMillis())
+                .addValue("critical", config.criticalThreshold())
+                .addValue("warning", config.warningThreshold());
+
+        List<Transition> transitions = namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> new Transition(
+                rs.getLong("driver_id"),
+                rs.getString("previous_status") != null ? DriverStats.AlertStatus.valueOf(rs.getString("previous_status")) : null,
+                DriverStats.AlertStatus.valueOf(rs.getString("status")),
+                DriverStats.AlertSeverity.valueOf(rs.getString("severity")),
+                rs.getBoolean("escalated")));
+        long updateMillis = System.currentTimeMillis() - started;
+
+        if (!transitions.isEmpty()) {
+            driverScoreTable.syncLocalWrites();
+            for (String cacheName : List.of("driverStats", "driverStatsById")) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+
+        int alertsCreated = createAlerts(transitions);
+        log.info("Re-evaluated alert statuses: critical={}, warning={}, changed={}, escalated={}, alertsCreated={}, updateMs={}",
+                config.criticalThreshold(), config.warningThreshold(), transitions.size(),
+                transitions.stream().filter(Transition::escalated).count(), alertsCreated, updateMillis);
+
+        return new Result(config.criticalThreshold(), config.warningThreshold(), transitions.size(),
+                alertsCreated, updateMillis, transitions);
+    }
+
+    /**
+     * Time the current status and trigger rules against every driver in the score table,
+     * as a feedback update evaluates them (decay included)
+     */
+    public RuleTiming timeRules() {
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        AlertRuleProgram rules = config.alertRules();
+        List<DriverScoreTable.Score> scores = driverScoreTable.all();
+        if (scores.isEmpty()) {
+            return new RuleTiming(rules.ruleCount(), 0, 0, 0.0);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int rounds = Math.max(1, MIN_TIMED_EVALUATIONS / scores.size());
+        int triggered = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (DriverScoreTable.Score score : scores) {
+                AlertRuleProgram.Facts facts = AlertRuleProgram.facts(config)
+                        .score(score)
+                        .ema(emaDecay.valueAt(score.emaScore(), score.lastFeedbackAt(), now))
+                        .previousStatus(score.alertStatus());
+                rules.level(facts);
+                if (rules.trigger(facts)) {
+                    triggered++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        long evaluations = (long) rounds * scores.size();
+        log.debug("Timed alert rules: drivers={}, evaluations={}, triggered={}", scores.size(), evaluations, triggered);
+        return new RuleTiming(rules.ruleCount(), scores.size(), evaluations, (double) elapsed / evaluations);
+    }
+
+    /**
+     * SQL for a rule variable over the driver_stats columns of the re-evaluation query
+     */
+    private static String column(AlertRuleProgram.Variable variable, String alias) {
+        return switch (variable) {
+            case EMA -> alias + "ema";
+            case STORED_EMA -> alias + "ema_score";
+            case PREVIOUS_EMA -> alias + "previous_ema_score";
+            case CONSECUTIVE_NEGATIVE -> "COALESCE(" + alias + "consecutive_negative_feedback, 0)";
+            case TOTAL_FEEDBACK -> alias + "total_feedback_count";
+            case NEGATIVE_FEEDBACK -> alias + "negative_feedback_count";
+            case AVERAGE_RATING -> alias + "average_rating";
+            case CRITICAL_THRESHOLD -> ":critical";
+            case WARNING_THRESHOLD -> ":warning";
+            case STATUS -> alias + "status";
+            case SEVERITY -> alias + "severity";
+            case PREVIOUS_STATUS -> "COALESCE(" + alias + (alias.isEmpty() ? "alert_status" : "previous_status") + ", 'NONE')";
+        };
+    }
+
+    /**
+     * Create alerts for the escalated drivers, loading their stats a batch at a time
+     */
+    private int createAlerts(List<Transition> transitions) {
+        List<Long> escalated = transitions.stream()
+                .filter(Transition::escalated)
+                .map(Transition::driverId)
+                .toList();
+        int created = 0;
+        for (int from = 0; from < escalated.size(); from += ALERT_BATCH_SIZE) {
+            List<Long> batch = escalated.subList(from, Math.min(escalated.size(), from + ALERT_BATCH_SIZE));
+            List<DriverStats> batchStats = loadTransaction.execute(status -> driverStatsRepository.findByDriverIdIn(batch));
+            for (DriverStats stats : batchStats) {
+                try {
+                    if (alertService.createAlert(stats.getDriverId(), stats) != null) {
+                        created++;
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to create alert after re-evaluation: driverId={}: {}", stats.getDriverId(), e.getMessage());
+                }
+            }
+        }
+        return created;
+    }
+
+    public record Transition(
+        long driverId,
+        DriverStats.AlertStatus previousStatus,
+        DriverStats.AlertStatus status,
+        DriverStats.AlertSeverity severity,
+        boolean escalated
+    ) {}
+
+    public record RuleTiming(
+        int rules,
+        int drivers,
+        long evaluations,
+        double nanosPerEvaluation
+    ) {}
+
+    public record Result(
+        double criticalThreshold,
+        double warningThreshold,
+        int changed,
+        int alertsCreated,
+        long updateMillis,
+        List<Transition> transitions
+    ) {}
+}
@@ -0,0 +1,271 @@
+package com.moveinsync.sentiment.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Driver Leaderboard
+ *
+ * Drivers ordered by decayed EMA score ({@link EmaDecay}) in an order-statistic treap (each
+ * node carries its subtree size), kept in step with DriverScoreTable through its change listener:
+ * - Top-K / bottom-K in O(log n + K)
+ * - Rank and percentile of a driver in O(log n)
+ * - EMA score at a given percentile in O(log n)
+ *
+ * Nodes are keyed by {@link EmaDecay.Key}, whose order matches the decayed scores at any time,
+ * so the tree never needs re-sorting as scores decay; reported scores are decayed to now.
+ * Ties are ordered by driver ID, so every driver has a distinct position.
+ * Rank 1 is the highest score.
+ */
+@Component
+public class DriverLeaderboard implements DriverScoreTable.Listener {
+
+    private final EmaDecay emaDecay;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+
+    public DriverLeaderboard(DriverScoreTable driverScoreTable, EmaDecay emaDecay) {
+        this.emaDecay = emaDecay;
+        driverScoreTable.addListener(this);
+    }
+
+    @Override
+    public synchronized void onScoreChanged(DriverScoreTable.Score previous, DriverScoreTable.Score current) {
+        EmaDecay.Key key = emaDecay.key(current.emaScore(), current.lastFeedbackAt());
+        Node node = nodes.get(current.driverId());
+        if (node != null) {
+            if (node.key.equals(key)) {
+                return;
+            }
+            root = remove(root, node.key, node.driverId);
+        }
+        node = new Node(key, current.driverId());
+        nodes.put(current.driverId(), node);
+        root = insert(root, node);
+    }
+
+    @Override
+    public synchronized void onReset() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * The K drivers with the highest EMA score, best first
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        int total = size(root);
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.right;
+            }
+            node = stack.pop();
+            result.add(entry(node, result.size() + 1, total));
+            node = node.left;
+        }
+        return result;
+    }
+
+    /**
+     * The K drivers with the lowest EMA score, worst first
+     */
+    public synchronized List<Entry> bottom(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        int total = size(root);
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(entry(node, total - result.size(), total));
+            node = node.right;
+        }
+        return result;
+    }
+
+    /**
+     * Rank and percentile of one driver, or null if the driver is not ranked
+     */
+    public synchronized Entry standing(long driverId) {
+        Node node = nodes.get(driverId);
+        if (node == null) {
+            return null;
+        }
+        int total = size(root);
+        return entry(node, total - countBefore(root, node.key, node.driverId), total);
+    }
+
+    /**
+     * EMA score at a percentile of the fleet (0 = lowest, 100 = highest)
+     */
+    public synchronized PercentileScore emaAtPercentile(double percentile) {
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        int total = size(root);
+        if (total == 0) {
+            return new PercentileScore(clamped, null, 0);
+        }
+        int index = (int) Math.round(clamped / 100.0 * (total - 1));
+        return new PercentileScore(clamped, emaDecay.valueAt(select(root, index).key, LocalDateTime.now()), total);
+    }
+
+    /**
+     * Number of ranked drivers
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private Entry entry(Node node, int rank, int total) {
+        // Share of the fleet with a strictly lower score
+        int below = countBefore(root, node.key, Long.MIN_VALUE);
+        double percentile = total > 1 ? below * 100.0 / (total - 1) : 100.0;
+        return new Entry(rank, node.driverId, emaDecay.valueAt(node.key, LocalDateTime.now()), percentile);
+    }
+
+    /**
+     * Number of nodes ordered before (key, driverId)
+     */
+    private static int countBefore(Node node, EmaDecay.Key key, long driverId) {
+        int count = 0;
+        while (node != null) {
+            if (compare(node.key, node.driverId, key, driverId) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Node at a 0-based ascending position
+     */
+    private static Node select(Node node, int index) {
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Leaderboard index out of range: " + index);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.key, added.driverId);
+            added.left = parts[0];
+            added.right = parts[1];
+            return update(added);
+        }
+        if (compare(added.key, added.driverId, node.key, node.driverId) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    private static Node remove(Node node, EmaDecay.Key key, long driverId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(key, driverId, node.key, node.driverId);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, key, driverId);
+        } else {
+            node.right = remove(node.right, key, driverId);
+        }
+        return update(node);
+    }
+
+    /**
+     * Split into nodes before (key, driverId) and the rest
+     */
+    private static Node[] split(Node node, EmaDecay.Key key, long driverId) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(node.key, node.driverId, key, driverId) < 0) {
+            Node[] parts = split(node.right, key, driverId);
+            node.right = parts[0];
+            return new Node[] {update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, key, driverId);
+        node.left = parts[1];
+        return new Node[] {parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static int compare(EmaDecay.Key keyA, long driverA, EmaDecay.Key keyB, long driverB) {
+        int cmp = keyA.compareTo(keyB);
+        return cmp != 0 ? cmp : Long.compare(driverA, driverB);
+    }
+
+    private static final class Node {
+        final EmaDecay.Key key;
+        final long driverId;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(EmaDecay.Key key, long driverId) {
+            this.key = key;
+            this.driverId = driverId;
+        }
+    }
+
+    /**
+     * A driver's position: rank 1 is the highest score, percentile is the share of the
+     * fleet with a lower score; the EMA score is decayed to now
+     */
+    public record Entry(int rank, long driverId, double emaScore, double percentile) {}
+
+    public record PercentileScore(double percentile, Double emaScore, int drivers) {}
+}
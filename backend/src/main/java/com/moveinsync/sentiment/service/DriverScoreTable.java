@@ -0,0 +1,557 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Driver Score Table
+ *
+ * In-memory copy of driver_stats in flat primitive columns (one array per field, one slot per
+ * driver, an open-addressing driverId -> slot index), serving the /stats list and overview
+ * endpoints as array scans with no entity materialization:
+ * - Loaded from driver_stats on startup with a column projection, or restored from the
+ *   driver.stats.changelog topic and caught up with the rows changed since
+ * - DriverStatsService writes a driver's new values once its stats transaction commits
+ * - Rows changed by other nodes are picked up by polling last_updated_at
+ *
+ * A row is only overwritten by values with an equal or newer last_updated_at, so a late
+ * poll never rolls back a fresher commit. Listeners see every applied change in order.
+ */
+@Slf4j
+@Component
+@Order(-10)
+public class DriverScoreTable implements ApplicationRunner {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final byte NO_VALUE = -1;
+
+    // Re-read rows this far before the last poll to cover commits that were in flight (and replica lag)
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private static final DriverStats.AlertStatus[] ALERT_STATUSES = DriverStats.AlertStatus.values();
+    private static final DriverStats.AlertSeverity[] SEVERITIES = DriverStats.AlertSeverity.values();
+
+    private final DriverStatsRepository driverStatsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Columns, indexed by slot
+    private int size;
+    private long[] driverIds = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] emaScores = new double[INITIAL_CAPACITY];
+    private double[] previousEmaScores = new double[INITIAL_CAPACITY];   // NaN = none
+    private int[] totalCounts = new int[INITIAL_CAPACITY];
+    private int[] positiveCounts = new int[INITIAL_CAPACITY];
+    private int[] negativeCounts = new int[INITIAL_CAPACITY];
+    private int[] neutralCounts = new int[INITIAL_CAPACITY];
+    private int[] consecutiveNegatives = new int[INITIAL_CAPACITY];
+    private double[] averageRatings = new double[INITIAL_CAPACITY];      // NaN = none
+    private byte[] alertStatuses = new byte[INITIAL_CAPACITY];           // ordinal, -1 = none
+    private byte[] alertSeverities = new byte[INITIAL_CAPACITY];         // ordinal, -1 = none
+    private long[] updatedAtMillis = new long[INITIAL_CAPACITY];
+    private long[] lastFeedbackMillis = new long[INITIAL_CAPACITY];      // 0 = none
+
+    // driverId -> slot (linear probing, load factor <= 0.5)
+    private long[] indexKeys = newIndexKeys(INITIAL_CAPACITY * 2);
+    private int[] indexSlots = new int[INITIAL_CAPACITY * 2];
+
+    private volatile LocalDateTime lastSync;
+
+    public DriverScoreTable(DriverStatsRepository driverStatsRepository, PlatformTransactionManager transactionManager) {
+        this.driverStatsRepository = driverStatsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load every driver's scores before the node accepts traffic
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        if (lastSync != null) {
+            // Restored from the changelog already; only read what changed since
+            sync();
+            log.info("Driver score table caught up with driver_stats in {} ms: drivers={}",
+                    (System.nanoTime() - start) / 1_000_000, memory().drivers());
+            return;
+        }
+        try {
+            int loaded = reload();
+            log.info("Driver score table loaded in {} ms: drivers={}, {} bytes",
+                    (System.nanoTime() - start) / 1_000_000, loaded, memory().allocatedBytes());
+        } catch (Exception e) {
+            log.warn("Failed to load driver score table, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pick up rows changed since the last poll (including by other nodes)
+     */
+    @Scheduled(fixedDelayString = "${app.score-table.sync-interval-ms:10000}",
+               initialDelayString = "${app.score-table.sync-interval-ms:10000}")
+    public void sync() {
+        sync(false);
+    }
+
+    /**
+     * Pick up rows this node has just written in bulk (straight to driver_stats), reporting
+     * them to listeners as local writes
+     */
+    public void syncLocalWrites() {
+        sync(true);
+    }
+
+    private void sync(boolean local) {
+        LocalDateTime syncStart = LocalDateTime.now();
+        LocalDateTime since = lastSync != null ? lastSync.minusSeconds(SYNC_OVERLAP_SECONDS) : null;
+        try {
+            int changed = load(since, local);
+            lastSync = syncStart;
+            log.debug("Driver score table sync since {} applied {} rows", since, changed);
+        } catch (Exception e) {
+            log.warn("Driver score table sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read every row from driver_stats
+     *
+     * @return Rows read
+     */
+    public int reload() {
+        LocalDateTime syncStart = LocalDateTime.now();
+        int loaded = load(null, false);
+        lastSync = syncStart;
+        return loaded;
+    }
+
+    /**
+     * Write scores read from elsewhere (the changelog topic) into the table. The next sync
+     * reads the rows changed since {@code asOf}.
+     *
+     * @return Scores written
+     */
+    public int restore(Iterable<Score> scores, LocalDateTime asOf) {
+        int restored = 0;
+        for (Score score : scores) {
+            put(score, false);
+            restored++;
+        }
+        lastSync = asOf;
+        return restored;
+    }
+
+    private int load(LocalDateTime since, boolean local) {
+        Integer rows = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<Object[]> stream = since == null
+                    ? driverStatsRepository.streamScoreRows()
+                    : driverStatsRepository.streamScoreRowsUpdatedSince(since)) {
+                for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                    put(Score.fromRow(row), local);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Register a listener for applied changes. Listeners run under the table's write lock,
+     * so they must be quick and must not call back into the table.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Write a driver's saved stats into the table once the current transaction commits,
+     * or immediately when there is no transaction
+     */
+    public void putAfterCommit(DriverStats stats) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Snapshot after commit, once the flush has assigned the ID and update timestamp
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(Score.of(stats), true);
+                }
+            });
+        } else {
+            put(Score.of(stats), true);
+        }
+    }
+
+    /**
+     * Write a driver's scores, unless the table already holds newer values
+     */
+    public void put(Score score) {
+        put(score, false);
+    }
+
+    private void put(Score score, boolean local) {
+        long updatedAt = toMillis(score.lastUpdatedAt());
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(score.driverId());
+            Score previous = null;
+            if (slot < 0) {
+                slot = addSlot(score.driverId());
+            } else if (updatedAt < updatedAtMillis[slot]) {
+                return;
+            } else {
+                previous = scoreAt(slot);
+            }
+            ids[slot] = score.id() != null ? score.id() : 0L;
+            emaScores[slot] = score.emaScore();
+            previousEmaScores[slot] = score.previousEmaScore() != null ? score.previousEmaScore() : Double.NaN;
+            totalCounts[slot] = score.totalFeedbackCount();
+            positiveCounts[slot] = score.positiveFeedbackCount();
+            negativeCounts[slot] = score.negativeFeedbackCount();
+            neutralCounts[slot] = score.neutralFeedbackCount();
+            consecutiveNegatives[slot] = score.consecutiveNegativeFeedback();
+            averageRatings[slot] = score.averageRating() != null ? score.averageRating() : Double.NaN;
+            alertStatuses[slot] = score.alertStatus() != null ? (byte) score.alertStatus().ordinal() : NO_VALUE;
+            alertSeverities[slot] = score.lastAlertSeverity() != null ? (byte) score.lastAlertSeverity().ordinal() : NO_VALUE;
+            updatedAtMillis[slot] = updatedAt;
+            lastFeedbackMillis[slot] = toMillis(score.lastFeedbackAt());
+            for (Listener listener : listeners) {
+                listener.onScoreChanged(previous, score);
+                if (local) {
+                    listener.onLocalWrite(score);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scores of one driver, or null if the driver has no stats
+     */
+    public Score get(long driverId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(driverId);
+            return slot < 0 ? null : scoreAt(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every driver's scores
+     */
+    public List<Score> all() {
+        return select(slot -> true);
+    }
+
+    /**
+     * Drivers in WARNING or CRITICAL status, or with 3+ consecutive negative feedback
+     */
+    public List<Score> needingAttention() {
+        byte critical = (byte) DriverStats.AlertStatus.CRITICAL.ordinal();
+        byte warning = (byte) DriverStats.AlertStatus.WARNING.ordinal();
+        return select(slot -> alertStatuses[slot] == critical || alertStatuses[slot] == warning
+                || consecutiveNegatives[slot] >= 3);
+    }
+
+    /**
+     * Drivers in a given alert status
+     */
+    public List<Score> withAlertStatus(DriverStats.AlertStatus status) {
+        byte ordinal = (byte) status.ordinal();
+        return select(slot -> alertStatuses[slot] == ordinal);
+    }
+
+    /**
+     * Drivers whose EMA rose with their last update
+     */
+    public List<Score> improving() {
+        return select(slot -> !Double.isNaN(previousEmaScores[slot]) && emaScores[slot] > previousEmaScores[slot]);
+    }
+
+    /**
+     * Drivers whose EMA fell with their last update
+     */
+    public List<Score> declining() {
+        return select(slot -> !Double.isNaN(previousEmaScores[slot]) && emaScores[slot] < previousEmaScores[slot]);
+    }
+
+    /**
+     * Feed every stored row to a listener as a new driver, after calling its onReset,
+     * with no change applied in between
+     */
+    public void replay(Listener listener) {
+        lock.writeLock().lock();
+        try {
+            listener.onReset();
+            for (int slot = 0; slot < size; slot++) {
+                listener.onScoreChanged(null, scoreAt(slot));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Memory held by the columns and the index, and the projection to 100k drivers
+     */
+    public MemoryStats memory() {
+        lock.readLock().lock();
+        try {
+            int capacity = driverIds.length;
+            long rowBytes = rowBytes();
+            long allocated = (long) capacity * rowBytes + (long) indexKeys.length * (Long.BYTES + Integer.BYTES);
+            // Worst case at 100k drivers: columns grown to the next power of two, index at twice that
+            long capacityFor100k = Integer.highestOneBit(100_000 - 1) << 1;
+            long bytesPer100k = capacityFor100k * rowBytes + capacityFor100k * 2 * (Long.BYTES + Integer.BYTES);
+            return new MemoryStats(size, capacity, rowBytes, allocated, bytesPer100k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long rowBytes() {
+        return 4L * Long.BYTES           // driverIds, ids, updatedAtMillis, lastFeedbackMillis
+                + 3L * Double.BYTES      // emaScores, previousEmaScores, averageRatings
+                + 5L * Integer.BYTES     // counts and consecutive negatives
+                + 2L;                    // alert status, severity
+    }
+
+    private List<Score> select(IntPredicate filter) {
+        lock.readLock().lock();
+        try {
+            List<Score> result = new ArrayList<>();
+            for (int slot = 0; slot < size; slot++) {
+                if (filter.test(slot)) {
+                    result.add(scoreAt(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Score scoreAt(int slot) {
+        return new Score(
+                ids[slot] != 0L ? ids[slot] : null,
+                driverIds[slot],
+                emaScores[slot],
+                Double.isNaN(previousEmaScores[slot]) ? null : previousEmaScores[slot],
+                totalCounts[slot],
+                positiveCounts[slot],
+                negativeCounts[slot],
+                neutralCounts[slot],
+                Double.isNaN(averageRatings[slot]) ? null : averageRatings[slot],
+                alertStatuses[slot] >= 0 ? ALERT_STATUSES[alertStatuses[slot]] : null,
+                alertSeverities[slot] >= 0 ? SEVERITIES[alertSeverities[slot]] : null,
+                consecutiveNegatives[slot],
+                fromMillis(updatedAtMillis[slot]),
+                fromMillis(lastFeedbackMillis[slot]));
+    }
+
+    private int slotOf(long driverId) {
+        int mask = indexKeys.length - 1;
+        for (int i = hash(driverId) & mask; ; i = (i + 1) & mask) {
+            if (indexKeys[i] == driverId) {
+                return indexSlots[i];
+            }
+            if (indexKeys[i] == EMPTY_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private int addSlot(long driverId) {
+        if (size == driverIds.length) {
+            grow();
+        }
+        int slot = size++;
+        driverIds[slot] = driverId;
+        insertIndex(driverId, slot);
+        return slot;
+    }
+
+    private void insertIndex(long driverId, int slot) {
+        int mask = indexKeys.length - 1;
+        int i = hash(driverId) & mask;
+        while (indexKeys[i] != EMPTY_KEY) {
+            i = (i + 1) & mask;
+        }
+        indexKeys[i] = driverId;
+        indexSlots[i] = slot;
+    }
+
+    private void grow() {
+        int capacity = driverIds.length * 2;
+        driverIds = Arrays.copyOf(driverIds, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        emaScores = Arrays.copyOf(emaScores, capacity);
+        previousEmaScores = Arrays.copyOf(previousEmaScores, capacity);
+        totalCounts = Arrays.copyOf(totalCounts, capacity);
+        positiveCounts = Arrays.copyOf(positiveCounts, capacity);
+        negativeCounts = Arrays.copyOf(negativeCounts, capacity);
+        neutralCounts = Arrays.copyOf(neutralCounts, capacity);
+        consecutiveNegatives = Arrays.copyOf(consecutiveNegatives, capacity);
+        averageRatings = Arrays.copyOf(averageRatings, capacity);
+        alertStatuses = Arrays.copyOf(alertStatuses, capacity);
+        alertSeverities = Arrays.copyOf(alertSeverities, capacity);
+        updatedAtMillis = Arrays.copyOf(updatedAtMillis, capacity);
+        lastFeedbackMillis = Arrays.copyOf(lastFeedbackMillis, capacity);
+
+        indexKeys = newIndexKeys(capacity * 2);
+        indexSlots = new int[capacity * 2];
+        for (int slot = 0; slot < size; slot++) {
+            insertIndex(driverIds[slot], slot);
+        }
+    }
+
+    private static long[] newIndexKeys(int length) {
+        long[] keys = new long[length];
+        Arrays.fill(keys, EMPTY_KEY);
+        return keys;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return millis != 0L ? LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Receives each change applied to the table
+     */
+    public interface Listener {
+
+        /**
+         * @param previous Scores before the change, or null for a new driver
+         * @param current Scores now stored
+         */
+        void onScoreChanged(Score previous, Score current);
+
+        /**
+         * Called after onScoreChanged when the change was written by this node rather than
+         * picked up from driver_stats
+         */
+        default void onLocalWrite(Score current) {
+        }
+
+        /**
+         * Called before a {@link #replay(Listener)} of the whole table
+         */
+        default void onReset() {
+        }
+    }
+
+    /**
+     * One driver's scores, copied out of the columns
+     */
+    public record Score(
+        Long id,
+        long driverId,
+        double emaScore,
+        Double previousEmaScore,
+        int totalFeedbackCount,
+        int positiveFeedbackCount,
+        int negativeFeedbackCount,
+        int neutralFeedbackCount,
+        Double averageRating,
+        DriverStats.AlertStatus alertStatus,
+        DriverStats.AlertSeverity lastAlertSeverity,
+        int consecutiveNegativeFeedback,
+        LocalDateTime lastUpdatedAt,
+        LocalDateTime lastFeedbackAt
+    ) {
+        static Score of(DriverStats stats) {
+            return new Score(stats.getId(), stats.getDriverId(),
+                    stats.getEmaScore() != null ? stats.getEmaScore() : 0.0,
+                    stats.getPreviousEmaScore(),
+                    intValue(stats.getTotalFeedbackCount()),
+                    intValue(stats.getPositiveFeedbackCount()),
+                    intValue(stats.getNegativeFeedbackCount()),
+                    intValue(stats.getNeutralFeedbackCount()),
+                    stats.getAverageRating(),
+                    stats.getAlertStatus(),
+                    stats.getLastAlertSeverity(),
+                    intValue(stats.getConsecutiveNegativeFeedback()),
+                    stats.getLastUpdatedAt() != null ? stats.getLastUpdatedAt() : LocalDateTime.now(),
+                    stats.getLastFeedbackAt());
+        }
+
+        /**
+         * Row of DriverStatsRepository.SCORE_COLUMNS
+         */
+        static Score fromRow(Object[] row) {
+            return new Score((Long) row[0], (Long) row[1],
+                    row[2] != null ? (Double) row[2] : 0.0,
+                    (Double) row[3],
+                    intValue((Integer) row[4]),
+                    intValue((Integer) row[5]),
+                    intValue((Integer) row[6]),
+                    intValue((Integer) row[7]),
+                    (Double) row[8],
+                    (DriverStats.AlertStatus) row[9],
+                    (DriverStats.AlertSeverity) row[10],
+                    intValue((Integer) row[11]),
+                    (LocalDateTime) row[12],
+                    (LocalDateTime) row[13]);
+        }
+
+        private static int intValue(Integer value) {
+            return value != null ? value : 0;
+        }
+
+        public String sentimentTrend() {
+            if (previousEmaScore == null) return "STABLE";
+            double delta = emaScore - previousEmaScore;
+            if (Math.abs(delta) < 0.05) return "STABLE";
+            return delta > 0 ? "IMPROVING" : "DECLINING";
+        }
+
+        public double positiveFeedbackPercentage() {
+            return totalFeedbackCount == 0 ? 0.0 : (positiveFeedbackCount * 100.0) / totalFeedbackCount;
+        }
+
+        public double negativeFeedbackPercentage() {
+            return totalFeedbackCount == 0 ? 0.0 : (negativeFeedbackCount * 100.0) / totalFeedbackCount;
+        }
+    }
+
+    public record MemoryStats(int drivers, int capacity, long bytesPerRow, long allocatedBytes, long bytesPer100kDrivers) {}
+}
@@ -0,0 +1,319 @@
+package com.moveinsync.sentiment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveinsync.sentiment.config.KafkaTopics;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver Stats Changelog
+ *
+ * Keeps the log-compacted driver.stats.changelog topic holding the latest scores of every
+ * driver, and restores DriverScoreTable from it when a node starts:
+ * - Changes this node writes (feedback updates, bulk re-evaluations and recalculations, the
+ *   streams sink) are coalesced per driver and sent on a short schedule, keyed by driver ID
+ * - On startup the topic is read end to end from every partition before DriverScoreTable
+ *   runs; the table then only reads the rows changed since the newest restored update
+ *   (minus a catch-up margin for changes whose send was lost) instead of all of driver_stats
+ *
+ * If the topic cannot be read in time (or is empty) the table falls back to a full load from
+ * driver_stats, and once the node is ready the whole table is sent to (re)seed the topic.
+ * Stale records are harmless: the table keeps the newer of two versions of a row, and the
+ * FleetCounters reconciliation reloads from driver_stats if drivers are missing.
+ */
+@Slf4j
+@Component
+@Order(-20)
+public class DriverStatsChangelog implements DriverScoreTable.Listener, ApplicationRunner {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final DriverScoreTable driverScoreTable;
+    private final DriverStatsRepository driverStatsRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Latest unsent scores per driver
+    private final Map<Long, DriverScoreTable.Score> pending = new ConcurrentHashMap<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong publishFailures = new AtomicLong();
+
+    private volatile Bootstrap bootstrap;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${app.stats.changelog.publish-enabled:true}")
+    private boolean publishEnabled;
+
+    @Value("${app.stats.changelog.bootstrap-enabled:true}")
+    private boolean bootstrapEnabled;
+
+    @Value("${app.stats.changelog.bootstrap-timeout-ms:60000}")
+    private long bootstrapTimeoutMs;
+
+    @Value("${app.stats.changelog.catch-up-minutes:15}")
+    private long catchUpMinutes;
+
+    public DriverStatsChangelog(
+            DriverScoreTable driverScoreTable,
+            DriverStatsRepository driverStatsRepository,
+            PlatformTransactionManager transactionManager,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper) {
+        this.driverScoreTable = driverScoreTable;
+        this.driverStatsRepository = driverStatsRepository;
+        this.transactionManager = transactionManager;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        driverScoreTable.addListener(this);
+    }
+
+    /**
+     * Restore DriverScoreTable from the changelog before it loads from driver_stats
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!bootstrapEnabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Replay replay = read(bootstrapTimeoutMs);
+            if (!replay.complete() || replay.newestUpdate() == null) {
+                log.info("Driver stats changelog not used for bootstrap: complete={}, drivers={}",
+                        replay.complete(), replay.scores().size());
+                return;
+            }
+            LocalDateTime asOf = replay.newestUpdate().minusMinutes(catchUpMinutes);
+            int restored = driverScoreTable.restore(replay.scores().values(), asOf);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            bootstrap = new Bootstrap(restored, replay.records(), elapsedMs, asOf, LocalDateTime.now());
+            log.info("Driver score table restored from changelog in {} ms: drivers={}, records={}, catching up since {}",
+                    elapsedMs, restored, replay.records(), asOf);
+        } catch (Exception e) {
+            log.warn("Failed to read driver stats changelog, loading from driver_stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Seed the changelog from the score table when the node had to load from driver_stats
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAfterDatabaseLoad() {
+        if (!publishEnabled || bootstrap != null) {
+            return;
+        }
+        try {
+            publishAll();
+        } catch (Exception e) {
+            log.warn("Failed to seed driver stats changelog: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onScoreChanged(DriverScoreTable.Score previous, DriverScoreTable.Score current) {
+        // Only this node's own writes are published; the others publish theirs
+    }
+
+    /**
+     * Queue a local write for the changelog; runs under the table's write lock, so no I/O here
+     */
+    @Override
+    public void onLocalWrite(DriverScoreTable.Score current) {
+        if (publishEnabled) {
+            pending.put(current.driverId(), current);
+        }
+    }
+
+    /**
+     * Send the queued scores, one record per driver
+     */
+    @Scheduled(fixedDelayString = "${app.stats.changelog.flush-interval-ms:1000}")
+    public void flush() {
+        for (Long driverId : pending.keySet()) {
+            DriverScoreTable.Score score = pending.get(driverId);
+            // Only drop the entry if no newer score replaced it meanwhile
+            if (score != null && pending.remove(driverId, score)) {
+                send(score);
+            }
+        }
+    }
+
+    /**
+     * Send every driver in the table, e.g. to seed the topic the first time
+     *
+     * @return Drivers sent
+     */
+    public int publishAll() {
+        List<DriverScoreTable.Score> scores = driverScoreTable.all();
+        scores.forEach(this::send);
+        kafkaTemplate.flush();
+        log.info("Published the score table to the driver stats changelog: drivers={}", scores.size());
+        return scores.size();
+    }
+
+    /**
+     * Time a cold load of the score table from driver_stats against a replay of the changelog,
+     * each into a fresh table, and project both to 100k drivers
+     */
+    public Benchmark benchmark() {
+        long start = System.nanoTime();
+        int databaseDrivers = new DriverScoreTable(driverStatsRepository, transactionManager).reload();
+        long databaseMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Replay replay = read(bootstrapTimeoutMs);
+        int changelogDrivers = new DriverScoreTable(driverStatsRepository, transactionManager)
+                .restore(replay.scores().values(), replay.newestUpdate());
+        long changelogMs = (System.nanoTime() - start) / 1_000_000;
+
+        Benchmark result = new Benchmark(
+                databaseDrivers, databaseMs, per100k(databaseMs, databaseDrivers),
+                changelogDrivers, replay.records(), replay.complete(), changelogMs, per100k(changelogMs, changelogDrivers));
+        log.info("Score table warm-up benchmark: {}", result);
+        return result;
+    }
+
+    public Status status() {
+        return new Status(publishEnabled, bootstrapEnabled, pending.size(), published.get(), publishFailures.get(), bootstrap);
+    }
+
+    private void send(DriverScoreTable.Score score) {
+        kafkaTemplate.send(KafkaTopics.DRIVER_STATS_CHANGELOG, String.valueOf(score.driverId()), score)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        published.incrementAndGet();
+                    } else {
+                        publishFailures.incrementAndGet();
+                        log.warn("Failed to publish driver stats changelog record: driverId={}: {}",
+                                score.driverId(), ex.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Read the changelog from the beginning up to the end offsets taken at the start,
+     * keeping the newest scores per driver (compaction may not have run yet)
+     */
+    private Replay read(long timeoutMs) {
+        Map<Long, DriverScoreTable.Score> scores = new HashMap<>();
+        long records = 0;
+        LocalDateTime newestUpdate = null;
+        long deadline = System.currentTimeMillis() + timeoutMs;
+
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerConfigs())) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(KafkaTopics.DRIVER_STATS_CHANGELOG, Duration.ofMillis(timeoutMs));
+            if (partitions == null || partitions.isEmpty()) {
+                return new Replay(scores, 0, null, false);
+            }
+            List<TopicPartition> assigned = partitions.stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList();
+            consumer.assign(assigned);
+            consumer.seekToBeginning(assigned);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assigned);
+
+            while (!reachedEnd(consumer, endOffsets)) {
+                if (System.currentTimeMillis() > deadline) {
+                    return new Replay(scores, records, newestUpdate, false);
+                }
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    records++;
+                    if (record.value() == null) {
+                        continue;
+                    }
+                    DriverScoreTable.Score score = objectMapper.readValue(record.value(), DriverScoreTable.Score.class);
+                    scores.merge(score.driverId(), score, DriverStatsChangelog::newer);
+                    if (score.lastUpdatedAt() != null && (newestUpdate == null || score.lastUpdatedAt().isAfter(newestUpdate))) {
+                        newestUpdate = score.lastUpdatedAt();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable driver stats changelog record", e);
+        }
+        return new Replay(scores, records, newestUpdate, true);
+    }
+
+    private static boolean reachedEnd(KafkaConsumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static DriverScoreTable.Score newer(DriverScoreTable.Score a, DriverScoreTable.Score b) {
+        if (a.lastUpdatedAt() == null) return b;
+        if (b.lastUpdatedAt() == null) return a;
+        return b.lastUpdatedAt().isBefore(a.lastUpdatedAt()) ? a : b;
+    }
+
+    private static long per100k(long millis, int drivers) {
+        return drivers > 0 ? millis * 100_000L / drivers : 0L;
+    }
+
+    private Map<String, Object> consumerConfigs() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, 52428800);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return props;
+    }
+
+    private record Replay(Map<Long, DriverScoreTable.Score> scores, long records, LocalDateTime newestUpdate, boolean complete) {}
+
+    public record Bootstrap(int drivers, long records, long elapsedMs, LocalDateTime caughtUpSince, LocalDateTime completedAt) {}
+
+    public record Status(
+        boolean publishEnabled,
+        boolean bootstrapEnabled,
+        int pending,
+        long published,
+        long publishFailures,
+        Bootstrap bootstrap
+    ) {}
+
+    public record Benchmark(
+        int databaseDrivers,
+        long databaseMs,
+        long databaseMsPer100kDrivers,
+        int changelogDrivers,
+        long changelogRecords,
+        boolean changelogComplete,
+        long changelogMs,
+        long changelogMsPer100kDrivers
+    ) {}
+}
@@ -0,0 +1,110 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.model.Feedback;
+
+import java.time.LocalDateTime;
+
+/**
+ * Folds one driver's feedback, oldest first, into recalculated stats: decayed EMA,
+ * label counts, trailing consecutive negatives and average rating.
+ *
+ * Shared by single-driver recalculation and the fleet-wide recalculation job so both
+ * produce the same numbers. Not thread-safe; use one fold per driver.
+ */
+public class DriverStatsFold {
+
+    private final EmaDecay emaDecay;
+
+    private double emaScore;
+    private LocalDateTime emaUpdatedAt;
+    private int total;
+    private int positive;
+    private int negative;
+    private int neutral;
+    private int consecutiveNegative;
+    private double ratingSum;
+    private int ratingCount;
+    private LocalDateTime lastFeedbackAt;
+
+    public DriverStatsFold(EmaDecay emaDecay) {
+        this.emaDecay = emaDecay;
+    }
+
+    /**
+     * Add the next feedback (created at or after the previous one)
+     */
+    public void add(LocalDateTime createdAt, Double sentimentScore, Feedback.SentimentLabel label, Integer rating) {
+        double priorEmaScore = emaDecay.valueAt(emaScore, emaUpdatedAt, createdAt);
+        emaScore = DriverStatsService.calculateEMA(priorEmaScore, sentimentScore);
+        emaUpdatedAt = createdAt;
+
+        total++;
+        if (label == Feedback.SentimentLabel.NEGATIVE || label == Feedback.SentimentLabel.VERY_NEGATIVE) {
+            negative++;
+            consecutiveNegative++;
+        } else if (label == Feedback.SentimentLabel.POSITIVE || label == Feedback.SentimentLabel.VERY_POSITIVE) {
+            positive++;
+            consecutiveNegative = 0;
+        } else {
+            neutral++;
+            consecutiveNegative = 0;
+        }
+
+        if (rating != null) {
+            ratingSum += rating;
+            ratingCount++;
+        }
+        lastFeedbackAt = createdAt;
+    }
+
+    /**
+     * Overwrite the recalculated fields of a stats row (alert status is left to the caller)
+     */
+    public void applyTo(DriverStats stats) {
+        stats.setEmaScore(emaScore);
+        stats.setPreviousEmaScore(null);
+        stats.setTotalFeedbackCount(total);
+        stats.setPositiveFeedbackCount(positive);
+        stats.setNegativeFeedbackCount(negative);
+        stats.setNeutralFeedbackCount(neutral);
+        stats.setConsecutiveNegativeFeedback(consecutiveNegative);
+        stats.setAverageRating(averageRating());
+        stats.setAlertCount(0);
+        if (lastFeedbackAt != null) {
+            stats.setLastFeedbackAt(lastFeedbackAt);
+        }
+    }
+
+    public double emaScore() {
+        return emaScore;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public int positive() {
+        return positive;
+    }
+
+    public int negative() {
+        return negative;
+    }
+
+    public int neutral() {
+        return neutral;
+    }
+
+    public int consecutiveNegative() {
+        return consecutiveNegative;
+    }
+
+    public double averageRating() {
+        return ratingCount > 0 ? ratingSum / ratingCount : 0.0;
+    }
+
+    public LocalDateTime lastFeedbackAt() {
+        return lastFeedbackAt;
+    }
+}
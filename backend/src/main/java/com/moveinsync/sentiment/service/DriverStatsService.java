@@ -2,17 +2,23 @@ package com.moveinsync.sentiment.service;
 
 import com.moveinsync.sentiment.model.DriverStats;
 import com.moveinsync.sentiment.model.Feedback;
-import com.moveinsync.sentiment.model.event.DriverStatsUpdatedEvent;
 import com.moveinsync.sentiment.repository.DriverStatsRepository;
 import com.moveinsync.sentiment.repository.FeedbackRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -26,6 +32,12 @@ import java.util.Optional;
  * 
  * EMA Formula: EMA(t) = α * sentiment(t) + (1 - α) * EMA(t-1)
  * where α (alpha) is the smoothing factor (default: 0.3)
+ * and EMA(t-1) is first decayed over the time since the previous feedback ({@link EmaDecay}).
+ * Alert status is evaluated on the decayed score; a scheduled pass updates only the drivers
+ * whose status changes as their score decays.
+ *
+ * driver_stats stays the system of record; every committed write is mirrored into
+ * DriverScoreTable, which serves the fleet-wide list and overview reads.
  */
 @Slf4j
 @Service
@@ -36,19 +48,38 @@ public class DriverStatsService {
     // Lower = smoother, less reactive to recent changes
     private static final double ALPHA = 0.3;
 
-    // Alert thresholds
-    private static final double CRITICAL_THRESHOLD = -0.6;  // EMA below this = CRITICAL
-    private static final double WARNING_THRESHOLD = -0.3;   // EMA below this = WARNING
-    private static final int CONSECUTIVE_NEGATIVE_THRESHOLD = 3;  // Consecutive negative feedback = WARNING
-
     private final DriverStatsRepository driverStatsRepository;
     private final FeedbackRepository feedbackRepository;
+    private final DriverScoreTable driverScoreTable;
+    private final DriverLeaderboard driverLeaderboard;
+    private final FleetCounters fleetCounters;
+    private final FleetEmaDistribution fleetEmaDistribution;
+    private final EmaDecay emaDecay;
+    private final SystemConfigService systemConfigService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     public DriverStatsService(
             DriverStatsRepository driverStatsRepository,
-            FeedbackRepository feedbackRepository) {
+            FeedbackRepository feedbackRepository,
+            DriverScoreTable driverScoreTable,
+            DriverLeaderboard driverLeaderboard,
+            FleetCounters fleetCounters,
+            FleetEmaDistribution fleetEmaDistribution,
+            EmaDecay emaDecay,
+            SystemConfigService systemConfigService,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
         this.driverStatsRepository = driverStatsRepository;
         this.feedbackRepository = feedbackRepository;
+        this.driverScoreTable = driverScoreTable;
+        this.driverLeaderboard = driverLeaderboard;
+        this.fleetCounters = fleetCounters;
+        this.fleetEmaDistribution = fleetEmaDistribution;
+        this.emaDecay = emaDecay;
+        this.systemConfigService = systemConfigService;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -68,11 +99,14 @@ public class DriverStatsService {
         DriverStats stats = driverStatsRepository.findByDriverId(driverId)
                 .orElseGet(() -> createNewDriverStats(driverId));
         
-        // Store previous EMA for comparison
-        stats.setPreviousEmaScore(stats.getEmaScore());
+        // Store previous EMA (decayed up to this feedback, or kept as is for late feedback) for comparison
+        LocalDateTime emaAt = EmaDecay.latest(stats.getLastFeedbackAt(), feedback.getCreatedAt());
+        double priorEmaScore = emaDecay.valueAt(stats.getEmaScore(), stats.getLastFeedbackAt(), emaAt);
+        stats.setPreviousEmaScore(priorEmaScore);
         
-        // Update EMA score
-        double newEmaScore = calculateEMA(stats.getEmaScore(), feedback.getSentimentScore());
+        // Update EMA score; late feedback counts for as much as it has decayed by emaAt
+        double newEmaScore = calculateEMA(priorEmaScore, feedback.getSentimentScore(),
+                emaDecay.factor(feedback.getCreatedAt(), emaAt));
         stats.setEmaScore(newEmaScore);
         
         // Update feedback counts
@@ -82,6 +116,11 @@ public class DriverStatsService {
             feedback.getSentimentLabel() == Feedback.SentimentLabel.VERY_NEGATIVE) {
             stats.setNegativeFeedbackCount(stats.getNegativeFeedbackCount() + 1);
             stats.setConsecutiveNegativeFeedback(stats.getConsecutiveNegativeFeedback() + 1);
+            if (stats.getRecentNegativeFeedbackIds() == null) {
+                // Not tracked yet: seed from the driver's history (a bounded indexed read)
+                stats.setRecentNegativeFeedbackIds(feedbackRepository.findRecentNegativeFeedbackIdList(driverId));
+            }
+            stats.recordNegativeFeedback(feedback.getId());
         } else if (feedback.getSentimentLabel() == Feedback.SentimentLabel.POSITIVE || 
                    feedback.getSentimentLabel() == Feedback.SentimentLabel.VERY_POSITIVE) {
             stats.setPositiveFeedbackCount(stats.getPositiveFeedbackCount() + 1);
@@ -98,15 +137,11 @@ public class DriverStatsService {
         }
         
         // Update timestamps
-        stats.setLastFeedbackAt(feedback.getCreatedAt());
+        stats.setLastFeedbackAt(emaAt);
         stats.setLastUpdatedAt(LocalDateTime.now());
         
-        // Evaluate alert status
-        DriverStats.AlertStatus previousAlertStatus = stats.getAlertStatus();
-        evaluateAlertStatus(stats);
-        
-        // Check if alert should be triggered
-        boolean alertTriggered = shouldTriggerAlert(stats, previousAlertStatus);
+        // Evaluate alert status and check if alert should be triggered
+        boolean alertTriggered = evaluateAlertStatus(stats);
         if (alertTriggered) {
             stats.setAlertTriggeredAt(LocalDateTime.now());
             stats.setAlertCount(stats.getAlertCount() + 1);
@@ -114,26 +149,7 @@ public class DriverStatsService {
         
         // Save stats
         DriverStats savedStats = driverStatsRepository.save(stats);
-        
-        // TODO: Publish driver stats updated event
-        // Note: Event models need to be updated to use Long instead of UUID
-        /*
-        DriverStatsUpdatedEvent event = DriverStatsUpdatedEvent.builder()
-                .driverId(driverId)
-                .emaScore(newEmaScore)
-                .previousEmaScore(stats.getPreviousEmaScore())
-                .totalFeedbackCount(stats.getTotalFeedbackCount())
-                .negativeFeedbackCount(stats.getNegativeFeedbackCount())
-                .positiveFeedbackCount(stats.getPositiveFeedbackCount())
-                .consecutiveNegativeFeedback(stats.getConsecutiveNegativeFeedback())
-                .alertStatus(stats.getAlertStatus().name())
-                .alertSeverity(stats.getLastAlertSeverity() != null ? stats.getLastAlertSeverity().name() : null)
-                .alertTriggered(alertTriggered)
-                .timestamp(LocalDateTime.now())
-                .build();
-        
-        kafkaProducerService.publishDriverStatsUpdated(event);
-        */
+        driverScoreTable.putAfterCommit(savedStats);
         
         log.info("Driver stats updated: driverId={}, emaScore={}, alertStatus={}, alertTriggered={}", 
                 driverId, newEmaScore, stats.getAlertStatus(), alertTriggered);
@@ -148,7 +164,7 @@ public class DriverStatsService {
      * @param newSentiment New sentiment score
      * @return Updated EMA score
      */
-    private double calculateEMA(Double currentEma, Double newSentiment) {
+    static double calculateEMA(Double currentEma, Double newSentiment) {
         if (currentEma == null) {
             // First feedback - initialize EMA with sentiment score
             return newSentiment != null ? newSentiment : 0.0;
@@ -162,6 +178,23 @@ public class DriverStatsService {
         return ALPHA * newSentiment + (1 - ALPHA) * currentEma;
     }
 
+    /**
+     * Calculate EMA score for feedback whose smoothing factor is scaled by {@code weight}
+     * (the decay between the feedback and a later EMA anchor; 1.0 for feedback in order)
+     *
+     * @param currentEma Current EMA score
+     * @param newSentiment New sentiment score
+     * @param weight Multiplier for α, between 0 and 1
+     * @return Updated EMA score
+     */
+    static double calculateEMA(Double currentEma, Double newSentiment, double weight) {
+        if (currentEma == null || newSentiment == null || weight >= 1.0) {
+            return calculateEMA(currentEma, newSentiment);
+        }
+        double alpha = ALPHA * weight;
+        return alpha * newSentiment + (1 - alpha) * currentEma;
+    }
+
     /**
      * Create new driver stats
      * 
@@ -187,60 +220,74 @@ public class DriverStatsService {
     }
 
     /**
-     * Evaluate alert status based on EMA score and consecutive negative feedback
+     * Evaluate alert status with the configured alert rules ({@link AlertRuleProgram}),
+     * on the decayed EMA score and the driver's counters
      * 
      * @param stats Driver stats to evaluate
+     * @return true if the change from the previous status triggers an alert
      */
-    private void evaluateAlertStatus(DriverStats stats) {
-        DriverStats.AlertSeverity severity;
-        DriverStats.AlertStatus status;
-        
-        if (stats.getEmaScore() <= CRITICAL_THRESHOLD) {
-            severity = DriverStats.AlertSeverity.CRITICAL;
-            status = DriverStats.AlertStatus.CRITICAL;
-        } else if (stats.getEmaScore() <= WARNING_THRESHOLD || 
-                   stats.getConsecutiveNegativeFeedback() >= CONSECUTIVE_NEGATIVE_THRESHOLD) {
-            severity = DriverStats.AlertSeverity.HIGH;
-            status = DriverStats.AlertStatus.WARNING;
-        } else if (stats.getEmaScore() < 0.0) {
-            severity = DriverStats.AlertSeverity.MEDIUM;
-            status = DriverStats.AlertStatus.WARNING;  // Changed from WATCH to WARNING
-        } else {
-            severity = DriverStats.AlertSeverity.LOW;
-            status = DriverStats.AlertStatus.NORMAL;
-        }
-        
-        stats.setAlertStatus(status);
-        stats.setLastAlertSeverity(severity);
+    private boolean evaluateAlertStatus(DriverStats stats) {
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        AlertRuleProgram.Facts facts = AlertRuleProgram.facts(config)
+                .stats(stats)
+                .ema(emaDecay.current(stats.getEmaScore(), stats.getLastFeedbackAt()))
+                .previousStatus(stats.getAlertStatus());
+        AlertLevel level = config.alertRules().level(facts);
+        stats.setAlertStatus(level.status());
+        stats.setLastAlertSeverity(level.severity());
+        return config.alertRules().trigger(facts);
     }
 
     /**
-     * Determine if alert should be triggered
-     * 
-     * @param stats Current driver stats
-     * @param previousStatus Previous alert status
-     * @return true if alert should be triggered
+     * Update the drivers whose alert status changed only because their score decayed.
+     * Reads the in-memory table and writes just those rows; UNDER_REVIEW and RESOLVED
+     * drivers are left to their reviewers.
      */
-    private boolean shouldTriggerAlert(DriverStats stats, DriverStats.AlertStatus previousStatus) {
-        // Trigger alert if:
-        // 1. Status changed from NORMAL/WATCH to WARNING/CRITICAL
-        // 2. Status changed from WARNING to CRITICAL
-        
-        if (previousStatus == null) {
-            return false;
+    @Scheduled(fixedDelayString = "${app.ema.alert-refresh-interval-ms:600000}",
+               initialDelayString = "${app.ema.alert-refresh-interval-ms:600000}")
+    public void refreshDecayedAlertStatuses() {
+        if (!emaDecay.isEnabled()) {
+            return;
         }
-        
-        if (stats.getAlertStatus() == DriverStats.AlertStatus.CRITICAL && 
-            previousStatus != DriverStats.AlertStatus.CRITICAL) {
-            return true;
+        int updated = 0;
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        for (DriverScoreTable.Score score : driverScoreTable.all()) {
+            if (score.alertStatus() == DriverStats.AlertStatus.UNDER_REVIEW
+                    || score.alertStatus() == DriverStats.AlertStatus.RESOLVED) {
+                continue;
+            }
+            AlertLevel level = config.alertRules().level(AlertRuleProgram.facts(config)
+                    .score(score)
+                    .ema(emaDecay.current(score.emaScore(), score.lastFeedbackAt()))
+                    .previousStatus(score.alertStatus()));
+            if (level.status() == score.alertStatus() && level.severity() == score.lastAlertSeverity()) {
+                continue;
+            }
+            try {
+                Boolean changed = transactionTemplate.execute(status -> driverStatsRepository.findByDriverId(score.driverId())
+                        .filter(stats -> stats.getAlertStatus() != DriverStats.AlertStatus.UNDER_REVIEW
+                                && stats.getAlertStatus() != DriverStats.AlertStatus.RESOLVED)
+                        .map(stats -> {
+                            evaluateAlertStatus(stats);
+                            stats.setLastUpdatedAt(LocalDateTime.now());
+                            driverScoreTable.putAfterCommit(driverStatsRepository.save(stats));
+                            return true;
+                        })
+                        .orElse(false));
+                if (Boolean.TRUE.equals(changed)) {
+                    updated++;
+                    Cache cache = cacheManager.getCache("driverStatsById");
+                    if (cache != null) {
+                        cache.evict(score.driverId());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to refresh decayed alert status: driverId={}: {}", score.driverId(), e.getMessage());
+            }
         }
-        
-        if (stats.getAlertStatus() == DriverStats.AlertStatus.WARNING && 
-            (previousStatus == DriverStats.AlertStatus.NORMAL)) {
-            return true;
+        if (updated > 0) {
+            log.info("Refreshed alert status of {} drivers after score decay", updated);
         }
-        
-        return false;
     }
 
     /**
@@ -260,67 +307,25 @@ public class DriverStatsService {
                 LocalDateTime.now().minusYears(1), // Last year
                 LocalDateTime.now()
         );
+        feedbackList.sort(Comparator.comparing(Feedback::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
         
         // Create or reset stats
         DriverStats stats = driverStatsRepository.findByDriverId(driverId)
                 .orElseGet(() -> createNewDriverStats(driverId));
         
-        // Reset counters
-        stats.setEmaScore(0.0);
-        stats.setPreviousEmaScore(null);
-        stats.setTotalFeedbackCount(0);
-        stats.setPositiveFeedbackCount(0);
-        stats.setNegativeFeedbackCount(0);
-        stats.setNeutralFeedbackCount(0);
-        stats.setConsecutiveNegativeFeedback(0);
-        stats.setAverageRating(0.0);
-        stats.setAlertCount(0);
-        
         // Process each feedback in chronological order
-        double totalRating = 0.0;
-        int ratingCount = 0;
-        int consecutiveNegative = 0;
-        
+        DriverStatsFold fold = new DriverStatsFold(emaDecay);
         for (Feedback feedback : feedbackList) {
-            if (feedback.getSentimentScore() != null) {
-                stats.setEmaScore(calculateEMA(stats.getEmaScore(), feedback.getSentimentScore()));
-            }
-            
-            stats.setTotalFeedbackCount(stats.getTotalFeedbackCount() + 1);
-            
-            if (feedback.getSentimentLabel() == Feedback.SentimentLabel.NEGATIVE || 
-                feedback.getSentimentLabel() == Feedback.SentimentLabel.VERY_NEGATIVE) {
-                stats.setNegativeFeedbackCount(stats.getNegativeFeedbackCount() + 1);
-                consecutiveNegative++;
-            } else if (feedback.getSentimentLabel() == Feedback.SentimentLabel.POSITIVE || 
-                       feedback.getSentimentLabel() == Feedback.SentimentLabel.VERY_POSITIVE) {
-                stats.setPositiveFeedbackCount(stats.getPositiveFeedbackCount() + 1);
-                consecutiveNegative = 0;
-            } else {
-                stats.setNeutralFeedbackCount(stats.getNeutralFeedbackCount() + 1);
-                consecutiveNegative = 0;
-            }
-            
-            if (feedback.getRating() != null) {
-                totalRating += feedback.getRating();
-                ratingCount++;
-            }
-        }
-        
-        stats.setConsecutiveNegativeFeedback(consecutiveNegative);
-        
-        if (ratingCount > 0) {
-            stats.setAverageRating(totalRating / ratingCount);
-        }
-        
-        if (!feedbackList.isEmpty()) {
-            stats.setLastFeedbackAt(feedbackList.get(feedbackList.size() - 1).getCreatedAt());
+            fold.add(feedback.getCreatedAt(), feedback.getSentimentScore(), feedback.getSentimentLabel(), feedback.getRating());
         }
+        fold.applyTo(stats);
+        stats.setRecentNegativeFeedbackIds(feedbackRepository.findRecentNegativeFeedbackIdList(driverId));
         
         stats.setLastUpdatedAt(LocalDateTime.now());
         evaluateAlertStatus(stats);
         
         DriverStats savedStats = driverStatsRepository.save(stats);
+        driverScoreTable.putAfterCommit(savedStats);
         
         log.info("Driver stats recalculated: driverId={}, emaScore={}, totalFeedback={}", 
                 driverId, stats.getEmaScore(), stats.getTotalFeedbackCount());
@@ -350,59 +355,60 @@ public class DriverStatsService {
     public DriverStats getOrCreateDriverStats(Long driverId) {
         return driverStatsRepository.findByDriverId(driverId)
                 .orElseGet(() -> {
-                    DriverStats stats = createNewDriverStats(driverId);
-                    return driverStatsRepository.save(stats);
+                    DriverStats stats = driverStatsRepository.save(createNewDriverStats(driverId));
+                    driverScoreTable.putAfterCommit(stats);
+                    return stats;
                 });
     }
 
     /**
      * Get all driver stats
      * 
-     * @return List of all driver stats
+     * @return Scores of all drivers
      */
-    public List<DriverStats> getAllDriverStats() {
+    public List<DriverScoreTable.Score> getAllDriverStats() {
         log.debug("Getting all driver stats");
-        return driverStatsRepository.findAll();
+        return driverScoreTable.all();
     }
 
     /**
      * Get drivers needing attention
      * 
-     * @return List of drivers with WARNING or CRITICAL status
+     * @return Drivers with WARNING or CRITICAL status, or 3+ consecutive negative feedback
      */
-    public List<DriverStats> getDriversNeedingAttention() {
+    public List<DriverScoreTable.Score> getDriversNeedingAttention() {
         log.debug("Getting drivers needing attention");
-        return driverStatsRepository.findDriversNeedingAttention();
+        return driverScoreTable.needingAttention();
     }
 
     /**
      * Get drivers with critical alerts
      * 
-     * @return List of drivers with CRITICAL status
+     * @return Drivers with CRITICAL status
      */
-    public List<DriverStats> getDriversWithCriticalAlerts() {
+    public List<DriverScoreTable.Score> getDriversWithCriticalAlerts() {
         log.debug("Getting drivers with critical alerts");
-        return driverStatsRepository.findDriversWithCriticalAlerts();
+        return driverScoreTable.withAlertStatus(DriverStats.AlertStatus.CRITICAL);
     }
 
     /**
      * Get drivers with improving sentiment
      * 
-     * @return List of drivers with improving EMA scores
+     * @return Drivers with improving EMA scores
      */
-    public List<DriverStats> getDriversWithImprovingSentiment() {
+    public List<DriverScoreTable.Score> getDriversWithImprovingSentiment() {
         log.debug("Getting drivers with improving sentiment");
-        return driverStatsRepository.findDriversWithImprovingSentiment();
+        return driverScoreTable.improving();
     }
 
     /**
      * Get drivers with declining sentiment
      * 
-     * @return List of drivers with declining EMA scores
+     * @return Drivers with declining EMA scores
      */
-    public List<DriverStats> getDriversWithDecliningSentiment() {
+    public List<DriverScoreTable.Score> getDriversWithDecliningSentiment() {
         log.debug("Getting drivers with declining sentiment");
-        return driverStatsRepository.findDriversWithDecliningSentiment();
+        return driverScoreTable.declining();
     }
 
     /**
@@ -412,37 +418,75 @@ public class DriverStatsService {
      */
     public List<Object[]> getEmaScoreDistribution() {
         log.debug("Getting EMA score distribution");
-        return driverStatsRepository.getEmaScoreDistribution();
+        return fleetEmaDistribution.categoryCounts();
+    }
+
+    /**
+     * Get the N drivers with the lowest EMA scores
+     * 
+     * @param limit Number of drivers to return
+     * @return Drivers ordered by EMA score ascending
+     */
+    public List<DriverScoreTable.Score> getBottomPerformingDrivers(int limit) {
+        log.debug("Getting bottom {} performing drivers", limit);
+        return driverLeaderboard.bottom(limit).stream()
+                .map(entry -> driverScoreTable.get(entry.driverId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Get fleet overview for the dashboard (O(1), from FleetCounters)
+     * 
+     * @return System overview
+     */
+    public SystemOverview getSystemOverview() {
+        log.debug("Getting system overview");
+        
+        FleetCounters.Snapshot totals = fleetCounters.snapshot();
+        return new SystemOverview(
+                totals.totalDrivers(),
+                totals.normalCount(),
+                totals.warningCount(),
+                totals.criticalCount(),
+                totals.improvingCount(),
+                totals.decliningCount()
+        );
     }
 
     /**
-     * Get overall statistics
+     * Get overall statistics (O(1), from FleetCounters)
      * 
      * @return Overall statistics
      */
     public OverallStatistics getOverallStatistics() {
         log.debug("Getting overall statistics");
         
-        long totalDrivers = driverStatsRepository.count();
-        long criticalCount = driverStatsRepository.countByAlertStatus(DriverStats.AlertStatus.CRITICAL);
-        long warningCount = driverStatsRepository.countByAlertStatus(DriverStats.AlertStatus.WARNING);
-        long underReviewCount = driverStatsRepository.countByAlertStatus(DriverStats.AlertStatus.UNDER_REVIEW);
-        long normalCount = driverStatsRepository.countByAlertStatus(DriverStats.AlertStatus.NORMAL);
-        
-        Optional<Double> avgEmaScore = driverStatsRepository.getAverageEmaScore();
-        Optional<Long> totalFeedback = driverStatsRepository.getTotalFeedbackCount();
-        
+        FleetCounters.Snapshot totals = fleetCounters.snapshot();
         return new OverallStatistics(
-            totalDrivers,
-            criticalCount,
-            warningCount,
-            underReviewCount,
-            normalCount,
-            avgEmaScore.orElse(0.0),
-            totalFeedback.orElse(0L)
+            totals.totalDrivers(),
+            totals.criticalCount(),
+            totals.warningCount(),
+            totals.underReviewCount(),
+            totals.normalCount(),
+            totals.averageEmaScore(),
+            totals.totalFeedbackCount()
         );
     }
 
+    /**
+     * Where driver stats are computed: synchronously against driver_stats, or by the
+     * Kafka Streams topology from feedback.processed events (see DriverStatsTopology)
+     */
+    public enum ProcessingMode {
+        DATABASE, STREAMS
+    }
+
+    /**
+     * Alert status with its severity
+     */
+    record AlertLevel(DriverStats.AlertStatus status, DriverStats.AlertSeverity severity) {}
+
     /**
      * Overall statistics POJO
      */
@@ -455,4 +499,16 @@ public class DriverStatsService {
         double averageEmaScore,
         long totalFeedbackCount
     ) {}
+
+    /**
+     * System overview POJO
+     */
+    public record SystemOverview(
+        long totalDrivers,
+        long normalCount,
+        long warningCount,
+        long criticalCount,
+        long improvingCount,
+        long decliningCount
+    ) {}
 }
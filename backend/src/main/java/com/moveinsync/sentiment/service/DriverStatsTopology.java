@@ -0,0 +1,251 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.config.KafkaTopics;
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.model.event.DriverStatsUpdatedEvent;
+import com.moveinsync.sentiment.model.event.FeedbackProcessedEvent;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Driver Stats Topology
+ *
+ * Kafka Streams alternative to DriverStatsService.updateDriverStats, active when
+ * app.stats.processing-mode=STREAMS. feedback.processed events, keyed by driver ID, are
+ * aggregated per driver into a RocksDB-backed state store (EMA with decay, label counts,
+ * consecutive negatives, average rating, alert state), and every update is emitted as a
+ * DriverStatsUpdatedEvent on driver.stats.updated.
+ *
+ * Each instance owns the stores of the input partitions assigned to it, so throughput scales
+ * with partitions and instances instead of database writes; the store's changelog topic
+ * restores the state when partitions move. DriverStatsSink writes the results to driver_stats.
+ *
+ * The first feedback for a driver the store has no state for is folded onto the driver's
+ * driver_stats row (read on the primary), so switching to STREAMS mode, or losing a store,
+ * continues each driver's history instead of restarting it. If the row cannot be read the
+ * record fails and is retried rather than aggregated from zero.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.stats.processing-mode", havingValue = "STREAMS")
+public class DriverStatsTopology {
+
+    public static final String STATE_STORE = "driver-stats-store";
+
+    private final EmaDecay emaDecay;
+    private final SystemConfigService systemConfigService;
+    private final DriverStatsRepository driverStatsRepository;
+
+    public DriverStatsTopology(EmaDecay emaDecay,
+                               SystemConfigService systemConfigService,
+                               DriverStatsRepository driverStatsRepository) {
+        this.emaDecay = emaDecay;
+        this.systemConfigService = systemConfigService;
+        this.driverStatsRepository = driverStatsRepository;
+    }
+
+    @Autowired
+    public void buildPipeline(StreamsBuilder streamsBuilder) {
+        JsonSerde<FeedbackProcessedEvent> feedbackSerde = new JsonSerde<>(FeedbackProcessedEvent.class).ignoreTypeHeaders();
+        JsonSerde<State> stateSerde = new JsonSerde<>(State.class).noTypeInfo();
+        JsonSerde<DriverStatsUpdatedEvent> eventSerde = new JsonSerde<>(DriverStatsUpdatedEvent.class);
+
+        streamsBuilder
+                .stream(KafkaTopics.FEEDBACK_PROCESSED, Consumed.with(Serdes.String(), feedbackSerde))
+                .filter((driverId, feedback) -> feedback != null && feedback.getDriverId() != null)
+                // Producers key by driver ID already, so this does not repartition
+                .groupByKey(Grouped.with(Serdes.String(), feedbackSerde))
+                .aggregate(
+                        () -> State.EMPTY,
+                        // The initializer's EMPTY is only seen when the store has no state for the driver
+                        (driverId, feedback, state) -> apply(state == State.EMPTY ? seed(driverId) : state, feedback),
+                        Materialized.<String, State, KeyValueStore<Bytes, byte[]>>as(STATE_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(stateSerde))
+                .toStream()
+                .mapValues((driverId, state) -> toEvent(Long.valueOf(driverId), state))
+                .to(KafkaTopics.DRIVER_STATS_UPDATED, Produced.with(Serdes.String(), eventSerde));
+    }
+
+    /**
+     * Starting state for a driver the store has not seen: their driver_stats row, if any
+     */
+    State seed(String driverId) {
+        State seeded = driverStatsRepository.findByDriverId(Long.valueOf(driverId))
+                .map(State::of)
+                .orElse(State.EMPTY);
+        if (seeded != State.EMPTY) {
+            log.debug("Seeded streamed stats from driver_stats: driverId={}, totalFeedback={}", driverId, seeded.total());
+        }
+        return seeded;
+    }
+
+    /**
+     * Fold one processed feedback into a driver's state, as updateDriverStats does for a row
+     */
+    State apply(State state, FeedbackProcessedEvent feedback) {
+        LocalDateTime createdAt = feedback.getSubmittedAt() != null ? feedback.getSubmittedAt() : feedback.getProcessedAt();
+        LocalDateTime lastFeedbackAt = EmaDecay.latest(state.lastFeedbackAt(), createdAt);
+        double priorEmaScore = emaDecay.valueAt(state.emaScore(), state.lastFeedbackAt(), lastFeedbackAt);
+        double emaScore = DriverStatsService.calculateEMA(priorEmaScore, feedback.getSentimentScore(),
+                emaDecay.factor(createdAt, lastFeedbackAt));
+
+        Feedback.SentimentLabel label = feedback.getSentimentLabel() != null
+                ? Feedback.SentimentLabel.valueOf(feedback.getSentimentLabel())
+                : null;
+        int positive = state.positive();
+        int negative = state.negative();
+        int neutral = state.neutral();
+        int consecutiveNegative;
+        if (label == Feedback.SentimentLabel.NEGATIVE || label == Feedback.SentimentLabel.VERY_NEGATIVE) {
+            negative++;
+            consecutiveNegative = state.consecutiveNegative() + 1;
+        } else if (label == Feedback.SentimentLabel.POSITIVE || label == Feedback.SentimentLabel.VERY_POSITIVE) {
+            positive++;
+            consecutiveNegative = 0;
+        } else {
+            neutral++;
+            consecutiveNegative = 0;
+        }
+
+        double ratingSum = state.ratingSum();
+        int ratingCount = state.ratingCount();
+        if (feedback.getRating() != null) {
+            ratingSum += feedback.getRating();
+            ratingCount++;
+        }
+
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        AlertRuleProgram.Facts facts = AlertRuleProgram.facts(config)
+                .ema(emaDecay.current(emaScore, lastFeedbackAt))
+                .storedEma(emaScore)
+                .previousEma(priorEmaScore)
+                .consecutiveNegative(consecutiveNegative)
+                .totalFeedback(state.total() + 1)
+                .negativeFeedback(negative)
+                .averageRating(ratingCount > 0 ? ratingSum / ratingCount : 0.0)
+                .previousStatus(state.alertStatus());
+        DriverStatsService.AlertLevel level = config.alertRules().level(facts);
+
+        return new State(
+                emaScore,
+                priorEmaScore,
+                state.total() + 1,
+                positive,
+                negative,
+                neutral,
+                consecutiveNegative,
+                ratingSum,
+                ratingCount,
+                lastFeedbackAt,
+                level.status(),
+                level.severity(),
+                config.alertRules().trigger(facts),
+                feedback.getFeedbackId(),
+                feedback.getSentimentScore(),
+                feedback.getRating());
+    }
+
+    private static DriverStatsUpdatedEvent toEvent(Long driverId, State state) {
+        return DriverStatsUpdatedEvent.builder()
+                .driverId(driverId)
+                .emaScore(state.emaScore())
+                .previousEmaScore(state.previousEmaScore())
+                .totalFeedbackCount(state.total())
+                .positiveFeedbackCount(state.positive())
+                .negativeFeedbackCount(state.negative())
+                .neutralFeedbackCount(state.neutral())
+                .consecutiveNegativeFeedback(state.consecutiveNegative())
+                .averageRating(state.ratingCount() > 0 ? state.ratingSum() / state.ratingCount() : 0.0)
+                .totalRatingsCount(state.ratingCount())
+                .latestFeedbackId(state.latestFeedbackId())
+                .latestSentimentScore(state.latestSentimentScore())
+                .latestRating(state.latestRating())
+                .alertStatus(state.alertStatus().name())
+                .alertSeverity(state.alertSeverity() != null ? state.alertSeverity().name() : null)
+                .alertTriggered(state.alertTriggered())
+                .scoreDelta(state.previousEmaScore() != null ? state.emaScore() - state.previousEmaScore() : null)
+                .lastFeedbackAt(state.lastFeedbackAt())
+                .updatedAt(LocalDateTime.now())
+                .eventId(UUID.randomUUID().toString())
+                .eventVersion("1.0")
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Per-driver aggregate kept in the state store
+     */
+    public record State(
+        double emaScore,
+        Double previousEmaScore,
+        int total,
+        int positive,
+        int negative,
+        int neutral,
+        int consecutiveNegative,
+        double ratingSum,
+        int ratingCount,
+        LocalDateTime lastFeedbackAt,
+        DriverStats.AlertStatus alertStatus,
+        DriverStats.AlertSeverity alertSeverity,
+        boolean alertTriggered,
+        Long latestFeedbackId,
+        Double latestSentimentScore,
+        Integer latestRating
+    ) {
+
+        static final State EMPTY = new State(0.0, null, 0, 0, 0, 0, 0, 0.0, 0, null,
+                DriverStats.AlertStatus.NORMAL, DriverStats.AlertSeverity.LOW, false, null, null, null);
+
+        /**
+         * State continuing a stored stats row. Rows written before ratings were counted
+         * (total_ratings_count 0) averaged over every feedback, so that is the rating count.
+         */
+        static State of(DriverStats stats) {
+            double averageRating = stats.getAverageRating() != null ? stats.getAverageRating() : 0.0;
+            int total = valueOrZero(stats.getTotalFeedbackCount());
+            int ratingCount = valueOrZero(stats.getTotalRatingsCount());
+            if (ratingCount == 0 && averageRating > 0) {
+                ratingCount = total;
+            }
+            return new State(
+                    stats.getEmaScore() != null ? stats.getEmaScore() : 0.0,
+                    stats.getPreviousEmaScore(),
+                    total,
+                    valueOrZero(stats.getPositiveFeedbackCount()),
+                    valueOrZero(stats.getNegativeFeedbackCount()),
+                    valueOrZero(stats.getNeutralFeedbackCount()),
+                    valueOrZero(stats.getConsecutiveNegativeFeedback()),
+                    averageRating * ratingCount,
+                    ratingCount,
+                    stats.getLastFeedbackAt(),
+                    stats.getAlertStatus() != null ? stats.getAlertStatus() : DriverStats.AlertStatus.NORMAL,
+                    stats.getLastAlertSeverity(),
+                    false,
+                    null,
+                    null,
+                    null);
+        }
+
+        private static int valueOrZero(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
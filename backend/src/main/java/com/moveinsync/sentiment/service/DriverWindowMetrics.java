@@ -0,0 +1,343 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverWindowSnapshot;
+import com.moveinsync.sentiment.repository.DriverWindowSnapshotRepository;
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.util.HourlyRing;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Driver Window Metrics
+ *
+ * Last-7-day and last-30-day feedback metrics per driver from in-memory hourly ring buffers:
+ * - One {@link HourlyRing} per driver, created on first feedback: hourly buckets for the last
+ *   7 days and daily buckets out to 30 days; rings with nothing left in the window are evicted
+ *   at the next snapshot pass
+ * - O(1) update after each processing transaction commits on this node (reprocessing moves the
+ *   old contribution)
+ * - Feedback processed, reprocessed or deleted on other nodes is picked up by polling
+ *   feedback_daily_rollup for driver days changed since the last poll and setting those days
+ *   from feedback, the way DriverScoreTable polls driver_stats; every node holds the whole fleet
+ * - Window queries sum at most 7 x 24 + 23 buckets; the 30-day window rolls by whole days
+ * - Dirty rings are snapshotted to driver_window_snapshots periodically and on shutdown;
+ *   on startup the snapshots are restored and only the days changed since the last completed
+ *   snapshot pass are re-read from feedback
+ *
+ * Any node may write a driver's snapshot, since each holds the fleet's windows; a snapshot
+ * records the time its node had caught up to and never replaces a more recent one, and the
+ * pass watermark only moves forward.
+ */
+@Slf4j
+@Component
+@Order(-10)
+public class DriverWindowMetrics implements ApplicationRunner {
+
+    static final int WINDOW_DAYS = 30;
+
+    // Days kept at hour granularity (the 7-day window is exact to the hour)
+    static final int HOURLY_DAYS = 7;
+
+    // Snapshot row recording when the last complete snapshot pass was taken (driver IDs are positive)
+    private static final long WATERMARK_ID = 0L;
+
+    // Re-read days changed this far before the last poll to cover commits that were in flight
+    // (and local updates applied after a poll had already read them)
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final FeedbackRepository feedbackRepository;
+    private final DriverWindowSnapshotRepository snapshotRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final Map<Long, HourlyRing> rings = new ConcurrentHashMap<>();
+
+    // When the last successful poll started; null until the windows are loaded
+    private volatile LocalDateTime lastSync;
+
+    public DriverWindowMetrics(
+            FeedbackRepository feedbackRepository,
+            DriverWindowSnapshotRepository snapshotRepository,
+            PlatformTransactionManager transactionManager) {
+        this.feedbackRepository = feedbackRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Restore from snapshots and re-read the days changed since, or load the whole window
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long nowHour = currentHour();
+        try {
+            LocalDateTime watermark = null;
+            for (DriverWindowSnapshot snapshot : snapshotRepository.findAll()) {
+                if (snapshot.getDriverId() == WATERMARK_ID) {
+                    watermark = snapshot.getCapturedAt();
+                } else if (snapshot.getBuckets().length > 0) {
+                    update(snapshot.getDriverId(), ring -> ring.decode(snapshot.getBuckets(), nowHour));
+                }
+            }
+            if (watermark == null) {
+                int buckets = reload();
+                log.info("Driver window metrics loaded in {} ms: drivers={}, buckets={}",
+                        (System.nanoTime() - start) / 1_000_000, rings.size(), buckets);
+                return;
+            }
+
+            // Restored rings match their snapshots; only what the catch-up changes is dirty
+            rings.values().forEach(HourlyRing::takeDirty);
+            lastSync = watermark;
+            int days = catchUp();
+            log.info("Driver window metrics restored in {} ms: drivers={}, snapshotAt={}, changedDays={}",
+                    (System.nanoTime() - start) / 1_000_000, rings.size(), watermark, days);
+        } catch (Exception e) {
+            log.warn("Failed to restore driver window metrics, loading on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pick up driver days changed since the last poll (including by other nodes)
+     */
+    @Scheduled(fixedDelayString = "${app.window-metrics.sync-interval-ms:10000}",
+               initialDelayString = "${app.window-metrics.sync-interval-ms:10000}")
+    public void sync() {
+        try {
+            if (lastSync == null) {
+                reload();
+                return;
+            }
+            int days = catchUp();
+            log.debug("Driver window metrics sync applied {} changed driver days", days);
+        } catch (Exception e) {
+            log.warn("Driver window metrics sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace every ring with the window read from feedback
+     *
+     * @return Hourly buckets read
+     */
+    private int reload() {
+        LocalDateTime syncStart = LocalDateTime.now();
+        long nowHour = currentHour();
+        // Past the hourly tier buckets are whole days, so the window starts at midnight
+        List<Object[]> buckets = feedbackRepository.findHourlyBucketsSince(windowStartDay().atStartOfDay());
+        rings.clear();
+        for (Object[] row : buckets) {
+            update(((Number) row[0]).longValue(), ring -> ring.add(
+                    ((Number) row[1]).longValue(),
+                    ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(),
+                    ((Number) row[4]).doubleValue(),
+                    nowHour));
+        }
+        lastSync = syncStart;
+        return buckets.size();
+    }
+
+    /**
+     * Set each driver day whose rollup changed since the last poll (less the overlap) from feedback
+     *
+     * @return Driver days set
+     */
+    private int catchUp() {
+        LocalDateTime syncStart = LocalDateTime.now();
+        long nowHour = currentHour();
+        List<Object[]> buckets = feedbackRepository.findHourlyBucketsOfDaysChangedSince(
+                lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), windowStartDay());
+        Set<List<Long>> cleared = new HashSet<>();
+        for (Object[] row : buckets) {
+            long driverId = ((Number) row[0]).longValue();
+            long day = ((Number) row[1]).longValue();
+            boolean first = cleared.add(List.of(driverId, day));
+            update(driverId, ring -> {
+                if (first) {
+                    ring.clearDayAt(day * 24, nowHour);
+                }
+                if (row[2] != null) {
+                    ring.add(((Number) row[2]).longValue(), ((Number) row[3]).intValue(),
+                            ((Number) row[4]).intValue(), ((Number) row[5]).doubleValue(), nowHour);
+                }
+            });
+        }
+        lastSync = syncStart;
+        return cleared.size();
+    }
+
+    /**
+     * Move a feedback's window contribution once the current transaction commits,
+     * or immediately when there is no transaction
+     *
+     * @param previous Contribution before the change, or null
+     * @param current Contribution after the change, or null
+     */
+    public void replaceAfterCommit(FeedbackRollupService.Contribution previous,
+                                   FeedbackRollupService.Contribution current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replace(previous, current);
+                }
+            });
+        } else {
+            replace(previous, current);
+        }
+    }
+
+    /**
+     * Move a feedback's window contribution
+     */
+    public void replace(FeedbackRollupService.Contribution previous, FeedbackRollupService.Contribution current) {
+        long nowHour = currentHour();
+        if (previous != null) {
+            apply(previous, -1, nowHour);
+        }
+        if (current != null) {
+            apply(current, 1, nowHour);
+        }
+    }
+
+    private void apply(FeedbackRollupService.Contribution contribution, int sign, long nowHour) {
+        update(contribution.driverId(), ring -> ring.add(
+                hourOf(contribution.createdAt()),
+                sign,
+                contribution.negative() ? sign : 0,
+                sign * contribution.score(),
+                nowHour));
+    }
+
+    /**
+     * Metrics for a driver over the last N days (rolling, hour granularity)
+     *
+     * @param driverId Driver ID
+     * @param days Window length in days (at most 30)
+     * @return Window totals; zero counts if the driver has no recent feedback
+     */
+    public Window window(Long driverId, int days) {
+        HourlyRing ring = rings.get(driverId);
+        if (ring == null) {
+            return Window.EMPTY;
+        }
+        HourlyRing.Totals totals = ring.sum(days * 24, currentHour());
+        return new Window(
+                totals.count(),
+                totals.negative(),
+                totals.count() > 0 ? totals.scoreSum() / totals.count() : null);
+    }
+
+    /**
+     * Persist the rings that changed since the last snapshot, together with the pass watermark
+     * (one transaction, so the watermark only advances when every changed ring was saved),
+     * then evict rings with nothing left in the window. Snapshots are stamped with the start
+     * of the last poll, which the rings are caught up to.
+     */
+    @Scheduled(fixedDelayString = "${app.window-metrics.snapshot-interval-ms:300000}",
+               initialDelayString = "${app.window-metrics.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        LocalDateTime caughtUpTo = lastSync;
+        if (caughtUpTo == null) {
+            return;  // Not loaded yet: the rings hold only this node's updates
+        }
+        long nowHour = currentHour();
+        List<DriverWindowSnapshot> snapshots = new ArrayList<>();
+        rings.forEach((driverId, ring) -> {
+            if (ring.takeDirty()) {
+                snapshots.add(DriverWindowSnapshot.builder()
+                        .driverId(driverId)
+                        .buckets(ring.encode(nowHour))
+                        .capturedAt(caughtUpTo)
+                        .build());
+            }
+        });
+        snapshots.add(DriverWindowSnapshot.builder()
+                .driverId(WATERMARK_ID)
+                .buckets(new byte[0])
+                .capturedAt(caughtUpTo)
+                .build());
+        try {
+            snapshotTransaction.executeWithoutResult(status -> snapshots.forEach(snapshot ->
+                    snapshotRepository.saveIfNewer(snapshot.getDriverId(), snapshot.getBuckets(), snapshot.getCapturedAt())));
+            log.debug("Snapshotted window metrics for {} drivers", snapshots.size() - 1);
+        } catch (Exception e) {
+            // Retry these rings on the next pass; the watermark did not advance
+            snapshots.forEach(snapshot -> {
+                HourlyRing ring = rings.get(snapshot.getDriverId());
+                if (ring != null) {
+                    ring.markDirty();
+                }
+            });
+            log.warn("Failed to snapshot window metrics for {} drivers: {}", snapshots.size() - 1, e.getMessage());
+        }
+
+        // A clean empty ring was saved empty or its snapshot holds only expired buckets,
+        // so a restart does not bring it back; dirty ones wait for the next pass
+        int before = rings.size();
+        for (Long driverId : rings.keySet()) {
+            rings.computeIfPresent(driverId, (id, ring) -> ring.isEmpty(nowHour) && !ring.isDirty() ? null : ring);
+        }
+        if (rings.size() < before) {
+            log.debug("Evicted {} idle driver windows", before - rings.size());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * Apply an update to a driver's ring, creating it if needed; compute() serializes with eviction
+     */
+    private void update(Long driverId, Consumer<HourlyRing> update) {
+        rings.compute(driverId, (id, ring) -> {
+            HourlyRing target = ring != null ? ring : new HourlyRing(WINDOW_DAYS, HOURLY_DAYS);
+            update.accept(target);
+            return target;
+        });
+    }
+
+    private static LocalDate windowStartDay() {
+        return LocalDate.now().minusDays(WINDOW_DAYS - 1L);
+    }
+
+    private static long currentHour() {
+        return hourOf(LocalDateTime.now());
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    /**
+     * Rolling window totals for one driver
+     */
+    public record Window(long feedbackCount, long negativeCount, Double averageScore) {
+        static final Window EMPTY = new Window(0, 0, null);
+    }
+}
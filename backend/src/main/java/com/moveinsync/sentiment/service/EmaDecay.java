@@ -0,0 +1,135 @@
+package com.moveinsync.sentiment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * EMA Decay
+ *
+ * Continuous-time decay of a driver's EMA towards neutral (0) with a configurable half-life:
+ *
+ *   value(t) = value(t0) * 2^(-(t - t0) / halfLife)
+ *
+ * driver_stats stores the EMA as of its last update (t0 = last_feedback_at); the decayed value
+ * is computed when it is read, so nothing has to rewrite the fleet as time passes. A half-life
+ * of 0 disables decay.
+ *
+ * The stored time only moves forward: feedback older than it (reprocessed or delivered late)
+ * is decayed up to the stored time rather than pulling it back, see {@link #latest}.
+ *
+ * Because every driver decays at the same rate, the order of two decayed scores never changes
+ * while neither driver is updated. {@link Key} captures that order in a form that does not
+ * depend on the current time, for structures that keep drivers sorted.
+ */
+@Component
+public class EmaDecay {
+
+    // Fixed origin for Key exponents, keeping them small
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final double halfLifeMillis;
+
+    public EmaDecay(@Value("${app.ema.half-life-days:30}") double halfLifeDays) {
+        this.halfLifeMillis = halfLifeDays > 0 ? halfLifeDays * Duration.ofDays(1).toMillis() : 0.0;
+    }
+
+    public boolean isEnabled() {
+        return halfLifeMillis > 0;
+    }
+
+    /**
+     * Half-life in milliseconds, or 0 if decay is disabled
+     */
+    public double halfLifeMillis() {
+        return halfLifeMillis;
+    }
+
+    /**
+     * Multiplier for a score that was last updated at {@code since}, as seen at {@code at}
+     */
+    public double factor(LocalDateTime since, LocalDateTime at) {
+        if (!isEnabled() || since == null || at == null || !at.isAfter(since)) {
+            return 1.0;
+        }
+        return Math.pow(2.0, -halfLivesBetween(since, at));
+    }
+
+    /**
+     * Value at {@code at} of a score that was {@code value} at {@code since}
+     */
+    public double valueAt(double value, LocalDateTime since, LocalDateTime at) {
+        return value * factor(since, at);
+    }
+
+    /**
+     * Value now of a score that was {@code value} at {@code since}
+     */
+    public double current(double value, LocalDateTime since) {
+        return valueAt(value, since, LocalDateTime.now());
+    }
+
+    /**
+     * Time a score should be anchored at after an update at {@code at}: the later of the two,
+     * so out-of-order feedback never moves the anchor backwards
+     */
+    public static LocalDateTime latest(LocalDateTime since, LocalDateTime at) {
+        if (since == null) {
+            return at;
+        }
+        return at != null && at.isAfter(since) ? at : since;
+    }
+
+    /**
+     * Time-independent sort key of a score that was {@code value} at {@code since}
+     */
+    public Key key(double value, LocalDateTime since) {
+        if (value == 0.0 || Double.isNaN(value)) {
+            return new Key(0, 0.0);
+        }
+        double log2 = Math.log(Math.abs(value)) / Math.log(2.0);
+        if (isEnabled() && since != null) {
+            log2 += halfLivesBetween(ORIGIN, since);
+        }
+        return new Key(value > 0 ? 1 : -1, log2);
+    }
+
+    /**
+     * Value at {@code at} of a score described by a key
+     */
+    public double valueAt(Key key, LocalDateTime at) {
+        if (key.sign() == 0) {
+            return 0.0;
+        }
+        double log2 = key.log2Magnitude();
+        if (isEnabled()) {
+            log2 -= halfLivesBetween(ORIGIN, at);
+        }
+        return key.sign() * Math.pow(2.0, log2);
+    }
+
+    private double halfLivesBetween(LocalDateTime from, LocalDateTime to) {
+        long millis = to.toInstant(ZoneOffset.UTC).toEpochMilli() - from.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return millis / halfLifeMillis;
+    }
+
+    /**
+     * Decayed score as sign and log2 of its magnitude at the fixed origin;
+     * ordered the same way as the decayed values at any common time
+     */
+    public record Key(int sign, double log2Magnitude) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            if (sign != other.sign) {
+                return Integer.compare(sign, other.sign);
+            }
+            // Larger magnitude is higher for positive scores and lower for negative ones
+            return sign >= 0 ? Double.compare(log2Magnitude, other.log2Magnitude)
+                             : Double.compare(other.log2Magnitude, log2Magnitude);
+        }
+    }
+}
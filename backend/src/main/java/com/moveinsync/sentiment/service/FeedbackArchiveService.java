@@ -0,0 +1,380 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.config.RedisConfig;
+import com.moveinsync.sentiment.model.FeedbackArchiveSegment;
+import com.moveinsync.sentiment.model.SystemConfig;
+import com.moveinsync.sentiment.repository.FeedbackArchiveSegmentRepository;
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.repository.SystemConfigRepository;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import com.moveinsync.sentiment.util.FeedbackSegment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Feedback Archive Service
+ *
+ * Cold tier for old feedback, kept for audits without bloating Postgres:
+ * - A scheduled job moves feedback older than app.archive.min-age-days into compressed columnar
+ *   segment files ({@link FeedbackSegment}) under app.archive.directory, oldest first,
+ *   one segment per batch, then deletes the archived rows in small chunks
+ * - Segments are listed in feedback_archive_segments and memory-mapped by every node, on
+ *   startup and whenever a rescan finds new ones; per-segment min/max stats and the driver
+ *   index skip segments and blocks a driver lookup cannot match
+ * - Driver history reads merge archived rows with the rows still in Postgres
+ *
+ * app.archive.directory must be one location shared by every node (e.g. a network volume).
+ * The first node to use the archive writes a marker file with a location ID into it and stores
+ * the ID in system_config (archive.location.id); a node whose directory has no marker or a
+ * different one refuses to start, rather than serving driver history with archived rows missing.
+ *
+ * A segment is written, synced and listed before its rows are deleted. If a run stops in
+ * between, the remaining rows are archived again by the next run and reads de-duplicate by ID.
+ */
+@Slf4j
+@Service
+@Order(-10)
+public class FeedbackArchiveService implements ApplicationRunner {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCATION_MARKER = ".archive-location";
+    private static final String LOCATION_CONFIG_KEY = "archive.location.id";
+
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackArchiveSegmentRepository segmentRepository;
+    private final SystemConfigRepository systemConfigRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate writeTransaction;
+    // Mapped segments by file name, oldest first
+    private final Map<String, FeedbackSegment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean locationVerified;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.directory:./data/feedback-archive}")
+    private String directory;
+
+    @Value("${app.archive.min-age-days:365}")
+    private int minAgeDays;
+
+    @Value("${app.archive.segment-rows:50000}")
+    private int segmentRows;
+
+    @Value("${app.archive.delete-chunk-size:1000}")
+    private int deleteChunkSize;
+
+    @Value("${app.archive.max-segments-per-run:20}")
+    private int maxSegmentsPerRun;
+
+    public FeedbackArchiveService(
+            FeedbackRepository feedbackRepository,
+            FeedbackArchiveSegmentRepository segmentRepository,
+            SystemConfigRepository systemConfigRepository,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
+        this.feedbackRepository = feedbackRepository;
+        this.segmentRepository = segmentRepository;
+        this.systemConfigRepository = systemConfigRepository;
+        this.cacheManager = cacheManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check the archive directory is the shared location and map the listed segments.
+     * Fails startup if the archive is in use and this node's directory is not that location.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!enabled && locationId() == null) {
+            return;  // Never used: nothing to map, and no location to claim
+        }
+        verifyLocation();
+        rescan();
+    }
+
+    /**
+     * Map segments other nodes have added since the last scan
+     */
+    @Scheduled(fixedDelayString = "${app.archive.rescan-interval-ms:60000}",
+               initialDelayString = "${app.archive.rescan-interval-ms:60000}")
+    public void scheduledRescan() {
+        if (!locationVerified) {
+            return;
+        }
+        try {
+            rescan();
+        } catch (Exception e) {
+            log.warn("Feedback archive rescan failed: {}", e.getMessage());
+        }
+    }
+
+    private void rescan() {
+        int mapped = 0;
+        for (FeedbackArchiveSegment entry : segmentRepository.findAllByOrderByFileNameAsc()) {
+            if (segments.containsKey(entry.getFileName())) {
+                continue;
+            }
+            Path file = Paths.get(directory, entry.getFileName());
+            try {
+                segments.put(entry.getFileName(), FeedbackSegment.open(file));
+                mapped++;
+            } catch (Exception e) {
+                log.error("Listed feedback segment {} is missing or unreadable (archived rows of it are not served): {}",
+                        file, e.getMessage());
+            }
+        }
+        if (mapped > 0) {
+            log.info("Mapped {} new feedback archive segments from {} ({} in total)", mapped, directory, segments.size());
+        }
+    }
+
+    /**
+     * Make sure app.archive.directory holds the marker of the shared archive location,
+     * claiming the location on first use
+     */
+    private synchronized void verifyLocation() throws IOException {
+        if (locationVerified) {
+            return;
+        }
+        Path dir = Paths.get(directory);
+        String expected = locationId();
+        if (expected == null) {
+            Files.createDirectories(dir);
+            String marker = readOrCreateMarker(dir);
+            if (systemConfigRepository.insertIfAbsent(LOCATION_CONFIG_KEY, marker, SystemConfig.DataType.STRING.name(),
+                    "Location ID of the shared feedback archive directory (marker " + LOCATION_MARKER + ")") == 1) {
+                registerExistingSegments(dir);
+            }
+            expected = locationId();
+        }
+        String marker = readMarker(dir);
+        if (!expected.equals(marker)) {
+            throw new IllegalStateException(String.format(
+                    "app.archive.directory %s is not the shared feedback archive (location marker %s, expected %s); " +
+                    "mount the archive location every node shares", dir.toAbsolutePath(), marker, expected));
+        }
+        locationVerified = true;
+        log.info("Feedback archive location {} verified at {}", expected, dir.toAbsolutePath());
+    }
+
+    private String locationId() {
+        return systemConfigRepository.findByConfigKey(LOCATION_CONFIG_KEY)
+                .map(SystemConfig::getConfigValue)
+                .orElse(null);
+    }
+
+    /**
+     * Read the directory's marker, creating it if missing. The marker is linked into place,
+     * which fails if another node created it first, so concurrent first runs agree on one ID.
+     */
+    private static String readOrCreateMarker(Path dir) throws IOException {
+        Path marker = dir.resolve(LOCATION_MARKER);
+        if (!Files.exists(marker)) {
+            String id = UUID.randomUUID().toString();
+            Path temp = dir.resolve(LOCATION_MARKER + "." + id + ".tmp");
+            try {
+                Files.writeString(temp, id, StandardCharsets.UTF_8);
+                Files.createLink(marker, temp);
+            } catch (FileAlreadyExistsException e) {
+                // Another node created it
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return readMarker(dir);
+    }
+
+    private static String readMarker(Path dir) throws IOException {
+        Path marker = dir.resolve(LOCATION_MARKER);
+        return Files.exists(marker) ? Files.readString(marker, StandardCharsets.UTF_8).trim() : null;
+    }
+
+    /**
+     * List segments written before the manifest existed, when the location is first claimed
+     */
+    private void registerExistingSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(SEGMENT_SUFFIX)).sorted().toList()) {
+                try {
+                    FeedbackSegment segment = FeedbackSegment.open(file);
+                    writeTransaction.executeWithoutResult(status -> segmentRepository.save(manifestEntry(file, segment)));
+                } catch (Exception e) {
+                    log.error("Skipping unreadable feedback segment {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static FeedbackArchiveSegment manifestEntry(Path file, FeedbackSegment segment) {
+        return FeedbackArchiveSegment.builder()
+                .fileName(file.getFileName().toString())
+                .rowCount((long) segment.stats().rows())
+                .sizeBytes(segment.sizeBytes())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 45 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (Exception e) {
+            log.error("Feedback archival failed", e);
+        }
+    }
+
+    /**
+     * Archive feedback older than the configured age, one segment per batch
+     *
+     * @return Segments written and rows archived
+     */
+    public ArchiveResult archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Feedback archival is already running");
+        }
+        try {
+            verifyLocation();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+            long start = System.nanoTime();
+            int written = 0;
+            long archived = 0;
+            long bytes = 0;
+
+            while (written < Math.max(1, maxSegmentsPerRun)) {
+                List<FeedbackView> batch = feedbackRepository.withKeywords(
+                        feedbackRepository.findViewsCreatedBefore(cutoff, PageRequest.of(0, Math.max(1, segmentRows))));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                Path file = Paths.get(directory, String.format("feedback-%013d-%019d%s",
+                        System.currentTimeMillis(), batch.get(0).id(), SEGMENT_SUFFIX));
+                FeedbackSegment.write(file, batch);
+                FeedbackSegment segment = FeedbackSegment.open(file);
+                // Listed before the rows go, so every node can serve them from the archive
+                writeTransaction.executeWithoutResult(status -> segmentRepository.save(manifestEntry(file, segment)));
+                segments.put(file.getFileName().toString(), segment);
+
+                deleteArchived(batch, cutoff);
+                written++;
+                archived += batch.size();
+                bytes += segment.sizeBytes();
+                log.info("Archived {} feedback rows to {} ({} bytes, created {}..{})", batch.size(),
+                        file.getFileName(), segment.sizeBytes(),
+                        segment.stats().minCreatedAt(), segment.stats().maxCreatedAt());
+            }
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            return new ArchiveResult(cutoff, written, archived, bytes, elapsedMs);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write feedback archive segment: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete archived rows (and their keywords) in short transactions
+     */
+    private void deleteArchived(List<FeedbackView> batch, LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, deleteChunkSize);
+        Set<Long> drivers = new TreeSet<>();
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<Long> ids = batch.subList(from, Math.min(batch.size(), from + chunkSize)).stream()
+                    .map(FeedbackView::id)
+                    .toList();
+            writeTransaction.executeWithoutResult(status -> {
+                feedbackRepository.deleteKeywordsByFeedbackIds(ids);
+                feedbackRepository.deleteArchived(ids, cutoff);
+            });
+        }
+        batch.forEach(view -> drivers.add(view.driverId()));
+
+        // Cached per-driver statistics no longer match the hot table
+        Cache cache = cacheManager.getCache(RedisConfig.CACHE_FEEDBACK_STATS);
+        if (cache != null) {
+            drivers.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Archived feedback of one driver created in [from, to], oldest first
+     *
+     * @param driverId Driver ID
+     * @param from Range start (inclusive), or null
+     * @param to Range end (inclusive), or null
+     * @return Archived rows, de-duplicated by ID
+     */
+    public List<FeedbackView> findByDriver(Long driverId, LocalDateTime from, LocalDateTime to) {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, FeedbackView> rows = new LinkedHashMap<>();
+        for (FeedbackSegment segment : segments.values()) {
+            if (segment.stats().mayContain(driverId, from, to)) {
+                segment.findByDriver(driverId, from, to).forEach(view -> rows.putIfAbsent(view.id(), view));
+            }
+        }
+        List<FeedbackView> result = new ArrayList<>(rows.values());
+        result.sort(Comparator.comparing(FeedbackView::createdAt).thenComparing(FeedbackView::id));
+        return result;
+    }
+
+    /**
+     * Archive size and per-segment statistics
+     */
+    public ArchiveStats stats() {
+        List<FeedbackSegment> mapped = List.copyOf(segments.values());
+        List<FeedbackSegment.Stats> segmentStats = mapped.stream().map(FeedbackSegment::stats).toList();
+        return new ArchiveStats(
+                mapped.size(),
+                segmentStats.stream().mapToLong(FeedbackSegment.Stats::rows).sum(),
+                mapped.stream().mapToLong(FeedbackSegment::sizeBytes).sum(),
+                minAgeDays,
+                segmentStats);
+    }
+
+    public record ArchiveResult(LocalDateTime cutoff, int segments, long rows, long bytes, long elapsedMs) {}
+
+    public record ArchiveStats(
+        int segments,
+        long rows,
+        long bytes,
+        int minAgeDays,
+        List<FeedbackSegment.Stats> segmentStats
+    ) {}
+}
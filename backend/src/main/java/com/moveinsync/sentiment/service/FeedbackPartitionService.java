@@ -0,0 +1,232 @@
+package com.moveinsync.sentiment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Feedback Partition Service
+ *
+ * Maintains the monthly range partitions of feedback (see V9__Partition_Feedback_By_Month.sql):
+ * - Creates the current and upcoming months' partitions on startup and daily
+ * - Applies retention by detaching or dropping whole partitions older than the retention period,
+ *   so old data leaves without row-by-row DELETEs, table bloat or long vacuums
+ * - Explains the date-range feedback queries to show which partitions they scan
+ *
+ * Detached partitions stay as ordinary tables (feedback_YYYY_MM) for archiving, with their keywords
+ * copied to feedback_YYYY_MM_keywords. Either way the partition's feedback_keywords rows are removed
+ * (they have no foreign key since V9); the daily rollup keeps its history.
+ */
+@Slf4j
+@Service
+@Order(-20)
+public class FeedbackPartitionService implements ApplicationRunner {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("feedback_(\\d{4})_(\\d{2})");
+    private static final Pattern SCANNED_PARTITION = Pattern.compile(" on (feedback_\\d{4}_\\d{2})\\b");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate partitionTransaction;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${app.partitions.retention-action:DETACH}")
+    private RetentionAction retentionAction;
+
+    public FeedbackPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Make sure the partitions for incoming feedback exist before the application serves traffic
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            ensureFuturePartitions();
+        } catch (Exception e) {
+            log.warn("Failed to create upcoming feedback partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Daily maintenance: create upcoming partitions, then apply retention
+     */
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 15 3 * * *}")
+    public void scheduledMaintenance() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("Feedback partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Create upcoming partitions and retire expired ones
+     *
+     * @return Partitions created and retired
+     */
+    public MaintenanceResult maintain() {
+        List<String> created = ensureFuturePartitions();
+        List<String> retired = retireExpiredPartitions();
+        return new MaintenanceResult(created, retired, retentionMonths > 0 ? retentionAction : null);
+    }
+
+    /**
+     * Create partitions from the current month through the configured months ahead
+     *
+     * @return Names of partitions that did not exist before
+     */
+    public List<String> ensureFuturePartitions() {
+        List<String> before = partitionNames();
+        List<String> ensured = jdbcTemplate.queryForList(
+                "SELECT ensure_feedback_partitions(?)", String.class, Math.max(0, monthsAhead));
+        List<String> created = new ArrayList<>(ensured);
+        created.removeAll(before);
+        if (!created.isEmpty()) {
+            log.info("Created feedback partitions: {}", created);
+        }
+        return created;
+    }
+
+    /**
+     * Detach or drop every partition that ends before the retention cutoff
+     * (whole months older than retention-months; disabled when it is 0)
+     *
+     * @return Names of retired partitions
+     */
+    public List<String> retireExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        List<String> retired = new ArrayList<>();
+        for (PartitionInfo partition : listPartitions()) {
+            if (partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            partitionTransaction.executeWithoutResult(status -> retire(partition.name()));
+            retired.add(partition.name());
+            log.info("{} feedback partition {} (rows ~{})",
+                    retentionAction == RetentionAction.DROP ? "Dropped" : "Detached",
+                    partition.name(), partition.estimatedRows());
+        }
+        return retired;
+    }
+
+    private void retire(String name) {
+        // Names come from the catalog and match PARTITION_NAME, so they are safe to interpolate
+        if (retentionAction == RetentionAction.DETACH) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + "_keywords (LIKE feedback_keywords)");
+            jdbcTemplate.update("INSERT INTO " + name + "_keywords " +
+                    "SELECT k.* FROM feedback_keywords k JOIN " + name + " p ON k.feedback_id = p.id");
+        }
+        jdbcTemplate.update("DELETE FROM feedback_keywords k USING " + name + " p WHERE k.feedback_id = p.id");
+        jdbcTemplate.execute("ALTER TABLE feedback DETACH PARTITION " + name);
+        if (retentionAction == RetentionAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + name);
+        }
+    }
+
+    /**
+     * Attached feedback partitions, oldest first
+     */
+    public List<PartitionInfo> listPartitions() {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, CAST(GREATEST(c.reltuples, 0) AS bigint), pg_total_relation_size(c.oid) " +
+                "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'feedback'::regclass ORDER BY c.relname",
+                rs -> {
+                    Matcher matcher = PARTITION_NAME.matcher(rs.getString(1));
+                    if (matcher.matches()) {
+                        LocalDate from = YearMonth.of(
+                                Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))).atDay(1);
+                        partitions.add(new PartitionInfo(
+                                rs.getString(1), from, from.plusMonths(1), rs.getLong(2), rs.getLong(3)));
+                    }
+                });
+        return partitions;
+    }
+
+    private List<String> partitionNames() {
+        return listPartitions().stream().map(PartitionInfo::name).toList();
+    }
+
+    /**
+     * Plans of the date-range feedback queries (findByDriverIdAndDateRange, countFeedbackInDateRange,
+     * findByCreatedAtAfter) for the given range, with the partitions each one scans
+     *
+     * @param driverId Driver ID for the per-driver query
+     * @param from Range start
+     * @param to Range end
+     * @return One check per query
+     */
+    public List<PruningCheck> explainPruning(Long driverId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        int total = listPartitions().size();
+        return List.of(
+                explain("findByDriverIdAndDateRange",
+                        "SELECT * FROM feedback f WHERE f.driver_id = ? AND f.created_at BETWEEN ? AND ?",
+                        total, driverId, from, to),
+                explain("countFeedbackInDateRange",
+                        "SELECT COUNT(f.id) FROM feedback f WHERE f.created_at BETWEEN ? AND ?",
+                        total, from, to),
+                explain("findByCreatedAtAfter",
+                        "SELECT * FROM feedback f WHERE f.created_at > ?",
+                        total, from));
+    }
+
+    private PruningCheck explain(String query, String sql, int totalPartitions, Object... params) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params);
+        List<String> scanned = new ArrayList<>();
+        for (String line : plan) {
+            Matcher matcher = SCANNED_PARTITION.matcher(line);
+            while (matcher.find()) {
+                if (!scanned.contains(matcher.group(1))) {
+                    scanned.add(matcher.group(1));
+                }
+            }
+        }
+        return new PruningCheck(query, scanned, totalPartitions, scanned.size() < totalPartitions, plan);
+    }
+
+    public enum RetentionAction {
+        DETACH,  // Keep the partition and its keyword rows as standalone tables
+        DROP     // Delete the partition and its keyword rows
+    }
+
+    public record PartitionInfo(String name, LocalDate from, LocalDate to, long estimatedRows, long totalBytes) {}
+
+    public record MaintenanceResult(List<String> created, List<String> retired, RetentionAction retentionAction) {}
+
+    public record PruningCheck(
+        String query,
+        List<String> scannedPartitions,
+        int totalPartitions,
+        boolean pruned,
+        List<String> plan
+    ) {}
+}
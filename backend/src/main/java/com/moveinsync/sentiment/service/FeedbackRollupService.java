@@ -0,0 +1,260 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.FeedbackDailyRollupRepository;
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Feedback Rollup Service
+ *
+ * Maintains feedback_daily_rollup (driver x day x sentiment label) and serves trend queries from it:
+ * - FeedbackService applies each feedback's contribution in the transaction that marks it processed,
+ *   replacing the previous contribution when feedback is reprocessed and removing it on delete
+ * - A chunked backfill rebuilds day ranges from raw feedback; it runs on startup when the rollup is empty
+ * - Trend reads touch at most one row per day and label
+ */
+@Slf4j
+@Service
+@Order(-5)
+public class FeedbackRollupService implements ApplicationRunner {
+
+    private final FeedbackDailyRollupRepository rollupRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${app.rollup.backfill-chunk-days:7}")
+    private int chunkDays;
+
+    @Value("${app.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public FeedbackRollupService(
+            FeedbackDailyRollupRepository rollupRepository,
+            FeedbackRepository feedbackRepository,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Backfill the whole history when the rollup table is empty
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (rollupRepository.count() > 0) {
+                return;
+            }
+            feedbackRepository.findEarliestCreatedAt().ifPresent(earliest -> {
+                log.info("Feedback rollup is empty, backfilling from {}", earliest.toLocalDate());
+                backfill(earliest.toLocalDate(), LocalDate.now());
+            });
+        } catch (Exception e) {
+            log.warn("Feedback rollup startup backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace a feedback's previous rollup contribution with its current one.
+     * Must run in the transaction that changes the feedback.
+     *
+     * @param previous Contribution before the change, or null if it was not counted
+     * @param current Contribution after the change, or null if it is no longer counted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Contribution previous, Contribution current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (current != null) {
+            apply(current, 1);
+        }
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        rollupRepository.upsert(
+                contribution.driverId(),
+                contribution.day(),
+                contribution.label().name(),
+                sign,
+                sign * contribution.score(),
+                contribution.rating() != null ? sign * (long) contribution.rating() : 0L,
+                contribution.rating() != null ? sign : 0L,
+                contribution.flagged() ? sign : 0L);
+    }
+
+    /**
+     * Rebuild the rollup for a day range from raw feedback, one transaction per chunk of days.
+     * Each chunk locks the rollup against live upserts while it deletes and re-aggregates,
+     * so processing that commits during the backfill is neither lost nor double counted.
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return Chunks and rows written
+     */
+    public BackfillResult backfill(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Backfill start must not be after end");
+        }
+        int step = Math.max(1, chunkDays);
+        long start = System.nanoTime();
+        int chunks = 0;
+        long rows = 0;
+
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(step)) {
+            LocalDate chunkEnd = chunkStart.plusDays(step);
+            if (chunkEnd.isAfter(to.plusDays(1))) {
+                chunkEnd = to.plusDays(1);
+            }
+            LocalDate begin = chunkStart;
+            LocalDate end = chunkEnd;
+            Integer written = chunkTransaction.execute(status -> {
+                rollupRepository.lockForBackfill();
+                rollupRepository.deleteDays(begin, end);
+                return rollupRepository.rebuildDays(begin.atStartOfDay(), end.atStartOfDay());
+            });
+            chunks++;
+            rows += written != null ? written : 0;
+            log.debug("Rollup backfill chunk [{}, {}) wrote {} rows", begin, end, written);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rollup backfill {}..{} complete: chunks={}, rows={}, {} ms", from, to, chunks, rows, elapsedMs);
+        return new BackfillResult(from, to, chunks, rows, elapsedMs);
+    }
+
+    /**
+     * Daily trend for one driver over the last N days, oldest first
+     *
+     * @param driverId Driver ID
+     * @param days Number of days including today
+     * @return One entry per day with feedback
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTrend> getDriverTrend(Long driverId, int days) {
+        return toTrend(rollupRepository.findDriverTrend(driverId, windowStart(days)));
+    }
+
+    /**
+     * Fleet-wide daily trend over the last N days, oldest first
+     *
+     * @param days Number of days including today
+     * @return One entry per day with feedback
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTrend> getFleetTrend(int days) {
+        return toTrend(rollupRepository.findFleetTrend(windowStart(days)));
+    }
+
+    private static LocalDate windowStart(int days) {
+        if (days < 1 || days > 366) {
+            throw new IllegalArgumentException("days must be between 1 and 366");
+        }
+        return LocalDate.now().minusDays(days - 1L);
+    }
+
+    private static List<DailyTrend> toTrend(List<Object[]> rows) {
+        List<DailyTrend> trend = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            long total = ((Number) row[1]).longValue();
+            long ratingCount = ((Number) row[7]).longValue();
+            trend.add(new DailyTrend(
+                    row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0],
+                    total,
+                    ((Number) row[2]).longValue(),
+                    ((Number) row[3]).longValue(),
+                    ((Number) row[4]).longValue(),
+                    ((Number) row[8]).longValue(),
+                    total > 0 ? ((Number) row[5]).doubleValue() / total : null,
+                    ratingCount > 0 ? ((Number) row[6]).doubleValue() / ratingCount : null));
+        }
+        return trend;
+    }
+
+    /**
+     * What one processed feedback adds to the rollup
+     */
+    public record Contribution(
+        Long driverId,
+        LocalDateTime createdAt,
+        Feedback.SentimentLabel label,
+        double score,
+        Integer rating,
+        boolean flagged
+    ) {
+        /**
+         * Contribution of a feedback in its current state, or null if it is not counted
+         * (not yet processed, or no label)
+         */
+        public static Contribution of(Feedback feedback) {
+            if (feedback.getSentimentLabel() == null || feedback.getProcessedAt() == null
+                    || feedback.getStatus() == Feedback.FeedbackStatus.SUBMITTED
+                    || feedback.getStatus() == Feedback.FeedbackStatus.PROCESSING) {
+                return null;
+            }
+            LocalDateTime createdAt = feedback.getCreatedAt() != null ? feedback.getCreatedAt() : LocalDateTime.now();
+            // Same rule as processing, so the flag is stable after a review clears requiresAttention
+            boolean flagged = feedback.getSentimentLabel() == Feedback.SentimentLabel.NEGATIVE
+                    || feedback.getSentimentLabel() == Feedback.SentimentLabel.VERY_NEGATIVE
+                    || (feedback.getConfidence() != null && feedback.getConfidence() < 0.5);
+            return new Contribution(
+                    feedback.getDriverId(),
+                    createdAt,
+                    feedback.getSentimentLabel(),
+                    feedback.getSentimentScore() != null ? feedback.getSentimentScore() : 0.0,
+                    feedback.getRating(),
+                    flagged);
+        }
+
+        /**
+         * Rollup day of this contribution
+         */
+        public LocalDate day() {
+            return createdAt.toLocalDate();
+        }
+
+        /**
+         * Whether the label is negative or very negative
+         */
+        public boolean negative() {
+            return label == Feedback.SentimentLabel.NEGATIVE || label == Feedback.SentimentLabel.VERY_NEGATIVE;
+        }
+    }
+
+    public record DailyTrend(
+        LocalDate day,
+        long totalCount,
+        long positiveCount,
+        long neutralCount,
+        long negativeCount,
+        long attentionCount,
+        Double averageSentiment,
+        Double averageRating
+    ) {}
+
+    public record BackfillResult(LocalDate from, LocalDate to, int chunks, long rows, long elapsedMs) {}
+}
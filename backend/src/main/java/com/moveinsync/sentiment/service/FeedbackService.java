@@ -1,20 +1,37 @@
 package com.moveinsync.sentiment.service;
 
+import com.moveinsync.sentiment.config.RedisConfig;
+import com.moveinsync.sentiment.dto.CursorPage;
 import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.model.event.FeedbackProcessedEvent;
 import com.moveinsync.sentiment.producer.FeedbackEventProducer;
 import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.repository.FeedbackSearchRepository;
+import com.moveinsync.sentiment.repository.projection.FeedbackAggregateRow;
+import com.moveinsync.sentiment.repository.projection.FeedbackSearchHit;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import com.moveinsync.sentiment.util.KeysetCursor;
+import com.moveinsync.sentiment.util.SearchCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Feedback Service
@@ -30,20 +47,47 @@ import java.util.Optional;
 @Service
 public class FeedbackService {
 
+    // Longest accepted full-text search query
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final FeedbackRepository feedbackRepository;
     private final SentimentAnalysisService sentimentAnalysisService;
     private final DriverStatsService driverStatsService;
+    private final RecentFeedbackBuffer recentFeedbackBuffer;
+    private final KeywordIndex keywordIndex;
+    private final FeedbackRollupService feedbackRollupService;
+    private final DriverWindowMetrics driverWindowMetrics;
+    private final FeedbackArchiveService feedbackArchiveService;
+    private final KafkaProducerService kafkaProducerService;
+    private final CacheManager cacheManager;
     
     @Autowired(required = false)
     private FeedbackEventProducer feedbackEventProducer;
 
+    @Value("${app.stats.processing-mode:DATABASE}")
+    private DriverStatsService.ProcessingMode processingMode;
+
     public FeedbackService(
             FeedbackRepository feedbackRepository,
             SentimentAnalysisService sentimentAnalysisService,
-            DriverStatsService driverStatsService) {
+            DriverStatsService driverStatsService,
+            RecentFeedbackBuffer recentFeedbackBuffer,
+            KeywordIndex keywordIndex,
+            FeedbackRollupService feedbackRollupService,
+            DriverWindowMetrics driverWindowMetrics,
+            FeedbackArchiveService feedbackArchiveService,
+            KafkaProducerService kafkaProducerService,
+            CacheManager cacheManager) {
         this.feedbackRepository = feedbackRepository;
         this.sentimentAnalysisService = sentimentAnalysisService;
         this.driverStatsService = driverStatsService;
+        this.recentFeedbackBuffer = recentFeedbackBuffer;
+        this.keywordIndex = keywordIndex;
+        this.feedbackRollupService = feedbackRollupService;
+        this.driverWindowMetrics = driverWindowMetrics;
+        this.feedbackArchiveService = feedbackArchiveService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -63,6 +107,7 @@ public class FeedbackService {
         
         // Save feedback
         Feedback savedFeedback = feedbackRepository.save(feedback);
+        evictFeedbackStatistics(savedFeedback.getDriverId());
         
         // Automatically process sentiment analysis (since Kafka consumer is disabled)
         try {
@@ -72,7 +117,8 @@ public class FeedbackService {
                     savedFeedback.getSentimentScore(), savedFeedback.getSentimentLabel());
             
             // Update driver stats after feedback is processed
-            if (savedFeedback.getDriverId() != null) {
+            // (in STREAMS mode the feedback.processed event published by processFeedback does it)
+            if (savedFeedback.getDriverId() != null && processingMode == DriverStatsService.ProcessingMode.DATABASE) {
                 try {
                     log.info("📊 Updating driver stats for driver: {}", savedFeedback.getDriverId());
                     driverStatsService.recalculateDriverStats(savedFeedback.getDriverId());
@@ -107,6 +153,27 @@ public class FeedbackService {
         return savedFeedback;
     }
 
+    private static FeedbackProcessedEvent toProcessedEvent(Feedback feedback) {
+        return FeedbackProcessedEvent.builder()
+                .feedbackId(feedback.getId())
+                .driverId(feedback.getDriverId())
+                .tripId(feedback.getTripId())
+                .userId(feedback.getUserId())
+                .feedbackType(feedback.getFeedbackType() != null ? feedback.getFeedbackType().name() : null)
+                .rating(feedback.getRating())
+                .sentimentScore(feedback.getSentimentScore())
+                .sentimentLabel(feedback.getSentimentLabel() != null ? feedback.getSentimentLabel().name() : null)
+                .confidence(feedback.getConfidence())
+                .keywords(feedback.getKeywords() != null ? String.join(",", feedback.getKeywords()) : null)
+                .requiresAttention(feedback.getRequiresAttention())
+                .submittedAt(feedback.getCreatedAt())
+                .processedAt(feedback.getProcessedAt())
+                .eventId(UUID.randomUUID().toString())
+                .eventVersion("1.0")
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * Process feedback with sentiment analysis
      * 
@@ -120,6 +187,9 @@ public class FeedbackService {
         
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new IllegalArgumentException("Feedback not found: " + feedbackId));
+        evictFeedbackStatistics(feedback.getDriverId());
+        FeedbackRollupService.Contribution previousContribution = FeedbackRollupService.Contribution.of(feedback);
+        boolean reprocessing = feedback.getStatus() == Feedback.FeedbackStatus.PROCESSED;
         
         // Update status
         feedback.setStatus(Feedback.FeedbackStatus.PROCESSING);
@@ -151,23 +221,23 @@ public class FeedbackService {
             
             Feedback processedFeedback = feedbackRepository.save(feedback);
             
-            // TODO: Publish feedback processed event to Kafka
-            // Note: Event models need to be updated to use Long instead of UUID
-            /*
-            FeedbackProcessedEvent event = FeedbackProcessedEvent.builder()
-                    .feedbackId(processedFeedback.getId())
-                    .driverId(processedFeedback.getDriverId())
-                    .tripId(processedFeedback.getTripId())
-                    .sentimentScore(processedFeedback.getSentimentScore())
-                    .sentimentLabel(processedFeedback.getSentimentLabel().name())
-                    .confidence(processedFeedback.getConfidence())
-                    .keywords(processedFeedback.getKeywords())
-                    .requiresAttention(processedFeedback.getRequiresAttention())
-                    .timestamp(processedFeedback.getProcessedAt())
-                    .build();
+            // Move this feedback's daily rollup contribution in the same transaction,
+            // and its sliding-window contribution once it commits
+            FeedbackRollupService.Contribution contribution = FeedbackRollupService.Contribution.of(processedFeedback);
+            feedbackRollupService.replace(previousContribution, contribution);
+            driverWindowMetrics.replaceAfterCommit(previousContribution, contribution);
             
-            kafkaProducerService.publishFeedbackProcessed(event);
-            */
+            // Feed the in-memory recent feed and keyword index once the transaction commits
+            FeedbackView processedView = FeedbackView.from(processedFeedback);
+            recentFeedbackBuffer.recordAfterCommit(processedView);
+            keywordIndex.indexAfterCommit(processedView);
+            
+            // Feed the stats topology once the transaction commits; a reprocessed feedback is
+            // not sent again, since the topology would count it twice
+            if (processingMode == DriverStatsService.ProcessingMode.STREAMS
+                    && !reprocessing && processedFeedback.getDriverId() != null) {
+                kafkaProducerService.publishFeedbackProcessedAfterCommit(toProcessedEvent(processedFeedback));
+            }
             
             log.info("Feedback processed successfully: id={}, sentimentScore={}, label={}", 
                     processedFeedback.getId(), result.sentimentScore(), result.label());
@@ -235,9 +305,10 @@ public class FeedbackService {
      * @param pageable Pagination parameters
      * @return Page of feedback
      */
-    public Page<Feedback> getFeedbackByDriver(Long driverId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<FeedbackView> getFeedbackByDriver(Long driverId, Pageable pageable) {
         log.debug("Getting paginated feedback for driver: {}, page={}", driverId, pageable.getPageNumber());
-        return feedbackRepository.findByDriverId(driverId, pageable);
+        return withKeywords(feedbackRepository.findViewsByDriverId(driverId, pageable));
     }
 
     /**
@@ -247,10 +318,11 @@ public class FeedbackService {
      * @param limit Maximum number of results
      * @return List of recent feedback
      */
-    public List<Feedback> getRecentFeedback(Long driverId, int limit) {
+    @Transactional(readOnly = true)
+    public List<FeedbackView> getRecentFeedback(Long driverId, int limit) {
         log.debug("Getting recent feedback for driver: {}, limit={}", driverId, limit);
-        return feedbackRepository.findRecentFeedbackByDriverId(driverId, 
-                Pageable.ofSize(limit));
+        return withKeywords(feedbackRepository.findRecentViewsByDriverId(driverId, 
+                Pageable.ofSize(limit)));
     }
 
     /**
@@ -259,9 +331,10 @@ public class FeedbackService {
      * @param driverId Driver ID
      * @return List of negative feedback
      */
-    public List<Feedback> getNegativeFeedback(Long driverId) {
+    @Transactional(readOnly = true)
+    public List<FeedbackView> getNegativeFeedback(Long driverId) {
         log.debug("Getting negative feedback for driver: {}", driverId);
-        return feedbackRepository.findNegativeFeedbackByDriverId(driverId);
+        return withKeywords(feedbackRepository.findNegativeViewsByDriverId(driverId));
     }
 
     /**
@@ -270,22 +343,35 @@ public class FeedbackService {
      * @param driverId Driver ID
      * @return List of positive feedback
      */
-    public List<Feedback> getPositiveFeedback(Long driverId) {
+    @Transactional(readOnly = true)
+    public List<FeedbackView> getPositiveFeedback(Long driverId) {
         log.debug("Getting positive feedback for driver: {}", driverId);
-        return feedbackRepository.findPositiveFeedbackByDriverId(driverId);
+        return withKeywords(feedbackRepository.findPositiveViewsByDriverId(driverId));
     }
 
     /**
-     * Get feedback in date range
+     * Get feedback in date range, including feedback moved to the cold archive
      * 
      * @param driverId Driver ID
      * @param startDate Start date
      * @param endDate End date
-     * @return List of feedback in date range
+     * @return List of feedback in date range (archived rows first)
      */
-    public List<Feedback> getFeedbackInDateRange(Long driverId, LocalDateTime startDate, LocalDateTime endDate) {
+    @Transactional(readOnly = true)
+    public List<FeedbackView> getFeedbackInDateRange(Long driverId, LocalDateTime startDate, LocalDateTime endDate) {
         log.debug("Getting feedback for driver: {}, startDate={}, endDate={}", driverId, startDate, endDate);
-        return feedbackRepository.findByDriverIdAndDateRange(driverId, startDate, endDate);
+        List<FeedbackView> hot = withKeywords(feedbackRepository.findViewsByDriverIdAndDateRange(driverId, startDate, endDate));
+        List<FeedbackView> archived = feedbackArchiveService.findByDriver(driverId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        // A row can be in both while an archival run is deleting it; Postgres wins
+        Set<Long> hotIds = hot.stream().map(FeedbackView::id).collect(Collectors.toSet());
+        List<FeedbackView> merged = new ArrayList<>(archived.size() + hot.size());
+        archived.stream().filter(view -> !hotIds.contains(view.id())).forEach(merged::add);
+        merged.addAll(hot);
+        return merged;
     }
 
     /**
@@ -293,6 +379,7 @@ public class FeedbackService {
      * 
      * @return List of feedback requiring attention
      */
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackRequiringAttention() {
         log.debug("Getting feedback requiring attention");
         return feedbackRepository.findByRequiresAttentionTrue();
@@ -304,9 +391,61 @@ public class FeedbackService {
      * @param pageable Pagination parameters
      * @return Page of feedback requiring attention
      */
-    public Page<Feedback> getFeedbackRequiringAttention(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<FeedbackView> getFeedbackRequiringAttention(Pageable pageable) {
         log.debug("Getting paginated feedback requiring attention");
-        return feedbackRepository.findByRequiresAttentionTrue(pageable);
+        return withKeywords(feedbackRepository.findViewsRequiringAttention(pageable));
+    }
+
+    /**
+     * Get the most recently processed feedback across all drivers, served from memory
+     * 
+     * @param limit Maximum number of results
+     * @param label Optional sentiment label filter
+     * @param requiresAttention Optional attention flag filter
+     * @return List of processed feedback, newest first
+     */
+    public List<FeedbackView> getRecentFeedback(int limit, Feedback.SentimentLabel label, Boolean requiresAttention) {
+        log.debug("Getting recent feedback from buffer: limit={}, label={}, requiresAttention={}", 
+                limit, label, requiresAttention);
+        return recentFeedbackBuffer.latest(limit, label, requiresAttention);
+    }
+
+    /**
+     * Get the most frequent feedback keywords over the last N days, served from the keyword index
+     * 
+     * @param days Number of days back from today, including today
+     * @param driverId Optional driver filter (null for fleet-wide)
+     * @param limit Maximum number of keywords
+     * @return Keywords by descending count
+     */
+    public List<KeywordIndex.KeywordCount> getTopKeywords(int days, Long driverId, int limit) {
+        log.debug("Getting top keywords: days={}, driverId={}, limit={}", days, driverId, limit);
+        validateKeywordQuery(days, limit);
+        return keywordIndex.topKeywords(days, driverId, limit);
+    }
+
+    /**
+     * Get the drivers who received a keyword most often over the last N days, served from the keyword index
+     * 
+     * @param keyword Keyword
+     * @param days Number of days back from today, including today
+     * @param limit Maximum number of drivers
+     * @return Drivers by descending count
+     */
+    public List<KeywordIndex.DriverKeywordCount> getTopDriversForKeyword(String keyword, int days, int limit) {
+        log.debug("Getting top drivers for keyword: keyword={}, days={}, limit={}", keyword, days, limit);
+        validateKeywordQuery(days, limit);
+        return keywordIndex.topDrivers(keyword, days, limit);
+    }
+
+    private static void validateKeywordQuery(int days, int limit) {
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be positive");
+        }
+        if (limit < 1 || limit > KeysetCursor.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + KeysetCursor.MAX_PAGE_SIZE);
+        }
     }
 
     /**
@@ -314,9 +453,10 @@ public class FeedbackService {
      * 
      * @return List of unprocessed feedback
      */
-    public List<Feedback> getUnprocessedFeedback() {
+    @Transactional(readOnly = true)
+    public List<FeedbackView> getUnprocessedFeedback() {
         log.debug("Getting unprocessed feedback");
-        return feedbackRepository.findUnprocessedFeedback();
+        return withKeywords(feedbackRepository.findUnprocessedViews());
     }
 
     /**
@@ -340,7 +480,9 @@ public class FeedbackService {
         feedback.setRequiresAttention(false);
         feedback.setStatus(Feedback.FeedbackStatus.REVIEWED);
         
-        feedbackRepository.save(feedback);
+        Feedback reviewedFeedback = feedbackRepository.save(feedback);
+        recentFeedbackBuffer.updateAfterCommit(FeedbackView.from(reviewedFeedback));
+        evictFeedbackStatistics(feedback.getDriverId());
         log.info("Feedback marked as reviewed: feedbackId={}", feedbackId);
     }
 
@@ -353,23 +495,15 @@ public class FeedbackService {
     public FeedbackStatistics getFeedbackStatistics(Long driverId) {
         log.debug("Getting feedback statistics for driver: {}", driverId);
         
-        long totalCount = feedbackRepository.countByDriverId(driverId);
-        long processedCount = feedbackRepository.countByDriverIdAndStatus(driverId, Feedback.FeedbackStatus.PROCESSED);
-        long negativeCount = feedbackRepository.countByDriverIdAndSentimentLabel(driverId, Feedback.SentimentLabel.NEGATIVE);
-        long veryNegativeCount = feedbackRepository.countByDriverIdAndSentimentLabel(driverId, Feedback.SentimentLabel.VERY_NEGATIVE);
-        long positiveCount = feedbackRepository.countByDriverIdAndSentimentLabel(driverId, Feedback.SentimentLabel.POSITIVE);
-        long veryPositiveCount = feedbackRepository.countByDriverIdAndSentimentLabel(driverId, Feedback.SentimentLabel.VERY_POSITIVE);
-        
-        Optional<Double> avgSentiment = feedbackRepository.getAverageSentimentScoreByDriverId(driverId);
-        Optional<Double> avgRating = feedbackRepository.getAverageRatingByDriverId(driverId);
+        FeedbackAggregate aggregate = getFeedbackAggregate(driverId);
         
         return new FeedbackStatistics(
-            totalCount,
-            processedCount,
-            negativeCount + veryNegativeCount,
-            positiveCount + veryPositiveCount,
-            avgSentiment.orElse(0.0),
-            avgRating.orElse(0.0)
+            aggregate.totalCount(),
+            aggregate.processedCount(),
+            aggregate.negativeCount() + aggregate.veryNegativeCount(),
+            aggregate.positiveCount() + aggregate.veryPositiveCount(),
+            aggregate.averageSentiment(),
+            aggregate.averageRating()
         );
     }
 
@@ -381,18 +515,103 @@ public class FeedbackService {
      */
     public List<Object[]> getSentimentDistribution(Long driverId) {
         log.debug("Getting sentiment distribution for driver: {}", driverId);
-        return feedbackRepository.getSentimentDistributionByDriverId(driverId);
+        
+        FeedbackAggregate aggregate = getFeedbackAggregate(driverId);
+        List<Object[]> distribution = new ArrayList<>();
+        addLabelCount(distribution, Feedback.SentimentLabel.VERY_POSITIVE, aggregate.veryPositiveCount());
+        addLabelCount(distribution, Feedback.SentimentLabel.POSITIVE, aggregate.positiveCount());
+        addLabelCount(distribution, Feedback.SentimentLabel.NEUTRAL, aggregate.neutralCount());
+        addLabelCount(distribution, Feedback.SentimentLabel.NEGATIVE, aggregate.negativeCount());
+        addLabelCount(distribution, Feedback.SentimentLabel.VERY_NEGATIVE, aggregate.veryNegativeCount());
+        addLabelCount(distribution, null, aggregate.unlabeledCount());
+        return distribution;
+    }
+
+    private static void addLabelCount(List<Object[]> distribution, Feedback.SentimentLabel label, long count) {
+        if (count > 0) {
+            distribution.add(new Object[] {label, count});
+        }
+    }
+
+    /**
+     * Get the per-driver feedback aggregate, cached in "feedbackStats" by driver ID.
+     * Looked up through the CacheManager because both statistics methods share it
+     * (a self-call would bypass @Cacheable).
+     * 
+     * @param driverId Driver ID
+     * @return Counts and averages for the driver
+     */
+    private FeedbackAggregate getFeedbackAggregate(Long driverId) {
+        Cache cache = cacheManager.getCache(RedisConfig.CACHE_FEEDBACK_STATS);
+        if (cache == null) {
+            return loadFeedbackAggregate(driverId);
+        }
+        try {
+            return cache.get(driverId, () -> loadFeedbackAggregate(driverId));
+        } catch (RuntimeException e) {
+            log.warn("Feedback statistics cache unavailable for driver {}: {}", driverId, e.getMessage());
+            return loadFeedbackAggregate(driverId);
+        }
+    }
+
+    private FeedbackAggregate loadFeedbackAggregate(Long driverId) {
+        return feedbackRepository.aggregateByDriverId(driverId)
+                .map(FeedbackAggregate::from)
+                .orElse(FeedbackAggregate.EMPTY);
+    }
+
+    /**
+     * Drop the cached aggregate for a driver (deferred to commit by the transaction-aware cache)
+     */
+    private void evictFeedbackStatistics(Long driverId) {
+        Cache cache = cacheManager.getCache(RedisConfig.CACHE_FEEDBACK_STATS);
+        if (cache == null || driverId == null) {
+            return;
+        }
+        try {
+            cache.evict(driverId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict feedback statistics for driver {}: {}", driverId, e.getMessage());
+        }
     }
 
     /**
-     * Search feedback by text
+     * Full-text search over feedback, best match first
      * 
-     * @param searchText Text to search for
-     * @return List of matching feedback
+     * @param criteria Query text and optional driver, date range and label filters
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of matching feedback with the next cursor
      */
-    public List<Feedback> searchFeedback(String searchText) {
-        log.debug("Searching feedback by text: {}", searchText);
-        return feedbackRepository.searchByFeedbackText(searchText);
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackView> searchFeedback(FeedbackSearchRepository.Criteria criteria, String cursor, int size) {
+        log.debug("Searching feedback: query={}, driverId={}, label={}, size={}",
+                  criteria.query(), criteria.driverId(), criteria.label(), size);
+        
+        if (criteria.query() == null || criteria.query().isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (criteria.query().length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (criteria.from() != null && criteria.to() != null && criteria.from().isAfter(criteria.to())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        
+        List<FeedbackSearchHit> hits = feedbackRepository.search(
+                criteria, SearchCursor.decode(cursor), KeysetCursor.validatePageSize(size) + 1);
+        
+        boolean hasMore = hits.size() > size;
+        List<FeedbackSearchHit> pageHits = hasMore ? hits.subList(0, size) : hits;
+        List<FeedbackView> views = new ArrayList<>(pageHits.size());
+        pageHits.forEach(hit -> views.add(hit.view()));
+        List<FeedbackView> page = withKeywords(views);
+        
+        if (!hasMore) {
+            return CursorPage.of(page, null);
+        }
+        FeedbackSearchHit last = pageHits.get(pageHits.size() - 1);
+        return CursorPage.of(page, new SearchCursor(last.rank(), last.view().id()).encode());
     }
 
     /**
@@ -405,11 +624,18 @@ public class FeedbackService {
     public void deleteFeedback(Long feedbackId) {
         log.info("Deleting feedback: feedbackId={}", feedbackId);
         
-        if (!feedbackRepository.existsById(feedbackId)) {
-            throw new IllegalArgumentException("Feedback not found: " + feedbackId);
-        }
+        Feedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new IllegalArgumentException("Feedback not found: " + feedbackId));
+        // Read before the delete, which removes the keyword rows
+        FeedbackView deletedView = FeedbackView.from(feedback);
         
-        feedbackRepository.deleteById(feedbackId);
+        feedbackRepository.delete(feedback);
+        FeedbackRollupService.Contribution contribution = FeedbackRollupService.Contribution.of(feedback);
+        feedbackRollupService.replace(contribution, null);
+        driverWindowMetrics.replaceAfterCommit(contribution, null);
+        recentFeedbackBuffer.removeAfterCommit(feedbackId);
+        keywordIndex.removeAfterCommit(deletedView);
+        evictFeedbackStatistics(feedback.getDriverId());
         log.info("Feedback deleted successfully: feedbackId={}", feedbackId);
     }
 
@@ -420,7 +646,6 @@ public class FeedbackService {
      * @return List of feedback submitted by the user
      */
     @Cacheable(value = "feedbackByUser", key = "#userId")
-    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByUser(Long userId) {
         log.debug("Getting feedback submitted by user: userId={}", userId);
         return feedbackRepository.findByUserId(userId);
@@ -434,10 +659,123 @@ public class FeedbackService {
      * @return Page of feedback submitted by the user
      */
     @Transactional(readOnly = true)
-    public Page<Feedback> getFeedbackByUser(Long userId, Pageable pageable) {
+    public Page<FeedbackView> getFeedbackByUser(Long userId, Pageable pageable) {
         log.debug("Getting paginated feedback submitted by user: userId={}, page={}, size={}", 
                   userId, pageable.getPageNumber(), pageable.getPageSize());
-        return feedbackRepository.findByUserId(userId, pageable);
+        return withKeywords(feedbackRepository.findViewsByUserId(userId, pageable));
+    }
+
+    /**
+     * Get a keyset page of feedback for a driver, newest first
+     * 
+     * @param driverId Driver ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of feedback with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackView> getFeedbackByDriver(Long driverId, String cursor, int size) {
+        log.debug("Getting keyset page of feedback for driver: {}, size={}", driverId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return keysetPage(feedbackRepository.findViewsByDriverIdBefore(
+                driverId, position.createdAt(), position.id(), Pageable.ofSize(KeysetCursor.validatePageSize(size) + 1)), size);
+    }
+
+    /**
+     * Get a keyset page of feedback submitted by a user, newest first
+     * 
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of feedback with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackView> getFeedbackByUser(Long userId, String cursor, int size) {
+        log.debug("Getting keyset page of feedback submitted by user: {}, size={}", userId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return keysetPage(feedbackRepository.findViewsByUserIdBefore(
+                userId, position.createdAt(), position.id(), Pageable.ofSize(KeysetCursor.validatePageSize(size) + 1)), size);
+    }
+
+    /**
+     * Get a keyset page of feedback requiring attention, newest first
+     * 
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return Page of feedback with the next cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackView> getFeedbackRequiringAttention(String cursor, int size) {
+        log.debug("Getting keyset page of feedback requiring attention, size={}", size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        return keysetPage(feedbackRepository.findViewsRequiringAttentionBefore(
+                position.createdAt(), position.id(), Pageable.ofSize(KeysetCursor.validatePageSize(size) + 1)), size);
+    }
+
+    /**
+     * Trim a size + 1 result to a page and derive the next cursor from its last row
+     */
+    private CursorPage<FeedbackView> keysetPage(List<FeedbackView> rows, int size) {
+        if (rows.size() <= size) {
+            return CursorPage.of(withKeywords(rows), null);
+        }
+        
+        List<FeedbackView> page = withKeywords(new ArrayList<>(rows.subList(0, size)));
+        FeedbackView last = page.get(page.size() - 1);
+        return CursorPage.of(page, new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Attach keywords to a page of feedback views using one batched query
+     * 
+     * @param page Page of views without keywords
+     * @return Page of views with keywords
+     */
+    private Page<FeedbackView> withKeywords(Page<FeedbackView> page) {
+        return new PageImpl<>(withKeywords(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Attach keywords to feedback views using one batched query
+     * 
+     * @param views Views without keywords
+     * @return Views with keywords, in the original order
+     */
+    private List<FeedbackView> withKeywords(List<FeedbackView> views) {
+        return feedbackRepository.withKeywords(views);
+    }
+
+    /**
+     * Per-label feedback counts and averages from one aggregate query
+     */
+    public record FeedbackAggregate(
+        long totalCount,
+        long processedCount,
+        long veryPositiveCount,
+        long positiveCount,
+        long neutralCount,
+        long negativeCount,
+        long veryNegativeCount,
+        long unlabeledCount,
+        double averageSentiment,
+        double averageRating
+    ) {
+        static final FeedbackAggregate EMPTY = new FeedbackAggregate(0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
+
+        static FeedbackAggregate from(FeedbackAggregateRow row) {
+            return new FeedbackAggregate(
+                row.getTotalCount(),
+                row.getProcessedCount(),
+                row.getVeryPositiveCount(),
+                row.getPositiveCount(),
+                row.getNeutralCount(),
+                row.getNegativeCount(),
+                row.getVeryNegativeCount(),
+                row.getUnlabeledCount(),
+                row.getAverageSentiment() != null ? row.getAverageSentiment() : 0.0,
+                row.getAverageRating() != null ? row.getAverageRating() : 0.0
+            );
+        }
     }
 
     /**
@@ -0,0 +1,212 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fleet Counters
+ *
+ * Fleet-wide totals behind /stats/overview, kept as striped adders and moved by the delta of
+ * every change applied to DriverScoreTable (a driver leaving one status and entering another
+ * decrements one counter and increments the other), so reading them is O(1):
+ * - Drivers per alert status
+ * - Improving / declining drivers (EMA above / below the previous EMA)
+ * - Sum of EMA scores and of feedback counts
+ *
+ * A scheduled reconciliation compares the counters with an aggregate over driver_stats.
+ * A write landing between the two reads also shows up as a mismatch, so the score table is
+ * only reloaded (and the counters rebuilt from it) when the next pass still finds one.
+ */
+@Slf4j
+@Component
+public class FleetCounters implements DriverScoreTable.Listener {
+
+    private static final DriverStats.AlertStatus[] ALERT_STATUSES = DriverStats.AlertStatus.values();
+
+    private final DriverScoreTable driverScoreTable;
+    private final DriverStatsRepository driverStatsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter driftCounter;
+
+    private final LongAdder drivers = new LongAdder();
+    private final LongAdder[] byStatus = new LongAdder[ALERT_STATUSES.length];
+    private final LongAdder improving = new LongAdder();
+    private final LongAdder declining = new LongAdder();
+    private final LongAdder feedback = new LongAdder();
+    private final DoubleAdder emaSum = new DoubleAdder();
+
+    // Whether the previous reconciliation found a mismatch (only touched by the scheduler)
+    private boolean mismatchPending;
+
+    public FleetCounters(
+            DriverScoreTable driverScoreTable,
+            DriverStatsRepository driverStatsRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.driverScoreTable = driverScoreTable;
+        this.driverStatsRepository = driverStatsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.driftCounter = Counter.builder("sentiment.fleet.counters.drift")
+                .description("Reconciliations that found the fleet counters out of line with driver_stats")
+                .register(meterRegistry);
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongAdder();
+        }
+        driverScoreTable.addListener(this);
+    }
+
+    @Override
+    public void onScoreChanged(DriverScoreTable.Score previous, DriverScoreTable.Score current) {
+        if (previous == null) {
+            drivers.increment();
+        } else {
+            apply(previous, -1);
+        }
+        apply(current, 1);
+    }
+
+    @Override
+    public void onReset() {
+        drivers.reset();
+        for (LongAdder adder : byStatus) {
+            adder.reset();
+        }
+        improving.reset();
+        declining.reset();
+        feedback.reset();
+        emaSum.reset();
+    }
+
+    private void apply(DriverScoreTable.Score score, int sign) {
+        if (score.alertStatus() != null) {
+            byStatus[score.alertStatus().ordinal()].add(sign);
+        }
+        if (score.previousEmaScore() != null) {
+            if (score.emaScore() > score.previousEmaScore()) {
+                improving.add(sign);
+            } else if (score.emaScore() < score.previousEmaScore()) {
+                declining.add(sign);
+            }
+        }
+        feedback.add((long) sign * score.totalFeedbackCount());
+        emaSum.add(sign * score.emaScore());
+    }
+
+    /**
+     * Current fleet totals
+     */
+    public Snapshot snapshot() {
+        long driverCount = drivers.sum();
+        double ema = emaSum.sum();
+        return new Snapshot(
+                driverCount,
+                byStatus[DriverStats.AlertStatus.NORMAL.ordinal()].sum(),
+                byStatus[DriverStats.AlertStatus.WARNING.ordinal()].sum(),
+                byStatus[DriverStats.AlertStatus.CRITICAL.ordinal()].sum(),
+                byStatus[DriverStats.AlertStatus.UNDER_REVIEW.ordinal()].sum(),
+                improving.sum(),
+                declining.sum(),
+                feedback.sum(),
+                driverCount > 0 ? ema / driverCount : 0.0);
+    }
+
+    /**
+     * Compare the counters with driver_stats and rebuild them when two consecutive passes
+     * find a mismatch
+     */
+    @Scheduled(fixedDelayString = "${app.fleet-counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.fleet-counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            // Catch up with other nodes' writes first so only real drift shows up
+            driverScoreTable.sync();
+            Snapshot expected = readOnlyTransaction.execute(status ->
+                    fromRows(driverStatsRepository.getFleetTotalsByAlertStatus()));
+            Snapshot actual = snapshot();
+            if (expected == null || matches(expected, actual)) {
+                mismatchPending = false;
+                return;
+            }
+            if (!mismatchPending) {
+                mismatchPending = true;
+                log.debug("Fleet counters differ from driver_stats, re-checking next pass: counters={}, database={}",
+                        actual, expected);
+                return;
+            }
+            mismatchPending = false;
+            driftCounter.increment();
+            log.warn("Fleet counters drifted from driver_stats, rebuilding: counters={}, database={}", actual, expected);
+            driverScoreTable.reload();
+            driverScoreTable.replay(this);
+        } catch (Exception e) {
+            log.warn("Fleet counter reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private static Snapshot fromRows(List<Object[]> rows) {
+        long[] statusCounts = new long[ALERT_STATUSES.length];
+        long driverCount = 0;
+        long improvingCount = 0;
+        long decliningCount = 0;
+        long feedbackCount = 0;
+        double ema = 0.0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            if (row[0] != null) {
+                statusCounts[((DriverStats.AlertStatus) row[0]).ordinal()] += count;
+            }
+            driverCount += count;
+            improvingCount += ((Number) row[2]).longValue();
+            decliningCount += ((Number) row[3]).longValue();
+            feedbackCount += ((Number) row[4]).longValue();
+            ema += ((Number) row[5]).doubleValue();
+        }
+        return new Snapshot(
+                driverCount,
+                statusCounts[DriverStats.AlertStatus.NORMAL.ordinal()],
+                statusCounts[DriverStats.AlertStatus.WARNING.ordinal()],
+                statusCounts[DriverStats.AlertStatus.CRITICAL.ordinal()],
+                statusCounts[DriverStats.AlertStatus.UNDER_REVIEW.ordinal()],
+                improvingCount,
+                decliningCount,
+                feedbackCount,
+                driverCount > 0 ? ema / driverCount : 0.0);
+    }
+
+    private static boolean matches(Snapshot expected, Snapshot actual) {
+        // The EMA sum is accumulated in floating point, so compare the mean with a tolerance
+        return expected.totalDrivers() == actual.totalDrivers()
+                && expected.normalCount() == actual.normalCount()
+                && expected.warningCount() == actual.warningCount()
+                && expected.criticalCount() == actual.criticalCount()
+                && expected.underReviewCount() == actual.underReviewCount()
+                && expected.improvingCount() == actual.improvingCount()
+                && expected.decliningCount() == actual.decliningCount()
+                && expected.totalFeedbackCount() == actual.totalFeedbackCount()
+                && Math.abs(expected.averageEmaScore() - actual.averageEmaScore()) < 1e-6;
+    }
+
+    public record Snapshot(
+        long totalDrivers,
+        long normalCount,
+        long warningCount,
+        long criticalCount,
+        long underReviewCount,
+        long improvingCount,
+        long decliningCount,
+        long totalFeedbackCount,
+        double averageEmaScore
+    ) {}
+}
@@ -0,0 +1,173 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.EmaDistributionCheckpoint;
+import com.moveinsync.sentiment.repository.EmaDistributionCheckpointRepository;
+import com.moveinsync.sentiment.util.ScoreHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Fleet EMA Distribution
+ *
+ * Distribution of driver EMA scores, moved with every change applied to DriverScoreTable
+ * (the old score is removed and the new one added) instead of a GROUP BY over driver_stats:
+ * - Exact counts for the EXCELLENT / GOOD / AVERAGE / POOR / CRITICAL categories
+ * - A fine-grained {@link ScoreHistogram} for fleet percentiles
+ * - Hourly checkpoints of the histogram in ema_distribution_checkpoints for history
+ *
+ * The histogram holds stored EMA scores (as of each driver's last feedback), which is what the
+ * category counts and checkpoints describe. A driver's rank and percentile come from
+ * DriverLeaderboard, which orders drivers by the EMA decayed to now.
+ *
+ * Every node holds the whole fleet, so nodes do not merge their histograms with each other;
+ * checkpoints are merged to describe a time window.
+ */
+@Slf4j
+@Component
+public class FleetEmaDistribution implements DriverScoreTable.Listener {
+
+    private static final String[] CATEGORIES = {"EXCELLENT", "GOOD", "AVERAGE", "POOR", "CRITICAL"};
+
+    private final EmaDistributionCheckpointRepository checkpointRepository;
+    private final TransactionTemplate checkpointTransaction;
+    private final ScoreHistogram histogram = new ScoreHistogram();
+    private final LongAdder[] categoryCounts = new LongAdder[CATEGORIES.length];
+
+    public FleetEmaDistribution(
+            DriverScoreTable driverScoreTable,
+            EmaDistributionCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager) {
+        this.checkpointRepository = checkpointRepository;
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < categoryCounts.length; i++) {
+            categoryCounts[i] = new LongAdder();
+        }
+        driverScoreTable.addListener(this);
+    }
+
+    @Override
+    public void onScoreChanged(DriverScoreTable.Score previous, DriverScoreTable.Score current) {
+        if (previous != null) {
+            if (previous.emaScore() == current.emaScore()) {
+                return;
+            }
+            histogram.add(previous.emaScore(), -1);
+            categoryCounts[category(previous.emaScore())].decrement();
+        }
+        histogram.add(current.emaScore(), 1);
+        categoryCounts[category(current.emaScore())].increment();
+    }
+
+    @Override
+    public void onReset() {
+        histogram.clear();
+        for (LongAdder count : categoryCounts) {
+            count.reset();
+        }
+    }
+
+    /**
+     * Category of an EMA score, matching DriverStatsRepository.getEmaScoreDistribution
+     */
+    private static int category(double emaScore) {
+        if (emaScore >= 0.6) return 0;
+        if (emaScore >= 0.2) return 1;
+        if (emaScore >= -0.2) return 2;
+        if (emaScore >= -0.6) return 3;
+        return 4;
+    }
+
+    /**
+     * Driver count per EMA category
+     *
+     * @return List of [category, count] pairs
+     */
+    public List<Object[]> categoryCounts() {
+        return IntStream.range(0, CATEGORIES.length)
+                .mapToObj(i -> new Object[] {CATEGORIES[i], categoryCounts[i].sum()})
+                .toList();
+    }
+
+    /**
+     * Fleet percentiles, category counts and a 20-range histogram
+     */
+    public Distribution distribution() {
+        Map<String, Long> categories = new LinkedHashMap<>();
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            categories.put(CATEGORIES[i], categoryCounts[i].sum());
+        }
+        return new Distribution(
+                histogram.count(),
+                histogram.quantile(0.10),
+                histogram.quantile(0.25),
+                histogram.quantile(0.50),
+                histogram.quantile(0.75),
+                histogram.quantile(0.90),
+                categories,
+                histogram.ranges(20));
+    }
+
+    /**
+     * Store the current histogram under the current hour
+     */
+    @Scheduled(cron = "${app.ema-distribution.checkpoint-cron:0 0 * * * *}")
+    public void checkpoint() {
+        try {
+            EmaDistributionCheckpoint checkpoint = EmaDistributionCheckpoint.builder()
+                    .capturedAt(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS))
+                    .drivers(histogram.count())
+                    .p10(histogram.quantile(0.10))
+                    .p50(histogram.quantile(0.50))
+                    .p90(histogram.quantile(0.90))
+                    .buckets(histogram.encode())
+                    .build();
+            checkpointTransaction.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint EMA distribution: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hourly checkpoints since a time, plus percentiles of all of them merged
+     * (the distribution of driver-hours over the window)
+     */
+    public History history(LocalDateTime since) {
+        List<EmaDistributionCheckpoint> checkpoints =
+                checkpointRepository.findByCapturedAtGreaterThanEqualOrderByCapturedAtAsc(since);
+        ScoreHistogram merged = new ScoreHistogram();
+        List<CheckpointSummary> points = new ArrayList<>(checkpoints.size());
+        for (EmaDistributionCheckpoint checkpoint : checkpoints) {
+            merged.merge(ScoreHistogram.decode(checkpoint.getBuckets()));
+            points.add(new CheckpointSummary(checkpoint.getCapturedAt(), checkpoint.getDrivers(),
+                    checkpoint.getP10(), checkpoint.getP50(), checkpoint.getP90()));
+        }
+        return new History(points, merged.quantile(0.10), merged.quantile(0.50), merged.quantile(0.90));
+    }
+
+    public record Distribution(
+        long drivers,
+        Double p10,
+        Double p25,
+        Double p50,
+        Double p75,
+        Double p90,
+        Map<String, Long> categories,
+        List<ScoreHistogram.Range> histogram
+    ) {}
+
+    public record CheckpointSummary(LocalDateTime capturedAt, long drivers, Double p10, Double p50, Double p90) {}
+
+    public record History(List<CheckpointSummary> checkpoints, Double p10, Double p50, Double p90) {}
+}
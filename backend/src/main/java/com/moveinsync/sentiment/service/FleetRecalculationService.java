@@ -0,0 +1,544 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.model.StatsRecalculationJob;
+import com.moveinsync.sentiment.repository.StatsRecalculationJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fleet Recalculation Service
+ *
+ * Rebuilds driver_stats for the whole fleet from feedback in one pass, instead of one
+ * findByDriverIdAndDateRange query and one save per driver:
+ * - A single server-side cursor reads feedback ordered by (driver_id, created_at)
+ * - Each driver's rows are folded with {@link DriverStatsFold} as they stream past
+ * - Finished drivers are written in chunks of batched upserts on a fork-join pool
+ * - The highest driver below which every chunk is committed is checkpointed in
+ *   stats_recalculation_jobs, so a stopped or failed job resumes from there
+ *
+ * Rows are only overwritten if they were last updated (a little) before the cursor opened,
+ * so feedback processed while the job runs is never rolled back. Drivers with no feedback in
+ * the window are left as they are.
+ */
+@Slf4j
+@Service
+public class FleetRecalculationService {
+
+    private static final String SELECT_FEEDBACK =
+            "SELECT driver_id, created_at, sentiment_score, sentiment_label, rating FROM feedback " +
+            "WHERE created_at >= ? AND driver_id > ? ORDER BY driver_id, created_at";
+
+    private static final String UPSERT_STATS =
+            "INSERT INTO driver_stats (driver_id, ema_score, previous_ema_score, total_feedback_count, " +
+            "positive_feedback_count, negative_feedback_count, neutral_feedback_count, very_positive_count, " +
+            "very_negative_count, average_rating, total_ratings_count, alert_status, last_alert_severity, " +
+            "consecutive_negative_feedback, last_feedback_at, alert_count, ema_alpha, created_at, last_updated_at) " +
+            "VALUES (?, ?, NULL, ?, ?, ?, ?, 0, 0, ?, 0, ?, ?, ?, ?, 0, 0.2, ?, ?) " +
+            "ON CONFLICT (driver_id) DO UPDATE SET " +
+            "ema_score = EXCLUDED.ema_score, previous_ema_score = NULL, " +
+            "total_feedback_count = EXCLUDED.total_feedback_count, " +
+            "positive_feedback_count = EXCLUDED.positive_feedback_count, " +
+            "negative_feedback_count = EXCLUDED.negative_feedback_count, " +
+            "neutral_feedback_count = EXCLUDED.neutral_feedback_count, " +
+            "average_rating = EXCLUDED.average_rating, alert_status = EXCLUDED.alert_status, " +
+            "last_alert_severity = EXCLUDED.last_alert_severity, " +
+            "consecutive_negative_feedback = EXCLUDED.consecutive_negative_feedback, " +
+            "last_feedback_at = EXCLUDED.last_feedback_at, alert_count = 0, " +
+            "last_updated_at = EXCLUDED.last_updated_at " +
+            "WHERE driver_stats.last_updated_at IS NULL OR driver_stats.last_updated_at < ?";
+
+    // A RUNNING job whose checkpoint is older than this is treated as abandoned by a dead node
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(10);
+
+    // Rows updated this close to the cursor opening may belong to transactions it cannot see yet
+    private static final Duration SNAPSHOT_MARGIN = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final StatsRecalculationJobRepository jobRepository;
+    private final TransactionTemplate cursorTransaction;
+    private final DriverScoreTable driverScoreTable;
+    private final EmaDecay emaDecay;
+    private final SystemConfigService systemConfigService;
+    private final CacheManager cacheManager;
+    private final Counter driversCounter;
+    private final Counter rowsCounter;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-recalculation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopRequested = new AtomicBoolean();
+    private final AtomicReference<RunProgress> progress = new AtomicReference<>();
+
+    @Value("${app.stats-recalculation.chunk-drivers:500}")
+    private int chunkDrivers;
+
+    @Value("${app.stats-recalculation.parallelism:4}")
+    private int parallelism;
+
+    public FleetRecalculationService(
+            JdbcTemplate jdbcTemplate,
+            StatsRecalculationJobRepository jobRepository,
+            DriverScoreTable driverScoreTable,
+            EmaDecay emaDecay,
+            SystemConfigService systemConfigService,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.stats-recalculation.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.driverScoreTable = driverScoreTable;
+        this.emaDecay = emaDecay;
+        this.systemConfigService = systemConfigService;
+        this.cacheManager = cacheManager;
+        // The PostgreSQL driver only streams with a fetch size inside a transaction. Read from the
+        // primary: the snapshot time guards the upsert, and a lagging replica would make it unsafe.
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.cursorTransaction = new TransactionTemplate(transactionManager);
+        this.driversCounter = Counter.builder("sentiment.stats.recalculation.drivers")
+                .description("Drivers whose stats were rewritten by fleet recalculation jobs")
+                .register(meterRegistry);
+        this.rowsCounter = Counter.builder("sentiment.stats.recalculation.feedback")
+                .description("Feedback rows folded by fleet recalculation jobs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start a new job over feedback from the last {@code windowDays} days
+     */
+    public JobStatus start(int windowDays) {
+        if (windowDays <= 0) {
+            throw new IllegalArgumentException("windowDays must be positive");
+        }
+        claimRunner();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            jobRepository.failAbandoned(StatsRecalculationJob.Status.RUNNING, StatsRecalculationJob.Status.FAILED,
+                    now, now.minus(ABANDONED_AFTER));
+            // Conditional insert, so two nodes cannot both start a job
+            if (jobRepository.insertRunning(now.minusDays(windowDays), now) == 0) {
+                Long runningId = jobRepository.findFirstByStatusOrderByIdDesc(StatsRecalculationJob.Status.RUNNING)
+                        .map(StatsRecalculationJob::getId)
+                        .orElse(null);
+                throw new IllegalStateException("Stats recalculation job " + runningId + " is running on another node");
+            }
+            StatsRecalculationJob job = jobRepository.findFirstByStatusOrderByIdDesc(StatsRecalculationJob.Status.RUNNING)
+                    .orElseThrow();
+            return launch(job);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Resume the most recent job that did not complete
+     */
+    public JobStatus resume() {
+        claimRunner();
+        try {
+            StatsRecalculationJob job = jobRepository.findFirstByOrderByIdDesc().orElse(null);
+            if (job == null || job.getStatus() == StatsRecalculationJob.Status.COMPLETED) {
+                throw new IllegalStateException("No unfinished stats recalculation job to resume");
+            }
+            // Claim the row so two nodes cannot resume the same job; the running-job index
+            // rejects the claim if another node started a new job meanwhile
+            int claimed;
+            try {
+                claimed = jobRepository.claim(job.getId(), StatsRecalculationJob.Status.RUNNING,
+                        LocalDateTime.now(), LocalDateTime.now().minus(ABANDONED_AFTER));
+            } catch (DataIntegrityViolationException e) {
+                claimed = 0;
+            }
+            if (claimed == 0) {
+                throw new IllegalStateException("Stats recalculation job " + job.getId() + " is running on another node");
+            }
+            return launch(jobRepository.findById(job.getId()).orElseThrow());
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Ask the running job to stop after its in-flight chunks; it can be resumed later
+     */
+    public JobStatus stop() {
+        if (!running.get()) {
+            throw new IllegalStateException("No stats recalculation job is running on this node");
+        }
+        stopRequested.set(true);
+        return status();
+    }
+
+    /**
+     * Latest job with live throughput if it is running here, or null if there has been none
+     */
+    public JobStatus status() {
+        StatsRecalculationJob job = jobRepository.findFirstByOrderByIdDesc().orElse(null);
+        if (job == null) {
+            return null;
+        }
+        RunProgress run = progress.get();
+        if (run == null || run.jobId != job.getId()) {
+            return toStatus(job, null);
+        }
+        return toStatus(job, run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested.set(true);
+        jobExecutor.shutdown();
+    }
+
+    private void claimRunner() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A stats recalculation job is already running");
+        }
+        stopRequested.set(false);
+    }
+
+    private JobStatus launch(StatsRecalculationJob job) {
+        RunProgress run = new RunProgress(job);
+        progress.set(run);
+        jobExecutor.execute(() -> {
+            try {
+                run(job, run);
+            } finally {
+                running.set(false);
+            }
+        });
+        return toStatus(job, run);
+    }
+
+    private void run(StatsRecalculationJob job, RunProgress run) {
+        log.info("Stats recalculation job {} {} after driver {} (window from {})",
+                job.getId(), job.getDriversDone() > 0 ? "resuming" : "starting", job.getResumeAfterDriverId(), job.getWindowStart());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        // Bounds the drivers buffered ahead of the writers
+        Semaphore inFlight = new Semaphore(Math.max(1, parallelism) * 2);
+        ChunkReader reader = new ChunkReader(run, pool, inFlight);
+        try {
+            cursorTransaction.executeWithoutResult(status -> {
+                reader.snapshotAt = Timestamp.valueOf(LocalDateTime.now().minus(SNAPSHOT_MARGIN));
+                try {
+                    cursorTemplate.query(SELECT_FEEDBACK, reader,
+                            Timestamp.valueOf(job.getWindowStart()), job.getResumeAfterDriverId());
+                } catch (StopReading ignored) {
+                    // Stop requested or a chunk failed; the cursor is closed with the transaction
+                }
+            });
+            if (!run.failed()) {
+                reader.flush();
+            }
+            inFlight.acquireUninterruptibly(Math.max(1, parallelism) * 2);
+            finish(job, run);
+        } catch (Exception e) {
+            inFlight.acquireUninterruptibly(Math.max(1, parallelism) * 2);
+            run.fail(e);
+            finish(job, run);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void finish(StatsRecalculationJob job, RunProgress run) {
+        StatsRecalculationJob.Status status = run.failed() ? StatsRecalculationJob.Status.FAILED
+                : stopRequested.get() ? StatsRecalculationJob.Status.STOPPED
+                : StatsRecalculationJob.Status.COMPLETED;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            jobRepository.finish(job.getId(), status, now,
+                    status == StatsRecalculationJob.Status.COMPLETED ? now : null, run.error());
+        } catch (Exception e) {
+            log.error("Failed to record the end of stats recalculation job {}", job.getId(), e);
+        }
+        run.finish();
+
+        // Pick up the rewritten rows now rather than at the next periodic sync
+        driverScoreTable.syncLocalWrites();
+        for (String cacheName : List.of("driverStats", "driverStatsById")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.info("Stats recalculation job {} {}: {} drivers, {} feedback rows this run ({} drivers/s, {} rows/s)",
+                job.getId(), status.name().toLowerCase(), run.drivers(), run.rows(),
+                Math.round(run.driversPerSecond()), Math.round(run.rowsPerSecond()));
+    }
+
+    /**
+     * Folds the cursor's rows driver by driver and hands full chunks to the pool
+     */
+    private class ChunkReader implements RowCallbackHandler {
+
+        private final RunProgress run;
+        private final ForkJoinPool pool;
+        private final Semaphore inFlight;
+
+        private Timestamp snapshotAt;
+        private long nextSequence;
+        private List<DriverResult> buffer = new ArrayList<>();
+        private long bufferRows;
+        private long currentDriverId = Long.MIN_VALUE;
+        private DriverStatsFold currentFold;
+
+        ChunkReader(RunProgress run, ForkJoinPool pool, Semaphore inFlight) {
+            this.run = run;
+            this.pool = pool;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long driverId = rs.getLong(1);
+            if (driverId != currentDriverId) {
+                if (stopRequested.get() || run.failed()) {
+                    throw new StopReading();
+                }
+                closeDriver();
+                currentDriverId = driverId;
+                currentFold = new DriverStatsFold(emaDecay);
+            }
+            Timestamp createdAt = rs.getTimestamp(2);
+            double sentimentScore = rs.getDouble(3);
+            boolean hasSentiment = !rs.wasNull();
+            String label = rs.getString(4);
+            int rating = rs.getInt(5);
+            boolean hasRating = !rs.wasNull();
+            currentFold.add(
+                    createdAt != null ? createdAt.toLocalDateTime() : null,
+                    hasSentiment ? sentimentScore : null,
+                    label != null ? Feedback.SentimentLabel.valueOf(label) : null,
+                    hasRating ? rating : null);
+            bufferRows++;
+        }
+
+        void flush() {
+            closeDriver();
+            if (!buffer.isEmpty()) {
+                submit();
+            }
+        }
+
+        private void closeDriver() {
+            if (currentFold == null) {
+                return;
+            }
+            buffer.add(new DriverResult(currentDriverId, currentFold));
+            currentFold = null;
+            if (buffer.size() >= chunkDrivers) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            Chunk chunk = new Chunk(nextSequence++, buffer, bufferRows, snapshotAt);
+            buffer = new ArrayList<>(chunkDrivers);
+            bufferRows = 0;
+            inFlight.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    write(chunk);
+                    run.complete(chunk);
+                } catch (Exception e) {
+                    run.fail(e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void write(Chunk chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        SystemConfigService.Snapshot config = systemConfigService.snapshot();
+        jdbcTemplate.batchUpdate(UPSERT_STATS, chunk.drivers(), chunk.drivers().size(), (statement, result) -> {
+            DriverStatsFold fold = result.fold();
+            DriverStatsService.AlertLevel level = config.alertRules().level(AlertRuleProgram.facts(config)
+                    .ema(emaDecay.valueAt(fold.emaScore(), fold.lastFeedbackAt(), now))
+                    .storedEma(fold.emaScore())
+                    .consecutiveNegative(fold.consecutiveNegative())
+                    .totalFeedback(fold.total())
+                    .negativeFeedback(fold.negative())
+                    .averageRating(fold.averageRating()));
+            statement.setLong(1, result.driverId());
+            statement.setDouble(2, fold.emaScore());
+            statement.setInt(3, fold.total());
+            statement.setInt(4, fold.positive());
+            statement.setInt(5, fold.negative());
+            statement.setInt(6, fold.neutral());
+            statement.setDouble(7, fold.averageRating());
+            statement.setString(8, level.status().name());
+            statement.setString(9, level.severity() != null ? level.severity().name() : null);
+            statement.setInt(10, fold.consecutiveNegative());
+            statement.setTimestamp(11, fold.lastFeedbackAt() != null ? Timestamp.valueOf(fold.lastFeedbackAt()) : null);
+            statement.setTimestamp(12, updatedAt);
+            statement.setTimestamp(13, updatedAt);
+            statement.setTimestamp(14, chunk.snapshotAt());
+        });
+        driversCounter.increment(chunk.drivers().size());
+        rowsCounter.increment(chunk.rows());
+    }
+
+    /**
+     * Progress of one run of a job on this node; chunks may finish out of order, so the
+     * checkpoint only advances over a contiguous run of completed chunks
+     */
+    private class RunProgress {
+
+        private final long jobId;
+        private final long baseDrivers;
+        private final long baseRows;
+        private final long startedNanos = System.nanoTime();
+        private final Map<Long, Chunk> completedAhead = new TreeMap<>();
+        private long nextToCheckpoint;
+        private long drivers;
+        private long rows;
+        private volatile String error;
+        private volatile long finishedNanos;
+
+        RunProgress(StatsRecalculationJob job) {
+            this.jobId = job.getId();
+            this.baseDrivers = job.getDriversDone();
+            this.baseRows = job.getFeedbackRows();
+        }
+
+        synchronized void complete(Chunk chunk) {
+            completedAhead.put(chunk.sequence(), chunk);
+            Chunk next;
+            long watermark = -1;
+            while ((next = completedAhead.remove(nextToCheckpoint)) != null) {
+                nextToCheckpoint++;
+                drivers += next.drivers().size();
+                rows += next.rows();
+                watermark = next.drivers().get(next.drivers().size() - 1).driverId();
+            }
+            if (watermark >= 0) {
+                // Checkpoint under the lock so the watermark only moves forward
+                jobRepository.checkpoint(jobId, LocalDateTime.now(), watermark,
+                        baseDrivers + drivers, baseRows + rows);
+            }
+        }
+
+        void fail(Exception e) {
+            if (error == null) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                log.error("Stats recalculation job {} failed", jobId, e);
+            }
+        }
+
+        boolean failed() {
+            return error != null;
+        }
+
+        String error() {
+            return error;
+        }
+
+        void finish() {
+            finishedNanos = System.nanoTime();
+        }
+
+        synchronized long drivers() {
+            return drivers;
+        }
+
+        synchronized long rows() {
+            return rows;
+        }
+
+        double driversPerSecond() {
+            return drivers() / elapsedSeconds();
+        }
+
+        double rowsPerSecond() {
+            return rows() / elapsedSeconds();
+        }
+
+        private double elapsedSeconds() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return Math.max(1e-3, (end - startedNanos) / 1e9);
+        }
+    }
+
+    private static JobStatus toStatus(StatsRecalculationJob job, RunProgress run) {
+        return new JobStatus(
+                job.getId(),
+                job.getStatus().name(),
+                job.getWindowStart(),
+                job.getResumeAfterDriverId(),
+                job.getDriversDone(),
+                job.getFeedbackRows(),
+                job.getStartedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt(),
+                job.getError(),
+                run != null ? run.driversPerSecond() : null,
+                run != null ? run.rowsPerSecond() : null);
+    }
+
+    /**
+     * Thrown from the row callback to abandon the cursor early
+     */
+    private static class StopReading extends RuntimeException {
+        StopReading() {
+            super(null, null, false, false);
+        }
+    }
+
+    private record DriverResult(long driverId, DriverStatsFold fold) {}
+
+    private record Chunk(long sequence, List<DriverResult> drivers, long rows, Timestamp snapshotAt) {}
+
+    public record JobStatus(
+        long id,
+        String status,
+        LocalDateTime windowStart,
+        long resumeAfterDriverId,
+        long driversDone,
+        long feedbackRows,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt,
+        String error,
+        Double driversPerSecond,
+        Double rowsPerSecond
+    ) {}
+}
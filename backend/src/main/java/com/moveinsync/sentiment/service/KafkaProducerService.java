@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -94,6 +96,25 @@ public class KafkaProducerService {
         });
     }
 
+    /**
+     * Publish a Feedback Processed Event once the current transaction commits
+     * (immediately if there is none), so consumers never see uncommitted feedback
+     * 
+     * @param event FeedbackProcessedEvent
+     */
+    public void publishFeedbackProcessedAfterCommit(FeedbackProcessedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishFeedbackProcessed(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishFeedbackProcessed(event);
+            }
+        });
+    }
+
     /**
      * Publish Driver Stats Updated Event
      * 
@@ -159,11 +180,11 @@ public class KafkaProducerService {
      * Helper method to generate partition key
      * Ensures related events go to same partition (ordered processing)
      * 
-     * @param driverId Driver UUID
-     * @param tripId Trip UUID
+     * @param driverId Driver ID
+     * @param tripId Trip ID
      * @return Partition key (driverId or tripId as string)
      */
-    private String getPartitionKey(java.util.UUID driverId, java.util.UUID tripId) {
+    private String getPartitionKey(Long driverId, Long tripId) {
         if (driverId != null) {
             return driverId.toString();
         } else if (tripId != null) {
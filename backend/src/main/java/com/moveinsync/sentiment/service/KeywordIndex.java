@@ -0,0 +1,402 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import com.moveinsync.sentiment.util.PostingList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keyword Index
+ *
+ * In-memory inverted index from extracted keyword to the feedback and drivers it appeared in,
+ * answering fleet-wide keyword analytics without touching feedback_keywords:
+ * - Per keyword and day, a compressed posting list of feedback IDs (dedupes reprocessed
+ *   feedback) and per-driver counts; whole days are dropped once they leave the retention window
+ * - Fed by FeedbackService after the processing transaction commits; deleted feedback is
+ *   removed after the delete commits
+ * - Rebuilt on startup by streaming the retention window from the database
+ * - Keywords extracted on other nodes are picked up by polling feedback_daily_rollup for driver
+ *   days changed since the last poll and re-reading their keywords, the way DriverScoreTable
+ *   polls driver_stats, so every node indexes the whole fleet
+ *
+ * Feedback is counted once per keyword, the first time it is indexed; reprocessing only adds
+ * keywords that were not extracted before. Two changes only reach other nodes at their next
+ * restart: deletes (the poll can add postings but not tell which ones a delete removed), and
+ * keywords added by reprocessing that left the feedback's sentiment, and so its rollup, unchanged.
+ */
+@Slf4j
+@Component
+@Order(-10)
+public class KeywordIndex implements ApplicationRunner {
+
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int retentionDays;
+
+    // Re-read days changed this far before the last poll to cover commits that were in flight (and replica lag)
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final Map<String, KeywordPostings> index = new ConcurrentHashMap<>();
+    private final AtomicLong indexedPostings = new AtomicLong();
+    private volatile LocalDate prunedThrough = LocalDate.MIN;
+
+    // When the last successful rebuild or poll started; null until the index is built
+    private volatile LocalDateTime lastSync;
+
+    public KeywordIndex(
+            FeedbackRepository feedbackRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.keyword-index.retention-days:90}") int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("app.keyword-index.retention-days must be positive");
+        }
+        this.feedbackRepository = feedbackRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Rebuild the index from the database before the node accepts traffic
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * Pick up keywords of driver days changed since the last poll (including on other nodes)
+     */
+    @Scheduled(fixedDelayString = "${app.keyword-index.sync-interval-ms:10000}",
+               initialDelayString = "${app.keyword-index.sync-interval-ms:10000}")
+    public void sync() {
+        if (lastSync == null) {
+            rebuild();
+            return;
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+        try {
+            List<Object[]> rows = readOnlyTransaction.execute(status -> feedbackRepository.findKeywordPostingsOfDaysChangedSince(
+                    lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), windowStart(retentionDays)));
+            long before = indexedPostings.get();
+            for (Object[] row : rows != null ? rows : List.<Object[]>of()) {
+                add(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        LocalDate.ofEpochDay(((Number) row[2]).longValue()), (String) row[3]);
+            }
+            pruneExpiredDays();
+            lastSync = syncStart;
+            log.debug("Keyword index sync read {} rows, added {} postings", rows != null ? rows.size() : 0,
+                    indexedPostings.get() - before);
+        } catch (Exception e) {
+            log.warn("Keyword index sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime syncStart = LocalDateTime.now();
+        LocalDateTime since = LocalDate.now().minusDays(retentionDays - 1L).atStartOfDay();
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> stream = feedbackRepository.streamKeywordPostings(since)) {
+                    for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                        add((Long) row[0], (Long) row[1], ((LocalDateTime) row[2]).toLocalDate(), (String) row[3]);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            lastSync = syncStart;
+            log.info("Keyword index rebuilt in {} ms: rows={}, keywords={}, postings={}",
+                    (System.nanoTime() - start) / 1_000_000, rows, index.size(), indexedPostings.get());
+        } catch (Exception e) {
+            log.warn("Failed to rebuild keyword index, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index processed feedback once the current transaction commits,
+     * or immediately when there is no transaction
+     *
+     * @param view Processed feedback summary with keywords
+     */
+    public void indexAfterCommit(FeedbackView view) {
+        if (view.keywords() == null || view.keywords().isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(view);
+                }
+            });
+        } else {
+            index(view);
+        }
+    }
+
+    /**
+     * Index processed feedback
+     *
+     * @param view Processed feedback summary with keywords
+     */
+    public void index(FeedbackView view) {
+        LocalDate day = view.createdAt() != null ? view.createdAt().toLocalDate() : LocalDate.now();
+        for (String keyword : view.keywords()) {
+            add(view.id(), view.driverId(), day, keyword);
+        }
+        pruneExpiredDays();
+    }
+
+    /**
+     * Remove deleted feedback once the current transaction commits
+     *
+     * @param view Summary of the deleted feedback with its keywords
+     */
+    public void removeAfterCommit(FeedbackView view) {
+        if (view.keywords() == null || view.keywords().isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(view);
+                }
+            });
+        } else {
+            remove(view);
+        }
+    }
+
+    /**
+     * Remove feedback from every keyword it was indexed under
+     *
+     * @param view Feedback summary with keywords
+     */
+    public void remove(FeedbackView view) {
+        if (view.id() == null || view.driverId() == null) {
+            return;
+        }
+        LocalDate day = view.createdAt() != null ? view.createdAt().toLocalDate() : LocalDate.now();
+        for (String keyword : view.keywords()) {
+            if (keyword == null) {
+                continue;
+            }
+            index.computeIfPresent(keyword.toLowerCase(), (k, postings) -> {
+                if (postings.remove(view.id(), view.driverId(), day)) {
+                    indexedPostings.decrementAndGet();
+                }
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+    }
+
+    /**
+     * Most frequent keywords in a period, fleet-wide or for one driver
+     *
+     * @param days Number of days back from today, including today
+     * @param driverId Optional driver filter
+     * @param limit Maximum number of keywords
+     * @return Keywords by descending count
+     */
+    public List<KeywordCount> topKeywords(int days, Long driverId, int limit) {
+        LocalDate from = windowStart(days);
+        List<KeywordCount> counts = new ArrayList<>();
+        index.forEach((keyword, postings) -> {
+            long count = postings.count(from, driverId);
+            if (count > 0) {
+                counts.add(new KeywordCount(keyword, count));
+            }
+        });
+        counts.sort(Comparator.comparingLong(KeywordCount::count).reversed()
+                .thenComparing(KeywordCount::keyword));
+        return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+    }
+
+    /**
+     * Drivers who received a keyword most often in a period
+     *
+     * @param keyword Keyword (case-insensitive)
+     * @param days Number of days back from today, including today
+     * @param limit Maximum number of drivers
+     * @return Drivers by descending count
+     */
+    public List<DriverKeywordCount> topDrivers(String keyword, int days, int limit) {
+        KeywordPostings postings = index.get(keyword.toLowerCase());
+        if (postings == null) {
+            return List.of();
+        }
+        List<DriverKeywordCount> counts = new ArrayList<>();
+        postings.countByDriver(windowStart(days))
+                .forEach((driverId, count) -> counts.add(new DriverKeywordCount(driverId, count)));
+        counts.sort(Comparator.comparingLong(DriverKeywordCount::count).reversed()
+                .thenComparing(DriverKeywordCount::driverId));
+        return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+    }
+
+    /**
+     * Index size and footprint
+     */
+    public IndexStats stats() {
+        long bytes = 0;
+        for (KeywordPostings postings : index.values()) {
+            bytes += postings.encodedBytes();
+        }
+        return new IndexStats(index.size(), indexedPostings.get(), bytes, retentionDays);
+    }
+
+    private void add(Long feedbackId, Long driverId, LocalDate day, String keyword) {
+        if (feedbackId == null || driverId == null || keyword == null || day.isBefore(windowStart(retentionDays))) {
+            return;
+        }
+        // compute() serializes with pruning, which removes keywords left with no days
+        index.compute(keyword.toLowerCase(), (k, postings) -> {
+            KeywordPostings target = postings != null ? postings : new KeywordPostings();
+            if (target.add(feedbackId, driverId, day)) {
+                indexedPostings.incrementAndGet();
+            }
+            return target;
+        });
+    }
+
+    /**
+     * Drop days (their feedback IDs and counts) that fell out of the retention window,
+     * and keywords left with none, at most once per day
+     */
+    private void pruneExpiredDays() {
+        LocalDate today = LocalDate.now();
+        if (!today.isAfter(prunedThrough)) {
+            return;
+        }
+        prunedThrough = today;
+        LocalDate cutoff = windowStart(retentionDays);
+        for (String keyword : index.keySet()) {
+            index.computeIfPresent(keyword, (k, postings) -> {
+                indexedPostings.addAndGet(-postings.prune(cutoff));
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+    }
+
+    private LocalDate windowStart(int days) {
+        return LocalDate.now().minusDays(Math.min(days, retentionDays) - 1L);
+    }
+
+    /**
+     * Postings for one keyword, one block per day
+     */
+    private static final class KeywordPostings {
+
+        private final TreeMap<LocalDate, DayPostings> days = new TreeMap<>();
+
+        /**
+         * A feedback ID always lands on its creation day, so per-day dedupe is enough
+         */
+        synchronized boolean add(long feedbackId, long driverId, LocalDate day) {
+            DayPostings postings = days.computeIfAbsent(day, d -> new DayPostings());
+            if (!postings.feedbackIds.add(feedbackId)) {
+                return false;
+            }
+            postings.driverCounts.merge(driverId, 1, Integer::sum);
+            return true;
+        }
+
+        synchronized boolean remove(long feedbackId, long driverId, LocalDate day) {
+            DayPostings postings = days.get(day);
+            if (postings == null || !postings.feedbackIds.remove(feedbackId)) {
+                return false;
+            }
+            postings.driverCounts.computeIfPresent(driverId, (id, count) -> count > 1 ? count - 1 : null);
+            if (postings.feedbackIds.size() == 0) {
+                days.remove(day);
+            }
+            return true;
+        }
+
+        synchronized long count(LocalDate from, Long driverId) {
+            long count = 0;
+            for (DayPostings postings : days.tailMap(from, true).values()) {
+                if (driverId != null) {
+                    count += postings.driverCounts.getOrDefault(driverId, 0);
+                } else {
+                    count += postings.feedbackIds.size();
+                }
+            }
+            return count;
+        }
+
+        synchronized Map<Long, Long> countByDriver(LocalDate from) {
+            Map<Long, Long> counts = new HashMap<>();
+            for (DayPostings postings : days.tailMap(from, true).values()) {
+                postings.driverCounts.forEach((driverId, count) -> counts.merge(driverId, (long) count, Long::sum));
+            }
+            return counts;
+        }
+
+        synchronized long encodedBytes() {
+            long bytes = 0;
+            for (DayPostings postings : days.values()) {
+                bytes += postings.feedbackIds.encodedBytes();
+            }
+            return bytes;
+        }
+
+        /**
+         * Drop days before the cutoff
+         *
+         * @return Number of postings dropped
+         */
+        synchronized long prune(LocalDate cutoff) {
+            Map<LocalDate, DayPostings> expired = days.headMap(cutoff, false);
+            long dropped = 0;
+            for (DayPostings postings : expired.values()) {
+                dropped += postings.feedbackIds.size();
+            }
+            expired.clear();
+            return dropped;
+        }
+
+        synchronized boolean isEmpty() {
+            return days.isEmpty();
+        }
+    }
+
+    /**
+     * Feedback IDs and per-driver counts for one keyword on one day
+     */
+    private static final class DayPostings {
+        private final PostingList feedbackIds = new PostingList();
+        private final Map<Long, Integer> driverCounts = new HashMap<>();
+    }
+
+    public record KeywordCount(String keyword, long count) {}
+
+    public record DriverKeywordCount(Long driverId, long count) {}
+
+    public record IndexStats(int keywords, long postings, long encodedBytes, int retentionDays) {}
+}
@@ -0,0 +1,201 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Recent Feedback Buffer
+ *
+ * Bounded, lock-free ring of the latest N processed feedback summaries on this node,
+ * serving the global /feedback/recent feed from memory:
+ * - Writers claim a sequence number with one atomic increment and publish into its slot
+ * - Readers walk back from the head and skip slots already overwritten by a newer lap
+ * - Fed by FeedbackService after the processing transaction commits; reviewed feedback is
+ *   updated in place and deleted feedback removed, after those transactions commit
+ * - Rebuilt on startup from one query on the created_at index
+ *
+ * Each node only sees feedback it processed itself after startup, so nodes can differ
+ * until their next restart.
+ */
+@Slf4j
+@Component
+@Order(-10)
+public class RecentFeedbackBuffer implements ApplicationRunner {
+
+    private final FeedbackRepository feedbackRepository;
+    private final int capacity;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong head = new AtomicLong();
+
+    public RecentFeedbackBuffer(
+            FeedbackRepository feedbackRepository,
+            @Value("${app.recent-feedback.capacity:1000}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.recent-feedback.capacity must be positive");
+        }
+        this.feedbackRepository = feedbackRepository;
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Rebuild the buffer from the database before the node accepts traffic
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            List<FeedbackView> recent = feedbackRepository.withKeywords(
+                    feedbackRepository.findRecentlyProcessedViews(Pageable.ofSize(capacity)));
+            // Oldest first so the newest ends up at the head
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                add(recent.get(i));
+            }
+            log.info("Recent feedback buffer rebuilt: entries={}, capacity={}", recent.size(), capacity);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild recent feedback buffer, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Add a processed feedback summary once the current transaction commits,
+     * or immediately when there is no transaction
+     *
+     * @param view Processed feedback summary
+     */
+    public void recordAfterCommit(FeedbackView view) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(view);
+                }
+            });
+        } else {
+            add(view);
+        }
+    }
+
+    /**
+     * Replace a feedback's summaries in place once the current transaction commits
+     *
+     * @param view Updated feedback summary
+     */
+    public void updateAfterCommit(FeedbackView view) {
+        afterCommit(() -> replace(view.id(), view));
+    }
+
+    /**
+     * Drop a feedback's summaries once the current transaction commits
+     *
+     * @param feedbackId Deleted feedback ID
+     */
+    public void removeAfterCommit(Long feedbackId) {
+        afterCommit(() -> replace(feedbackId, null));
+    }
+
+    /**
+     * Publish a summary into the next slot
+     *
+     * @param view Processed feedback summary
+     */
+    public void add(FeedbackView view) {
+        long sequence = head.getAndIncrement();
+        slots.set(slot(sequence), new Entry(sequence, view));
+    }
+
+    /**
+     * Get the latest summaries, newest first
+     *
+     * @param limit Maximum number of results
+     * @param label Optional sentiment label filter
+     * @param requiresAttention Optional attention flag filter
+     * @return Matching summaries, at most one per feedback ID
+     */
+    public List<FeedbackView> latest(int limit, Feedback.SentimentLabel label, Boolean requiresAttention) {
+        List<FeedbackView> result = new ArrayList<>(Math.min(limit, capacity));
+        Set<Long> seen = new HashSet<>();
+
+        long newest = head.get() - 1;
+        long oldest = Math.max(0, newest - capacity + 1);
+
+        for (long sequence = newest; sequence >= oldest && result.size() < limit; sequence--) {
+            Entry entry = slots.get(slot(sequence));
+            // Not yet published, or already overwritten by a newer lap
+            if (entry == null || entry.sequence() != sequence) {
+                continue;
+            }
+
+            FeedbackView view = entry.view();
+            // Reprocessed feedback appears twice; only the newest copy is current, even if it
+            // does not match the filters (an older copy that does is stale)
+            if (!seen.add(view.id())) {
+                continue;
+            }
+            if (label != null && view.sentimentLabel() != label) {
+                continue;
+            }
+            if (requiresAttention != null && !requiresAttention.equals(view.requiresAttention())) {
+                continue;
+            }
+            result.add(view);
+        }
+
+        return result;
+    }
+
+    /**
+     * Number of summaries currently held
+     */
+    public int size() {
+        return (int) Math.min(head.get(), capacity);
+    }
+
+    /**
+     * Swap every held summary of a feedback for the given one (or clear it), keeping its
+     * sequence; a slot a writer reclaimed in the meantime is left alone
+     */
+    private void replace(Long feedbackId, FeedbackView view) {
+        for (int i = 0; i < capacity; i++) {
+            Entry entry = slots.get(i);
+            if (entry != null && entry.view().id().equals(feedbackId)) {
+                slots.compareAndSet(i, entry, view != null ? new Entry(entry.sequence(), view) : null);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private record Entry(long sequence, FeedbackView view) {}
+}
@@ -217,6 +217,22 @@ public class SentimentAnalysisService {
      * Fallback keyword-based sentiment analysis
      */
     private SentimentResult keywordBasedAnalysis(String feedbackText) {
+        SentimentResult result = analyzeWithKeywords(feedbackText);
+        
+        log.info("Keyword-based sentiment analysis: score={}, confidence={}, label={}, keywords={}",
+                result.sentimentScore(), result.confidence(), result.label(), result.keywords());
+        
+        return result;
+    }
+
+    /**
+     * Keyword-based analysis without the AI path or per-call logging.
+     * Used by the startup warm-up to exercise the analyzer on a sample corpus.
+     * 
+     * @param feedbackText Text to analyze
+     * @return Sentiment analysis result
+     */
+    public SentimentResult analyzeWithKeywords(String feedbackText) {
         String normalizedText = feedbackText.toLowerCase();
         
         // Extract keywords
@@ -231,9 +247,6 @@ public class SentimentAnalysisService {
         // Determine sentiment label
         Feedback.SentimentLabel label = determineSentimentLabel(sentimentScore);
         
-        log.info("Keyword-based sentiment analysis: score={}, confidence={}, label={}, keywords={}",
-                sentimentScore, confidence, label, keywords);
-        
         return new SentimentResult(sentimentScore, confidence, label, keywords);
     }
 
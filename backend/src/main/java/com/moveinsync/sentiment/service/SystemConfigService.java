@@ -1,32 +1,85 @@
 package com.moveinsync.sentiment.service;
 
+import com.moveinsync.sentiment.config.CacheKeys;
 import com.moveinsync.sentiment.dto.AdminConfigurationRequest;
 import com.moveinsync.sentiment.dto.AdminConfigurationResponse;
 import com.moveinsync.sentiment.model.SystemConfig;
 import com.moveinsync.sentiment.repository.SystemConfigRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service for managing system configuration
+ *
+ * All of system_config is held as an immutable {@link Snapshot} behind a volatile reference,
+ * so hot paths (alert thresholds per feedback) read it without touching the database.
+ * The snapshot is swapped after a configuration save commits, and a notification on the
+ * Redis channel {@link CacheKeys#CONFIG_CHANGED_CHANNEL} makes the other nodes reload theirs.
+ * Pub/sub is fire-and-forget, so every node also reloads periodically.
+ * Reloads read the primary: a node told about a change must not reload it from a lagging replica.
+ * The alert rules (key alert.rules) are compiled into the snapshot as an {@link AlertRuleProgram}.
  */
 @Slf4j
 @Service
 public class SystemConfigService {
 
     private final SystemConfigRepository systemConfigRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
 
     @Autowired
-    public SystemConfigService(SystemConfigRepository systemConfigRepository) {
+    public SystemConfigService(
+            SystemConfigRepository systemConfigRepository,
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer) {
         this.systemConfigRepository = systemConfigRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String publisher = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (!nodeId.equals(publisher)) {
+                log.info("System configuration changed on another node, reloading");
+                refresh();
+            }
+        }, new ChannelTopic(CacheKeys.CONFIG_CHANGED_CHANNEL));
+        refresh();
+    }
+
+    /**
+     * Current configuration snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Reload the snapshot from system_config; keeps the previous one if the read fails
+     */
+    @Scheduled(fixedDelayString = "${app.config.refresh-interval-ms:300000}",
+               initialDelayString = "${app.config.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            snapshot = Snapshot.of(loadAllConfig());
+        } catch (Exception e) {
+            log.warn("Failed to reload system configuration: {}", e.getMessage());
+        }
     }
 
     /**
@@ -35,8 +88,10 @@ public class SystemConfigService {
     public AdminConfigurationResponse getAdminConfiguration() {
         log.debug("Retrieving admin configuration");
 
-        Map<String, String> configMap = getAllConfigAsMap();
+        return toAdminConfiguration(snapshot.values());
+    }
 
+    private AdminConfigurationResponse toAdminConfiguration(Map<String, String> configMap) {
         return AdminConfigurationResponse.builder()
                 // Threshold settings
                 .criticalThreshold(getDoubleConfig(configMap, "alert.threshold.critical", -0.6))
@@ -102,8 +157,12 @@ public class SystemConfigService {
 
             log.info("Admin configuration saved successfully");
 
+            // Read back inside the transaction, install the snapshot once it has committed
+            Snapshot updated = Snapshot.of(loadAllConfig());
+            publishAfterCommit(updated);
+
             // Return the updated configuration
-            return getAdminConfiguration();
+            return toAdminConfiguration(updated.values());
 
         } catch (Exception e) {
             log.error("Error saving admin configuration", e);
@@ -111,6 +170,29 @@ public class SystemConfigService {
         }
     }
 
+    /**
+     * Get the alert rules in effect
+     */
+    public AlertRules getAlertRules() {
+        AlertRuleProgram rules = snapshot.alertRules();
+        return new AlertRules(rules.source(), rules.ruleCount(), rules == AlertRuleProgram.DEFAULT);
+    }
+
+    /**
+     * Save the alert rules; they are compiled first, so invalid rules are rejected
+     * (IllegalArgumentException naming the line) and never reach other nodes
+     */
+    @Transactional
+    public AlertRuleProgram saveAlertRules(String source, Long updatedBy) {
+        AlertRuleProgram rules = AlertRuleProgram.compile(source);
+        log.info("Saving alert rules updated by user: {} ({} rules)", updatedBy, rules.ruleCount());
+
+        saveConfig(AlertRuleProgram.CONFIG_KEY, source, SystemConfig.DataType.STRING,
+                "Alert rules: status, trigger, type and action sections", updatedBy);
+        publishAfterCommit(Snapshot.of(loadAllConfig()));
+        return rules;
+    }
+
     /**
      * Save individual configuration
      */
@@ -138,18 +220,43 @@ public class SystemConfigService {
         systemConfigRepository.save(config);
     }
 
+    private void publishAfterCommit(Snapshot updated) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            install(updated);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                install(updated);
+            }
+        });
+    }
+
+    private void install(Snapshot updated) {
+        snapshot = updated;
+        try {
+            stringRedisTemplate.convertAndSend(CacheKeys.CONFIG_CHANGED_CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to notify other nodes of the configuration change: {}", e.getMessage());
+        }
+    }
+
     /**
      * Get configuration value by key
      */
     public Optional<String> getConfigValue(String key) {
-        return systemConfigRepository.findByConfigKey(key)
-                .map(SystemConfig::getConfigValue);
+        return Optional.ofNullable(snapshot.values().get(key));
     }
 
     /**
      * Get all configurations as a map
      */
     public Map<String, String> getAllConfigAsMap() {
+        return new HashMap<>(snapshot.values());
+    }
+
+    private Map<String, String> loadAllConfig() {
         List<SystemConfig> allConfigs = systemConfigRepository.findAll();
         Map<String, String> configMap = new HashMap<>();
         
@@ -161,7 +268,7 @@ public class SystemConfigService {
     }
 
     // Helper methods for type conversion with defaults
-    private Double getDoubleConfig(Map<String, String> configMap, String key, Double defaultValue) {
+    private static Double getDoubleConfig(Map<String, String> configMap, String key, Double defaultValue) {
         String value = configMap.get(key);
         try {
             return value != null ? Double.parseDouble(value) : defaultValue;
@@ -171,7 +278,7 @@ public class SystemConfigService {
         }
     }
 
-    private Integer getIntConfig(Map<String, String> configMap, String key, Integer defaultValue) {
+    private static Integer getIntConfig(Map<String, String> configMap, String key, Integer defaultValue) {
         String value = configMap.get(key);
         try {
             return value != null ? Integer.parseInt(value) : defaultValue;
@@ -181,8 +288,49 @@ public class SystemConfigService {
         }
     }
 
-    private Boolean getBooleanConfig(Map<String, String> configMap, String key, Boolean defaultValue) {
+    private static AlertRuleProgram getAlertRules(Map<String, String> configMap) {
+        String source = configMap.get(AlertRuleProgram.CONFIG_KEY);
+        if (source == null || source.isBlank()) {
+            return AlertRuleProgram.DEFAULT;
+        }
+        try {
+            return AlertRuleProgram.compile(source);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid alert rules in system_config, using the defaults: {}", e.getMessage());
+            return AlertRuleProgram.DEFAULT;
+        }
+    }
+
+    private static Boolean getBooleanConfig(Map<String, String> configMap, String key, Boolean defaultValue) {
         String value = configMap.get(key);
         return value != null ? Boolean.parseBoolean(value) : defaultValue;
     }
-}
\ No newline at end of file
+
+    /**
+     * Alert rule text with its rule count; defaults is set when the built-in rules apply
+     */
+    public record AlertRules(String source, int rules, boolean defaults) {}
+
+    /**
+     * Immutable view of system_config with the values hot paths need already parsed
+     */
+    public record Snapshot(
+        Map<String, String> values,
+        double criticalThreshold,
+        double warningThreshold,
+        int cooldownMinutes,
+        AlertRuleProgram alertRules,
+        LocalDateTime loadedAt
+    ) {
+
+        static Snapshot of(Map<String, String> values) {
+            return new Snapshot(
+                    Map.copyOf(values),
+                    getDoubleConfig(values, "alert.threshold.critical", -0.6),
+                    getDoubleConfig(values, "alert.threshold.warning", -0.3),
+                    getIntConfig(values, "alert.cooldown.minutes", 120),
+                    getAlertRules(values),
+                    LocalDateTime.now());
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.moveinsync.sentiment.util;
 
 import com.moveinsync.sentiment.dto.*;
 import com.moveinsync.sentiment.model.*;
+import com.moveinsync.sentiment.repository.projection.AlertView;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+import com.moveinsync.sentiment.service.DriverScoreTable;
+import com.moveinsync.sentiment.service.DriverWindowMetrics;
+import com.moveinsync.sentiment.service.EmaDecay;
 import org.springframework.stereotype.Component;
 
 /**
@@ -10,6 +15,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class EntityMapper {
 
+    private final DriverWindowMetrics driverWindowMetrics;
+    private final EmaDecay emaDecay;
+
+    public EntityMapper(DriverWindowMetrics driverWindowMetrics, EmaDecay emaDecay) {
+        this.driverWindowMetrics = driverWindowMetrics;
+        this.emaDecay = emaDecay;
+    }
+
     /**
      * Convert Feedback entity to FeedbackResponse DTO
      */
@@ -34,6 +47,30 @@ public class EntityMapper {
                 .build();
     }
 
+    /**
+     * Convert FeedbackView projection to FeedbackResponse DTO
+     */
+    public FeedbackResponse toFeedbackResponse(FeedbackView view) {
+        return FeedbackResponse.builder()
+                .id(view.id())
+                .driverId(view.driverId())
+                .tripId(view.tripId())
+                .userId(view.userId())
+                .feedbackType(view.feedbackType() != null ? view.feedbackType().name() : null)
+                .feedbackText(view.feedbackText())
+                .rating(view.rating())
+                .source(view.source() != null ? view.source().name() : null)
+                .sentimentScore(view.sentimentScore())
+                .sentimentLabel(view.sentimentLabel() != null ? view.sentimentLabel().name() : null)
+                .confidence(view.confidence())
+                .keywords(view.keywords())
+                .requiresAttention(view.requiresAttention())
+                .status(view.status() != null ? view.status().name() : null)
+                .createdAt(view.createdAt())
+                .processedAt(view.processedAt())
+                .build();
+    }
+
     /**
      * Convert FeedbackSubmitRequest DTO to Feedback entity
      */
@@ -56,10 +93,14 @@ public class EntityMapper {
      * Convert DriverStats entity to DriverStatsResponse DTO
      */
     public DriverStatsResponse toDriverStatsResponse(DriverStats stats) {
+        DriverWindowMetrics.Window last7Days = driverWindowMetrics.window(stats.getDriverId(), 7);
+        DriverWindowMetrics.Window last30Days = driverWindowMetrics.window(stats.getDriverId(), 30);
         return DriverStatsResponse.builder()
                 .id(stats.getId())
                 .driverId(stats.getDriverId())
                 .emaScore(stats.getEmaScore())
+                .currentEmaScore(stats.getEmaScore() != null
+                        ? emaDecay.current(stats.getEmaScore(), stats.getLastFeedbackAt()) : null)
                 .previousEmaScore(stats.getPreviousEmaScore())
                 .totalFeedbackCount(stats.getTotalFeedbackCount())
                 .positiveFeedbackCount(stats.getPositiveFeedbackCount())
@@ -72,6 +113,44 @@ public class EntityMapper {
                 .sentimentTrend(stats.getSentimentTrend())
                 .positiveFeedbackPercentage(stats.getPositiveFeedbackPercentage())
                 .negativeFeedbackPercentage(stats.getNegativeFeedbackPercentage())
+                .last7DaysFeedbackCount(last7Days.feedbackCount())
+                .last7DaysNegativeCount(last7Days.negativeCount())
+                .last7DaysAverageScore(last7Days.averageScore())
+                .last30DaysFeedbackCount(last30Days.feedbackCount())
+                .last30DaysNegativeCount(last30Days.negativeCount())
+                .last30DaysAverageScore(last30Days.averageScore())
+                .build();
+    }
+
+    /**
+     * Convert a DriverScoreTable row to DriverStatsResponse DTO
+     */
+    public DriverStatsResponse toDriverStatsResponse(DriverScoreTable.Score score) {
+        DriverWindowMetrics.Window last7Days = driverWindowMetrics.window(score.driverId(), 7);
+        DriverWindowMetrics.Window last30Days = driverWindowMetrics.window(score.driverId(), 30);
+        return DriverStatsResponse.builder()
+                .id(score.id())
+                .driverId(score.driverId())
+                .emaScore(score.emaScore())
+                .currentEmaScore(emaDecay.current(score.emaScore(), score.lastFeedbackAt()))
+                .previousEmaScore(score.previousEmaScore())
+                .totalFeedbackCount(score.totalFeedbackCount())
+                .positiveFeedbackCount(score.positiveFeedbackCount())
+                .negativeFeedbackCount(score.negativeFeedbackCount())
+                .neutralFeedbackCount(score.neutralFeedbackCount())
+                .averageRating(score.averageRating())
+                .alertStatus(score.alertStatus() != null ? score.alertStatus().name() : null)
+                .lastAlertSeverity(score.lastAlertSeverity() != null ? score.lastAlertSeverity().name() : null)
+                .consecutiveNegativeFeedback(score.consecutiveNegativeFeedback())
+                .sentimentTrend(score.sentimentTrend())
+                .positiveFeedbackPercentage(score.positiveFeedbackPercentage())
+                .negativeFeedbackPercentage(score.negativeFeedbackPercentage())
+                .last7DaysFeedbackCount(last7Days.feedbackCount())
+                .last7DaysNegativeCount(last7Days.negativeCount())
+                .last7DaysAverageScore(last7Days.averageScore())
+                .last30DaysFeedbackCount(last30Days.feedbackCount())
+                .last30DaysNegativeCount(last30Days.negativeCount())
+                .last30DaysAverageScore(last30Days.averageScore())
                 .build();
     }
 
@@ -98,4 +177,28 @@ public class EntityMapper {
                 .relatedFeedbackIds(alert.getRelatedFeedbackIds())
                 .build();
     }
+
+    /**
+     * Convert AlertView projection to AlertResponse DTO
+     */
+    public AlertResponse toAlertResponse(AlertView view) {
+        return AlertResponse.builder()
+                .id(view.id())
+                .driverId(view.driverId())
+                .alertType(view.alertType() != null ? view.alertType().name() : null)
+                .severity(view.severity() != null ? view.severity().name() : null)
+                .currentEmaScore(view.currentEmaScore())
+                .previousEmaScore(view.previousEmaScore())
+                .scoreDrop(view.scoreDrop())
+                .recommendedAction(view.recommendedAction() != null ? view.recommendedAction().name() : null)
+                .status(view.status() != null ? view.status().name() : null)
+                .assignedTo(view.assignedTo())
+                .createdAt(view.createdAt())
+                .acknowledgedAt(view.acknowledgedAt())
+                .resolvedAt(view.resolvedAt())
+                .resolutionNotes(view.resolutionNotes())
+                .notificationSent(view.notificationSent())
+                .relatedFeedbackIds(view.relatedFeedbackIds())
+                .build();
+    }
 }
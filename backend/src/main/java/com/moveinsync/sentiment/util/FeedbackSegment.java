@@ -0,0 +1,475 @@
+package com.moveinsync.sentiment.util;
+
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.projection.FeedbackView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, compressed, columnar file of archived feedback.
+ *
+ * Layout:
+ * - Header: magic, version, row count, rows per block, min/max of id, driver ID and created_at
+ * - Driver index: (driver ID, first row, row count), sorted by driver ID
+ * - Block directory: offset, compressed and raw length of every column of every block
+ * - Column data: each column of each block deflate-compressed on its own
+ *
+ * Rows are sorted by (driver ID, created_at, id), so one driver's rows are contiguous and a
+ * driver lookup binary-searches the index and inflates only the blocks its rows fall into.
+ * Readers map the file read-only; the header and index are parsed once, column data is
+ * inflated straight from the mapping on demand.
+ */
+public final class FeedbackSegment {
+
+    private static final int MAGIC = 0x46425347;  // "FBSG"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    private final Path path;
+    private final MappedByteBuffer data;
+    private final int rowCount;
+    private final int blockRows;
+    private final Stats stats;
+    private final long[] indexDriverIds;
+    private final int[] indexFirstRows;
+    private final int[] indexRowCounts;
+    private final long[] columnOffsets;
+    private final int[] columnLengths;
+    private final int[] columnRawLengths;
+
+    private FeedbackSegment(Path path, MappedByteBuffer data) {
+        this.path = path;
+        this.data = data;
+        ByteBuffer header = data.duplicate();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IllegalStateException("Not a feedback segment: " + path);
+        }
+        this.rowCount = header.getInt();
+        this.blockRows = header.getInt();
+        this.stats = new Stats(rowCount,
+                header.getLong(), header.getLong(),
+                header.getLong(), header.getLong(),
+                fromMicros(header.getLong()), fromMicros(header.getLong()));
+
+        int drivers = header.getInt();
+        this.indexDriverIds = new long[drivers];
+        this.indexFirstRows = new int[drivers];
+        this.indexRowCounts = new int[drivers];
+        for (int i = 0; i < drivers; i++) {
+            indexDriverIds[i] = header.getLong();
+            indexFirstRows[i] = header.getInt();
+            indexRowCounts[i] = header.getInt();
+        }
+
+        int entries = header.getInt();
+        this.columnOffsets = new long[entries];
+        this.columnLengths = new int[entries];
+        this.columnRawLengths = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            columnOffsets[i] = header.getLong();
+            columnLengths[i] = header.getInt();
+            columnRawLengths[i] = header.getInt();
+        }
+    }
+
+    /**
+     * Map an existing segment file read-only
+     */
+    public static FeedbackSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new FeedbackSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write rows to a new segment file (via a temporary file, so a crash never leaves a partial segment)
+     *
+     * @param path Target file
+     * @param rows Rows to archive (at least one)
+     * @return Statistics of the written segment
+     */
+    public static Stats write(Path path, List<FeedbackView> rows) throws IOException {
+        return write(path, rows, DEFAULT_BLOCK_ROWS);
+    }
+
+    static Stats write(Path path, List<FeedbackView> rows, int blockRows) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one row");
+        }
+        List<FeedbackView> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(FeedbackView::driverId)
+                .thenComparing(FeedbackView::createdAt)
+                .thenComparing(FeedbackView::id));
+
+        long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+        long minCreated = Long.MAX_VALUE, maxCreated = Long.MIN_VALUE;
+        List<long[]> index = new ArrayList<>();
+        for (int row = 0; row < sorted.size(); row++) {
+            FeedbackView view = sorted.get(row);
+            minId = Math.min(minId, view.id());
+            maxId = Math.max(maxId, view.id());
+            long created = toMicros(view.createdAt());
+            minCreated = Math.min(minCreated, created);
+            maxCreated = Math.max(maxCreated, created);
+            long[] last = index.isEmpty() ? null : index.get(index.size() - 1);
+            if (last != null && last[0] == view.driverId()) {
+                last[2]++;
+            } else {
+                index.add(new long[] {view.driverId(), row, 1});
+            }
+        }
+
+        // Compress every column of every block
+        int blocks = (sorted.size() + blockRows - 1) / blockRows;
+        Column[] columns = Column.values();
+        byte[][] compressed = new byte[blocks * columns.length][];
+        int[] rawLengths = new int[compressed.length];
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int block = 0; block < blocks; block++) {
+                List<FeedbackView> blockViews = sorted.subList(
+                        block * blockRows, Math.min(sorted.size(), (block + 1) * blockRows));
+                for (Column column : columns) {
+                    ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                    DataOutputStream out = new DataOutputStream(raw);
+                    for (FeedbackView view : blockViews) {
+                        column.write(out, view);
+                    }
+                    out.flush();
+                    int entry = block * columns.length + column.ordinal();
+                    rawLengths[entry] = raw.size();
+                    compressed[entry] = deflate(deflater, raw.toByteArray());
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+
+        int headerSize = 4 * 4 + 6 * 8 + 4 + index.size() * 16 + 4 + compressed.length * 16;
+        long dataSize = 0;
+        for (byte[] bytes : compressed) {
+            dataSize += bytes.length;
+        }
+        if (headerSize + dataSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment too large; archive fewer rows per segment");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (headerSize + dataSize));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(blockRows);
+        buffer.putLong(minId).putLong(maxId)
+              .putLong(sorted.get(0).driverId()).putLong(sorted.get(sorted.size() - 1).driverId())
+              .putLong(minCreated).putLong(maxCreated);
+        buffer.putInt(index.size());
+        for (long[] entry : index) {
+            buffer.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+        }
+        buffer.putInt(compressed.length);
+        long offset = headerSize;
+        for (int entry = 0; entry < compressed.length; entry++) {
+            buffer.putLong(offset).putInt(compressed[entry].length).putInt(rawLengths[entry]);
+            offset += compressed[entry].length;
+        }
+        for (byte[] bytes : compressed) {
+            buffer.put(bytes);
+        }
+        buffer.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+
+        return new Stats(sorted.size(), minId, maxId,
+                sorted.get(0).driverId(), sorted.get(sorted.size() - 1).driverId(),
+                fromMicros(minCreated), fromMicros(maxCreated));
+    }
+
+    /**
+     * Rows of one driver created in [from, to], oldest first
+     *
+     * @param from Range start (inclusive), or null for no lower bound
+     * @param to Range end (inclusive), or null for no upper bound
+     */
+    public List<FeedbackView> findByDriver(long driverId, LocalDateTime from, LocalDateTime to) {
+        if (!stats.mayContain(driverId, from, to)) {
+            return List.of();
+        }
+        int position = Arrays.binarySearch(indexDriverIds, driverId);
+        if (position < 0) {
+            return List.of();
+        }
+        int first = indexFirstRows[position];
+        int end = first + indexRowCounts[position];
+
+        List<FeedbackView> result = new ArrayList<>();
+        for (int block = first / blockRows; block * blockRows < end; block++) {
+            List<FeedbackView> rows = readBlock(block);
+            int blockStart = block * blockRows;
+            for (int row = Math.max(first, blockStart); row < Math.min(end, blockStart + rows.size()); row++) {
+                FeedbackView view = rows.get(row - blockStart);
+                if ((from == null || !view.createdAt().isBefore(from)) && (to == null || !view.createdAt().isAfter(to))) {
+                    result.add(view);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<FeedbackView> readBlock(int block) {
+        Column[] columns = Column.values();
+        int rows = Math.min(blockRows, rowCount - block * blockRows);
+        Object[][] values = new Object[columns.length][rows];
+        Inflater inflater = new Inflater();
+        try {
+            for (Column column : columns) {
+                int entry = block * columns.length + column.ordinal();
+                ByteBuffer compressedSlice = data.slice((int) columnOffsets[entry], columnLengths[entry]);
+                byte[] raw = new byte[columnRawLengths[entry]];
+                inflater.reset();
+                inflater.setInput(compressedSlice);
+                int read = 0;
+                while (read < raw.length && !inflater.finished()) {
+                    read += inflater.inflate(raw, read, raw.length - read);
+                }
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+                for (int row = 0; row < rows; row++) {
+                    values[column.ordinal()][row] = column.read(in);
+                }
+            }
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Corrupt feedback segment " + path + " block " + block, e);
+        } finally {
+            inflater.end();
+        }
+
+        List<FeedbackView> views = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            views.add(Column.toView(values, row));
+        }
+        return views;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public Stats stats() {
+        return stats;
+    }
+
+    public int driverCount() {
+        return indexDriverIds.length;
+    }
+
+    public long sizeBytes() {
+        return data.capacity();
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Per-segment statistics used to skip segments without reading them
+     */
+    public record Stats(
+        int rows,
+        long minId,
+        long maxId,
+        long minDriverId,
+        long maxDriverId,
+        LocalDateTime minCreatedAt,
+        LocalDateTime maxCreatedAt
+    ) {
+        public boolean mayContain(long driverId, LocalDateTime from, LocalDateTime to) {
+            return driverId >= minDriverId && driverId <= maxDriverId
+                    && (from == null || !maxCreatedAt.isBefore(from))
+                    && (to == null || !minCreatedAt.isAfter(to));
+        }
+    }
+
+    /**
+     * Stored columns, in file order. Enums are stored by name so reordering constants is safe.
+     */
+    private enum Column {
+        ID, DRIVER_ID, TRIP_ID, USER_ID, FEEDBACK_TYPE, FEEDBACK_TEXT, RATING, SOURCE, SENTIMENT_SCORE,
+        SENTIMENT_LABEL, CONFIDENCE, REQUIRES_ATTENTION, STATUS, CREATED_AT, PROCESSED_AT, KEYWORDS;
+
+        void write(DataOutputStream out, FeedbackView view) throws IOException {
+            switch (this) {
+                case ID -> out.writeLong(view.id());
+                case DRIVER_ID -> out.writeLong(view.driverId());
+                case TRIP_ID -> writeLong(out, view.tripId());
+                case USER_ID -> writeLong(out, view.userId());
+                case FEEDBACK_TYPE -> writeString(out, view.feedbackType() != null ? view.feedbackType().name() : null);
+                case FEEDBACK_TEXT -> writeString(out, view.feedbackText());
+                case RATING -> {
+                    out.writeBoolean(view.rating() != null);
+                    if (view.rating() != null) {
+                        out.writeInt(view.rating());
+                    }
+                }
+                case SOURCE -> writeString(out, view.source() != null ? view.source().name() : null);
+                case SENTIMENT_SCORE -> writeDouble(out, view.sentimentScore());
+                case SENTIMENT_LABEL -> writeString(out, view.sentimentLabel() != null ? view.sentimentLabel().name() : null);
+                case CONFIDENCE -> writeDouble(out, view.confidence());
+                case REQUIRES_ATTENTION -> out.writeByte(view.requiresAttention() == null ? -1 : view.requiresAttention() ? 1 : 0);
+                case STATUS -> writeString(out, view.status() != null ? view.status().name() : null);
+                case CREATED_AT -> out.writeLong(toMicros(view.createdAt()));
+                case PROCESSED_AT -> writeLong(out, view.processedAt() != null ? toMicros(view.processedAt()) : null);
+                case KEYWORDS -> {
+                    List<String> keywords = view.keywords() != null ? view.keywords() : List.of();
+                    out.writeInt(keywords.size());
+                    for (String keyword : keywords) {
+                        writeString(out, keyword);
+                    }
+                }
+            }
+        }
+
+        Object read(DataInputStream in) throws IOException {
+            return switch (this) {
+                case ID, DRIVER_ID -> in.readLong();
+                case TRIP_ID, USER_ID -> readLong(in);
+                case FEEDBACK_TYPE, FEEDBACK_TEXT, SOURCE, SENTIMENT_LABEL, STATUS -> readString(in);
+                case RATING -> in.readBoolean() ? in.readInt() : null;
+                case SENTIMENT_SCORE, CONFIDENCE -> readDouble(in);
+                case REQUIRES_ATTENTION -> {
+                    byte flag = in.readByte();
+                    yield flag < 0 ? null : flag == 1;
+                }
+                case CREATED_AT -> fromMicros(in.readLong());
+                case PROCESSED_AT -> {
+                    Long micros = readLong(in);
+                    yield micros != null ? fromMicros(micros) : null;
+                }
+                case KEYWORDS -> {
+                    int count = in.readInt();
+                    List<String> keywords = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        keywords.add(readString(in));
+                    }
+                    yield List.copyOf(keywords);
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        static FeedbackView toView(Object[][] values, int row) {
+            return new FeedbackView(
+                    (Long) values[ID.ordinal()][row],
+                    (Long) values[DRIVER_ID.ordinal()][row],
+                    (Long) values[TRIP_ID.ordinal()][row],
+                    (Long) values[USER_ID.ordinal()][row],
+                    enumValue(Feedback.FeedbackType.class, values[FEEDBACK_TYPE.ordinal()][row]),
+                    (String) values[FEEDBACK_TEXT.ordinal()][row],
+                    (Integer) values[RATING.ordinal()][row],
+                    enumValue(Feedback.FeedbackSource.class, values[SOURCE.ordinal()][row]),
+                    (Double) values[SENTIMENT_SCORE.ordinal()][row],
+                    enumValue(Feedback.SentimentLabel.class, values[SENTIMENT_LABEL.ordinal()][row]),
+                    (Double) values[CONFIDENCE.ordinal()][row],
+                    (Boolean) values[REQUIRES_ATTENTION.ordinal()][row],
+                    enumValue(Feedback.FeedbackStatus.class, values[STATUS.ordinal()][row]),
+                    (LocalDateTime) values[CREATED_AT.ordinal()][row],
+                    (LocalDateTime) values[PROCESSED_AT.ordinal()][row],
+                    (List<String>) values[KEYWORDS.ordinal()][row]);
+        }
+
+        private static <E extends Enum<E>> E enumValue(Class<E> type, Object name) {
+            if (name == null) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(type, (String) name);
+            } catch (IllegalArgumentException e) {
+                return null;  // Constant removed since the row was archived
+            }
+        }
+
+        private static void writeLong(DataOutputStream out, Long value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeLong(value);
+            }
+        }
+
+        private static Long readLong(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readLong() : null;
+        }
+
+        private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeDouble(value);
+            }
+        }
+
+        private static Double readDouble(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readDouble() : null;
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
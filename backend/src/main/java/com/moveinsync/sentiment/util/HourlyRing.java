@@ -0,0 +1,345 @@
+package com.moveinsync.sentiment.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Rolling window of feedback buckets (feedback count, negative count, score sum) in primitive arrays:
+ * hourly buckets for the newest {@code hourlyDays} days and one bucket per day after that, up to
+ * {@code days} days back.
+ *
+ * Slots are positioned by a single head day (the newest day the ring has advanced to) instead of a
+ * stored hour per slot. Advancing the head folds the day leaving the hourly tier into its daily
+ * bucket and zeroes the day leaving the window, so expiry needs no background sweep. Hourly blocks
+ * are allocated per day on first use and released when folded, so a driver with feedback on a few
+ * days holds a few hundred bytes. Updates are O(1) amortized; window sums are O(hours + days).
+ *
+ * Windows longer than the hourly tier are rounded out to whole days at their old end.
+ *
+ * Thread-safe; all methods synchronize on the ring.
+ */
+public class HourlyRing {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int RECORD_BYTES = Long.BYTES + 2 * Integer.BYTES + Double.BYTES;
+
+    private final int days;
+    private final int hourlyDays;
+
+    // Newest day covered; slots hold days (headDay - days, headDay]
+    private long headDay = Long.MIN_VALUE;
+
+    // Hourly detail for days (headDay - hourlyDays, headDay], indexed by day modulo hourlyDays
+    private final HourBlock[] hourly;
+
+    // Totals for days (headDay - days, headDay - hourlyDays], indexed by day modulo days; allocated on first use
+    private int[] dayCounts;
+    private int[] dayNegatives;
+    private double[] dayScoreSums;
+
+    private boolean dirty;
+
+    public HourlyRing(int days, int hourlyDays) {
+        if (hourlyDays < 1 || hourlyDays > days) {
+            throw new IllegalArgumentException("hourlyDays must be between 1 and days");
+        }
+        this.days = days;
+        this.hourlyDays = hourlyDays;
+        this.hourly = new HourBlock[hourlyDays];
+    }
+
+    /**
+     * Add deltas to an hour's bucket (negative deltas remove earlier contributions)
+     *
+     * @param hour Epoch hour of the event
+     * @param nowHour Current epoch hour; events older than the window are ignored
+     */
+    public synchronized void add(long hour, int count, int negative, double scoreSum, long nowHour) {
+        if (hour > nowHour + 1) {
+            return;
+        }
+        advance(Math.max(dayOf(nowHour), dayOf(hour)));
+        long day = dayOf(hour);
+        if (day <= headDay - days) {
+            return;
+        }
+        if (day > headDay - hourlyDays) {
+            int slot = (int) Math.floorMod(day, (long) hourlyDays);
+            if (hourly[slot] == null) {
+                hourly[slot] = new HourBlock();
+            }
+            int hourOfDay = (int) Math.floorMod(hour, (long) HOURS_PER_DAY);
+            hourly[slot].counts[hourOfDay] += count;
+            hourly[slot].negatives[hourOfDay] += negative;
+            hourly[slot].scoreSums[hourOfDay] += scoreSum;
+        } else {
+            addToDay(day, count, negative, scoreSum);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Clear the buckets of the day containing an hour (its hourly block, or its daily bucket
+     * past the hourly tier), so the day can be set again from the database
+     */
+    public synchronized void clearDayAt(long hour, long nowHour) {
+        advance(dayOf(nowHour));
+        long day = dayOf(hour);
+        if (day <= headDay - days || day > headDay) {
+            return;
+        }
+        if (day > headDay - hourlyDays) {
+            hourly[(int) Math.floorMod(day, (long) hourlyDays)] = null;
+        } else {
+            clearDay(day);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Sum the last N hours up to and including the current hour
+     * (rounded out to whole days past the hourly tier)
+     */
+    public synchronized Totals sum(int hoursBack, long nowHour) {
+        advance(dayOf(nowHour));
+        long fromHour = nowHour - Math.min(hoursBack, days * HOURS_PER_DAY) + 1;
+        long count = 0;
+        long negative = 0;
+        double scoreSum = 0;
+
+        for (long day = headDay - hourlyDays + 1; day <= headDay; day++) {
+            HourBlock block = hourly[(int) Math.floorMod(day, (long) hourlyDays)];
+            if (block == null) {
+                continue;
+            }
+            for (int hourOfDay = 0; hourOfDay < HOURS_PER_DAY; hourOfDay++) {
+                long hour = day * HOURS_PER_DAY + hourOfDay;
+                if (hour >= fromHour && hour <= nowHour) {
+                    count += block.counts[hourOfDay];
+                    negative += block.negatives[hourOfDay];
+                    scoreSum += block.scoreSums[hourOfDay];
+                }
+            }
+        }
+        if (dayCounts != null) {
+            for (long day = Math.max(dayOf(fromHour), headDay - days + 1); day <= headDay - hourlyDays; day++) {
+                int slot = (int) Math.floorMod(day, (long) days);
+                count += dayCounts[slot];
+                negative += dayNegatives[slot];
+                scoreSum += dayScoreSums[slot];
+            }
+        }
+        return new Totals(count, negative, scoreSum);
+    }
+
+    /**
+     * Whether no bucket in the window holds feedback (the ring can be discarded)
+     */
+    public synchronized boolean isEmpty(long nowHour) {
+        advance(dayOf(nowHour));
+        for (HourBlock block : hourly) {
+            if (block != null && !block.isEmpty()) {
+                return false;
+            }
+        }
+        if (dayCounts != null) {
+            for (int slot = 0; slot < days; slot++) {
+                if (dayCounts[slot] != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the ring changed since the last call, clearing the flag
+     */
+    public synchronized boolean takeDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
+    /**
+     * Whether the ring changed since the last {@link #takeDirty()}
+     */
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Mark the ring changed again (a snapshot of it failed to persist)
+     */
+    public synchronized void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Encode the non-empty buckets as (hour, count, negative, scoreSum) records;
+     * a daily bucket is recorded at the first hour of its day
+     */
+    public synchronized byte[] encode(long nowHour) {
+        advance(dayOf(nowHour));
+        ByteBuffer buffer = ByteBuffer.allocate(liveBuckets() * RECORD_BYTES);
+        if (dayCounts != null) {
+            for (long day = headDay - days + 1; day <= headDay - hourlyDays; day++) {
+                int slot = (int) Math.floorMod(day, (long) days);
+                if (dayCounts[slot] != 0) {
+                    buffer.putLong(day * HOURS_PER_DAY).putInt(dayCounts[slot])
+                            .putInt(dayNegatives[slot]).putDouble(dayScoreSums[slot]);
+                }
+            }
+        }
+        for (long day = headDay - hourlyDays + 1; day <= headDay; day++) {
+            HourBlock block = hourly[(int) Math.floorMod(day, (long) hourlyDays)];
+            if (block == null) {
+                continue;
+            }
+            for (int hourOfDay = 0; hourOfDay < HOURS_PER_DAY; hourOfDay++) {
+                if (block.counts[hourOfDay] != 0) {
+                    buffer.putLong(day * HOURS_PER_DAY + hourOfDay).putInt(block.counts[hourOfDay])
+                            .putInt(block.negatives[hourOfDay]).putDouble(block.scoreSums[hourOfDay]);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Add buckets produced by {@link #encode(long)}, skipping any that have since expired
+     */
+    public synchronized void decode(byte[] encoded, long nowHour) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        while (buffer.remaining() >= RECORD_BYTES) {
+            long hour = buffer.getLong();
+            int count = buffer.getInt();
+            int negative = buffer.getInt();
+            double scoreSum = buffer.getDouble();
+            add(hour, count, negative, scoreSum, nowHour);
+        }
+    }
+
+    /**
+     * Move the head to a newer day: fold each day leaving the hourly tier into its daily bucket
+     * and zero each day leaving the window
+     */
+    private void advance(long day) {
+        if (headDay == Long.MIN_VALUE || day - headDay >= days) {
+            headDay = day;
+            Arrays.fill(hourly, null);
+            dayCounts = null;
+            dayNegatives = null;
+            dayScoreSums = null;
+            return;
+        }
+        for (long next = headDay + 1; next <= day; next++) {
+            // This daily slot held next - days, which just left the window
+            clearDay(next);
+            long leaving = next - hourlyDays;
+            int slot = (int) Math.floorMod(leaving, (long) hourlyDays);
+            HourBlock block = hourly[slot];
+            if (block != null) {
+                if (!block.isEmpty()) {
+                    addToDay(leaving, block.count(), block.negative(), block.scoreSum());
+                }
+                hourly[slot] = null;
+            }
+        }
+        headDay = Math.max(headDay, day);
+    }
+
+    private void addToDay(long day, int count, int negative, double scoreSum) {
+        if (dayCounts == null) {
+            dayCounts = new int[days];
+            dayNegatives = new int[days];
+            dayScoreSums = new double[days];
+        }
+        int slot = (int) Math.floorMod(day, (long) days);
+        dayCounts[slot] += count;
+        dayNegatives[slot] += negative;
+        dayScoreSums[slot] += scoreSum;
+    }
+
+    private void clearDay(long day) {
+        if (dayCounts == null) {
+            return;
+        }
+        int slot = (int) Math.floorMod(day, (long) days);
+        dayCounts[slot] = 0;
+        dayNegatives[slot] = 0;
+        dayScoreSums[slot] = 0;
+    }
+
+    private int liveBuckets() {
+        int live = 0;
+        if (dayCounts != null) {
+            for (long day = headDay - days + 1; day <= headDay - hourlyDays; day++) {
+                if (dayCounts[(int) Math.floorMod(day, (long) days)] != 0) {
+                    live++;
+                }
+            }
+        }
+        for (HourBlock block : hourly) {
+            if (block != null) {
+                for (int count : block.counts) {
+                    if (count != 0) {
+                        live++;
+                    }
+                }
+            }
+        }
+        return live;
+    }
+
+    private static long dayOf(long hour) {
+        return Math.floorDiv(hour, (long) HOURS_PER_DAY);
+    }
+
+    /**
+     * Hourly buckets for one day
+     */
+    private static final class HourBlock {
+        private final int[] counts = new int[HOURS_PER_DAY];
+        private final int[] negatives = new int[HOURS_PER_DAY];
+        private final double[] scoreSums = new double[HOURS_PER_DAY];
+
+        boolean isEmpty() {
+            for (int count : counts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int count() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        int negative() {
+            int total = 0;
+            for (int negative : negatives) {
+                total += negative;
+            }
+            return total;
+        }
+
+        double scoreSum() {
+            double total = 0;
+            for (double scoreSum : scoreSums) {
+                total += scoreSum;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Window totals
+     */
+    public record Totals(long count, long negative, double scoreSum) {}
+}
@@ -0,0 +1,242 @@
+package com.moveinsync.sentiment.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Compressed, sorted set of long IDs.
+ *
+ * IDs are kept in sealed blocks of up to {@value #BLOCK_SIZE} entries, each stored as its first ID
+ * plus delta-encoded varints (a few bytes per ID for dense auto-increment keys), followed by a small
+ * uncompressed tail that new IDs are inserted into. Lookups binary-search the block heads and
+ * decode a single block. IDs older than the sealed range (out-of-order commits, reprocessing)
+ * and removed IDs re-encode only the block they fall into. The tail starts small and grows to a block, so short
+ * lists (one keyword on one day) stay a few dozen bytes.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class PostingList {
+
+    private static final int BLOCK_SIZE = 128;
+
+    private long[] blockFirst = new long[4];
+    private long[] blockLast = new long[4];
+    private byte[][] blocks = new byte[4][];
+    private int blockCount;
+
+    private long[] tail = new long[4];
+    private int tailSize;
+
+    private int size;
+
+    /**
+     * Add an ID
+     *
+     * @return true if the ID was not already present
+     */
+    public boolean add(long id) {
+        if (blockCount > 0 && id <= blockLast[blockCount - 1]) {
+            return addToBlock(blockFor(id), id);
+        }
+
+        int pos = Arrays.binarySearch(tail, 0, tailSize, id);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, Math.min(BLOCK_SIZE, tail.length * 2));
+        }
+        System.arraycopy(tail, pos, tail, pos + 1, tailSize - pos);
+        tail[pos] = id;
+        tailSize++;
+        size++;
+
+        if (tailSize == BLOCK_SIZE) {
+            seal(Arrays.copyOf(tail, tailSize));
+            tailSize = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Remove an ID
+     *
+     * @return true if the ID was present
+     */
+    public boolean remove(long id) {
+        if (blockCount > 0 && id <= blockLast[blockCount - 1]) {
+            return removeFromBlock(blockFor(id), id);
+        }
+
+        int pos = Arrays.binarySearch(tail, 0, tailSize, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(tail, pos + 1, tail, pos, tailSize - pos - 1);
+        tailSize--;
+        size--;
+        return true;
+    }
+
+    /**
+     * Check whether an ID is present
+     */
+    public boolean contains(long id) {
+        if (blockCount > 0 && id <= blockLast[blockCount - 1]) {
+            int block = blockFor(id);
+            return Arrays.binarySearch(decode(blocks[block], blockFirst[block]), id) >= 0;
+        }
+        return Arrays.binarySearch(tail, 0, tailSize, id) >= 0;
+    }
+
+    /**
+     * Number of IDs held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap footprint of the encoded IDs, in bytes
+     */
+    public long encodedBytes() {
+        long bytes = (long) tailSize * Long.BYTES;
+        for (int i = 0; i < blockCount; i++) {
+            bytes += blocks[i].length + 2L * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * All IDs in ascending order
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int offset = 0;
+        for (int i = 0; i < blockCount; i++) {
+            long[] ids = decode(blocks[i], blockFirst[i]);
+            System.arraycopy(ids, 0, result, offset, ids.length);
+            offset += ids.length;
+        }
+        System.arraycopy(tail, 0, result, offset, tailSize);
+        return result;
+    }
+
+    /**
+     * Index of the block whose range should hold the ID (the last block starting at or before it)
+     */
+    private int blockFor(long id) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockFirst[mid] <= id) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean addToBlock(int block, long id) {
+        long[] ids = decode(blocks[block], blockFirst[block]);
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, pos);
+        updated[pos] = id;
+        System.arraycopy(ids, pos, updated, pos + 1, ids.length - pos);
+
+        blockFirst[block] = updated[0];
+        blockLast[block] = updated[updated.length - 1];
+        blocks[block] = encode(updated);
+        size++;
+        return true;
+    }
+
+    private boolean removeFromBlock(int block, long id) {
+        long[] ids = decode(blocks[block], blockFirst[block]);
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return false;
+        }
+        size--;
+        if (ids.length == 1) {
+            int moved = blockCount - block - 1;
+            System.arraycopy(blockFirst, block + 1, blockFirst, block, moved);
+            System.arraycopy(blockLast, block + 1, blockLast, block, moved);
+            System.arraycopy(blocks, block + 1, blocks, block, moved);
+            blocks[--blockCount] = null;
+            return true;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, pos);
+        System.arraycopy(ids, pos + 1, updated, pos, ids.length - pos - 1);
+
+        blockFirst[block] = updated[0];
+        blockLast[block] = updated[updated.length - 1];
+        blocks[block] = encode(updated);
+        return true;
+    }
+
+    private void seal(long[] ids) {
+        if (blockCount == blocks.length) {
+            int capacity = blockCount * 2;
+            blockFirst = Arrays.copyOf(blockFirst, capacity);
+            blockLast = Arrays.copyOf(blockLast, capacity);
+            blocks = Arrays.copyOf(blocks, capacity);
+        }
+        blockFirst[blockCount] = ids[0];
+        blockLast[blockCount] = ids[ids.length - 1];
+        blocks[blockCount] = encode(ids);
+        blockCount++;
+    }
+
+    /**
+     * Encode the gaps after the first ID as unsigned LEB128 varints
+     */
+    private static byte[] encode(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length * 2);
+        writeVarint(out, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            writeVarint(out, ids[i] - ids[i - 1]);
+        }
+        return out.toByteArray();
+    }
+
+    private static long[] decode(byte[] block, long first) {
+        int[] pos = {0};
+        int count = (int) readVarint(block, pos);
+        long[] ids = new long[count];
+        ids[0] = first;
+        for (int i = 1; i < count; i++) {
+            ids[i] = ids[i - 1] + readVarint(block, pos);
+        }
+        return ids;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] block, int[] pos) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = block[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
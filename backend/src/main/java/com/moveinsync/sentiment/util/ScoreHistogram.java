@@ -0,0 +1,184 @@
+package com.moveinsync.sentiment.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-bucket histogram of scores in [-1, 1], usable as a mergeable quantile sketch.
+ *
+ * Bucket counts live in a Fenwick tree, so adding or removing a value and the score at a
+ * quantile are O(log buckets) — constant in the number of values. Unlike a t-digest, values can be removed again, which a moving EMA score needs.
+ * Two histograms with the same bucket count merge by adding counts; quantiles are accurate
+ * to one bucket width (0.001 with the default 2000 buckets).
+ *
+ * Thread-safe; all methods synchronize on the histogram.
+ */
+public class ScoreHistogram {
+
+    public static final int DEFAULT_BUCKETS = 2000;
+
+    private static final double MIN = -1.0;
+    private static final double MAX = 1.0;
+
+    private final int buckets;
+    private final double width;
+    private final long[] counts;
+    private final long[] tree;   // Fenwick tree over counts, 1-based
+    private long total;
+
+    public ScoreHistogram() {
+        this(DEFAULT_BUCKETS);
+    }
+
+    public ScoreHistogram(int buckets) {
+        this.buckets = buckets;
+        this.width = (MAX - MIN) / buckets;
+        this.counts = new long[buckets];
+        this.tree = new long[buckets + 1];
+    }
+
+    /**
+     * Add (positive delta) or remove (negative delta) occurrences of a score;
+     * scores outside [-1, 1] count towards the nearest end
+     */
+    public synchronized void add(double score, long delta) {
+        addToBucket(bucketOf(score), delta);
+    }
+
+    /**
+     * Add every bucket of another histogram with the same bucket count
+     */
+    public void merge(ScoreHistogram other) {
+        if (other.buckets != buckets) {
+            throw new IllegalArgumentException("Cannot merge histograms with " + other.buckets + " and " + buckets + " buckets");
+        }
+        // Copy first so the two locks are never held together
+        long[] otherCounts = other.countsCopy();
+        synchronized (this) {
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                if (otherCounts[bucket] != 0) {
+                    addToBucket(bucket, otherCounts[bucket]);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counts, 0L);
+        Arrays.fill(tree, 0L);
+        total = 0;
+    }
+
+    public synchronized long count() {
+        return total;
+    }
+
+    /**
+     * Score at a quantile (0..1), interpolated within its bucket, or null if empty
+     */
+    public synchronized Double quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        double clamped = Math.max(0.0, Math.min(1.0, q));
+        long target = Math.max(1, (long) Math.ceil(clamped * total));
+
+        // Fenwick descent: largest position whose prefix is below the target
+        int position = 0;
+        long remaining = target;
+        for (int step = Integer.highestOneBit(buckets); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= buckets && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        int bucket = Math.min(position, buckets - 1);
+        double fraction = counts[bucket] > 0 ? (remaining - 0.5) / counts[bucket] : 0.5;
+        return MIN + (bucket + Math.max(0.0, Math.min(1.0, fraction))) * width;
+    }
+
+    /**
+     * Counts regrouped into coarser equal-width ranges (the bucket count must divide evenly)
+     */
+    public synchronized List<Range> ranges(int rangeCount) {
+        int perRange = Math.max(1, buckets / rangeCount);
+        List<Range> ranges = new ArrayList<>(rangeCount);
+        for (int start = 0; start < buckets; start += perRange) {
+            int end = Math.min(buckets, start + perRange);
+            ranges.add(new Range(MIN + start * width, MIN + end * width, prefix(end) - prefix(start)));
+        }
+        return ranges;
+    }
+
+    /**
+     * Pack the non-empty buckets as (bucket, count) pairs
+     */
+    public synchronized byte[] encode() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) nonEmpty++;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + nonEmpty * (Integer.BYTES + Long.BYTES));
+        buffer.putInt(buckets).putInt(nonEmpty);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (counts[bucket] != 0) {
+                buffer.putInt(bucket).putLong(counts[bucket]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Rebuild a histogram packed by {@link #encode()}
+     */
+    public static ScoreHistogram decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        ScoreHistogram histogram = new ScoreHistogram(buffer.getInt());
+        int nonEmpty = buffer.getInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            histogram.addToBucket(buffer.getInt(), buffer.getLong());
+        }
+        return histogram;
+    }
+
+    private synchronized long[] countsCopy() {
+        return counts.clone();
+    }
+
+    private void addToBucket(int bucket, long delta) {
+        counts[bucket] += delta;
+        total += delta;
+        for (int i = bucket + 1; i <= buckets; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sum of the first n buckets
+     */
+    private long prefix(int n) {
+        long sum = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private int bucketOf(double score) {
+        if (Double.isNaN(score) || score <= MIN) {
+            return 0;
+        }
+        if (score >= MAX) {
+            return buckets - 1;
+        }
+        return Math.min(buckets - 1, (int) ((score - MIN) / width));
+    }
+
+    /**
+     * Score range [from, to) and the number of values in it
+     */
+    public record Range(double from, double to, long count) {}
+}
@@ -0,0 +1,42 @@
+package com.moveinsync.sentiment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (rank, id) for relevance-ordered search results, best match first.
+ *
+ * The rank is carried as its raw IEEE-754 bits so the seek compares exactly the value
+ * PostgreSQL returned, with no decimal rounding.
+ */
+public record SearchCursor(double rank, long id) {
+
+    /**
+     * Encode this cursor as an opaque token
+     */
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(rank)) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a null or blank token means the first page
+     *
+     * @return Decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            double rank = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new SearchCursor(rank, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- V10__Add_Ema_Distribution_Checkpoints.sql
+-- Hourly checkpoints of the in-memory fleet EMA histogram. Every node writes the
+-- same hour's row (the last write wins), so the table holds one row per hour.
+
+CREATE TABLE IF NOT EXISTS ema_distribution_checkpoints (
+    captured_at TIMESTAMP PRIMARY KEY,
+    drivers BIGINT NOT NULL,
+    p10 DOUBLE PRECISION,
+    p50 DOUBLE PRECISION,
+    p90 DOUBLE PRECISION,
+    buckets BYTEA NOT NULL
+);
+
+COMMENT ON COLUMN ema_distribution_checkpoints.captured_at IS 'Start of the hour the checkpoint was taken in';
+COMMENT ON COLUMN ema_distribution_checkpoints.buckets IS 'Packed (bucket, count) pairs of the non-empty histogram buckets (ScoreHistogram.encode)';
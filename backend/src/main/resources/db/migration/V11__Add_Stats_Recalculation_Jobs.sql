@@ -0,0 +1,21 @@
+-- V11__Add_Stats_Recalculation_Jobs.sql
+-- Progress of fleet-wide driver_stats recalculation jobs. The job walks feedback in
+-- driver_id order and checkpoints the highest driver whose stats (and every lower
+-- driver's) are committed, so a stopped or failed job resumes after that driver.
+
+CREATE TABLE IF NOT EXISTS stats_recalculation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    window_start TIMESTAMP NOT NULL,
+    resume_after_driver_id BIGINT NOT NULL DEFAULT 0,
+    drivers_done BIGINT NOT NULL DEFAULT 0,
+    feedback_rows BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    error TEXT
+);
+
+COMMENT ON COLUMN stats_recalculation_jobs.status IS 'RUNNING, STOPPED, FAILED or COMPLETED';
+COMMENT ON COLUMN stats_recalculation_jobs.window_start IS 'Feedback created at or after this time is folded (fixed for the life of the job)';
+COMMENT ON COLUMN stats_recalculation_jobs.updated_at IS 'Last checkpoint; a RUNNING job not updated for a while is considered abandoned';
@@ -0,0 +1,12 @@
+-- V12__Add_Recent_Negative_Feedback_Ring.sql
+-- Alert context (the latest negative feedback of a driver) is kept on driver_stats as a
+-- bounded list updated with each processed feedback, so creating an alert no longer reads
+-- the driver's whole negative history. Drivers without the list fall back to a LIMIT query
+-- served by the index below, one index range per negative label.
+
+ALTER TABLE driver_stats ADD COLUMN IF NOT EXISTS recent_negative_feedback_ids VARCHAR(255);
+
+COMMENT ON COLUMN driver_stats.recent_negative_feedback_ids IS 'Comma-separated IDs of the latest negative feedback, newest first (at most 5); NULL until tracked';
+
+CREATE INDEX IF NOT EXISTS idx_feedback_driver_label_created_id
+    ON feedback(driver_id, sentiment_label, created_at DESC, id DESC);
@@ -0,0 +1,13 @@
+-- V13__Add_Feedback_Archive_Segments.sql
+-- Manifest of the cold-archive segment files in app.archive.directory (a location shared by
+-- every node). A segment is listed here once it is written and synced, before its rows are
+-- deleted from feedback, so every node can map it by rescanning this table.
+
+CREATE TABLE IF NOT EXISTS feedback_archive_segments (
+    file_name VARCHAR(255) PRIMARY KEY,
+    row_count BIGINT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON COLUMN feedback_archive_segments.file_name IS 'Segment file name, relative to app.archive.directory';
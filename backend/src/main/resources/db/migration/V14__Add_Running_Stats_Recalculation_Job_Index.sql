@@ -0,0 +1,13 @@
+-- V14__Add_Running_Stats_Recalculation_Job_Index.sql
+-- At most one fleet stats recalculation job may be RUNNING across all nodes. Starting a job is
+-- a conditional insert against this index, so two nodes (or two requests) cannot both start one.
+
+-- Older RUNNING rows were left behind by abandoned runs; only the latest can still be live
+UPDATE stats_recalculation_jobs
+SET status = 'FAILED', error = COALESCE(error, 'Abandoned')
+WHERE status = 'RUNNING'
+  AND id <> (SELECT MAX(id) FROM stats_recalculation_jobs WHERE status = 'RUNNING');
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_stats_recalculation_jobs_running
+    ON stats_recalculation_jobs (status)
+    WHERE status = 'RUNNING';
@@ -0,0 +1,8 @@
+-- V15__Add_Feedback_Rollup_Updated_Index.sql
+-- Every node polls feedback_daily_rollup for driver days changed since its last poll, to catch its
+-- in-memory sliding-window metrics up with feedback processed, reprocessed or deleted elsewhere.
+
+CREATE INDEX IF NOT EXISTS idx_feedback_rollup_updated
+    ON feedback_daily_rollup(updated_at);
+
+COMMENT ON COLUMN driver_window_snapshots.captured_at IS 'Time the snapshotting node had caught up with feedback changes to (driver_id 0: latest completed snapshot pass)';
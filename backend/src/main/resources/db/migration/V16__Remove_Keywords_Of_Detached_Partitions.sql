@@ -0,0 +1,28 @@
+-- V16__Remove_Keywords_Of_Detached_Partitions.sql
+-- Partitions retired with retention-action=DETACH used to leave their feedback_keywords rows behind
+-- (there is no foreign key since V9). Move the keywords of each detached partition next to it, as
+-- FeedbackPartitionService now does, then delete any keyword rows whose feedback no longer exists.
+
+DO $$
+DECLARE
+    detached TEXT;
+BEGIN
+    FOR detached IN
+        SELECT c.relname
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = current_schema()
+          AND c.relkind = 'r'
+          AND c.relname ~ '^feedback_[0-9]{4}_[0-9]{2}$'
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I (LIKE feedback_keywords)', detached || '_keywords');
+        EXECUTE format('INSERT INTO %I SELECT k.* FROM feedback_keywords k JOIN %I p ON k.feedback_id = p.id',
+                       detached || '_keywords', detached);
+    END LOOP;
+END $$;
+
+DELETE FROM feedback_keywords k
+WHERE NOT EXISTS (SELECT 1 FROM feedback f WHERE f.id = k.feedback_id);
+
+ANALYZE feedback_keywords;
@@ -0,0 +1,77 @@
+-- V4_1__Align_Schema_With_Entities.sql
+-- Brings the V1-V4 schema in line with the JPA entities so spring.jpa.hibernate.ddl-auto=validate
+-- passes and inserts are not rejected by stale CHECK lists.
+-- Every statement is conditional: databases created by Hibernate before Flyway was introduced are
+-- baselined at version 4 and run this migration as a no-op (apart from re-creating identical checks).
+
+-- ==================== COLLECTION TABLES ====================
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'feedback_keywords' AND column_name = 'keywords') THEN
+        ALTER TABLE feedback_keywords RENAME COLUMN keywords TO keyword;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'user_permissions' AND column_name = 'permissions') THEN
+        ALTER TABLE user_permissions RENAME COLUMN permissions TO permission;
+    END IF;
+END $$;
+
+-- ==================== FEEDBACK RATING ====================
+-- Feedback.rating is an Integer 1-5
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'feedback'
+                 AND column_name = 'rating' AND data_type = 'double precision') THEN
+        ALTER TABLE feedback DROP CONSTRAINT IF EXISTS feedback_rating_check;
+        ALTER TABLE feedback ALTER COLUMN rating TYPE INTEGER USING round(rating)::INTEGER;
+        ALTER TABLE feedback ADD CONSTRAINT feedback_rating_check CHECK (rating BETWEEN 1 AND 5);
+    END IF;
+END $$;
+
+-- ==================== NULLABLE COLUMNS ====================
+-- Optional in the entities but NOT NULL in V3 (no-op where Hibernate created the column)
+ALTER TABLE feedback ALTER COLUMN trip_id DROP NOT NULL;
+ALTER TABLE alerts ALTER COLUMN alert_type DROP NOT NULL;
+ALTER TABLE alerts ALTER COLUMN severity DROP NOT NULL;
+ALTER TABLE driver_stats ALTER COLUMN alert_status DROP NOT NULL;
+ALTER TABLE driver_stats ALTER COLUMN consecutive_negative_feedback DROP NOT NULL;
+ALTER TABLE driver_stats ALTER COLUMN stats_calculation_version DROP NOT NULL;
+ALTER TABLE driver_stats ALTER COLUMN total_ratings_count DROP NOT NULL;
+
+-- ==================== ENUM CHECKS ====================
+-- V3 defaults name enum values the entities no longer have; the application always sets these columns
+ALTER TABLE users ALTER COLUMN role DROP DEFAULT;
+ALTER TABLE feedback ALTER COLUMN feedback_type DROP DEFAULT;
+ALTER TABLE feedback ALTER COLUMN source DROP DEFAULT;
+ALTER TABLE feedback ALTER COLUMN status DROP DEFAULT;
+ALTER TABLE alerts ALTER COLUMN alert_type DROP DEFAULT;
+ALTER TABLE alerts ALTER COLUMN severity DROP DEFAULT;
+
+-- Replace <table>_<column>_check with the values of the mapped enum
+CREATE OR REPLACE FUNCTION pg_temp.replace_enum_check(table_name TEXT, column_name TEXT, allowed TEXT[])
+RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT IF EXISTS %I', table_name, table_name || '_' || column_name || '_check');
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (%I IN (%s))',
+                   table_name, table_name || '_' || column_name || '_check', column_name,
+                   (SELECT string_agg(quote_literal(v), ', ') FROM unnest(allowed) AS v));
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.replace_enum_check('users', 'role',
+    ARRAY['EMPLOYEE', 'ADMIN', 'SUPPORT', 'MANAGER', 'ANALYST']);
+SELECT pg_temp.replace_enum_check('feedback', 'feedback_type',
+    ARRAY['EMPLOYEE', 'DRIVING_SAFETY', 'VEHICLE_CONDITION', 'ROUTE_NAVIGATION', 'TRIP', 'MOBILE_APP',
+          'MARSHAL', 'GENERAL_EXPERIENCE', 'POSITIVE_PRAISE', 'COMPLAINT']);
+SELECT pg_temp.replace_enum_check('feedback', 'source',
+    ARRAY['MOBILE_APP', 'WEB_PORTAL', 'EMAIL', 'CALL_CENTER', 'SMS', 'CHATBOT', 'IN_APP_SURVEY']);
+SELECT pg_temp.replace_enum_check('feedback', 'status',
+    ARRAY['SUBMITTED', 'PROCESSING', 'PROCESSED', 'UNDER_REVIEW', 'REVIEWED', 'ACTIONED', 'CLOSED']);
+SELECT pg_temp.replace_enum_check('alerts', 'alert_type',
+    ARRAY['LOW_SENTIMENT_SCORE', 'SUDDEN_SCORE_DROP', 'CONSECUTIVE_NEGATIVE_FEEDBACK', 'HIGH_NEGATIVE_PERCENTAGE',
+          'VERY_NEGATIVE_FEEDBACK', 'REPEATED_COMPLAINTS', 'LOW_RATING_TREND']);
+SELECT pg_temp.replace_enum_check('alerts', 'recommended_action',
+    ARRAY['REVIEW_DRIVER_PROFILE', 'CONTACT_DRIVER', 'SCHEDULE_TRAINING', 'ASSIGN_MENTOR', 'SUSPEND_TEMPORARILY',
+          'INVESTIGATE_FURTHER', 'MONITOR_CLOSELY', 'NO_ACTION_NEEDED']);
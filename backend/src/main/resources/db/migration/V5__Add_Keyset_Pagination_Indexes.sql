@@ -0,0 +1,25 @@
+-- V5__Add_Keyset_Pagination_Indexes.sql
+-- Composite indexes for cursor pagination on (created_at, id), newest first.
+-- Each index matches the ORDER BY created_at DESC, id DESC of the keyset queries,
+-- so every page is a bounded index range scan with no sort and no COUNT.
+
+-- Feedback by driver (extends idx_feedback_driver_created with the id tie-breaker)
+CREATE INDEX IF NOT EXISTS idx_feedback_driver_created_id
+    ON feedback(driver_id, created_at DESC, id DESC);
+
+-- Feedback by submitting user
+CREATE INDEX IF NOT EXISTS idx_feedback_user_created_id
+    ON feedback(user_id, created_at DESC, id DESC);
+
+-- Feedback requiring attention (partial: only flagged rows are indexed)
+CREATE INDEX IF NOT EXISTS idx_feedback_attention_created_id
+    ON feedback(created_at DESC, id DESC)
+    WHERE requires_attention = TRUE;
+
+-- Alerts by driver (replaces the same index if ddl-auto created it as idx_alert_driver_created_id)
+DROP INDEX IF EXISTS idx_alert_driver_created_id;
+CREATE INDEX IF NOT EXISTS idx_alerts_driver_created_id
+    ON alerts(driver_id, created_at DESC, id DESC);
+
+ANALYZE feedback;
+ANALYZE alerts;
@@ -0,0 +1,20 @@
+-- V6__Add_Feedback_Full_Text_Search.sql
+-- Indexed full-text search over feedback_text.
+-- A stored tsvector column with a GIN index serves word/phrase matches and ranking;
+-- a trigram GIN index serves partial-word (substring) matches without a sequential scan.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Maintained by PostgreSQL on every insert/update; not mapped by the JPA entity
+ALTER TABLE feedback
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(feedback_text, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_feedback_search_vector
+    ON feedback USING GIN (search_vector);
+
+-- Supports ILIKE '%term%' for partial words such as "rud" -> "rude"
+CREATE INDEX IF NOT EXISTS idx_feedback_text_trgm
+    ON feedback USING GIN (feedback_text gin_trgm_ops);
+
+ANALYZE feedback;
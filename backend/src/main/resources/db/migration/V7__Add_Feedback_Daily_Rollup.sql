@@ -0,0 +1,24 @@
+-- V7__Add_Feedback_Daily_Rollup.sql
+-- Daily per-driver sentiment rollup, maintained incrementally when feedback is processed.
+-- Trend endpoints read this table instead of raw feedback rows, so a 90-day driver chart
+-- is a primary-key range read of at most 90 days x 5 labels.
+
+CREATE TABLE IF NOT EXISTS feedback_daily_rollup (
+    driver_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    sentiment_label VARCHAR(20) NOT NULL,
+    feedback_count BIGINT NOT NULL DEFAULT 0,
+    score_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    attention_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (driver_id, day, sentiment_label)
+);
+
+-- Fleet-wide trends read by day across all drivers
+CREATE INDEX IF NOT EXISTS idx_feedback_rollup_day
+    ON feedback_daily_rollup(day);
+
+COMMENT ON TABLE feedback_daily_rollup IS 'Per driver/day/label feedback counts and sums; upserted in the processing transaction';
+COMMENT ON COLUMN feedback_daily_rollup.attention_count IS 'Feedback flagged for attention at processing time (negative label or confidence < 0.5)';
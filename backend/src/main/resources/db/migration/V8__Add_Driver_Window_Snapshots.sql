@@ -0,0 +1,12 @@
+-- V8__Add_Driver_Window_Snapshots.sql
+-- Periodic snapshots of the in-memory hourly sliding-window buckets per driver.
+-- On restart the buckets are restored from here and only the hours since the
+-- oldest snapshot are re-aggregated from feedback, instead of rescanning 30 days.
+
+CREATE TABLE IF NOT EXISTS driver_window_snapshots (
+    driver_id BIGINT PRIMARY KEY,
+    buckets BYTEA NOT NULL,
+    captured_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON COLUMN driver_window_snapshots.buckets IS 'Packed (epoch hour, count, negative count, score sum) records for non-empty buckets';
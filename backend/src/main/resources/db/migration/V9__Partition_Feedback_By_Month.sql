@@ -0,0 +1,125 @@
+-- V9__Partition_Feedback_By_Month.sql
+-- Converts feedback into a table range-partitioned by month on created_at.
+-- Date-range queries only scan the partitions their range overlaps (partition pruning),
+-- and retention detaches or drops whole monthly partitions instead of deleting rows.
+--
+-- Partitions are named feedback_YYYY_MM and cover [first of month, first of next month).
+-- FeedbackPartitionService keeps future months created and applies retention.
+-- There is no default partition: a row outside every partition is rejected rather than
+-- landing somewhere that would later block creating its month.
+
+-- ==================== MOVE THE EXISTING TABLE ASIDE ====================
+ALTER TABLE feedback RENAME TO feedback_legacy;
+ALTER TABLE feedback_legacy RENAME CONSTRAINT feedback_pkey TO feedback_legacy_pkey;
+
+-- The partition key is part of the primary key, so it must be set on every row
+UPDATE feedback_legacy SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+-- Keep the id sequence when the legacy table is dropped
+DO $$
+BEGIN
+    IF pg_get_serial_sequence('feedback_legacy', 'id') IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY NONE', pg_get_serial_sequence('feedback_legacy', 'id'));
+    END IF;
+END $$;
+
+-- ==================== PARTITIONED TABLE ====================
+-- Same columns, defaults (including the id sequence), checks and generated search_vector.
+-- A primary key on a partitioned table must include the partition key.
+CREATE TABLE feedback (
+    LIKE feedback_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED,
+    CONSTRAINT feedback_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Outgoing foreign keys are carried over as they were (the V1-V4 schema has user FKs,
+-- a Hibernate-created schema has none because Feedback maps user ids as plain columns)
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conname, pg_get_constraintdef(oid) AS definition
+              FROM pg_constraint
+              WHERE conrelid = 'feedback_legacy'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE feedback ADD CONSTRAINT %I %s', fk.conname, fk.definition);
+    END LOOP;
+END $$;
+
+-- Create the partition for the month containing month_start (no-op if it exists)
+CREATE OR REPLACE FUNCTION create_feedback_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'feedback_' || to_char(start_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF feedback FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, start_date, (start_date + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Create partitions from the current month through months_ahead months ahead
+CREATE OR REPLACE FUNCTION ensure_feedback_partitions(months_ahead INTEGER) RETURNS SETOF TEXT AS $$
+    SELECT create_feedback_partition(m::date)
+    FROM generate_series(date_trunc('month', CURRENT_DATE),
+                         date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead),
+                         INTERVAL '1 month') AS m;
+$$ LANGUAGE sql;
+
+-- One partition per month of existing feedback, then the current and next three months
+SELECT create_feedback_partition(m::date)
+FROM generate_series(date_trunc('month', (SELECT MIN(created_at) FROM feedback_legacy)),
+                     date_trunc('month', CURRENT_DATE),
+                     INTERVAL '1 month') AS m;
+
+SELECT ensure_feedback_partitions(3);
+
+-- ==================== COPY ROWS ====================
+-- Every stored column except generated ones (search_vector is recomputed on insert)
+DO $$
+DECLARE
+    column_list TEXT;
+BEGIN
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+    INTO column_list
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND table_name = 'feedback_legacy'
+      AND is_generated = 'NEVER';
+
+    EXECUTE format('INSERT INTO feedback (%s) SELECT %s FROM feedback_legacy', column_list, column_list);
+END $$;
+
+-- Also drops the feedback_keywords foreign key: a reference to a partitioned table would
+-- have to include created_at. Keyword rows are removed with their partition by the service.
+DROP TABLE feedback_legacy CASCADE;
+
+DO $$
+BEGIN
+    IF to_regclass('feedback_id_seq') IS NOT NULL THEN
+        ALTER SEQUENCE feedback_id_seq OWNED BY feedback.id;
+    END IF;
+END $$;
+
+-- ==================== INDEXES ====================
+-- Created on the parent (named as in the entity), so every current and future partition gets them
+CREATE INDEX IF NOT EXISTS idx_feedback_driver ON feedback(driver_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_trip ON feedback(trip_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_user ON feedback(user_id);
+CREATE INDEX IF NOT EXISTS idx_feedback_type ON feedback(feedback_type);
+CREATE INDEX IF NOT EXISTS idx_feedback_sentiment ON feedback(sentiment_label);
+CREATE INDEX IF NOT EXISTS idx_feedback_status ON feedback(status);
+CREATE INDEX IF NOT EXISTS idx_feedback_attention ON feedback(requires_attention);
+CREATE INDEX IF NOT EXISTS idx_feedback_created ON feedback(created_at);
+CREATE INDEX IF NOT EXISTS idx_feedback_driver_created_id ON feedback(driver_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_feedback_user_created_id ON feedback(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_feedback_attention_created_id ON feedback(created_at DESC, id DESC)
+    WHERE requires_attention = TRUE;
+CREATE INDEX IF NOT EXISTS idx_feedback_search_vector ON feedback USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_feedback_text_trgm ON feedback USING GIN (feedback_text gin_trgm_ops);
+
+-- Keyword lookups by feedback (used when a partition's rows are dropped)
+CREATE INDEX IF NOT EXISTS idx_feedback_keywords_feedback_id ON feedback_keywords(feedback_id);
+
+ANALYZE feedback;
@@ -0,0 +1,21 @@
+-- beforeBaseline.sql
+-- Flyway callback run before baseline-on-migrate stamps an existing schema as version 4.
+-- Only a schema created by V1-V4 or by Hibernate's ddl-auto=update may be baselined; anything
+-- older (e.g. the V1 driver_sentiment_stats / alert_history tables) would skip V3 and V4 and then
+-- fail entity validation, so stop here instead of recording a version the schema is not at.
+
+DO $$
+DECLARE
+    missing TEXT;
+BEGIN
+    SELECT string_agg(required.table_name, ', ') INTO missing
+    FROM (VALUES ('users'), ('user_permissions'), ('feedback'), ('feedback_keywords'),
+                 ('driver_stats'), ('alerts'), ('system_config')) AS required(table_name)
+    WHERE NOT EXISTS (SELECT 1 FROM information_schema.tables t
+                      WHERE t.table_schema = current_schema() AND t.table_name = required.table_name);
+
+    IF missing IS NOT NULL THEN
+        RAISE EXCEPTION 'Refusing to baseline schema "%" at version 4: missing tables %. Apply V1-V4 manually or migrate an empty schema.',
+            current_schema(), missing;
+    END IF;
+END $$;
@@ -0,0 +1,33 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertRuleProgramTest {
+
+    private static final AlertRuleProgram NEGATIVE_SHARE = AlertRuleProgram.compile(String.join("\n",
+            "status: negativeFeedback / totalFeedback >= 0.5 -> CRITICAL HIGH",
+            "status: negativeFeedback / totalFeedback < 0.5 -> WARNING MEDIUM",
+            "status: true -> NORMAL LOW"));
+
+    @Test
+    void divisionByZeroIsMissingSoComparisonsAreFalseAsInSql() {
+        AlertRuleProgram.Facts facts = AlertRuleProgram.facts(SystemConfigService.Snapshot.of(Map.of()))
+                .ema(0.0)
+                .negativeFeedback(1)
+                .totalFeedback(0);
+
+        // Neither comparison holds, as with NULL from NULLIF(total_feedback, 0) in the SQL
+        assertThat(NEGATIVE_SHARE.level(facts).status()).isEqualTo(DriverStats.AlertStatus.NORMAL);
+        assertThat(NEGATIVE_SHARE.statusSql(variable -> variable.name().toLowerCase()))
+                .startsWith("CASE WHEN COALESCE((negative_feedback / NULLIF(total_feedback, 0)) >= 0.5, FALSE)")
+                .endsWith("ELSE 'NORMAL' END");
+
+        facts.negativeFeedback(1).totalFeedback(4);
+        assertThat(NEGATIVE_SHARE.level(facts).status()).isEqualTo(DriverStats.AlertStatus.WARNING);
+    }
+}
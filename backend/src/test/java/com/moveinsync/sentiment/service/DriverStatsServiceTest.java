@@ -0,0 +1,93 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import com.moveinsync.sentiment.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DriverStatsServiceTest {
+
+    private static final long DRIVER_ID = 7L;
+
+    @Test
+    void lateFeedbackDoesNotMoveTheEmaAnchorBackwards() {
+        LocalDateTime now = LocalDateTime.now();
+        Feedback late = feedback(1, now.minusDays(180), -0.9, Feedback.SentimentLabel.VERY_NEGATIVE);
+        List<Feedback> received = List.of(
+                feedback(2, now.minusDays(10), 0.6, Feedback.SentimentLabel.POSITIVE),
+                feedback(3, now.minusDays(5), 0.4, Feedback.SentimentLabel.POSITIVE),
+                feedback(4, now.minusDays(2), 0.8, Feedback.SentimentLabel.VERY_POSITIVE),
+                late,
+                feedback(5, now, 0.2, Feedback.SentimentLabel.NEUTRAL));
+
+        EmaDecay emaDecay = new EmaDecay(30);
+        AtomicReference<DriverStats> row = new AtomicReference<>();
+        DriverStatsService service = service(emaDecay, row);
+        for (Feedback feedback : received) {
+            service.updateDriverStats(DRIVER_ID, feedback);
+        }
+
+        DriverStatsFold inOrder = new DriverStatsFold(emaDecay);
+        List<Feedback> sorted = new ArrayList<>(received);
+        sorted.sort(Comparator.comparing(Feedback::getCreatedAt));
+        for (Feedback feedback : sorted) {
+            inOrder.add(feedback.getCreatedAt(), feedback.getSentimentScore(), feedback.getSentimentLabel(), feedback.getRating());
+        }
+
+        assertThat(row.get().getLastFeedbackAt()).isEqualTo(now);
+        assertThat(row.get().getTotalFeedbackCount()).isEqualTo(inOrder.total());
+        // The half-year-old feedback has decayed to a few percent of its weight either way
+        assertThat(row.get().getEmaScore()).isCloseTo(inOrder.emaScore(), offset(0.01));
+    }
+
+    private static DriverStatsService service(EmaDecay emaDecay, AtomicReference<DriverStats> row) {
+        DriverStatsRepository repository = mock(DriverStatsRepository.class);
+        when(repository.findByDriverId(anyLong())).thenAnswer(invocation -> Optional.ofNullable(row.get()));
+        when(repository.save(any(DriverStats.class))).thenAnswer(invocation -> {
+            row.set(invocation.getArgument(0));
+            return row.get();
+        });
+        SystemConfigService systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.snapshot()).thenReturn(SystemConfigService.Snapshot.of(Map.of()));
+
+        return new DriverStatsService(
+                repository,
+                mock(FeedbackRepository.class),
+                mock(DriverScoreTable.class),
+                mock(DriverLeaderboard.class),
+                mock(FleetCounters.class),
+                mock(FleetEmaDistribution.class),
+                emaDecay,
+                systemConfigService,
+                mock(CacheManager.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    private static Feedback feedback(long id, LocalDateTime createdAt, double sentimentScore, Feedback.SentimentLabel label) {
+        return Feedback.builder()
+                .id(id)
+                .driverId(DRIVER_ID)
+                .createdAt(createdAt)
+                .sentimentScore(sentimentScore)
+                .sentimentLabel(label)
+                .build();
+    }
+}
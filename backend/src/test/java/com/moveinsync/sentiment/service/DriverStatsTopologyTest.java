@@ -0,0 +1,182 @@
+package com.moveinsync.sentiment.service;
+
+import com.moveinsync.sentiment.config.KafkaTopics;
+import com.moveinsync.sentiment.model.DriverStats;
+import com.moveinsync.sentiment.model.Feedback;
+import com.moveinsync.sentiment.model.event.DriverStatsUpdatedEvent;
+import com.moveinsync.sentiment.model.event.FeedbackProcessedEvent;
+import com.moveinsync.sentiment.repository.DriverStatsRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs DriverStatsTopology with exactly-once processing against an embedded single broker,
+ * which needs the transaction state log sized for one broker (as in docker-compose.yml)
+ */
+@EmbeddedKafka(
+    partitions = 1,
+    topics = {KafkaTopics.FEEDBACK_PROCESSED, KafkaTopics.DRIVER_STATS_UPDATED},
+    brokerProperties = {
+        "transaction.state.log.replication.factor=1",
+        "transaction.state.log.min.isr=1"
+    }
+)
+class DriverStatsTopologyTest {
+
+    private KafkaStreams streams;
+
+    @AfterEach
+    void closeStreams() {
+        if (streams != null) {
+            streams.close(Duration.ofSeconds(10));
+        }
+    }
+
+    @Test
+    void continuesDriverHistoryFromDriverStats(EmbeddedKafkaBroker broker, @TempDir Path stateDir) {
+        DriverStatsRepository repository = mock(DriverStatsRepository.class);
+        when(repository.findByDriverId(anyLong())).thenReturn(Optional.empty());
+        when(repository.findByDriverId(42L)).thenReturn(Optional.of(DriverStats.builder()
+                .driverId(42L)
+                .emaScore(0.5)
+                .totalFeedbackCount(10)
+                .positiveFeedbackCount(6)
+                .negativeFeedbackCount(3)
+                .neutralFeedbackCount(1)
+                .consecutiveNegativeFeedback(2)
+                .averageRating(4.0)
+                .totalRatingsCount(8)
+                .alertStatus(DriverStats.AlertStatus.NORMAL)
+                .lastFeedbackAt(LocalDateTime.now().minusHours(1))
+                .build()));
+        SystemConfigService systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.snapshot()).thenReturn(SystemConfigService.Snapshot.of(Map.of()));
+
+        DriverStatsTopology topology = new DriverStatsTopology(
+                new EmaDecay(30), systemConfigService, repository);
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.buildPipeline(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "driver-stats-topology-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        props.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG, 0);
+        props.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, 100);
+        streams = new KafkaStreams(builder.build(), props);
+        streams.start();
+
+        FeedbackProcessedEvent feedback = FeedbackProcessedEvent.builder()
+                .feedbackId(1001L)
+                .driverId(42L)
+                .rating(1)
+                .sentimentScore(-0.8)
+                .sentimentLabel("NEGATIVE")
+                .submittedAt(LocalDateTime.now())
+                .processedAt(LocalDateTime.now())
+                .build();
+        Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+        try (Producer<String, FeedbackProcessedEvent> producer = new DefaultKafkaProducerFactory<>(
+                producerProps, new StringSerializer(), new JsonSerializer<FeedbackProcessedEvent>()).createProducer()) {
+            producer.send(new ProducerRecord<>(KafkaTopics.FEEDBACK_PROCESSED, "42", feedback));
+        }
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("driver-stats-topology-test-reader", "false", broker);
+        consumerProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        JsonDeserializer<DriverStatsUpdatedEvent> deserializer = new JsonDeserializer<>(DriverStatsUpdatedEvent.class, false);
+        try (Consumer<String, DriverStatsUpdatedEvent> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), deserializer).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, KafkaTopics.DRIVER_STATS_UPDATED);
+            ConsumerRecord<String, DriverStatsUpdatedEvent> record =
+                    KafkaTestUtils.getSingleRecord(consumer, KafkaTopics.DRIVER_STATS_UPDATED, Duration.ofSeconds(60));
+
+            DriverStatsUpdatedEvent event = record.value();
+            assertThat(record.key()).isEqualTo("42");
+            assertThat(event.getTotalFeedbackCount()).isEqualTo(11);
+            assertThat(event.getPositiveFeedbackCount()).isEqualTo(6);
+            assertThat(event.getNegativeFeedbackCount()).isEqualTo(4);
+            assertThat(event.getNeutralFeedbackCount()).isEqualTo(1);
+            assertThat(event.getConsecutiveNegativeFeedback()).isEqualTo(3);
+            assertThat(event.getTotalRatingsCount()).isEqualTo(9);
+            assertThat(event.getAverageRating()).isCloseTo((4.0 * 8 + 1) / 9, offset(1e-9));
+            assertThat(event.getPreviousEmaScore()).isLessThan(0.5).isGreaterThan(0.49);
+        }
+    }
+
+    @Test
+    void lateFeedbackDoesNotMoveTheEmaAnchorBackwards() {
+        SystemConfigService systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.snapshot()).thenReturn(SystemConfigService.Snapshot.of(Map.of()));
+        EmaDecay emaDecay = new EmaDecay(30);
+        DriverStatsTopology topology = new DriverStatsTopology(
+                emaDecay, systemConfigService, mock(DriverStatsRepository.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FeedbackProcessedEvent> received = List.of(
+                processed(2, now.minusDays(10), 0.6, "POSITIVE"),
+                processed(3, now.minusDays(2), 0.8, "VERY_POSITIVE"),
+                processed(1, now.minusDays(180), -0.9, "VERY_NEGATIVE"),
+                processed(4, now, 0.2, "NEUTRAL"));
+        DriverStatsTopology.State state = DriverStatsTopology.State.EMPTY;
+        for (FeedbackProcessedEvent feedback : received) {
+            state = topology.apply(state, feedback);
+        }
+
+        DriverStatsFold inOrder = new DriverStatsFold(emaDecay);
+        received.stream()
+                .sorted(Comparator.comparing(FeedbackProcessedEvent::getSubmittedAt))
+                .forEach(feedback -> inOrder.add(feedback.getSubmittedAt(), feedback.getSentimentScore(),
+                        Feedback.SentimentLabel.valueOf(feedback.getSentimentLabel()), feedback.getRating()));
+
+        assertThat(state.lastFeedbackAt()).isEqualTo(now);
+        assertThat(state.emaScore()).isCloseTo(inOrder.emaScore(), offset(0.01));
+    }
+
+    private static FeedbackProcessedEvent processed(long id, LocalDateTime submittedAt, double sentimentScore, String label) {
+        return FeedbackProcessedEvent.builder()
+                .feedbackId(id)
+                .driverId(42L)
+                .sentimentScore(sentimentScore)
+                .sentimentLabel(label)
+                .submittedAt(submittedAt)
+                .processedAt(LocalDateTime.now())
+                .build();
+    }
+}
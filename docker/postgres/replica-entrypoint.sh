@@ -0,0 +1,25 @@
+#!/bin/sh
+# Starts a streaming read replica of the primary.
+# On first start (empty data directory) the replica is cloned with pg_basebackup -R, which
+# writes primary_conninfo and standby.signal, so Postgres then starts as a hot standby.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_isready -h "$PRIMARY_HOST" -p "$PRIMARY_PORT" -U "$REPLICATION_USER"; do
+        echo "Waiting for primary $PRIMARY_HOST:$PRIMARY_PORT"
+        sleep 2
+    done
+
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 700 "$PGDATA"
+
+    su-exec postgres pg_basebackup \
+        --dbname="host=$PRIMARY_HOST port=$PRIMARY_PORT user=$REPLICATION_USER password=$REPLICATION_PASSWORD application_name=sentiment-replica" \
+        --pgdata="$PGDATA" \
+        --wal-method=stream \
+        --write-recovery-conf \
+        --progress
+fi
+
+exec docker-entrypoint.sh postgres -c hot_standby=on
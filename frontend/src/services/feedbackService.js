@@ -244,10 +244,10 @@ export const reviewFeedback = async (feedbackId, reviewData) => {
   return await api.post(`/feedback/${feedbackId}/review`, reviewData);
 };
 
-// Search feedback
-export const searchFeedback = async (searchTerm, page = 0, size = 20) => {
+// Search feedback (ranked by relevance; pass the previous nextCursor to load more)
+export const searchFeedback = async (searchTerm, { driverId, startDate, endDate, label, cursor, size = 20 } = {}) => {
   return await api.get('/feedback/search', {
-    params: { q: searchTerm, page, size },
+    params: { q: searchTerm, driverId, startDate, endDate, label, cursor, size },
   });
 };
 